@@ -40,6 +40,16 @@ public final class DingoParserContext implements Context {
     private final String defaultSchemaName;
     @Getter
     private final TimeZone timeZone;
+    // The number of sub ranges each part is scanned concurrently in, for full table scans.
+    @Getter
+    private final int scanParallelism;
+    // The memory budget of each hash join operator in bytes, not positive means the default of executors.
+    @Getter
+    private final long joinMemoryBudget;
+    // The memory budget of each sort operator in bytes, over which it spills, not positive means the default of
+    // executors.
+    @Getter
+    private final long sortMemoryBudget;
 
     public DingoParserContext(@NonNull String defaultSchemaName) {
         this(defaultSchemaName, null);
@@ -50,6 +60,12 @@ public final class DingoParserContext implements Context {
 
         String timeZoneId = options != null ? options.getProperty("timeZone") : null;
         timeZone = timeZoneId != null ? TimeZone.getTimeZone(timeZoneId) : TimeZone.getDefault();
+        String scanParallelismString = options != null ? options.getProperty("scanParallelism") : null;
+        scanParallelism = scanParallelismString != null ? Integer.parseInt(scanParallelismString) : 1;
+        String joinMemoryBudgetString = options != null ? options.getProperty("joinMemoryBudget") : null;
+        joinMemoryBudget = joinMemoryBudgetString != null ? Long.parseLong(joinMemoryBudgetString) : 0L;
+        String sortMemoryBudgetString = options != null ? options.getProperty("sortMemoryBudget") : null;
+        sortMemoryBudget = sortMemoryBudgetString != null ? Long.parseLong(sortMemoryBudgetString) : 0L;
 
         rootSchema = CalciteSchema.createRootSchema(
             true,
@@ -17,6 +17,7 @@
 package io.dingodb.calcite;
 
 import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.table.TableStatistic;
 import io.dingodb.ddl.MutableSchema;
 import io.dingodb.meta.MetaService;
 import org.apache.calcite.schema.Schema;
@@ -36,8 +37,9 @@ public class DingoSchema extends MutableSchema {
         if (tds == null) {
             return super.getTableMap(); // empty map
         }
+        Map<String, TableStatistic> statistics = MetaCache.getTableStatisticsMap();
         Map<String, Table> tableMap = new LinkedHashMap<>();
-        tds.forEach((name, td) -> tableMap.put(name, new DingoTable(td)));
+        tds.forEach((name, td) -> tableMap.put(name, new DingoTable(td, statistics.get(name))));
         return tableMap;
     }
 
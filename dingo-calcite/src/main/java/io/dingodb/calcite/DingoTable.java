@@ -19,6 +19,7 @@ package io.dingodb.calcite;
 import com.google.common.collect.ImmutableList;
 import io.dingodb.calcite.rel.LogicalDingoTableScan;
 import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.table.TableStatistic;
 import lombok.Getter;
 import org.apache.calcite.plan.RelOptTable;
 import org.apache.calcite.rel.RelDistribution;
@@ -42,9 +43,16 @@ import java.util.stream.Collectors;
 public class DingoTable extends AbstractTable implements TranslatableTable {
     @Getter
     private final TableDefinition tableDefinition;
+    @Getter
+    private final @Nullable TableStatistic tableStatistic;
 
-    protected DingoTable(TableDefinition tableDefinition) {
+    protected DingoTable(TableDefinition tableDefinition, @Nullable TableStatistic tableStatistic) {
         this.tableDefinition = tableDefinition;
+        this.tableStatistic = tableStatistic;
+    }
+
+    protected DingoTable(TableDefinition tableDefinition) {
+        this(tableDefinition, null);
     }
 
     public static DingoTable dingo(Table table) {
@@ -81,7 +89,10 @@ public class DingoTable extends AbstractTable implements TranslatableTable {
         return new Statistic() {
             @Override
             public Double getRowCount() {
-                return 30000.0d;
+                if (tableStatistic == null) {
+                    return 30000.0d;
+                }
+                return Math.max((double) tableStatistic.getRowCount(), 1.0d);
             }
 
             @Override
@@ -19,6 +19,7 @@ package io.dingodb.calcite;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.table.TableStatistic;
 import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.exec.Services;
 import io.dingodb.meta.MetaService;
@@ -27,10 +28,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.plan.RelOptTable;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -42,7 +46,14 @@ public class MetaCache {
     private static final Lock writeLock = lock.writeLock();
     private static final Lock readLock = lock.readLock();
 
+    // Statistics change slowly, so they are not reloaded for every query.
+    private static final long STATISTICS_EXPIRE_MILLIS = 10000L;
+
     private static Map<String, TableDefinition> tableDefinitionsMap;
+    private static Map<String, TableStatistic> tableStatisticsMap = Collections.emptyMap();
+    private static volatile long tableStatisticsTime = 0L;
+    // Increased whenever the table definitions are found changed, so plans built on the old ones can be dropped.
+    private static final AtomicLong schemaVersion = new AtomicLong(0L);
 
     private static MetaService metaService;
 
@@ -65,20 +76,71 @@ public class MetaCache {
     private final Map<String, NavigableMap<ByteArrayUtils.ComparableByteArray, Part>> tablePartMap;
 
     public MetaCache() {
-        tableIdMap = new HashMap<>();
-        tablePartMap = new HashMap<>();
+        tableIdMap = new ConcurrentHashMap<>();
+        tablePartMap = new ConcurrentHashMap<>();
     }
 
     public static void initTableDefinitions() {
         Map<String, TableDefinition> tdMap = metaService.getTableDefinitions();
+        Map<String, TableStatistic> statistics = null;
+        long now = System.currentTimeMillis();
+        if (now - tableStatisticsTime > STATISTICS_EXPIRE_MILLIS) {
+            statistics = loadTableStatistics();
+        }
         writeLock.lock();
         try {
+            if (!tdMap.equals(tableDefinitionsMap)) {
+                schemaVersion.incrementAndGet();
+            }
             tableDefinitionsMap = tdMap;
+            if (statistics != null) {
+                // Tables analyzed on other executors are found here. Changes of the approximate row counts of the
+                // tables not analyzed do not make the plans dropped.
+                if (!analyzeTimes(statistics).equals(analyzeTimes(tableStatisticsMap))) {
+                    schemaVersion.incrementAndGet();
+                }
+                tableStatisticsMap = statistics;
+                tableStatisticsTime = now;
+            }
         } finally {
             writeLock.unlock();
         }
     }
 
+    private static @NonNull Map<String, Long> analyzeTimes(@NonNull Map<String, TableStatistic> statistics) {
+        return statistics.entrySet().stream()
+            .filter(e -> e.getValue().getTime() > 0)
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getTime()));
+    }
+
+    private static Map<String, TableStatistic> loadTableStatistics() {
+        try {
+            return metaService.getTableStatistics();
+        } catch (Exception e) {
+            log.warn("Failed to load table statistics, the default row counts are used.", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Force the statistics to be reloaded on next {@link #initTableDefinitions()}, called when tables are created,
+     * dropped or analyzed. The schema version is also increased, for the plans may be changed by new statistics.
+     */
+    public static void invalidateTableStatistics() {
+        tableStatisticsTime = 0L;
+        schemaVersion.incrementAndGet();
+    }
+
+    /**
+     * Get the version of the cached table definitions, which is increased when DDL is observed, or new statistics are
+     * loaded after a table is analyzed.
+     *
+     * @return the version
+     */
+    public static long getSchemaVersion() {
+        return schemaVersion.get();
+    }
+
     public static Map<String, TableDefinition> getTableDefinitionsMap() {
         readLock.lock();
         try {
@@ -88,6 +150,15 @@ public class MetaCache {
         }
     }
 
+    public static Map<String, TableStatistic> getTableStatisticsMap() {
+        readLock.lock();
+        try {
+            return tableStatisticsMap;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     public static String getTableName(@NonNull RelOptTable table) {
         List<String> fullName = table.getQualifiedName();
         return fullName.stream().skip(2).collect(Collectors.joining("."));
@@ -98,12 +169,7 @@ public class MetaCache {
     }
 
     public NavigableMap<ByteArrayUtils.ComparableByteArray, Part> getParts(final String tableName) {
-        if (this.tablePartMap.containsKey(tableName)) {
-            return this.tablePartMap.get(tableName);
-        }
-        NavigableMap<ByteArrayUtils.ComparableByteArray, Part> mp = metaService.getParts(tableName);
-        this.tablePartMap.put(tableName, mp);
-        return mp;
+        return this.tablePartMap.computeIfAbsent(tableName, metaService::getParts);
     }
 
     public List<Location> getDistributes(final String tableName) {
@@ -114,11 +180,6 @@ public class MetaCache {
     }
 
     public CommonId getTableId(final String tableName) {
-        if (this.tableIdMap.containsKey(tableName)) {
-            return this.tableIdMap.get(tableName);
-        }
-        CommonId cId = metaService.getTableId(tableName);
-        this.tableIdMap.put(tableName, cId);
-        return cId;
+        return this.tableIdMap.computeIfAbsent(tableName, metaService::getTableId);
     }
 }
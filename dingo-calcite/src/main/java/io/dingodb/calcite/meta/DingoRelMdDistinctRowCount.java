@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.meta;
+
+import io.dingodb.calcite.rel.DingoCoalesce;
+import io.dingodb.calcite.rel.DingoExchange;
+import io.dingodb.calcite.rel.DingoHash;
+import io.dingodb.calcite.rel.DingoPartition;
+import io.dingodb.calcite.rel.LogicalDingoTableScan;
+import io.dingodb.common.table.ColumnStatistic;
+import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.metadata.BuiltInMetadata;
+import org.apache.calcite.rel.metadata.MetadataDef;
+import org.apache.calcite.rel.metadata.MetadataHandler;
+import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.NumberUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public class DingoRelMdDistinctRowCount implements MetadataHandler<BuiltInMetadata.DistinctRowCount> {
+    public static final RelMetadataProvider SOURCE = ReflectiveRelMetadataProvider.reflectiveSource(
+        new DingoRelMdDistinctRowCount(),
+        BuiltInMetadata.DistinctRowCount.Handler.class
+    );
+
+    private DingoRelMdDistinctRowCount() {
+    }
+
+    private static @Nullable Double passThrough(
+        @NonNull SingleRel rel,
+        @NonNull RelMetadataQuery mq,
+        ImmutableBitSet groupKey,
+        @Nullable RexNode predicate
+    ) {
+        Double distinctRowCount = mq.getDistinctRowCount(rel.getInput(), groupKey, predicate);
+        Double rowCount = mq.getRowCount(rel);
+        if (distinctRowCount == null || rowCount == null) {
+            return distinctRowCount;
+        }
+        return Math.min(distinctRowCount, rowCount);
+    }
+
+    @Override
+    public MetadataDef<BuiltInMetadata.DistinctRowCount> getDef() {
+        return BuiltInMetadata.DistinctRowCount.DEF;
+    }
+
+    /**
+     * Estimate the number of distinct values by the column statistics collected by {@code ANALYZE TABLE}, assuming
+     * the columns are independent. If the table is not analyzed, only unique columns can be estimated, as the default
+     * implementation {@link org.apache.calcite.rel.metadata.RelMdDistinctRowCount} does.
+     */
+    @SuppressWarnings({"unused", "MethodMayBeStatic"})
+    public @Nullable Double getDistinctRowCount(
+        @NonNull LogicalDingoTableScan rel,
+        @NonNull RelMetadataQuery mq,
+        @NonNull ImmutableBitSet groupKey,
+        @Nullable RexNode predicate
+    ) {
+        double rowCount = mq.getRowCount(rel);
+        double distinctRowCount = 1.0d;
+        for (int index : groupKey) {
+            ColumnStatistic column = DingoRelMdSelectivity.getColumnStatistic(rel, index);
+            if (column == null) {
+                if (RelMdUtil.areColumnsDefinitelyUnique(mq, rel, groupKey)) {
+                    return NumberUtil.multiply(rowCount, mq.getSelectivity(rel, predicate));
+                }
+                return null;
+            }
+            // `NULL` is also a distinct value in grouping.
+            distinctRowCount *= Math.max(column.getDistinctCount() + (column.getNullCount() > 0 ? 1 : 0), 1);
+        }
+        distinctRowCount = Math.min(distinctRowCount, rowCount);
+        if (predicate != null) {
+            Double selectivity = mq.getSelectivity(rel, predicate);
+            if (selectivity != null) {
+                return RelMdUtil.numDistinctVals(distinctRowCount, rowCount * selectivity);
+            }
+        }
+        return distinctRowCount;
+    }
+
+    @SuppressWarnings({"unused", "MethodMayBeStatic"})
+    public @Nullable Double getDistinctRowCount(
+        @NonNull DingoCoalesce rel,
+        @NonNull RelMetadataQuery mq,
+        ImmutableBitSet groupKey,
+        @Nullable RexNode predicate
+    ) {
+        return passThrough(rel, mq, groupKey, predicate);
+    }
+
+    @SuppressWarnings({"unused", "MethodMayBeStatic"})
+    public @Nullable Double getDistinctRowCount(
+        @NonNull DingoExchange rel,
+        @NonNull RelMetadataQuery mq,
+        ImmutableBitSet groupKey,
+        @Nullable RexNode predicate
+    ) {
+        return passThrough(rel, mq, groupKey, predicate);
+    }
+
+    @SuppressWarnings({"unused", "MethodMayBeStatic"})
+    public @Nullable Double getDistinctRowCount(
+        @NonNull DingoHash rel,
+        @NonNull RelMetadataQuery mq,
+        ImmutableBitSet groupKey,
+        @Nullable RexNode predicate
+    ) {
+        return passThrough(rel, mq, groupKey, predicate);
+    }
+
+    @SuppressWarnings({"unused", "MethodMayBeStatic"})
+    public @Nullable Double getDistinctRowCount(
+        @NonNull DingoPartition rel,
+        @NonNull RelMetadataQuery mq,
+        ImmutableBitSet groupKey,
+        @Nullable RexNode predicate
+    ) {
+        return passThrough(rel, mq, groupKey, predicate);
+    }
+}
@@ -17,13 +17,17 @@
 package io.dingodb.calcite.meta;
 
 import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.metadata.BuiltInMetadata;
 import org.apache.calcite.rel.metadata.MetadataDef;
 import org.apache.calcite.rel.metadata.MetadataHandler;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class DingoRelMdRowCount implements MetadataHandler<BuiltInMetadata.RowCount> {
     public static final RelMetadataProvider SOURCE = ReflectiveRelMetadataProvider.reflectiveSource(
@@ -48,4 +52,39 @@ public class DingoRelMdRowCount implements MetadataHandler<BuiltInMetadata.RowCo
     public Double getRowCount(@NonNull SingleRel rel, @NonNull RelMetadataQuery mq) {
         return rel.estimateRowCount(mq);
     }
+
+    /**
+     * Estimate the row count of equi-joins by the numbers of distinct values of the join keys, i.e., {@code |L| * |R| /
+     * max(ndv(L.k), ndv(R.k))}, which is much better than the fixed selectivity guessed by the default implementation
+     * {@link org.apache.calcite.rel.metadata.RelMdRowCount#getRowCount(Join, RelMetadataQuery)}, if the tables are
+     * analyzed.
+     */
+    @SuppressWarnings({"unused", "MethodMayBeStatic"})
+    public @Nullable Double getRowCount(@NonNull Join rel, @NonNull RelMetadataQuery mq) {
+        JoinInfo joinInfo = rel.analyzeCondition();
+        if (joinInfo.leftKeys.isEmpty() || !rel.getJoinType().projectsRight()) {
+            return RelMdUtil.getJoinRowCount(mq, rel, rel.getCondition());
+        }
+        Double leftRowCount = mq.getRowCount(rel.getLeft());
+        Double rightRowCount = mq.getRowCount(rel.getRight());
+        Double leftDistinct = mq.getDistinctRowCount(rel.getLeft(), joinInfo.leftSet(), null);
+        Double rightDistinct = mq.getDistinctRowCount(rel.getRight(), joinInfo.rightSet(), null);
+        if (leftRowCount == null || rightRowCount == null || leftDistinct == null || rightDistinct == null) {
+            return RelMdUtil.getJoinRowCount(mq, rel, rel.getCondition());
+        }
+        double rowCount = leftRowCount * rightRowCount / Math.max(Math.max(leftDistinct, rightDistinct), 1.0d);
+        if (!joinInfo.isEqui()) {
+            rowCount *= RelMdUtil.guessSelectivity(joinInfo.getRemaining(rel.getCluster().getRexBuilder()));
+        }
+        switch (rel.getJoinType()) {
+            case LEFT:
+                return Math.max(rowCount, leftRowCount);
+            case RIGHT:
+                return Math.max(rowCount, rightRowCount);
+            case FULL:
+                return Math.max(rowCount, Math.max(leftRowCount, rightRowCount));
+            default:
+                return rowCount;
+        }
+    }
 }
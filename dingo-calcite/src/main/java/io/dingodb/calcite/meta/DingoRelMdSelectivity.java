@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.meta;
+
+import io.dingodb.calcite.DingoTable;
+import io.dingodb.calcite.rel.LogicalDingoTableScan;
+import io.dingodb.common.table.ColumnStatistic;
+import io.dingodb.common.table.TableStatistic;
+import io.dingodb.common.type.TupleMapping;
+import org.apache.calcite.rel.metadata.BuiltInMetadata;
+import org.apache.calcite.rel.metadata.MetadataDef;
+import org.apache.calcite.rel.metadata.MetadataHandler;
+import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class DingoRelMdSelectivity implements MetadataHandler<BuiltInMetadata.Selectivity> {
+    public static final RelMetadataProvider SOURCE = ReflectiveRelMetadataProvider.reflectiveSource(
+        new DingoRelMdSelectivity(),
+        BuiltInMetadata.Selectivity.Handler.class
+    );
+
+    private static final double MILLIS_PER_DAY = 86400000.0d;
+
+    private DingoRelMdSelectivity() {
+    }
+
+    /**
+     * Get the statistics of the column referred by an output field of a table scan.
+     *
+     * @param rel   the table scan
+     * @param index the index of the output field
+     * @return the column statistics, {@code null} if the table is not analyzed
+     */
+    static @Nullable ColumnStatistic getColumnStatistic(@NonNull LogicalDingoTableScan rel, int index) {
+        TableStatistic statistic = DingoTable.dingo(rel.getTable()).getTableStatistic();
+        if (statistic == null) {
+            return null;
+        }
+        TupleMapping selection = rel.getSelection();
+        return statistic.getColumn(selection != null ? selection.get(index) : index);
+    }
+
+    private static double literalToDouble(@NonNull RexLiteral literal) {
+        switch (literal.getType().getSqlTypeName()) {
+            case DATE:
+                Integer days = literal.getValueAs(Integer.class);
+                return days != null ? days * MILLIS_PER_DAY : Double.NaN;
+            case TIME:
+                Integer millis = literal.getValueAs(Integer.class);
+                return millis != null ? millis : Double.NaN;
+            case TIMESTAMP:
+                Long timestamp = literal.getValueAs(Long.class);
+                return timestamp != null ? timestamp : Double.NaN;
+            default:
+                break;
+        }
+        if (literal.getValue() instanceof BigDecimal) {
+            return ((BigDecimal) literal.getValue()).doubleValue();
+        }
+        return Double.NaN;
+    }
+
+    private static double clamp(double selectivity) {
+        return Math.max(0.0d, Math.min(1.0d, selectivity));
+    }
+
+    @Override
+    public MetadataDef<BuiltInMetadata.Selectivity> getDef() {
+        return BuiltInMetadata.Selectivity.DEF;
+    }
+
+    /**
+     * Estimate the selectivity by the column statistics collected by {@code ANALYZE TABLE}. Fall back to the default
+     * guesses of {@link RelMdUtil#guessSelectivity(RexNode)} for predicates cannot be estimated.
+     */
+    @SuppressWarnings({"unused", "MethodMayBeStatic"})
+    public Double getSelectivity(
+        @NonNull LogicalDingoTableScan rel,
+        RelMetadataQuery mq,
+        @Nullable RexNode predicate
+    ) {
+        if (predicate == null || predicate.isAlwaysTrue()) {
+            return 1.0d;
+        }
+        TableStatistic statistic = DingoTable.dingo(rel.getTable()).getTableStatistic();
+        if (statistic == null || statistic.getColumns() == null || statistic.getColumns().isEmpty()) {
+            return RelMdUtil.guessSelectivity(predicate);
+        }
+        RexNode expanded = RexUtil.expandSearch(rel.getCluster().getRexBuilder(), null, predicate);
+        return clamp(selectivity(rel, expanded));
+    }
+
+    private static double selectivity(@NonNull LogicalDingoTableScan rel, @NonNull RexNode node) {
+        List<RexNode> operands;
+        double selectivity;
+        switch (node.getKind()) {
+            case AND:
+                selectivity = 1.0d;
+                for (RexNode operand : ((RexCall) node).getOperands()) {
+                    selectivity *= clamp(selectivity(rel, operand));
+                }
+                return selectivity;
+            case OR:
+                selectivity = 1.0d;
+                for (RexNode operand : ((RexCall) node).getOperands()) {
+                    selectivity *= 1.0d - clamp(selectivity(rel, operand));
+                }
+                return 1.0d - selectivity;
+            case NOT:
+                return 1.0d - clamp(selectivity(rel, ((RexCall) node).getOperands().get(0)));
+            case IS_NULL:
+            case IS_NOT_NULL:
+                operands = ((RexCall) node).getOperands();
+                if (operands.get(0) instanceof RexInputRef) {
+                    ColumnStatistic column = getColumnStatistic(rel, ((RexInputRef) operands.get(0)).getIndex());
+                    if (column != null) {
+                        double nullFraction = column.getNullFraction();
+                        return node.getKind() == SqlKind.IS_NULL ? nullFraction : 1.0d - nullFraction;
+                    }
+                }
+                break;
+            case EQUALS:
+            case NOT_EQUALS:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                selectivity = comparisonSelectivity(rel, (RexCall) node);
+                if (!Double.isNaN(selectivity)) {
+                    return selectivity;
+                }
+                break;
+            default:
+                break;
+        }
+        return RelMdUtil.guessSelectivity(node);
+    }
+
+    private static double comparisonSelectivity(@NonNull LogicalDingoTableScan rel, @NonNull RexCall call) {
+        RexNode left = call.getOperands().get(0);
+        RexNode right = call.getOperands().get(1);
+        SqlKind kind = call.getKind();
+        if (left instanceof RexLiteral && right instanceof RexInputRef) {
+            RexNode tmp = left;
+            left = right;
+            right = tmp;
+            kind = kind.reverse();
+        }
+        if (!(left instanceof RexInputRef && right instanceof RexLiteral)) {
+            return Double.NaN;
+        }
+        ColumnStatistic column = getColumnStatistic(rel, ((RexInputRef) left).getIndex());
+        if (column == null) {
+            return Double.NaN;
+        }
+        double equals = column.equalsSelectivity();
+        double notNull = 1.0d - column.getNullFraction();
+        switch (kind) {
+            case EQUALS:
+                return equals;
+            case NOT_EQUALS:
+                return notNull - equals;
+            default:
+                break;
+        }
+        double lessThan = column.lessThanSelectivity(literalToDouble((RexLiteral) right));
+        if (Double.isNaN(lessThan)) {
+            return Double.NaN;
+        }
+        switch (kind) {
+            case LESS_THAN:
+                return lessThan;
+            case LESS_THAN_OR_EQUAL:
+                return Math.min(lessThan + equals, notNull);
+            case GREATER_THAN:
+                return Math.max(notNull - lessThan - equals, 0.0d);
+            case GREATER_THAN_OR_EQUAL:
+                return notNull - lessThan;
+            default:
+                return Double.NaN;
+        }
+    }
+}
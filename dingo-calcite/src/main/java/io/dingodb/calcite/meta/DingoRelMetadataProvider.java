@@ -25,7 +25,9 @@ public class DingoRelMetadataProvider extends ChainedRelMetadataProvider {
     private DingoRelMetadataProvider() {
         super(ImmutableList.of(
             DingoRelMdRowCount.SOURCE,
-            DingoRelMdColumnUniqueness.SOURCE
+            DingoRelMdColumnUniqueness.SOURCE,
+            DingoRelMdSelectivity.SOURCE,
+            DingoRelMdDistinctRowCount.SOURCE
         ));
     }
 }
@@ -16,6 +16,8 @@
 
 package io.dingodb.calcite.rel;
 
+import io.dingodb.calcite.utils.KeyRange;
+import io.dingodb.calcite.utils.ParamKeyRange;
 import io.dingodb.calcite.visitor.DingoRelVisitor;
 import io.dingodb.common.type.TupleMapping;
 import lombok.Getter;
@@ -36,15 +38,22 @@ import java.util.Objects;
 
 public class DingoPartRangeScan extends LogicalDingoTableScan implements DingoRel {
     @Getter
-    private final byte[] startKey;
+    private final List<KeyRange> ranges;
+    // Set if the bounds are sql parameters, then `ranges` is empty.
     @Getter
-    private final byte[] endKey;
-    @Getter
-    private final boolean isNotBetween;
-    @Getter
-    private final boolean includeStart;
-    @Getter
-    private final boolean includeEnd;
+    private final @Nullable ParamKeyRange paramRange;
+
+    public DingoPartRangeScan(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        List<RelHint> hints,
+        RelOptTable table,
+        @Nullable RexNode filter,
+        @Nullable TupleMapping selection,
+        List<KeyRange> ranges
+    ) {
+        this(cluster, traitSet, hints, table, filter, selection, ranges, null);
+    }
 
     public DingoPartRangeScan(
         RelOptCluster cluster,
@@ -53,18 +62,12 @@ public class DingoPartRangeScan extends LogicalDingoTableScan implements DingoRe
         RelOptTable table,
         @Nullable RexNode filter,
         @Nullable TupleMapping selection,
-        byte[] startKey,
-        byte[] endKey,
-        boolean isNotBetween,
-        boolean includeStart,
-        boolean includeEnd
+        List<KeyRange> ranges,
+        @Nullable ParamKeyRange paramRange
     ) {
         super(cluster, traitSet, hints, table, filter, selection);
-        this.startKey = startKey;
-        this.endKey = endKey;
-        this.isNotBetween = isNotBetween;
-        this.includeStart = includeStart;
-        this.includeEnd = includeEnd;
+        this.ranges = ranges;
+        this.paramRange = paramRange;
     }
 
     @Override
@@ -77,11 +80,8 @@ public class DingoPartRangeScan extends LogicalDingoTableScan implements DingoRe
     public @NonNull RelWriter explainTerms(@NonNull RelWriter pw) {
         super.explainTerms(pw);
         // crucial, this is how Calcite distinguish between different node with different props.
-        pw.item("startKey", startKey);
-        pw.item("endKey", endKey);
-        pw.item("isNotBetween", isNotBetween);
-        pw.item("includeStart", includeStart);
-        pw.item("includeEnd", includeEnd);
+        pw.item("ranges", ranges);
+        pw.itemIf("paramRange", paramRange, paramRange != null);
         return pw;
     }
 
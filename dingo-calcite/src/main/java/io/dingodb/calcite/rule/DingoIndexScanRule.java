@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.calcite.rule;
+
+import io.dingodb.calcite.DingoConventions;
+import io.dingodb.calcite.rel.DingoIndexScan;
+import io.dingodb.calcite.rel.DingoTableScan;
+import io.dingodb.calcite.utils.KeyRange;
+import io.dingodb.common.table.IndexDefinition;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.TupleMapping;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.immutables.value.Value;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.dingodb.calcite.DingoTable.dingo;
+
+/**
+ * Turn a table scan to index scans if the filter restricts the leading columns of secondary indexes, in the same way
+ * as {@link DingoPartRangeRule} does for primary columns. An index scan is generated for each applicable index and the
+ * cheapest plan is chosen by the planner.
+ */
+@Slf4j
+@Value.Enclosing
+public class DingoIndexScanRule extends RelRule<DingoIndexScanRule.Config> {
+    public DingoIndexScanRule(Config config) {
+        super(config);
+    }
+
+    private static @NonNull KeyRange withPrefix(byte @NonNull [] prefix, @NonNull KeyRange range) {
+        byte[] start = range.getStart() != null ? IndexDefinition.concat(prefix, range.getStart()) : prefix;
+        byte[] end = range.getEnd() != null
+            ? IndexDefinition.concat(prefix, range.getEnd())
+            : KeyRange.successor(prefix);
+        return new KeyRange(start, end);
+    }
+
+    @Override
+    public void onMatch(@NonNull RelOptRuleCall call) {
+        final DingoTableScan rel = call.rel(0);
+        TableDefinition td = dingo(rel.getTable()).getTableDefinition();
+        for (IndexDefinition index : td.getIndexes()) {
+            TupleMapping mapping = td.getIndexMapping(index);
+            KeyRangeRexVisitor visitor = new KeyRangeRexVisitor(
+                td,
+                rel.getCluster().getRexBuilder(),
+                mapping,
+                td.getDingoType().select(mapping).toDingoSchemas()
+            );
+            List<KeyRange> ranges = visitor.getKeyRanges(rel.getFilter());
+            if (ranges == null || ranges.isEmpty()) {
+                continue;
+            }
+            byte[] prefix = index.keyPrefix();
+            ranges = ranges.stream().map(r -> withPrefix(prefix, r)).collect(Collectors.toList());
+            if (log.isDebugEnabled()) {
+                log.debug("Key ranges of index \"{}\" of table \"{}\": {}.", index.getName(), td.getName(), ranges);
+            }
+            call.transformTo(
+                new DingoIndexScan(
+                    rel.getCluster(),
+                    rel.getTraitSet().replace(DingoConventions.DISTRIBUTED),
+                    rel.getHints(),
+                    rel.getTable(),
+                    rel.getFilter(),
+                    rel.getSelection(),
+                    index,
+                    ranges
+                )
+            );
+        }
+    }
+
+    @Value.Immutable
+    public interface Config extends RelRule.Config {
+        DingoIndexScanRule.Config DEFAULT = ImmutableDingoIndexScanRule.Config.builder()
+            .operandSupplier(
+                b0 -> b0.operand(DingoTableScan.class)
+                    .predicate(r -> r.getFilter() != null
+                        && dingo(r.getTable()).getTableDefinition().getIndexes() != null)
+                    .noInputs()
+            )
+            .description("DingoIndexScanRule")
+            .build();
+
+        @Override
+        default DingoIndexScanRule toRule() {
+            return new DingoIndexScanRule(this);
+        }
+    }
+}
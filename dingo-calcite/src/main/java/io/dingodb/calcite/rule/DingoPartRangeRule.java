@@ -19,29 +19,25 @@ package io.dingodb.calcite.rule;
 import io.dingodb.calcite.DingoConventions;
 import io.dingodb.calcite.rel.DingoPartRangeScan;
 import io.dingodb.calcite.rel.DingoTableScan;
-import io.dingodb.calcite.utils.RexLiteralUtils;
-import io.dingodb.calcite.utils.RuleUtils;
-import io.dingodb.common.codec.Codec;
-import io.dingodb.common.codec.DingoCodec;
+import io.dingodb.calcite.utils.KeyRange;
+import io.dingodb.calcite.utils.ParamKeyRange;
 import io.dingodb.common.table.TableDefinition;
-import io.dingodb.common.type.DingoTypeFactory;
-import io.dingodb.common.util.ByteArrayUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.plan.RelOptRuleCall;
 import org.apache.calcite.plan.RelRule;
-import org.apache.calcite.rex.RexCall;
-import org.apache.calcite.rex.RexNode;
-import org.apache.calcite.sql.SqlKind;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.immutables.value.Value;
 
-import java.io.IOException;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static io.dingodb.calcite.DingoTable.dingo;
 
+/**
+ * Turn a table scan to range scans if the filter restricts the leading primary columns, which may be equality
+ * conditions on some leading primary columns followed by a range condition on the next one, or disjunctions of them.
+ * If the values are sql parameters, the range is only encoded at execution time, see {@link ParamKeyRange}.
+ */
 @Slf4j
 @Value.Enclosing
 public class DingoPartRangeRule extends RelRule<DingoPartRangeRule.Config> {
@@ -53,78 +49,40 @@ public class DingoPartRangeRule extends RelRule<DingoPartRangeRule.Config> {
     public void onMatch(@NonNull RelOptRuleCall call) {
         final DingoTableScan rel = call.rel(0);
         TableDefinition td = dingo(rel.getTable()).getTableDefinition();
-        int firstPrimaryColumnIndex = td.getFirstPrimaryColumnIndex();
-        Codec codec = new DingoCodec(Collections.singletonList(
-            td.getColumn(firstPrimaryColumnIndex).getDingoType().toDingoSchema(0)), null, true);
-        if (rel.getFilter().getKind() == SqlKind.AND) {
-            RexCall filter = (RexCall) rel.getFilter();
-            byte[] left = ByteArrayUtils.EMPTY_BYTES;
-            byte[] right = ByteArrayUtils.MAX_BYTES;
-            boolean isNotBetween = false;
-            boolean includeStart = true;
-            boolean includeEnd = true;
-
-            List<RexNode> operands = Collections.emptyList();
-            // Not between and
-            if (filter.op.kind == SqlKind.NOT) {
-                operands = ((RexCall) filter.getOperands().get(0)).getOperands();
-                isNotBetween = true;
-            } else if (filter.op.kind == SqlKind.AND) {
-                operands = filter.operands;
-            }
-
-            for (RexNode operand : operands) {
-                RuleUtils.ConditionInfo info = RuleUtils.checkCondition(operand);
-                if (info == null || info.index != firstPrimaryColumnIndex) {
-                    continue;
-                }
-                try {
-                    switch (info.kind) {
-                        case LESS_THAN:
-                            includeEnd = false;
-                        case LESS_THAN_OR_EQUAL:
-                            right = codec.encodeKeyForRangeScan(new Object[]{RexLiteralUtils.convertFromRexLiteral(
-                                info.value,
-                                DingoTypeFactory.fromRelDataType(info.value.getType())
-                            )});
-                            break;
-                        case GREATER_THAN:
-                            includeStart = false;
-                        case GREATER_THAN_OR_EQUAL:
-                            left = codec.encodeKeyForRangeScan(new Object[]{RexLiteralUtils.convertFromRexLiteral(
-                                info.value,
-                                DingoTypeFactory.fromRelDataType(info.value.getType())
-                            )});
-                            break;
-                        default:
-                            break;
-                    }
-                } catch (IOException e) {
-                    log.error("Some errors occurred in encodeKeyForRangeScan: ", e);
-                    throw new RuntimeException(e);
-                }
+        KeyRangeRexVisitor visitor = new KeyRangeRexVisitor(td, rel.getCluster().getRexBuilder());
+        ParamKeyRange paramRange = null;
+        if (KeyRangeRexVisitor.containsDynamicParam(rel.getFilter())) {
+            // The bounds of parameters are bound at execution time.
+            paramRange = visitor.getParamKeyRange(rel.getFilter());
+        }
+        List<KeyRange> ranges;
+        if (paramRange != null) {
+            ranges = Collections.emptyList();
+            if (log.isDebugEnabled()) {
+                log.debug("Key range with parameters of table \"{}\": {}.", td.getName(), paramRange);
             }
-            if (Arrays.equals(left, ByteArrayUtils.EMPTY_BYTES) || Arrays.equals(right, ByteArrayUtils.MAX_BYTES)) {
+        } else {
+            ranges = visitor.getKeyRanges(rel.getFilter());
+            // Empty ranges means nothing can be selected, leave it to the filter.
+            if (ranges == null || ranges.isEmpty()) {
                 return;
             }
-            if (ByteArrayUtils.lessThan(left, right)) {
-                call.transformTo(
-                    new DingoPartRangeScan(
-                        rel.getCluster(),
-                        rel.getTraitSet().replace(DingoConventions.DISTRIBUTED),
-                        rel.getHints(),
-                        rel.getTable(),
-                        rel.getFilter(),
-                        rel.getSelection(),
-                        left,
-                        right,
-                        isNotBetween,
-                        includeStart,
-                        includeEnd
-                    )
-                );
+            if (log.isDebugEnabled()) {
+                log.debug("Key ranges of table \"{}\": {}.", td.getName(), ranges);
             }
         }
+        call.transformTo(
+            new DingoPartRangeScan(
+                rel.getCluster(),
+                rel.getTraitSet().replace(DingoConventions.DISTRIBUTED),
+                rel.getHints(),
+                rel.getTable(),
+                rel.getFilter(),
+                rel.getSelection(),
+                ranges,
+                paramRange
+            )
+        );
     }
 
     @Value.Immutable
@@ -132,31 +90,8 @@ public class DingoPartRangeRule extends RelRule<DingoPartRangeRule.Config> {
         DingoPartRangeRule.Config DEFAULT = ImmutableDingoPartRangeRule.Config.builder()
             .operandSupplier(
                 b0 -> b0.operand(DingoTableScan.class)
-                    .predicate(r -> {
-                        RexNode filter = r.getFilter();
-                        if (filter != null) {
-                            if (filter.getKind() == SqlKind.AND) {
-                                return true;
-                            }
-
-                            // Support not between and
-                            if (filter.getKind() == SqlKind.NOT) {
-                                for (RexNode operand : ((RexCall) filter).operands) {
-                                    RexCall rexCall;
-                                    if (operand instanceof RexCall) {
-                                        rexCall = (RexCall) operand;
-                                    } else {
-                                        return false;
-                                    }
-                                    if (rexCall.getKind() != SqlKind.AND) {
-                                        return false;
-                                    }
-                                }
-                                return true;
-                            }
-                        }
-                        return false;
-                    }).noInputs()
+                    .predicate(r -> r.getFilter() != null)
+                    .noInputs()
             )
             .description("DingoPartRangeRule")
             .build();
@@ -41,6 +41,8 @@ public final class DingoRules {
         = DingoHashJoinRootRule.DEFAULT.toRule(DingoHashJoinRootRule.class);
     public static final DingoHashJoinRule DINGO_HASH_JOIN_RULE
         = DingoHashJoinRule.Config.DEFAULT.toRule();
+    public static final DingoIndexScanRule DINGO_INDEX_SCAN_RULE
+        = DingoIndexScanRule.Config.DEFAULT.toRule();
     public static final DingoPartCountRule DINGO_PART_COUNT_RULE
         = DingoPartCountRule.Config.DEFAULT.toRule();
     public static final DingoPartDeleteRule DINGO_PART_DELETE_RULE
@@ -100,6 +102,7 @@ public final class DingoRules {
         DINGO_GET_BY_KEYS_RULE,
         DINGO_HASH_JOIN_ROOT_RULE,
         DINGO_HASH_JOIN_RULE,
+        DINGO_INDEX_SCAN_RULE,
         DINGO_PART_COUNT_RULE,
         DINGO_PART_DELETE_RULE,
         DINGO_PART_MODIFY_RULE,
@@ -20,6 +20,7 @@ import io.dingodb.calcite.DingoConventions;
 import io.dingodb.calcite.rel.DingoTableScan;
 import io.dingodb.calcite.rel.LogicalDingoTableScan;
 import org.apache.calcite.plan.Convention;
+import org.apache.calcite.rel.RelCollations;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.convert.ConverterRule;
 
@@ -42,7 +43,9 @@ public class DingoTableScanRule extends ConverterRule {
         LogicalDingoTableScan scan = (LogicalDingoTableScan) rel;
         return new DingoTableScan(
             scan.getCluster(),
-            scan.getTraitSet().replace(DingoConventions.DISTRIBUTED),
+            // Parts, and sub ranges of a part if scan parallelism is set, are scanned concurrently, so the output is
+            // not ordered and a sort is always needed upon it.
+            scan.getTraitSet().replace(DingoConventions.DISTRIBUTED).replace(RelCollations.EMPTY),
             scan.getHints(),
             scan.getTable(),
             scan.getFilter(),
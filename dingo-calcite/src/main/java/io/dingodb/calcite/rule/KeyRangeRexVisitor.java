@@ -0,0 +1,549 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.calcite.rule;
+
+import com.google.common.collect.BoundType;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
+import io.dingodb.calcite.utils.KeyRange;
+import io.dingodb.calcite.utils.ParamKeyRange;
+import io.dingodb.calcite.utils.RexLiteralUtils;
+import io.dingodb.common.codec.Codec;
+import io.dingodb.common.codec.DingoCodec;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.serial.schema.DingoSchema;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexVisitorImpl;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.Pair;
+import org.apache.calcite.util.Sarg;
+import org.apache.calcite.util.Util;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Find the ranges of primary keys from a filter. The filter is expanded to a disjunction of items, each of which maps
+ * primary columns to the ranges of their values. An item is turned into key ranges by taking the points of the leading
+ * primary columns as prefixes, followed by the ranges of the next primary column.
+ *
+ * <p>The key columns can also be the columns of a secondary index, then the ranges are of the encoded index columns.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class KeyRangeRexVisitor extends RexVisitorImpl<List<Map<Integer, RangeSet<Comparable>>>> {
+    // Limit the expansion of `AND`s over `OR`s, and the number of generated ranges.
+    private static final int MAX_ITEMS = 256;
+
+    private final TableDefinition tableDefinition;
+    private final RexBuilder rexBuilder;
+    private final TupleMapping keyMapping;
+    private final List<DingoSchema> keySchemas;
+    private final Codec[] prefixCodecs;
+    // Set if some conditions are ignored, so the result is a superset and cannot be complemented.
+    private boolean inexact = false;
+
+    KeyRangeRexVisitor(@NonNull TableDefinition tableDefinition, RexBuilder rexBuilder) {
+        this(tableDefinition, rexBuilder, tableDefinition.getKeyMapping(), tableDefinition.getDingoSchemaOfKey());
+    }
+
+    /**
+     * Create a visitor to find the ranges over the specified key columns.
+     *
+     * @param tableDefinition the table definition
+     * @param rexBuilder      the rex builder
+     * @param keyMapping      the indices of the key columns in the table
+     * @param keySchemas      the schemas to encode the key columns
+     */
+    KeyRangeRexVisitor(
+        @NonNull TableDefinition tableDefinition,
+        RexBuilder rexBuilder,
+        @NonNull TupleMapping keyMapping,
+        @NonNull List<DingoSchema> keySchemas
+    ) {
+        super(true);
+        this.tableDefinition = tableDefinition;
+        this.rexBuilder = rexBuilder;
+        this.keyMapping = keyMapping;
+        this.keySchemas = keySchemas;
+        this.prefixCodecs = new Codec[keyMapping.size() + 1];
+    }
+
+    private static @NonNull List<Map<Integer, RangeSet<Comparable>>> singleton(
+        Map<Integer, RangeSet<Comparable>> item
+    ) {
+        List<Map<Integer, RangeSet<Comparable>>> items = new ArrayList<>(1);
+        items.add(item);
+        return items;
+    }
+
+    // `null` means conflict.
+    private static @Nullable Map<Integer, RangeSet<Comparable>> intersect(
+        @NonNull Map<Integer, RangeSet<Comparable>> item0,
+        @NonNull Map<Integer, RangeSet<Comparable>> item1
+    ) {
+        Map<Integer, RangeSet<Comparable>> result = new HashMap<>(item0);
+        for (Map.Entry<Integer, RangeSet<Comparable>> entry : item1.entrySet()) {
+            RangeSet<Comparable> rangeSet0 = result.get(entry.getKey());
+            if (rangeSet0 == null) {
+                result.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+            RangeSet<Comparable> rangeSet = TreeRangeSet.create(rangeSet0);
+            rangeSet.removeAll(entry.getValue().complement());
+            if (rangeSet.isEmpty()) {
+                return null;
+            }
+            result.put(entry.getKey(), rangeSet);
+        }
+        return result;
+    }
+
+    // `null` means too many items.
+    private static @Nullable List<Map<Integer, RangeSet<Comparable>>> product(
+        @NonNull List<Map<Integer, RangeSet<Comparable>>> items0,
+        @NonNull List<Map<Integer, RangeSet<Comparable>>> items1
+    ) {
+        List<Map<Integer, RangeSet<Comparable>>> result = new ArrayList<>();
+        for (Map<Integer, RangeSet<Comparable>> item0 : items0) {
+            for (Map<Integer, RangeSet<Comparable>> item1 : items1) {
+                Map<Integer, RangeSet<Comparable>> item = intersect(item0, item1);
+                if (item != null) {
+                    result.add(item);
+                }
+            }
+            if (result.size() > MAX_ITEMS) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    // `null` means the range set contains ranges other than points.
+    private static @Nullable List<Comparable> points(@NonNull RangeSet<Comparable> rangeSet) {
+        List<Comparable> points = new ArrayList<>();
+        for (Range<Comparable> range : rangeSet.asRanges()) {
+            if (range.hasLowerBound() && range.hasUpperBound()
+                && range.lowerBoundType() == BoundType.CLOSED && range.upperBoundType() == BoundType.CLOSED
+                && range.lowerEndpoint().compareTo(range.upperEndpoint()) == 0
+            ) {
+                points.add(range.lowerEndpoint());
+            } else {
+                return null;
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Get the ranges of primary keys which cover all the rows satisfying the filter.
+     *
+     * @param filter the filter
+     * @return the merged key ranges, or {@code null} if a full scan is needed
+     */
+    @Nullable List<KeyRange> getKeyRanges(@NonNull RexNode filter) {
+        List<Map<Integer, RangeSet<Comparable>>> items = filter.accept(this);
+        if (items == null) {
+            return null;
+        }
+        List<KeyRange> ranges = new ArrayList<>();
+        for (Map<Integer, RangeSet<Comparable>> item : items) {
+            if (!addKeyRanges(ranges, item)) {
+                return null;
+            }
+        }
+        return KeyRange.merge(ranges);
+    }
+
+    /**
+     * Check if there are sql parameters in a filter, which cannot be handled by {@link #getKeyRanges(RexNode)}.
+     *
+     * @param filter the filter
+     * @return {@code true} if the filter contains dynamic parameters
+     */
+    static boolean containsDynamicParam(@NonNull RexNode filter) {
+        try {
+            filter.accept(new RexVisitorImpl<Void>(true) {
+                @Override
+                public Void visitDynamicParam(RexDynamicParam dynamicParam) {
+                    throw Util.FoundOne.NULL;
+                }
+            });
+            return false;
+        } catch (Util.FoundOne e) {
+            return true;
+        }
+    }
+
+    /**
+     * Get the range of primary keys from the comparisons in the top level conjunction of the filter, in which the
+     * values may be sql parameters. Only one range is found, with the equality conditions on the leading primary
+     * columns followed by the bounds of the next primary column, and it is encoded when the parameters are bound.
+     *
+     * @param filter the filter
+     * @return the range, or {@code null} if the leading primary column is not restricted
+     */
+    @Nullable ParamKeyRange getParamKeyRange(@NonNull RexNode filter) {
+        Map<Integer, RexNode> points = new HashMap<>(keyMapping.size());
+        Map<Integer, Pair<RexNode, Boolean>> lowers = new HashMap<>(keyMapping.size());
+        Map<Integer, Pair<RexNode, Boolean>> uppers = new HashMap<>(keyMapping.size());
+        for (RexNode condition : RelOptUtil.conjunctions(filter)) {
+            if (!(condition instanceof RexCall)) {
+                continue;
+            }
+            List<RexNode> operands = ((RexCall) condition).getOperands();
+            SqlKind kind = condition.getKind();
+            if (kind == SqlKind.SEARCH) {
+                addSearchBounds(points, lowers, uppers, operands.get(0), operands.get(1));
+                continue;
+            }
+            if (!SqlKind.COMPARISON.contains(kind) || operands.size() != 2) {
+                continue;
+            }
+            RexNode op0 = operands.get(0);
+            RexNode op1 = operands.get(1);
+            if (op1.isA(SqlKind.INPUT_REF)) {
+                kind = kind.reverse();
+                op0 = operands.get(1);
+                op1 = operands.get(0);
+            }
+            if (!op0.isA(SqlKind.INPUT_REF) || !keyMapping.contains(((RexInputRef) op0).getIndex())) {
+                continue;
+            }
+            if (!(op1 instanceof RexDynamicParam) && !(op1 instanceof RexLiteral && !RexLiteral.isNullLiteral(op1))) {
+                continue;
+            }
+            int index = ((RexInputRef) op0).getIndex();
+            switch (kind) {
+                case EQUALS:
+                    points.putIfAbsent(index, op1);
+                    break;
+                case GREATER_THAN:
+                case GREATER_THAN_OR_EQUAL:
+                    lowers.putIfAbsent(index, Pair.of(op1, kind == SqlKind.GREATER_THAN_OR_EQUAL));
+                    break;
+                case LESS_THAN:
+                case LESS_THAN_OR_EQUAL:
+                    uppers.putIfAbsent(index, Pair.of(op1, kind == SqlKind.LESS_THAN_OR_EQUAL));
+                    break;
+                default:
+                    break;
+            }
+        }
+        List<RexNode> start = new ArrayList<>(keyMapping.size());
+        int count = 0;
+        while (count < keyMapping.size() && points.containsKey(keyMapping.get(count))) {
+            start.add(points.get(keyMapping.get(count)));
+            ++count;
+        }
+        List<RexNode> end = new ArrayList<>(start);
+        boolean includeStart = true;
+        boolean includeEnd = true;
+        if (count < keyMapping.size()) {
+            Pair<RexNode, Boolean> lower = lowers.get(keyMapping.get(count));
+            if (lower != null) {
+                start.add(lower.left);
+                includeStart = lower.right;
+            }
+            Pair<RexNode, Boolean> upper = uppers.get(keyMapping.get(count));
+            if (upper != null) {
+                end.add(upper.left);
+                includeEnd = upper.right;
+            }
+        }
+        if (start.isEmpty() && end.isEmpty()) {
+            return null;
+        }
+        return new ParamKeyRange(start, includeStart, end, includeEnd);
+    }
+
+    // Literal conditions in a conjunction with parameters are still turned to `SEARCH`, take it if it is one range.
+    private void addSearchBounds(
+        @NonNull Map<Integer, RexNode> points,
+        @NonNull Map<Integer, Pair<RexNode, Boolean>> lowers,
+        @NonNull Map<Integer, Pair<RexNode, Boolean>> uppers,
+        @NonNull RexNode ref,
+        @NonNull RexNode literal
+    ) {
+        if (!ref.isA(SqlKind.INPUT_REF) || !literal.isA(SqlKind.LITERAL)) {
+            return;
+        }
+        int index = ((RexInputRef) ref).getIndex();
+        Sarg<?> sarg = ((RexLiteral) literal).getValueAs(Sarg.class);
+        if (!keyMapping.contains(index) || sarg == null || sarg.rangeSet.asRanges().size() != 1) {
+            return;
+        }
+        Range<?> range = sarg.rangeSet.asRanges().iterator().next();
+        if (sarg.isPoints()) {
+            points.putIfAbsent(index, rexBuilder.makeLiteral(range.lowerEndpoint(), ref.getType()));
+            return;
+        }
+        if (range.hasLowerBound()) {
+            lowers.putIfAbsent(index, Pair.of(
+                rexBuilder.makeLiteral(range.lowerEndpoint(), ref.getType()),
+                range.lowerBoundType() == BoundType.CLOSED
+            ));
+        }
+        if (range.hasUpperBound()) {
+            uppers.putIfAbsent(index, Pair.of(
+                rexBuilder.makeLiteral(range.upperEndpoint(), ref.getType()),
+                range.upperBoundType() == BoundType.CLOSED
+            ));
+        }
+    }
+
+    private boolean addKeyRanges(@NonNull List<KeyRange> ranges, @NonNull Map<Integer, RangeSet<Comparable>> item) {
+        List<Object[]> prefixes = Collections.singletonList(new Object[0]);
+        int count = 0;
+        while (count < keyMapping.size()) {
+            RangeSet<Comparable> rangeSet = item.get(keyMapping.get(count));
+            if (rangeSet == null) {
+                break;
+            }
+            List<Comparable> points = points(rangeSet);
+            if (points != null && prefixes.size() * points.size() <= MAX_ITEMS) {
+                List<Object[]> newPrefixes = new ArrayList<>(prefixes.size() * points.size());
+                for (Object[] prefix : prefixes) {
+                    for (Comparable point : points) {
+                        Object[] newPrefix = Arrays.copyOf(prefix, count + 1);
+                        newPrefix[count] = convert(count, point);
+                        newPrefixes.add(newPrefix);
+                    }
+                }
+                prefixes = newPrefixes;
+                ++count;
+                continue;
+            }
+            for (Object[] prefix : prefixes) {
+                for (Range<Comparable> range : rangeSet.asRanges()) {
+                    ranges.add(makeKeyRange(prefix, count, range));
+                }
+            }
+            return ranges.size() <= MAX_ITEMS;
+        }
+        if (count == 0) {
+            // The leading primary column is not restricted.
+            return false;
+        }
+        for (Object[] prefix : prefixes) {
+            byte[] bytes = encode(prefix);
+            ranges.add(new KeyRange(bytes, KeyRange.successor(bytes)));
+        }
+        return ranges.size() <= MAX_ITEMS;
+    }
+
+    private @NonNull KeyRange makeKeyRange(Object @NonNull [] prefix, int count, @NonNull Range<Comparable> range) {
+        byte[] prefixBytes = count > 0 ? encode(prefix) : null;
+        byte[] start = prefixBytes;
+        if (range.hasLowerBound()) {
+            Object[] tuple = Arrays.copyOf(prefix, count + 1);
+            tuple[count] = convert(count, range.lowerEndpoint());
+            start = encode(tuple);
+            if (range.lowerBoundType() == BoundType.OPEN) {
+                start = KeyRange.successor(start);
+                if (start == null) {
+                    // Nothing is greater than the bound, make it an empty range.
+                    start = encode(tuple);
+                    return new KeyRange(start, start);
+                }
+            }
+        }
+        byte[] end = prefixBytes != null ? KeyRange.successor(prefixBytes) : null;
+        if (range.hasUpperBound()) {
+            Object[] tuple = Arrays.copyOf(prefix, count + 1);
+            tuple[count] = convert(count, range.upperEndpoint());
+            end = encode(tuple);
+            if (range.upperBoundType() == BoundType.CLOSED) {
+                end = KeyRange.successor(end);
+            }
+        }
+        return new KeyRange(start, end);
+    }
+
+    private @Nullable Object convert(int keyIndex, Comparable value) {
+        int index = keyMapping.get(keyIndex);
+        RelDataType type = tableDefinition.getColumn(index).getRelDataType(rexBuilder.getTypeFactory());
+        return RexLiteralUtils.convertFromRexLiteral(
+            (RexLiteral) rexBuilder.makeLiteral(value, type),
+            tableDefinition.getColumn(index).getDingoType()
+        );
+    }
+
+    private byte @NonNull [] encode(Object @NonNull [] prefix) {
+        Codec codec = prefixCodecs[prefix.length];
+        if (codec == null) {
+            codec = new DingoCodec(keySchemas.subList(0, prefix.length), null, true);
+            prefixCodecs[prefix.length] = codec;
+        }
+        try {
+            return codec.encodeKeyForRangeScan(prefix);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private @Nullable List<Map<Integer, RangeSet<Comparable>>> makeItems(int index, @NonNull RangeSet rangeSet) {
+        if (!keyMapping.contains(index)) {
+            return null;
+        }
+        if (rangeSet.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, RangeSet<Comparable>> item = new HashMap<>(keyMapping.size());
+        item.put(index, TreeRangeSet.create(rangeSet));
+        return singleton(item);
+    }
+
+    private @Nullable List<Map<Integer, RangeSet<Comparable>>> makeItems(int index, @NonNull Range range) {
+        return makeItems(index, TreeRangeSet.create(Collections.singletonList(range)));
+    }
+
+    // `null` means the RexNode is not related to primary columns.
+    @Override
+    public @Nullable List<Map<Integer, RangeSet<Comparable>>> visitInputRef(@NonNull RexInputRef inputRef) {
+        if (inputRef.getType().getSqlTypeName() == SqlTypeName.BOOLEAN) {
+            return makeItems(inputRef.getIndex(), Range.singleton(true));
+        }
+        return null;
+    }
+
+    @Override
+    public @Nullable List<Map<Integer, RangeSet<Comparable>>> visitCall(@NonNull RexCall call) {
+        List<RexNode> operands = call.getOperands();
+        switch (call.getKind()) {
+            case AND: {
+                List<Map<Integer, RangeSet<Comparable>>> items = singleton(new HashMap<>(keyMapping.size()));
+                for (RexNode operand : operands) {
+                    List<Map<Integer, RangeSet<Comparable>>> t = operand.accept(this);
+                    if (t == null) {
+                        inexact = true;
+                        continue;
+                    }
+                    items = product(items, t);
+                    if (items == null) {
+                        return null;
+                    }
+                }
+                return items;
+            }
+            case OR: {
+                List<Map<Integer, RangeSet<Comparable>>> items = new ArrayList<>();
+                for (RexNode operand : operands) {
+                    List<Map<Integer, RangeSet<Comparable>>> t = operand.accept(this);
+                    if (t == null || items.size() + t.size() > MAX_ITEMS) {
+                        return null;
+                    }
+                    items.addAll(t);
+                }
+                return items;
+            }
+            case NOT:
+                return visitNot(operands.get(0));
+            case SEARCH:
+                if (operands.get(0).isA(SqlKind.INPUT_REF) && operands.get(1).isA(SqlKind.LITERAL)) {
+                    Sarg<?> sarg = ((RexLiteral) operands.get(1)).getValueAs(Sarg.class);
+                    if (sarg != null) {
+                        return makeItems(((RexInputRef) operands.get(0)).getIndex(), sarg.rangeSet);
+                    }
+                }
+                return null;
+            case EQUALS:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                return visitComparison(call.getKind(), operands.get(0), operands.get(1));
+            default:
+                return null;
+        }
+    }
+
+    private @Nullable List<Map<Integer, RangeSet<Comparable>>> visitNot(@NonNull RexNode operand) {
+        boolean saved = inexact;
+        inexact = false;
+        List<Map<Integer, RangeSet<Comparable>>> items = operand.accept(this);
+        boolean exact = !inexact;
+        inexact = saved;
+        // Only the conditions on one primary column can be complemented.
+        if (items == null || !exact || items.isEmpty()) {
+            return null;
+        }
+        Integer index = null;
+        RangeSet<Comparable> rangeSet = TreeRangeSet.create();
+        for (Map<Integer, RangeSet<Comparable>> item : items) {
+            if (item.size() != 1) {
+                return null;
+            }
+            Map.Entry<Integer, RangeSet<Comparable>> entry = item.entrySet().iterator().next();
+            if (index != null && !index.equals(entry.getKey())) {
+                return null;
+            }
+            index = entry.getKey();
+            rangeSet.addAll(entry.getValue());
+        }
+        return makeItems(index, rangeSet.complement());
+    }
+
+    private @Nullable List<Map<Integer, RangeSet<Comparable>>> visitComparison(
+        @NonNull SqlKind kind,
+        @NonNull RexNode op0,
+        @NonNull RexNode op1
+    ) {
+        if (op1.isA(SqlKind.INPUT_REF) && op0.isA(SqlKind.LITERAL)) {
+            return visitComparison(kind.reverse(), op1, op0);
+        }
+        if (!op0.isA(SqlKind.INPUT_REF) || !op1.isA(SqlKind.LITERAL)) {
+            return null;
+        }
+        int index = ((RexInputRef) op0).getIndex();
+        Comparable value = ((RexLiteral) op1).getValueAs(Comparable.class);
+        if (value == null) {
+            return null;
+        }
+        switch (kind) {
+            case EQUALS:
+                return makeItems(index, Range.singleton(value));
+            case LESS_THAN:
+                return makeItems(index, Range.lessThan(value));
+            case LESS_THAN_OR_EQUAL:
+                return makeItems(index, Range.atMost(value));
+            case GREATER_THAN:
+                return makeItems(index, Range.greaterThan(value));
+            case GREATER_THAN_OR_EQUAL:
+                return makeItems(index, Range.atLeast(value));
+            default:
+                return null;
+        }
+    }
+}
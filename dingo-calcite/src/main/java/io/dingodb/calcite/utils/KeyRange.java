@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.calcite.utils;
+
+import com.google.common.io.BaseEncoding;
+import io.dingodb.common.util.ByteArrayUtils;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A half-open range {@code [start, end)} of encoded primary keys. {@code null} start or end means unbounded.
+ */
+@EqualsAndHashCode
+public final class KeyRange {
+    private static final Comparator<KeyRange> START_COMPARATOR = (r0, r1) -> compareStart(r0.start, r1.start);
+
+    @Getter
+    private final byte @Nullable [] start;
+    @Getter
+    private final byte @Nullable [] end;
+
+    public KeyRange(byte @Nullable [] start, byte @Nullable [] end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Get the least byte array greater than all the byte arrays with the specified prefix.
+     *
+     * @param prefix the prefix
+     * @return the successor, or {@code null} if there is none
+     */
+    public static byte @Nullable [] successor(byte @NonNull [] prefix) {
+        return ByteArrayUtils.successor(prefix);
+    }
+
+    private static int compareStart(byte @Nullable [] start0, byte @Nullable [] start1) {
+        if (start0 == null) {
+            return start1 == null ? 0 : -1;
+        }
+        return start1 == null ? 1 : ByteArrayUtils.compare(start0, start1);
+    }
+
+    private static int compareEnd(byte @Nullable [] end0, byte @Nullable [] end1) {
+        if (end0 == null) {
+            return end1 == null ? 0 : 1;
+        }
+        return end1 == null ? -1 : ByteArrayUtils.compare(end0, end1);
+    }
+
+    /**
+     * Sort the ranges by start keys, drop the empty ones and merge the overlapped or adjacent ones.
+     *
+     * @param ranges the ranges
+     * @return the merged ranges, which are disjoint and sorted
+     */
+    public static @NonNull List<KeyRange> merge(@NonNull List<KeyRange> ranges) {
+        List<KeyRange> sorted = new ArrayList<>(ranges);
+        sorted.removeIf(KeyRange::isEmpty);
+        sorted.sort(START_COMPARATOR);
+        List<KeyRange> result = new ArrayList<>(sorted.size());
+        KeyRange current = null;
+        for (KeyRange range : sorted) {
+            if (current == null) {
+                current = range;
+            } else if (current.end == null || compareStart(range.start, current.end) <= 0) {
+                if (compareEnd(range.end, current.end) > 0) {
+                    current = new KeyRange(current.start, range.end);
+                }
+            } else {
+                result.add(current);
+                current = range;
+            }
+        }
+        if (current != null) {
+            result.add(current);
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return start != null && end != null && ByteArrayUtils.compare(start, end) >= 0;
+    }
+
+    @Override
+    public String toString() {
+        BaseEncoding encoding = BaseEncoding.base16();
+        return "[" + (start != null ? encoding.encode(start) : "-inf")
+            + ", " + (end != null ? encoding.encode(end) : "+inf") + ")";
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.calcite.utils;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.apache.calcite.rex.RexNode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+
+/**
+ * A range of primary keys whose bounds may contain sql parameters, so it can only be encoded at execution time. The
+ * bounds are values of the leading primary columns, an empty bound means unbounded.
+ */
+@EqualsAndHashCode
+public final class ParamKeyRange {
+    @Getter
+    private final List<RexNode> start;
+    @Getter
+    private final boolean includeStart;
+    @Getter
+    private final List<RexNode> end;
+    @Getter
+    private final boolean includeEnd;
+
+    public ParamKeyRange(
+        @NonNull List<RexNode> start,
+        boolean includeStart,
+        @NonNull List<RexNode> end,
+        boolean includeEnd
+    ) {
+        this.start = start;
+        this.includeStart = includeStart;
+        this.end = end;
+        this.includeEnd = includeEnd;
+    }
+
+    @Override
+    public String toString() {
+        return (start.isEmpty() ? "(-inf" : (includeStart ? "[" : "(") + start) + ", "
+            + (end.isEmpty() ? "+inf)" : end + (includeEnd ? "]" : ")"));
+    }
+}
@@ -26,6 +26,7 @@ import io.dingodb.calcite.rel.DingoFilter;
 import io.dingodb.calcite.rel.DingoGetByKeys;
 import io.dingodb.calcite.rel.DingoHash;
 import io.dingodb.calcite.rel.DingoHashJoin;
+import io.dingodb.calcite.rel.DingoIndexScan;
 import io.dingodb.calcite.rel.DingoPartCountDelete;
 import io.dingodb.calcite.rel.DingoPartModify;
 import io.dingodb.calcite.rel.DingoPartRangeDelete;
@@ -38,6 +39,8 @@ import io.dingodb.calcite.rel.DingoSort;
 import io.dingodb.calcite.rel.DingoTableScan;
 import io.dingodb.calcite.rel.DingoUnion;
 import io.dingodb.calcite.rel.DingoValues;
+import io.dingodb.calcite.utils.KeyRange;
+import io.dingodb.calcite.utils.ParamKeyRange;
 import io.dingodb.calcite.utils.RexLiteralUtils;
 import io.dingodb.calcite.utils.SqlExprUtils;
 import io.dingodb.common.CommonId;
@@ -48,6 +51,7 @@ import io.dingodb.common.hash.SimpleHashStrategy;
 import io.dingodb.common.partition.PartitionStrategy;
 import io.dingodb.common.partition.RangeStrategy;
 import io.dingodb.common.table.DingoKeyValueCodec;
+import io.dingodb.common.table.IndexDefinition;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.DingoTypeFactory;
@@ -72,6 +76,7 @@ import io.dingodb.exec.operator.HashJoinOperator;
 import io.dingodb.exec.operator.HashOperator;
 import io.dingodb.exec.operator.PartCountOperator;
 import io.dingodb.exec.operator.PartDeleteOperator;
+import io.dingodb.exec.operator.PartIndexScanOperator;
 import io.dingodb.exec.operator.PartInsertOperator;
 import io.dingodb.exec.operator.PartRangeDeleteOperator;
 import io.dingodb.exec.operator.PartRangeScanOperator;
@@ -90,6 +95,7 @@ import io.dingodb.exec.operator.ValuesOperator;
 import io.dingodb.exec.operator.data.SortCollation;
 import io.dingodb.exec.operator.data.SortDirection;
 import io.dingodb.exec.operator.data.SortNullDirection;
+import io.dingodb.exec.table.PartIndex;
 import io.dingodb.expr.parser.Expr;
 import io.dingodb.expr.parser.op.IndexOp;
 import io.dingodb.expr.parser.op.Op;
@@ -104,6 +110,8 @@ import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.util.ImmutableBitSet;
@@ -113,6 +121,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -133,13 +142,26 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
     private final IdGenerator idGenerator;
     private final Location currentLocation;
     private final MetaCache metaCache;
+    private final int scanParallelism;
+    private final long joinMemoryBudget;
+    private final long sortMemoryBudget;
     @Getter
     private final Job job;
 
-    private DingoJobVisitor(Job job, IdGenerator idGenerator, Location currentLocation) {
+    private DingoJobVisitor(
+        Job job,
+        IdGenerator idGenerator,
+        Location currentLocation,
+        int scanParallelism,
+        long joinMemoryBudget,
+        long sortMemoryBudget
+    ) {
         this.job = job;
         this.idGenerator = idGenerator;
         this.currentLocation = currentLocation;
+        this.scanParallelism = scanParallelism;
+        this.joinMemoryBudget = joinMemoryBudget;
+        this.sortMemoryBudget = sortMemoryBudget;
         this.metaCache = new MetaCache();
     }
 
@@ -148,9 +170,44 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
     }
 
     public static void renderJob(Job job, RelNode input, Location currentLocation, boolean checkRoot) {
+        renderJob(job, input, currentLocation, checkRoot, 1);
+    }
+
+    public static void renderJob(
+        Job job,
+        RelNode input,
+        Location currentLocation,
+        boolean checkRoot,
+        int scanParallelism
+    ) {
+        renderJob(job, input, currentLocation, checkRoot, scanParallelism, 0L, 0L);
+    }
+
+    /**
+     * Render the job of a physical plan.
+     *
+     * @param job              the job to render into
+     * @param input            the physical plan
+     * @param currentLocation  the location of the root task
+     * @param checkRoot        whether the plan must be rooted by {@code DingoRoot}
+     * @param scanParallelism  the number of sub ranges each part is scanned in
+     * @param joinMemoryBudget the memory budget of hash joins in bytes, not positive means the default of executors
+     * @param sortMemoryBudget the memory budget of sorts in bytes, not positive means the default of executors
+     */
+    public static void renderJob(
+        Job job,
+        RelNode input,
+        Location currentLocation,
+        boolean checkRoot,
+        int scanParallelism,
+        long joinMemoryBudget,
+        long sortMemoryBudget
+    ) {
         MetaCache.initTableDefinitions();
         IdGenerator idGenerator = new DingoIdGenerator();
-        DingoJobVisitor visitor = new DingoJobVisitor(job, idGenerator, currentLocation);
+        DingoJobVisitor visitor = new DingoJobVisitor(
+            job, idGenerator, currentLocation, scanParallelism, joinMemoryBudget, sortMemoryBudget
+        );
         log.info(RelOptUtil.toString(input));
         Collection<Output> outputs = dingo(input).accept(visitor);
         if (checkRoot && outputs.size() > 0) {
@@ -194,6 +251,15 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
         );
     }
 
+    private static @NonNull List<PartIndex> getPartIndexes(@NonNull TableDefinition td) {
+        if (td.getIndexes() == null) {
+            return Collections.emptyList();
+        }
+        return td.getIndexes().stream()
+            .map(index -> new PartIndex(index.getName(), td.getIndexMapping(index)))
+            .collect(Collectors.toList());
+    }
+
     private static List<Agg> getAggList(
         @NonNull List<AggregateCall> aggregateCallList,
         DingoType schema
@@ -344,12 +410,12 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
     @Override
     public Collection<Output> visit(@NonNull DingoAggregate rel) {
         Collection<Output> inputs = dingo(rel.getInput()).accept(this);
+        DingoType schema = DingoTypeFactory.fromRelDataType(rel.getInput().getRowType());
         return bridge(inputs, () -> new AggregateOperator(
             getAggKeys(rel.getGroupSet()),
-            getAggList(
-                rel.getAggCallList(),
-                DingoTypeFactory.fromRelDataType(rel.getInput().getRowType())
-            )
+            getAggList(rel.getAggCallList(), schema),
+            schema,
+            0
         ));
     }
 
@@ -477,7 +543,10 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
                 rel.getLeft().getRowType().getFieldCount(),
                 rel.getRight().getRowType().getFieldCount(),
                 rel.getJoinType() == JoinRelType.LEFT || rel.getJoinType() == JoinRelType.FULL,
-                rel.getJoinType() == JoinRelType.RIGHT || rel.getJoinType() == JoinRelType.FULL
+                rel.getJoinType() == JoinRelType.RIGHT || rel.getJoinType() == JoinRelType.FULL,
+                DingoTypeFactory.fromRelDataType(rel.getLeft().getRowType()),
+                DingoTypeFactory.fromRelDataType(rel.getRight().getRowType()),
+                joinMemoryBudget
             );
             operator.setId(idGenerator.get());
             left.setLink(operator.getInput(0));
@@ -528,7 +597,8 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
                         tableId,
                         input.getHint().getPartId(),
                         td.getDingoType(),
-                        td.getKeyMapping()
+                        td.getKeyMapping(),
+                        getPartIndexes(td)
                     );
                     break;
                 case UPDATE:
@@ -537,6 +607,7 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
                         input.getHint().getPartId(),
                         td.getDingoType(),
                         td.getKeyMapping(),
+                        getPartIndexes(td),
                         TupleMapping.of(td.getColumnIndices(rel.getUpdateColumnList())),
                         rel.getSourceExpressionList().stream()
                             .map(SqlExprUtils::toSqlExpr)
@@ -548,7 +619,8 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
                         tableId,
                         input.getHint().getPartId(),
                         td.getDingoType(),
-                        td.getKeyMapping()
+                        td.getKeyMapping(),
+                        getPartIndexes(td)
                     );
                     break;
                 default:
@@ -585,7 +657,9 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
             getAggList(
                 rel.getAggregateCallList(),
                 DingoTypeFactory.fromRelDataType(rel.getOriginalInputType())
-            )
+            ),
+            DingoTypeFactory.fromRelDataType(rel.getInput().getRowType()),
+            0
         );
         operator.setId(idGenerator.get());
         Output input = sole(inputs);
@@ -618,7 +692,9 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
                 .map(DingoJobVisitor::toSortCollation)
                 .collect(Collectors.toList()),
             rel.fetch == null ? -1 : RexLiteral.intValue(rel.fetch),
-            rel.offset == null ? 0 : RexLiteral.intValue(rel.offset)
+            rel.offset == null ? 0 : RexLiteral.intValue(rel.offset),
+            DingoTypeFactory.fromRelDataType(rel.getRowType()),
+            sortMemoryBudget
         ));
     }
 
@@ -669,7 +745,8 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
                         td.getDingoType(),
                         td.getKeyMapping(),
                         filter,
-                        rel.getSelection()
+                        rel.getSelection(),
+                        scanParallelism
                     );
                     operator.setId(idGenerator.get());
                     Task task = job.getOrCreate(distributes.get(i), idGenerator);
@@ -769,73 +846,146 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
         return outputs;
     }
 
+    // The values are evaluated to the types of the leading primary columns.
+    private static @NonNull List<SqlExpr> toKeyExprs(
+        @NonNull TableDefinition td,
+        @NonNull List<RexNode> values,
+        @NonNull RelDataTypeFactory typeFactory
+    ) {
+        TupleMapping keyMapping = td.getKeyMapping();
+        List<SqlExpr> exprs = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); ++i) {
+            RelDataType type = td.getColumn(keyMapping.get(i)).getRelDataType(typeFactory);
+            exprs.add(SqlExprUtils.toSqlExpr(values.get(i), typeFactory.createTypeWithNullability(type, true)));
+        }
+        return exprs;
+    }
+
     @Override
     public Collection<Output> visit(@NonNull DingoPartRangeScan rel) {
         String tableName = MetaCache.getTableName(rel.getTable());
         TableDefinition td = this.metaCache.getTableDefinition(tableName);
+        CommonId tableId = this.metaCache.getTableId(tableName);
         SqlExpr filter = null;
         if (rel.getFilter() != null) {
             filter = SqlExprUtils.toSqlExpr(rel.getFilter());
         }
 
         NavigableMap<ComparableByteArray, Part> parts = this.metaCache.getParts(tableName);
-        byte[] startKey = rel.getStartKey();
-        byte[] endKey = rel.getEndKey();
-
-        ComparableByteArray startByteArray = parts.floorKey(new ComparableByteArray(startKey));
-        if (!rel.isNotBetween() && startByteArray == null) {
-            log.warn("Get part from table:{} by startKey:{}, result is null", td.getName(), startKey);
-            return null;
-        }
-
-        // Get all ranges that need to be queried
-        Map<byte[], byte[]> allRangeMap = new TreeMap<>(ByteArrayUtils::compare);
-        if (rel.isNotBetween()) {
-            allRangeMap.put(parts.firstKey().getBytes(), startKey);
-            allRangeMap.put(endKey, parts.lastKey().getBytes());
-        } else {
-            allRangeMap.put(startKey, endKey);
-        }
-
         List<Output> outputs = new ArrayList<>();
-
-        Iterator<Map.Entry<byte[], byte[]>> allRangeIterator = allRangeMap.entrySet().iterator();
-        while (allRangeIterator.hasNext()) {
-            Map.Entry<byte[], byte[]> entry = allRangeIterator.next();
-            startKey = entry.getKey();
-            endKey = entry.getValue();
-
-            // Get all partitions based on startKey and endKey
-            final PartitionStrategy<ComparableByteArray> ps = new RangeStrategy(td, parts.navigableKeySet());
-            Map<byte[], byte[]> partMap = ps.calcPartitionRange(startKey, endKey, rel.isIncludeEnd());
-
-            Iterator<Map.Entry<byte[], byte[]>> partIterator = partMap.entrySet().iterator();
-            boolean includeStart = rel.isIncludeStart();
-            while (partIterator.hasNext()) {
-                Map.Entry<byte[], byte[]> next = partIterator.next();
+        ParamKeyRange paramRange = rel.getParamRange();
+        if (paramRange != null) {
+            // The range is only known at execution time, so each part is scanned within the range and its boundaries.
+            for (Map.Entry<ComparableByteArray, Part> entry : parts.entrySet()) {
+                byte[] start = entry.getKey().getBytes();
+                ComparableByteArray nextPartKey = parts.higherKey(entry.getKey());
                 PartRangeScanOperator operator = new PartRangeScanOperator(
-                    this.metaCache.getTableId(tableName),
-                    next.getKey(),
+                    tableId,
+                    start,
                     td.getDingoType(),
                     td.getKeyMapping(),
                     filter,
                     rel.getSelection(),
-                    next.getKey(),
-                    next.getValue(),
-                    includeStart,
-                    next.getValue() != null && rel.isIncludeEnd(),
-                    false
+                    start,
+                    nextPartKey != null ? nextPartKey.getBytes() : null,
+                    true,
+                    false,
+                    false,
+                    toKeyExprs(td, paramRange.getStart(), rel.getCluster().getTypeFactory()),
+                    paramRange.isIncludeStart(),
+                    toKeyExprs(td, paramRange.getEnd(), rel.getCluster().getTypeFactory()),
+                    paramRange.isIncludeEnd()
                 );
                 operator.setId(idGenerator.get());
-                Task task = job.getOrCreate(
-                    parts.get(parts.floorKey(new ComparableByteArray(next.getKey()))).getLeader(), idGenerator
+                Task task = job.getOrCreate(entry.getValue().getLeader(), idGenerator);
+                task.putOperator(operator);
+                outputs.addAll(operator.getOutputs());
+            }
+            return outputs;
+        }
+        for (KeyRange range : rel.getRanges()) {
+            // A range is split by parts, for a scan cannot cross the boundary of parts.
+            ComparableByteArray firstPartKey = null;
+            if (range.getStart() != null) {
+                firstPartKey = parts.floorKey(new ComparableByteArray(range.getStart()));
+            }
+            if (firstPartKey == null) {
+                firstPartKey = parts.firstKey();
+            }
+            for (Map.Entry<ComparableByteArray, Part> entry : parts.tailMap(firstPartKey, true).entrySet()) {
+                byte[] partStart = entry.getKey().getBytes();
+                byte[] rangeEnd = range.getEnd();
+                if (rangeEnd != null && !ByteArrayUtils.lessThan(partStart, rangeEnd)) {
+                    break;
+                }
+                byte[] start = partStart;
+                if (range.getStart() != null && ByteArrayUtils.greatThan(range.getStart(), partStart)) {
+                    start = range.getStart();
+                }
+                ComparableByteArray nextPartKey = parts.higherKey(entry.getKey());
+                // `null` means to the end of the part.
+                byte[] end = null;
+                if (rangeEnd != null
+                    && (nextPartKey == null || ByteArrayUtils.lessThan(rangeEnd, nextPartKey.getBytes()))
+                ) {
+                    end = rangeEnd;
+                }
+                PartRangeScanOperator operator = new PartRangeScanOperator(
+                    tableId,
+                    start,
+                    td.getDingoType(),
+                    td.getKeyMapping(),
+                    filter,
+                    rel.getSelection(),
+                    start,
+                    end,
+                    true,
+                    false,
+                    false
                 );
+                operator.setId(idGenerator.get());
+                Task task = job.getOrCreate(entry.getValue().getLeader(), idGenerator);
                 task.putOperator(operator);
                 outputs.addAll(operator.getOutputs());
-                includeStart = true;
             }
         }
+        return outputs;
+    }
 
+    @Override
+    public Collection<Output> visit(@NonNull DingoIndexScan rel) {
+        String tableName = MetaCache.getTableName(rel.getTable());
+        TableDefinition td = this.metaCache.getTableDefinition(tableName);
+        CommonId tableId = this.metaCache.getTableId(tableName);
+        SqlExpr filter = null;
+        if (rel.getFilter() != null) {
+            filter = SqlExprUtils.toSqlExpr(rel.getFilter());
+        }
+        IndexDefinition index = rel.getIndex();
+        List<byte[]> startKeys = rel.getRanges().stream().map(KeyRange::getStart).collect(Collectors.toList());
+        List<byte[]> endKeys = rel.getRanges().stream().map(KeyRange::getEnd).collect(Collectors.toList());
+        NavigableMap<ComparableByteArray, Part> parts = this.metaCache.getParts(tableName);
+        List<Output> outputs = new ArrayList<>(parts.size());
+        // Indexes are local to parts, so the index of every part is scanned on the leader of the part.
+        for (Map.Entry<ComparableByteArray, Part> entry : parts.entrySet()) {
+            byte[] partKey = entry.getKey().getBytes();
+            PartIndexScanOperator operator = new PartIndexScanOperator(
+                tableId,
+                partKey,
+                td.getDingoType(),
+                td.getKeyMapping(),
+                filter,
+                rel.getSelection(),
+                partKey,
+                new PartIndex(index.getName(), td.getIndexMapping(index)),
+                startKeys,
+                endKeys
+            );
+            operator.setId(idGenerator.get());
+            Task task = job.getOrCreate(entry.getValue().getLeader(), idGenerator);
+            task.putOperator(operator);
+            outputs.addAll(operator.getOutputs());
+        }
         return outputs;
     }
 
@@ -858,7 +1008,8 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
                 td.getDingoType(),
                 td.getKeyMapping(),
                 next.getKey(),
-                next.getValue()
+                next.getValue(),
+                getPartIndexes(td)
             );
             operator.setId(idGenerator.get());
             Task task = job.getOrCreate(
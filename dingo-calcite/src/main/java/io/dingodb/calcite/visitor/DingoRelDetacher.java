@@ -0,0 +1,280 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.calcite.visitor;
+
+import io.dingodb.calcite.rel.DingoAggregate;
+import io.dingodb.calcite.rel.DingoCoalesce;
+import io.dingodb.calcite.rel.DingoDistributedValues;
+import io.dingodb.calcite.rel.DingoExchange;
+import io.dingodb.calcite.rel.DingoFilter;
+import io.dingodb.calcite.rel.DingoGetByKeys;
+import io.dingodb.calcite.rel.DingoHash;
+import io.dingodb.calcite.rel.DingoHashJoin;
+import io.dingodb.calcite.rel.DingoIndexScan;
+import io.dingodb.calcite.rel.DingoPartCountDelete;
+import io.dingodb.calcite.rel.DingoPartModify;
+import io.dingodb.calcite.rel.DingoPartRangeDelete;
+import io.dingodb.calcite.rel.DingoPartRangeScan;
+import io.dingodb.calcite.rel.DingoPartition;
+import io.dingodb.calcite.rel.DingoProject;
+import io.dingodb.calcite.rel.DingoReduce;
+import io.dingodb.calcite.rel.DingoRoot;
+import io.dingodb.calcite.rel.DingoSort;
+import io.dingodb.calcite.rel.DingoTableScan;
+import io.dingodb.calcite.rel.DingoUnion;
+import io.dingodb.calcite.rel.DingoValues;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.volcano.VolcanoPlanner;
+import org.apache.calcite.rel.RelNode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.dingodb.calcite.rel.DingoRel.dingo;
+
+/**
+ * Copy an optimized plan into a new cluster with an empty planner. The nodes of an optimized plan refer to the planner
+ * by their cluster, which holds all the alternatives explored in optimization, so a plan to be kept for long, e.g. in
+ * a plan cache, should be detached first.
+ */
+public final class DingoRelDetacher implements DingoRelVisitor<RelNode> {
+    private final RelOptCluster cluster;
+
+    private DingoRelDetacher(RelOptCluster cluster) {
+        this.cluster = cluster;
+    }
+
+    public static @NonNull RelNode detach(@NonNull RelNode relNode) {
+        RelOptCluster source = relNode.getCluster();
+        RelOptCluster cluster = RelOptCluster.create(new VolcanoPlanner(), source.getRexBuilder());
+        cluster.setMetadataProvider(source.getMetadataProvider());
+        return dingo(relNode).accept(new DingoRelDetacher(cluster));
+    }
+
+    private @NonNull RelNode copy(@NonNull RelNode input) {
+        return dingo(input).accept(this);
+    }
+
+    private @NonNull List<RelNode> copy(@NonNull List<RelNode> inputs) {
+        return inputs.stream().map(this::copy).collect(Collectors.toList());
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoAggregate rel) {
+        return new DingoAggregate(
+            cluster,
+            rel.getTraitSet(),
+            rel.getHints(),
+            copy(rel.getInput()),
+            rel.getGroupSet(),
+            rel.getGroupSets(),
+            rel.getAggCallList()
+        );
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoCoalesce rel) {
+        return new DingoCoalesce(cluster, rel.getTraitSet(), copy(rel.getInput()));
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoDistributedValues rel) {
+        return new DingoDistributedValues(
+            cluster,
+            rel.getTraitSet(),
+            rel.getRowType(),
+            rel.getTuples(),
+            rel.getTable()
+        );
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoExchange rel) {
+        return new DingoExchange(cluster, rel.getTraitSet(), copy(rel.getInput()), rel.isRoot());
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoFilter rel) {
+        return new DingoFilter(cluster, rel.getTraitSet(), copy(rel.getInput()), rel.getCondition());
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoGetByKeys rel) {
+        return new DingoGetByKeys(
+            cluster,
+            rel.getTraitSet(),
+            rel.getHints(),
+            rel.getTable(),
+            rel.getFilter(),
+            rel.getSelection(),
+            rel.getKeyItems()
+        );
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoHash rel) {
+        return new DingoHash(cluster, rel.getTraitSet(), copy(rel.getInput()), rel.getKeys());
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoHashJoin rel) {
+        return new DingoHashJoin(
+            cluster,
+            rel.getTraitSet(),
+            rel.getHints(),
+            copy(rel.getLeft()),
+            copy(rel.getRight()),
+            rel.getCondition(),
+            rel.getVariablesSet(),
+            rel.getJoinType()
+        );
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoPartition rel) {
+        return new DingoPartition(cluster, rel.getTraitSet(), copy(rel.getInput()), rel.getTable());
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoPartModify rel) {
+        return new DingoPartModify(
+            cluster,
+            rel.getTraitSet(),
+            copy(rel.getInput()),
+            rel.getTable(),
+            rel.getOperation(),
+            rel.getUpdateColumnList(),
+            rel.getSourceExpressionList()
+        );
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoProject rel) {
+        return new DingoProject(
+            cluster,
+            rel.getTraitSet(),
+            rel.getHints(),
+            copy(rel.getInput()),
+            rel.getProjects(),
+            rel.getRowType()
+        );
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoReduce rel) {
+        return new DingoReduce(
+            cluster,
+            rel.getTraitSet(),
+            copy(rel.getInput()),
+            rel.getGroupSet(),
+            rel.getAggregateCallList(),
+            rel.getOriginalInputType()
+        );
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoRoot rel) {
+        return new DingoRoot(cluster, rel.getTraitSet(), copy(rel.getInput()));
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoSort rel) {
+        return new DingoSort(
+            cluster,
+            rel.getTraitSet(),
+            copy(rel.getInput()),
+            rel.getCollation(),
+            rel.offset,
+            rel.fetch
+        );
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoTableScan rel) {
+        return new DingoTableScan(
+            cluster,
+            rel.getTraitSet(),
+            rel.getHints(),
+            rel.getTable(),
+            rel.getFilter(),
+            rel.getSelection()
+        );
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoUnion rel) {
+        return new DingoUnion(cluster, rel.getTraitSet(), copy(rel.getInputs()), rel.all);
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoValues rel) {
+        return new DingoValues(cluster, rel.getTraitSet(), rel.getRowType(), rel.getTuples());
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoPartCountDelete rel) {
+        return new DingoPartCountDelete(
+            cluster,
+            rel.getTraitSet(),
+            rel.getTable(),
+            rel.isDoDeleting(),
+            rel.getRowType()
+        );
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoPartRangeScan rel) {
+        return new DingoPartRangeScan(
+            cluster,
+            rel.getTraitSet(),
+            rel.getHints(),
+            rel.getTable(),
+            rel.getFilter(),
+            rel.getSelection(),
+            rel.getRanges(),
+            rel.getParamRange()
+        );
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoPartRangeDelete rel) {
+        return new DingoPartRangeDelete(
+            cluster,
+            rel.getTraitSet(),
+            rel.getTable(),
+            rel.getRowType(),
+            rel.getStartKey(),
+            rel.getEndKey()
+        );
+    }
+
+    @Override
+    public RelNode visit(@NonNull DingoIndexScan rel) {
+        return new DingoIndexScan(
+            cluster,
+            rel.getTraitSet(),
+            rel.getHints(),
+            rel.getTable(),
+            rel.getFilter(),
+            rel.getSelection(),
+            rel.getIndex(),
+            rel.getRanges()
+        );
+    }
+}
@@ -24,6 +24,7 @@ import io.dingodb.calcite.rel.DingoFilter;
 import io.dingodb.calcite.rel.DingoGetByKeys;
 import io.dingodb.calcite.rel.DingoHash;
 import io.dingodb.calcite.rel.DingoHashJoin;
+import io.dingodb.calcite.rel.DingoIndexScan;
 import io.dingodb.calcite.rel.DingoPartCountDelete;
 import io.dingodb.calcite.rel.DingoPartModify;
 import io.dingodb.calcite.rel.DingoPartRangeDelete;
@@ -78,4 +79,6 @@ public interface DingoRelVisitor<T> {
     T visit(@NonNull DingoPartRangeScan rel);
 
     T visit(@NonNull DingoPartRangeDelete rel);
+
+    T visit(@NonNull DingoIndexScan rel);
 }
@@ -20,8 +20,8 @@ import io.dingodb.calcite.mock.MockMetaServiceProvider;
 import io.dingodb.calcite.rel.DingoCoalesce;
 import io.dingodb.calcite.rel.DingoExchange;
 import io.dingodb.calcite.rel.DingoGetByKeys;
+import io.dingodb.calcite.rel.DingoPartRangeScan;
 import io.dingodb.calcite.rel.DingoRoot;
-import io.dingodb.calcite.rel.DingoTableScan;
 import io.dingodb.calcite.rel.LogicalDingoTableScan;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.test.asserts.Assert;
@@ -58,13 +58,15 @@ public class TestGetByKeys {
             .soleInput().isA(LogicalFilter.class)
             .soleInput().isA(LogicalDingoTableScan.class);
         RelNode optimized = parser.optimize(relRoot.rel);
-        DingoTableScan scan = (DingoTableScan) Assert.relNode(optimized).isA(DingoRoot.class)
+        // Not all the primary columns are specified, so it is a prefix scan.
+        DingoPartRangeScan scan = (DingoPartRangeScan) Assert.relNode(optimized).isA(DingoRoot.class)
             .soleInput().isA(DingoCoalesce.class)
             .soleInput().isA(DingoExchange.class).prop("root", true)
-            .soleInput().isA(DingoTableScan.class)
+            .soleInput().isA(DingoPartRangeScan.class)
             .getInstance();
         assertThat((scan).getFilter()).isNotNull();
         assertThat((scan).getSelection()).isNull();
+        assertThat((scan).getRanges()).hasSize(1);
     }
 
     @Test
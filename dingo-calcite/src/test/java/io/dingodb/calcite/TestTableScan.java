@@ -19,12 +19,16 @@ package io.dingodb.calcite;
 import io.dingodb.calcite.mock.MockMetaServiceProvider;
 import io.dingodb.calcite.rel.DingoCoalesce;
 import io.dingodb.calcite.rel.DingoExchange;
+import io.dingodb.calcite.rel.DingoIndexScan;
 import io.dingodb.calcite.rel.DingoPartRangeScan;
 import io.dingodb.calcite.rel.DingoRoot;
 import io.dingodb.calcite.rel.DingoTableScan;
 import io.dingodb.calcite.rel.LogicalDingoTableScan;
+import io.dingodb.calcite.utils.KeyRange;
+import io.dingodb.calcite.utils.ParamKeyRange;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.common.Location;
+import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.exec.base.Id;
 import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.JobManager;
@@ -35,6 +39,8 @@ import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelRoot;
 import org.apache.calcite.rel.logical.LogicalFilter;
 import org.apache.calcite.rel.logical.LogicalProject;
+import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.parser.SqlParseException;
 import org.junit.jupiter.api.BeforeAll;
@@ -90,6 +96,19 @@ public class TestTableScan {
         assertJob.task("0001").location(currentLocation).operatorNum(4);
     }
 
+    @Test
+    public void testScanNotAnalyzed() throws SqlParseException {
+        // No statistics for a table neither analyzed nor reported by the parts, so the default row count is used.
+        RelRoot relRoot = parser.convert(parser.parse("select * from test"));
+        LogicalDingoTableScan scan = (LogicalDingoTableScan) Assert.relNode(relRoot.rel).isA(DingoRoot.class)
+            .soleInput().isA(LogicalProject.class)
+            .soleInput().isA(LogicalDingoTableScan.class)
+            .getInstance();
+        DingoTable table = DingoTable.dingo(scan.getTable());
+        assertThat(table.getTableStatistic()).isNull();
+        assertThat(table.getStatistic().getRowCount()).isEqualTo(30000.0d);
+    }
+
     @Test
     public void testFilterScan() throws SqlParseException {
         String sql = "select * from test where name = 'Alice' and amount > 3.0";
@@ -207,5 +226,92 @@ public class TestTableScan {
         DingoPartRangeScan scan = (DingoPartRangeScan) relNode;
         assertThat((scan).getFilter()).isNotNull();
         assertThat((scan).getSelection()).isNull();
+        assertThat((scan).getRanges()).hasSize(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "select * from test1 where id0 = 1 and id1 > 'A'",
+        "select * from test1 where id0 in (1, 3) and id1 between 'A' and 'C'",
+        "select * from test1 where id0 < 1 or id0 > 3",
+    })
+    public void testPrefixRange(String sql) throws SqlParseException {
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        RelNode optimized = parser.optimize(relRoot.rel);
+        DingoPartRangeScan scan = (DingoPartRangeScan) Assert.relNode(optimized).isA(DingoRoot.class)
+            .soleInput().isA(DingoCoalesce.class)
+            .soleInput().isA(DingoExchange.class)
+            .soleInput().isA(DingoPartRangeScan.class)
+            .getInstance();
+        assertThat((scan).getFilter()).isNotNull();
+        assertThat((scan).getRanges()).isNotEmpty();
+        for (int i = 1; i < scan.getRanges().size(); ++i) {
+            byte[] end = scan.getRanges().get(i - 1).getEnd();
+            assertThat(end).isNotNull();
+            assertThat(ByteArrayUtils.lessThan(end, scan.getRanges().get(i).getStart())).isTrue();
+        }
+    }
+
+    @Test
+    public void testParamRange() throws SqlParseException {
+        String sql = "select * from test1 where id0 = ? and id1 between ? and ? and amount > ?";
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        RelNode optimized = parser.optimize(relRoot.rel);
+        DingoPartRangeScan scan = (DingoPartRangeScan) Assert.relNode(optimized).isA(DingoRoot.class)
+            .soleInput().isA(DingoCoalesce.class)
+            .soleInput().isA(DingoExchange.class)
+            .soleInput().isA(DingoPartRangeScan.class)
+            .getInstance();
+        assertThat(scan.getRanges()).isEmpty();
+        ParamKeyRange range = scan.getParamRange();
+        assertThat(range).isNotNull();
+        assertThat(range.getStart()).hasSize(2).allMatch(v -> v instanceof RexDynamicParam);
+        assertThat(range.getEnd()).hasSize(2).allMatch(v -> v instanceof RexDynamicParam);
+        assertThat(range.isIncludeStart()).isTrue();
+        assertThat(range.isIncludeEnd()).isTrue();
+    }
+
+    @Test
+    public void testParamRangeWithLiteral() throws SqlParseException {
+        String sql = "select * from test1 where id0 = ? and id1 > 'A'";
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        RelNode optimized = parser.optimize(relRoot.rel);
+        DingoPartRangeScan scan = (DingoPartRangeScan) Assert.relNode(optimized).isA(DingoRoot.class)
+            .soleInput().isA(DingoCoalesce.class)
+            .soleInput().isA(DingoExchange.class)
+            .soleInput().isA(DingoPartRangeScan.class)
+            .getInstance();
+        ParamKeyRange range = scan.getParamRange();
+        assertThat(range).isNotNull();
+        assertThat(range.getStart()).hasSize(2);
+        assertThat(range.getStart().get(0)).isInstanceOf(RexDynamicParam.class);
+        assertThat(range.getStart().get(1)).isInstanceOf(RexLiteral.class);
+        assertThat(range.isIncludeStart()).isFalse();
+        assertThat(range.getEnd()).hasSize(1);
+        assertThat(range.isIncludeEnd()).isTrue();
+    }
+
+    @Test
+    public void testIndexScan() throws SqlParseException {
+        String sql = "select * from test1 where name = 'A' or name = 'C'";
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        RelNode optimized = parser.optimize(relRoot.rel);
+        DingoIndexScan scan = (DingoIndexScan) Assert.relNode(optimized).isA(DingoRoot.class)
+            .soleInput().isA(DingoCoalesce.class)
+            .soleInput().isA(DingoExchange.class)
+            .soleInput().isA(DingoIndexScan.class)
+            .getInstance();
+        assertThat((scan).getFilter()).isNotNull();
+        assertThat(scan.getIndex().getName()).isEqualTo("name_index");
+        assertThat((scan).getRanges()).hasSize(2);
+        byte[] prefix = scan.getIndex().keyPrefix();
+        for (KeyRange range : scan.getRanges()) {
+            assertThat(range.getStart()).startsWith(prefix);
+            assertThat(range.getEnd()).startsWith(prefix);
+        }
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.calcite.visitor;
+
+import io.dingodb.calcite.DingoParser;
+import io.dingodb.calcite.DingoParserContext;
+import io.dingodb.calcite.DingoSchema;
+import io.dingodb.calcite.mock.MockMetaServiceProvider;
+import io.dingodb.common.Location;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Job;
+import io.dingodb.exec.base.JobManager;
+import io.dingodb.exec.impl.JobManagerImpl;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDingoRelDetacher {
+    private static final JobManager jobManager = JobManagerImpl.INSTANCE;
+
+    private static void assertCluster(RelNode relNode, RelOptCluster cluster) {
+        assertThat(relNode.getCluster()).isSameAs(cluster);
+        relNode.getInputs().forEach(input -> assertCluster(input, cluster));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "select * from test",
+        "select name, sum(amount) from test where id > 1 group by name order by name limit 3",
+        "select count(*) from test",
+        "select * from test where id = 1",
+        "select * from test where id in (1, 2, 3)",
+        "insert into test values(1, 'Alice', 1.0)",
+        "update test set amount = 2.0 where id = 1",
+        "delete from test where name = 'Alice'",
+        "delete from test",
+    })
+    public void testDetach(String sql) throws SqlParseException {
+        DingoParserContext context = new DingoParserContext(MockMetaServiceProvider.SCHEMA_NAME);
+        DingoParser parser = new DingoParser(context);
+        Location currentLocation = ((DingoSchema) context.getDefaultSchema().schema).getMetaService()
+            .currentLocation();
+        RelNode optimized = parser.optimize(parser.convert(parser.parse(sql)).rel);
+        RelNode detached = DingoRelDetacher.detach(optimized);
+        RelOptCluster cluster = detached.getCluster();
+        assertThat(cluster).isNotSameAs(optimized.getCluster());
+        assertThat(cluster.getPlanner()).isNotSameAs(optimized.getCluster().getPlanner());
+        assertCluster(detached, cluster);
+        assertThat(RelOptUtil.toString(detached)).isEqualTo(RelOptUtil.toString(optimized));
+        Job job = jobManager.createJob(Id.random());
+        DingoJobVisitor.renderJob(job, optimized, currentLocation, true);
+        Job detachedJob = jobManager.createJob(Id.random());
+        DingoJobVisitor.renderJob(detachedJob, detached, currentLocation, true);
+        assertThat(detachedJob.getTasks()).hasSameSizeAs(job.getTasks());
+    }
+}
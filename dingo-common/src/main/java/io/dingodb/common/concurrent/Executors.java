@@ -16,11 +16,19 @@
 
 package io.dingodb.common.concurrent;
 
+import io.dingodb.common.metrics.DingoMetrics;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.SynchronousQueue;
@@ -36,15 +44,32 @@ public final class Executors {
     public static final String GLOBAL_NAME = "GLOBAL";
     public static final String GLOBAL_SCHEDULE_NAME = "GLOBAL_SCHEDULE";
 
-    private static final ThreadPoolExecutor GLOBAL_POOL = new ThreadPoolBuilder()
-        .name(GLOBAL_NAME)
-        .coreThreads(0)
-        .maximumThreads(Integer.MAX_VALUE)
-        .keepAliveSeconds(TimeUnit.MINUTES.toSeconds(1))
-        .workQueue(new SynchronousQueue<>())
-        .daemon(true)
-        .group(new ThreadGroup(GLOBAL_NAME))
-        .build();
+    /**
+     * Pool for the cpu bound work of queries, e.g. scanning, sorting. The tasks should not wait for other tasks.
+     */
+    public static final String QUERY = "QUERY";
+    /**
+     * Pool for storage reading and writing, file transferring.
+     */
+    public static final String IO = "IO";
+    /**
+     * Pool for short callbacks of the network layer.
+     */
+    public static final String NET = "NET";
+    /**
+     * Pool for background maintenance, e.g. backups, compactions.
+     */
+    public static final String BACKGROUND = "BACKGROUND";
+    /**
+     * Pool for the workers that may block on the back pressure of downstream operators, e.g. parallel part scanning.
+     * It has no queue, so a task is only accepted if a thread is free, see
+     * {@link #tryExecute(String, String, Runnable)}.
+     */
+    public static final String SCAN = "SCAN";
+
+    // Tasks in the global pool may block for a long time, so it has no queue and a large limit of threads, which is
+    // reached only if something is going wrong, and then the task is run in the caller thread.
+    private static final ThreadPoolExecutor GLOBAL_POOL = bounded(GLOBAL_NAME, 4096, 0);
 
     private static final ScheduledThreadPoolExecutor GLOBAL_SCHEDULE_POOL = new ThreadPoolBuilder()
         .name(GLOBAL_SCHEDULE_NAME)
@@ -53,17 +78,126 @@ public final class Executors {
         .group(new ThreadGroup(GLOBAL_SCHEDULE_NAME))
         .buildSchedule();
 
+    // The bounded pools, sizes can be changed by `dingo.executor.<pool>.threads` and `dingo.executor.<pool>.queue`.
+    private static final Map<String, ThreadPoolExecutor> POOLS;
+
+    static {
+        Map<String, ThreadPoolExecutor> pools = new HashMap<>();
+        int processors = ThreadPoolBuilder.AVAILABLE_PROCESSORS;
+        pools.put(QUERY, bounded(QUERY, processors, 1024));
+        pools.put(IO, bounded(IO, processors << 1, 1024));
+        pools.put(NET, bounded(NET, Math.max(processors >> 1, 2), 4096));
+        pools.put(BACKGROUND, bounded(BACKGROUND, Math.max(processors >> 2, 2), 256));
+        pools.put(SCAN, direct(SCAN, processors << 1));
+        POOLS = Collections.unmodifiableMap(pools);
+    }
+
     private Executors() {
     }
 
+    /**
+     * Create a bounded pool. When both the threads and the queue are full, the task is run in the caller thread, which
+     * slows down the producer instead of dropping the task or creating more threads. A pool without queue is created
+     * if {@code queue} is not positive.
+     */
+    static ThreadPoolExecutor bounded(String pool, int threads, int queue) {
+        String prefix = "dingo.executor." + pool.toLowerCase(Locale.ROOT);
+        threads = Integer.getInteger(prefix + ".threads", threads);
+        queue = Integer.getInteger(prefix + ".queue", queue);
+        RejectedExecutionHandler callerRuns = new ThreadPoolExecutor.CallerRunsPolicy();
+        String metricPrefix = "executor." + pool.toLowerCase(Locale.ROOT);
+        ThreadPoolExecutor executor = new ThreadPoolBuilder()
+            .name(pool)
+            .coreThreads(threads)
+            .maximumThreads(threads)
+            .keepAliveSeconds(TimeUnit.MINUTES.toSeconds(1))
+            .workQueue(queue > 0 ? new LinkedBlockingQueue<>(queue) : new SynchronousQueue<>())
+            .handler((runnable, threadPool) -> {
+                DingoMetrics.meter(metricPrefix + ".rejected").mark();
+                callerRuns.rejectedExecution(runnable, threadPool);
+            })
+            .daemon(true)
+            .group(new ThreadGroup(pool))
+            .build();
+        executor.allowCoreThreadTimeOut(true);
+        DingoMetrics.gauge(metricPrefix + ".active", executor::getActiveCount);
+        DingoMetrics.gauge(metricPrefix + ".size", executor::getPoolSize);
+        DingoMetrics.gauge(metricPrefix + ".queue", () -> executor.getQueue().size());
+        DingoMetrics.gauge(metricPrefix + ".completed", executor::getCompletedTaskCount);
+        return executor;
+    }
+
+    /**
+     * Create a pool without queue. When all the threads are busy, the task is rejected, so that a task never waits for
+     * blocked tasks in the queue. Tasks should be submitted by {@link #tryExecute(String, String, Runnable)}.
+     */
+    private static ThreadPoolExecutor direct(String pool, int threads) {
+        String prefix = "dingo.executor." + pool.toLowerCase(Locale.ROOT);
+        threads = Integer.getInteger(prefix + ".threads", threads);
+        String metricPrefix = "executor." + pool.toLowerCase(Locale.ROOT);
+        ThreadPoolExecutor executor = new ThreadPoolBuilder()
+            .name(pool)
+            .coreThreads(threads)
+            .maximumThreads(threads)
+            .keepAliveSeconds(TimeUnit.MINUTES.toSeconds(1))
+            .workQueue(new SynchronousQueue<>())
+            .handler((runnable, threadPool) -> {
+                DingoMetrics.meter(metricPrefix + ".rejected").mark();
+                throw new RejectedExecutionException("No free thread in pool " + pool + ".");
+            })
+            .daemon(true)
+            .group(new ThreadGroup(pool))
+            .build();
+        executor.allowCoreThreadTimeOut(true);
+        DingoMetrics.gauge(metricPrefix + ".active", executor::getActiveCount);
+        DingoMetrics.gauge(metricPrefix + ".size", executor::getPoolSize);
+        DingoMetrics.gauge(metricPrefix + ".completed", executor::getCompletedTaskCount);
+        return executor;
+    }
+
+    private static ThreadPoolExecutor pool(String pool) {
+        ThreadPoolExecutor executor = POOLS.get(pool);
+        if (executor == null) {
+            throw new IllegalArgumentException("Unknown executor pool: " + pool);
+        }
+        return executor;
+    }
+
     public static Executor executor(String name) {
         return command -> execute(name, command);
     }
 
+    public static Executor executor(String pool, String name) {
+        ThreadPoolExecutor executor = pool(pool);
+        return command -> executor.execute(wrap(name, command));
+    }
+
+    /**
+     * Execute a task in the global pool, which is for the tasks that may block for a long time, e.g. waiting for other
+     * tasks. Use {@link #execute(String, String, Runnable)} with a smaller pool for others.
+     */
     public static void execute(String name, Runnable command) {
         GLOBAL_POOL.execute(wrap(name, command));
     }
 
+    public static void execute(String pool, String name, Runnable command) {
+        pool(pool).execute(wrap(name, command));
+    }
+
+    /**
+     * Execute a task in a pool without queue, e.g. {@link #SCAN}, only if there is a free thread now.
+     *
+     * @return {@code true} if the task is accepted, {@code false} if it is rejected
+     */
+    public static boolean tryExecute(String pool, String name, Runnable command) {
+        try {
+            pool(pool).execute(wrap(name, command));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
     public static ScheduledFuture<CompletableFuture<?>> scheduleAsync(
         String name, Runnable command, long delay, TimeUnit unit
     ) {
@@ -89,23 +223,34 @@ public final class Executors {
     }
 
     public static <T> CompletableFuture<T> submit(String name, Callable<T> task) {
-        CompletableFuture<T> future = new CompletableFuture<>();
-        GLOBAL_POOL.execute(() -> {
-            try {
-                future.complete(wrap(name, task).call());
-            } catch (Exception e) {
-                future.completeExceptionally(e);
-            }
-        });
-        return future;
+        return submit(GLOBAL_POOL, name, task);
     }
 
     public static <T> CompletableFuture<T> submit(String name, Runnable task, T result) {
+        return submit(GLOBAL_POOL, name, task, result);
+    }
+
+    public static CompletableFuture<Void> submit(String name, Runnable task) {
+        return submit(GLOBAL_POOL, name, task, null);
+    }
+
+    public static <T> CompletableFuture<T> submit(String pool, String name, Callable<T> task) {
+        return submit(pool(pool), name, task);
+    }
+
+    public static <T> CompletableFuture<T> submit(String pool, String name, Runnable task, T result) {
+        return submit(pool(pool), name, task, result);
+    }
+
+    public static CompletableFuture<Void> submit(String pool, String name, Runnable task) {
+        return submit(pool(pool), name, task, null);
+    }
+
+    private static <T> CompletableFuture<T> submit(ThreadPoolExecutor executor, String name, Callable<T> task) {
         CompletableFuture<T> future = new CompletableFuture<>();
-        GLOBAL_POOL.execute(() -> {
+        executor.execute(() -> {
             try {
-                wrap(name, task).run();
-                future.complete(result);
+                future.complete(wrap(name, task).call());
             } catch (Exception e) {
                 future.completeExceptionally(e);
             }
@@ -113,12 +258,12 @@ public final class Executors {
         return future;
     }
 
-    public static CompletableFuture<Void> submit(String name, Runnable task) {
-        CompletableFuture<Void> future = new CompletableFuture<>();
-        GLOBAL_POOL.execute(() -> {
+    private static <T> CompletableFuture<T> submit(ThreadPoolExecutor executor, String name, Runnable task, T result) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
             try {
                 wrap(name, task).run();
-                future.complete(null);
+                future.complete(result);
             } catch (Exception e) {
                 future.completeExceptionally(e);
             }
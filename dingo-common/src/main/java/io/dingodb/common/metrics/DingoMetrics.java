@@ -16,6 +16,7 @@
 
 package io.dingodb.common.metrics;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
@@ -36,6 +37,11 @@ public class DingoMetrics {
         return metricRegistry.meter(name);
     }
 
+    public static <T> void gauge(final @NonNull String name, final @NonNull Gauge<T> gauge) {
+        metricRegistry.remove(name);
+        metricRegistry.register(name, gauge);
+    }
+
     private static Timer timer(final @NonNull String name) {
         return metricRegistry.timer(name);
     }
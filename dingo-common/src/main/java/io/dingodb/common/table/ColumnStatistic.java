@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.table;
+
+import io.dingodb.common.util.HyperLogLog;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Statistics of a column. Numeric and time values are also kept as {@code double}s in a sample, from which an
+ * equi-depth histogram is built, so the selectivity of range predicates can be estimated.
+ */
+@Getter
+@Setter
+@ToString(exclude = {"sketch", "sample"})
+@NoArgsConstructor
+public class ColumnStatistic {
+    public static final int DEFAULT_BUCKETS = 64;
+
+    private String name;
+    private long count;
+    private long nullCount;
+    private long distinctCount;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private HyperLogLog sketch;
+    // Only available before the histogram is built.
+    private double @Nullable [] sample;
+    // Bounds of the buckets, each bucket has the same number of values.
+    private double @Nullable [] histogram;
+
+    public ColumnStatistic(String name) {
+        this.name = name;
+        this.sketch = HyperLogLog.create();
+    }
+
+    /**
+     * Convert a value to {@code double} to be put into histograms.
+     *
+     * @param value the value
+     * @return the {@code double} value, or {@link Double#NaN} if the value cannot be ordered as numbers
+     */
+    public static double toDouble(@Nullable Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof java.util.Date) {
+            return ((java.util.Date) value).getTime();
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Build the histogram from the sample and drop the sample.
+     */
+    public void buildHistogram() {
+        distinctCount = Math.min(sketch.estimate(), count);
+        if (sample == null || sample.length == 0) {
+            sample = null;
+            return;
+        }
+        double[] values = sample.clone();
+        Arrays.sort(values);
+        int buckets = Math.min(DEFAULT_BUCKETS, values.length);
+        double[] bounds = new double[buckets + 1];
+        for (int i = 0; i < buckets; ++i) {
+            bounds[i] = values[(int) ((long) i * values.length / buckets)];
+        }
+        bounds[0] = Double.isNaN(min) ? values[0] : min;
+        bounds[buckets] = Double.isNaN(max) ? values[values.length - 1] : max;
+        histogram = bounds;
+        sample = null;
+    }
+
+    public double getNullFraction() {
+        long total = count + nullCount;
+        return total > 0 ? (double) nullCount / (double) total : 0.0d;
+    }
+
+    /**
+     * Estimate the selectivity of {@code column = value}.
+     *
+     * @return the selectivity
+     */
+    public double equalsSelectivity() {
+        return (1.0d - getNullFraction()) / Math.max(distinctCount, 1L);
+    }
+
+    /**
+     * Estimate the selectivity of {@code column < value}.
+     *
+     * @param value the value
+     * @return the selectivity, or {@link Double#NaN} if there is no histogram
+     */
+    public double lessThanSelectivity(double value) {
+        if (histogram == null || Double.isNaN(value)) {
+            return Double.NaN;
+        }
+        return (1.0d - getNullFraction()) * fractionBelow(histogram, value);
+    }
+
+    private static double fractionBelow(double @NonNull [] bounds, double value) {
+        int buckets = bounds.length - 1;
+        if (value <= bounds[0]) {
+            return 0.0d;
+        }
+        if (value >= bounds[buckets]) {
+            return 1.0d;
+        }
+        int index = Arrays.binarySearch(bounds, value);
+        if (index < 0) {
+            // The bucket containing the value.
+            index = -index - 2;
+        } else {
+            // Duplicated bounds, take the first one.
+            while (index > 0 && bounds[index - 1] == value) {
+                --index;
+            }
+            return (double) index / buckets;
+        }
+        double width = bounds[index + 1] - bounds[index];
+        double fraction = width > 0 ? (value - bounds[index]) / width : 0.5d;
+        return (index + fraction) / buckets;
+    }
+}
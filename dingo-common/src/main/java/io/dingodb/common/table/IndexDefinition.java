@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.common.table;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Definition of a secondary index, which is local to the parts of the table.
+ *
+ * <p>An index entry is stored apart from the data of the part, with key
+ * {@code name + 0x00 + encoded index columns + primary key}, and the primary key as value. The index columns are
+ * encoded as a range scan key, so that the entries with the same leading columns are adjacent.
+ */
+@JsonPropertyOrder({"name", "columns"})
+@EqualsAndHashCode
+public class IndexDefinition {
+    @JsonProperty(value = "name", required = true)
+    @Getter
+    private final String name;
+
+    @JsonProperty(value = "columns", required = true)
+    @Getter
+    private final List<String> columns;
+
+    @JsonCreator
+    public IndexDefinition(
+        @JsonProperty("name") String name,
+        @JsonProperty("columns") List<String> columns
+    ) {
+        this.name = name;
+        this.columns = columns;
+    }
+
+    /**
+     * Get the common prefix of the keys of all the entries of this index.
+     *
+     * @return the prefix
+     */
+    public byte @NonNull [] keyPrefix() {
+        return keyPrefix(name);
+    }
+
+    public static byte @NonNull [] keyPrefix(@NonNull String indexName) {
+        byte[] nameBytes = indexName.toUpperCase().getBytes(StandardCharsets.UTF_8);
+        return Arrays.copyOf(nameBytes, nameBytes.length + 1);
+    }
+
+    public static byte @NonNull [] concat(byte @NonNull [] @NonNull ... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int pos = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, result, pos, part.length);
+            pos += part.length;
+        }
+        return result;
+    }
+}
@@ -19,14 +19,26 @@ package io.dingodb.common.table;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public interface Part {
     @NonNull Iterator<Object[]> getIterator();
 
+    /**
+     * Get iterators over disjoint key ranges of the part, which can be consumed concurrently.
+     *
+     * @param parallelism the expected number of the iterators
+     * @return the iterators
+     */
+    default @NonNull List<Iterator<Object[]>> getIterators(int parallelism) {
+        return Collections.singletonList(getIterator());
+    }
+
     @NonNull Iterator<Object[]> getIteratorByRange(
         byte[] startKey,
         byte[] endKey,
@@ -39,10 +51,61 @@ public interface Part {
 
     boolean insert(Object @NonNull [] tuple);
 
+    /**
+     * Insert rows in a batch, skipping the rows whose primary keys exist already. The writing may be not finished when
+     * returned, so several batches can be in flight.
+     *
+     * @param tuples the rows
+     * @return the future of the number of rows inserted
+     */
+    default @NonNull CompletableFuture<Long> insertAsync(@NonNull List<Object[]> tuples) {
+        return CompletableFuture.supplyAsync(() -> tuples.stream().filter(this::insert).count(), Runnable::run);
+    }
+
     void upsert(Object @NonNull [] tuple);
 
+    /**
+     * Update a row, whose primary key is not changed.
+     *
+     * @param oldTuple the old values of the row
+     * @param tuple    the new values of the row
+     */
+    default void update(Object @NonNull [] oldTuple, Object @NonNull [] tuple) {
+        upsert(tuple);
+    }
+
+    /**
+     * Update rows in a batch, whose primary keys are not changed.
+     *
+     * @param oldTuples the old values of the rows
+     * @param tuples    the new values of the rows, in the same order
+     * @return the future of the number of rows updated
+     */
+    default @NonNull CompletableFuture<Long> updateAsync(
+        @NonNull List<Object[]> oldTuples,
+        @NonNull List<Object[]> tuples
+    ) {
+        return CompletableFuture.supplyAsync(() -> {
+            for (int i = 0; i < tuples.size(); ++i) {
+                update(oldTuples.get(i), tuples.get(i));
+            }
+            return (long) tuples.size();
+        }, Runnable::run);
+    }
+
     boolean remove(Object @NonNull [] tuple);
 
+    /**
+     * Remove rows in a batch. The rows not existing are not counted, and the rows with the same primary key are
+     * counted once.
+     *
+     * @param tuples the rows
+     * @return the future of the number of rows removed
+     */
+    default @NonNull CompletableFuture<Long> removeAsync(@NonNull List<Object[]> tuples) {
+        return CompletableFuture.supplyAsync(() -> tuples.stream().filter(this::remove).count(), Runnable::run);
+    }
+
     long getEntryCntAndDeleteByPart(@NonNull List<String> startKey);
 
     long getEntryCnt(@NonNull List<String> startKeyList);
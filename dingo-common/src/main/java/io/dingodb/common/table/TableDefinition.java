@@ -45,7 +45,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-@JsonPropertyOrder({"name", "columns"})
+@JsonPropertyOrder({"name", "columns", "indexes"})
 @EqualsAndHashCode
 public class TableDefinition {
     private static final Parser PARSER = Parser.JSON;
@@ -57,6 +57,11 @@ public class TableDefinition {
     @Getter
     @Setter
     private List<ColumnDefinition> columns;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @JsonProperty("indexes")
+    @Getter
+    @Setter
+    private List<IndexDefinition> indexes;
 
     private String partType;
 
@@ -127,6 +132,10 @@ public class TableDefinition {
         return null;
     }
 
+    public TupleMapping getIndexMapping(@NonNull IndexDefinition index) {
+        return TupleMapping.of(getColumnIndices(index.getColumns()));
+    }
+
     public int getColumnIndexOfValue(String name) {
         return getColumnIndex(name) - getPrimaryKeyCount();
     }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.table;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Statistics of a table, collected by {@code ANALYZE TABLE}. Partial statistics are collected on each part by
+ * {@link TableStatisticCollector} and merged by {@link #merge(List)}.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class TableStatistic {
+    private long rowCount;
+    private int partCount;
+    // The time of analyzing, 0 if the table is not analyzed.
+    private long time;
+    // In the order of the table columns, empty if only the row count is known.
+    private List<ColumnStatistic> columns = new ArrayList<>();
+
+    public TableStatistic(long rowCount, int partCount) {
+        this.rowCount = rowCount;
+        this.partCount = partCount;
+        this.time = System.currentTimeMillis();
+    }
+
+    /**
+     * Build the statistics of a table not analyzed, with only the row count summed from the approximate counts
+     * reported by the parts.
+     *
+     * @param counts    the approximate row counts reported
+     * @param partCount the number of parts
+     * @return the statistics of the table, or {@code null} if no count is reported, so the default is used
+     */
+    public static @Nullable TableStatistic approximate(@NonNull List<Long> counts, int partCount) {
+        if (counts.isEmpty()) {
+            return null;
+        }
+        TableStatistic result = new TableStatistic(counts.stream().mapToLong(Long::longValue).sum(), partCount);
+        result.time = 0L;
+        return result;
+    }
+
+    /**
+     * Merge the partial statistics of parts, and build the histograms.
+     *
+     * @param partials the partial statistics
+     * @return the statistics of the table
+     */
+    public static @NonNull TableStatistic merge(@NonNull List<TableStatistic> partials) {
+        TableStatistic result = new TableStatistic(0, 0);
+        for (TableStatistic partial : partials) {
+            result.rowCount += partial.rowCount;
+            result.partCount += partial.partCount;
+        }
+        int columnCount = partials.stream().mapToInt(p -> p.columns.size()).min().orElse(0);
+        for (int i = 0; i < columnCount; ++i) {
+            ColumnStatistic column = new ColumnStatistic(partials.get(0).columns.get(i).getName());
+            List<ColumnStatistic> columnPartials = new ArrayList<>(partials.size());
+            for (TableStatistic partial : partials) {
+                ColumnStatistic columnPartial = partial.columns.get(i);
+                column.setCount(column.getCount() + columnPartial.getCount());
+                column.setNullCount(column.getNullCount() + columnPartial.getNullCount());
+                column.getSketch().merge(columnPartial.getSketch());
+                column.setMin(min(column.getMin(), columnPartial.getMin()));
+                column.setMax(max(column.getMax(), columnPartial.getMax()));
+                columnPartials.add(columnPartial);
+            }
+            column.setSample(mergeSamples(columnPartials));
+            column.buildHistogram();
+            result.columns.add(column);
+        }
+        return result;
+    }
+
+    private static double min(double a, double b) {
+        return Double.isNaN(a) ? b : Double.isNaN(b) ? a : Math.min(a, b);
+    }
+
+    private static double max(double a, double b) {
+        return Double.isNaN(a) ? b : Double.isNaN(b) ? a : Math.max(a, b);
+    }
+
+    /**
+     * Draw from the samples of parts in proportion to the number of values in each part, so the result is still a
+     * uniform sample of the whole table.
+     */
+    private static double @Nullable [] mergeSamples(@NonNull List<ColumnStatistic> partials) {
+        int size = 0;
+        long total = 0;
+        for (ColumnStatistic partial : partials) {
+            if (partial.getSample() != null && partial.getSample().length > 0) {
+                size = Math.max(size, partial.getSample().length);
+                total += partial.getCount();
+            }
+        }
+        if (size == 0 || total == 0) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double[] result = new double[size];
+        int count = 0;
+        for (ColumnStatistic partial : partials) {
+            double[] sample = partial.getSample();
+            if (sample == null || sample.length == 0) {
+                continue;
+            }
+            int draws = (int) Math.min(size - count, Math.round((double) size * partial.getCount() / total));
+            for (int i = 0; i < draws; ++i) {
+                result[count++] = sample[random.nextInt(sample.length)];
+            }
+        }
+        return count == size ? result : Arrays.copyOf(result, count);
+    }
+
+    public @Nullable ColumnStatistic getColumn(int index) {
+        return columns != null && index >= 0 && index < columns.size() ? columns.get(index) : null;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.table;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Collect partial statistics of a part. All the rows are counted into the sketches, but only a reservoir sample of
+ * values is kept for histograms.
+ */
+public class TableStatisticCollector {
+    public static final int DEFAULT_SAMPLE_SIZE = 4096;
+
+    private final ColumnStatistic[] columns;
+    private final double[][] samples;
+    private final int[] sampled;
+    private final long[] seen;
+    private final int sampleSize;
+    private long rowCount;
+
+    public TableStatisticCollector(@NonNull TableDefinition definition, int sampleSize) {
+        int columnCount = definition.getColumnsCount();
+        this.columns = new ColumnStatistic[columnCount];
+        for (int i = 0; i < columnCount; ++i) {
+            columns[i] = new ColumnStatistic(definition.getColumn(i).getName());
+        }
+        this.samples = new double[columnCount][sampleSize];
+        this.sampled = new int[columnCount];
+        this.seen = new long[columnCount];
+        this.sampleSize = sampleSize;
+        this.rowCount = 0;
+    }
+
+    public TableStatisticCollector(@NonNull TableDefinition definition) {
+        this(definition, DEFAULT_SAMPLE_SIZE);
+    }
+
+    public void add(Object @NonNull [] tuple) {
+        ++rowCount;
+        for (int i = 0; i < columns.length; ++i) {
+            ColumnStatistic column = columns[i];
+            Object value = tuple[i];
+            if (value == null) {
+                column.setNullCount(column.getNullCount() + 1);
+                continue;
+            }
+            column.setCount(column.getCount() + 1);
+            column.getSketch().add(value);
+            double number = ColumnStatistic.toDouble(value);
+            if (Double.isNaN(number)) {
+                continue;
+            }
+            if (Double.isNaN(column.getMin()) || number < column.getMin()) {
+                column.setMin(number);
+            }
+            if (Double.isNaN(column.getMax()) || number > column.getMax()) {
+                column.setMax(number);
+            }
+            long index = seen[i]++;
+            if (index < sampleSize) {
+                samples[i][sampled[i]++] = number;
+            } else {
+                long slot = ThreadLocalRandom.current().nextLong(index + 1);
+                if (slot < sampleSize) {
+                    samples[i][(int) slot] = number;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the partial statistics, which must be merged by {@link TableStatistic#merge(java.util.List)} to build the
+     * histograms.
+     *
+     * @return the partial statistics
+     */
+    public @NonNull TableStatistic build() {
+        TableStatistic statistic = new TableStatistic(rowCount, 1);
+        for (int i = 0; i < columns.length; ++i) {
+            columns[i].setSample(Arrays.copyOf(samples[i], sampled[i]));
+            statistic.getColumns().add(columns[i]);
+        }
+        return statistic;
+    }
+}
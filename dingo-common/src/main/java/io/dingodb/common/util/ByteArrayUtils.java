@@ -95,6 +95,23 @@ public class ByteArrayUtils {
         return bytes2 != null && compare(bytes1, bytes2) == 0;
     }
 
+    /**
+     * Get the least byte array greater than all the byte arrays with the specified prefix.
+     *
+     * @param prefix the prefix
+     * @return the successor, or {@code null} if there is none
+     */
+    public static byte[] successor(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; --i) {
+            if (prefix[i] != (byte) 0xFF) {
+                byte[] result = Arrays.copyOf(prefix, i + 1);
+                ++result[i];
+                return result;
+            }
+        }
+        return null;
+    }
+
     public static boolean lessThan(byte[] bytes1, byte[] bytes2) {
         return compare(bytes1, bytes2) < 0;
     }
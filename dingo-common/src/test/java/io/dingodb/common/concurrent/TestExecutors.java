@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestExecutors {
+    private static final int TASKS = 20;
+
+    /**
+     * Flood the pool with tasks blocked until all are submitted.
+     *
+     * @return the count of tasks run in the caller thread
+     */
+    private static int flood(ThreadPoolExecutor executor) throws InterruptedException {
+        Thread caller = Thread.currentThread();
+        CountDownLatch submitted = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(TASKS);
+        AtomicInteger callerRuns = new AtomicInteger();
+        for (int i = 0; i < TASKS; ++i) {
+            executor.execute(() -> {
+                if (Thread.currentThread() == caller) {
+                    callerRuns.incrementAndGet();
+                } else {
+                    try {
+                        submitted.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+                done.countDown();
+            });
+        }
+        submitted.countDown();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        return callerRuns.get();
+    }
+
+    @Test
+    public void testBounded() throws InterruptedException {
+        ThreadPoolExecutor executor = Executors.bounded("TEST_BOUNDED", 2, 3);
+        try {
+            // 2 running and 3 queued, the others are rejected.
+            assertThat(flood(executor)).isEqualTo(TASKS - 5);
+            assertThat(executor.getLargestPoolSize()).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBoundedWithoutQueue() throws InterruptedException {
+        ThreadPoolExecutor executor = Executors.bounded("TEST_DIRECT", 4, 0);
+        try {
+            assertThat(flood(executor)).isEqualTo(TASKS - 4);
+            assertThat(executor.getLargestPoolSize()).isEqualTo(4);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
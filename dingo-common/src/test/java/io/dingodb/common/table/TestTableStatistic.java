@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.table;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class TestTableStatistic {
+    private static TableDefinition tableDefinition;
+
+    @BeforeAll
+    public static void setupAll() throws IOException {
+        tableDefinition = TableDefinition.readJson(
+            TestTableStatistic.class.getResourceAsStream("/table-test.json")
+        );
+    }
+
+    @Test
+    public void testMerge() {
+        List<TableStatistic> partials = new ArrayList<>();
+        for (int part = 0; part < 3; ++part) {
+            TableStatisticCollector collector = new TableStatisticCollector(tableDefinition);
+            for (int i = part; i < 30000; i += 3) {
+                collector.add(new Object[]{i, "Name" + i % 100, i % 10 == 0 ? null : (double) (i % 1000)});
+            }
+            partials.add(collector.build());
+        }
+        TableStatistic statistic = TableStatistic.merge(partials);
+        assertThat(statistic.getRowCount()).isEqualTo(30000);
+        assertThat(statistic.getPartCount()).isEqualTo(3);
+        ColumnStatistic id = statistic.getColumn(0);
+        assertThat(id).isNotNull();
+        assertThat((double) id.getDistinctCount()).isCloseTo(30000, within(1500.0));
+        assertThat(id.lessThanSelectivity(7500)).isCloseTo(0.25, within(0.03));
+        ColumnStatistic name = statistic.getColumn(1);
+        assertThat(name).isNotNull();
+        assertThat((double) name.getDistinctCount()).isCloseTo(100, within(5.0));
+        assertThat(name.lessThanSelectivity(0)).isNaN();
+        ColumnStatistic value = statistic.getColumn(2);
+        assertThat(value).isNotNull();
+        assertThat(value.getNullFraction()).isCloseTo(0.1, within(0.001));
+        assertThat(value.lessThanSelectivity(500)).isCloseTo(0.45, within(0.03));
+    }
+
+    @Test
+    public void testApproximate() {
+        // Not analyzed, and no part has reported a count.
+        assertThat(TableStatistic.approximate(Collections.emptyList(), 3)).isNull();
+        TableStatistic statistic = TableStatistic.approximate(Arrays.asList(100L, 0L, 20L), 3);
+        assertThat(statistic).isNotNull();
+        assertThat(statistic.getRowCount()).isEqualTo(120);
+        assertThat(statistic.getPartCount()).isEqualTo(3);
+        assertThat(statistic.getTime()).isZero();
+        assertThat(statistic.getColumn(0)).isNull();
+    }
+}
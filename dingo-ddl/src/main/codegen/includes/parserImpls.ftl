@@ -165,6 +165,11 @@ void TableElement(List<SqlNode> list) :
     id = SimpleIdentifier() {
         list.add(id);
     }
+|
+    <INDEX> { s.add(this); } name = SimpleIdentifier()
+    columnList = ParenthesizedSimpleIdentifierList() {
+        list.add(new SqlIndexDeclaration(s.end(columnList), name, columnList));
+    }
 |
     [ <CONSTRAINT> { s.add(this); } name = SimpleIdentifier() ]
     (
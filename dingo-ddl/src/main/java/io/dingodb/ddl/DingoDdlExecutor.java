@@ -19,6 +19,7 @@ package io.dingodb.ddl;
 import io.dingodb.common.partition.DingoPartDetail;
 import io.dingodb.common.partition.DingoTablePart;
 import io.dingodb.common.table.ColumnDefinition;
+import io.dingodb.common.table.IndexDefinition;
 import io.dingodb.common.table.TableDefinition;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.jdbc.CalcitePrepare;
@@ -28,6 +29,7 @@ import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.schema.ColumnStrategy;
 import org.apache.calcite.schema.Schema;
 import org.apache.calcite.server.DdlExecutorImpl;
+import org.apache.calcite.sql.SqlAnalyzeTable;
 import org.apache.calcite.sql.SqlDataTypeSpec;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlKind;
@@ -39,6 +41,7 @@ import org.apache.calcite.sql.ddl.DingoSqlCreateTable;
 import org.apache.calcite.sql.ddl.SqlColumnDeclaration;
 import org.apache.calcite.sql.ddl.SqlCreateTable;
 import org.apache.calcite.sql.ddl.SqlDropTable;
+import org.apache.calcite.sql.ddl.SqlIndexDeclaration;
 import org.apache.calcite.sql.ddl.SqlKeyConstraint;
 import org.apache.calcite.sql.dialect.AnsiSqlDialect;
 import org.apache.calcite.sql.type.SqlTypeName;
@@ -110,6 +113,25 @@ public class DingoDdlExecutor extends DdlExecutorImpl {
             .build();
     }
 
+    private static @NonNull IndexDefinition fromSqlIndexDeclaration(
+        @NonNull SqlIndexDeclaration sid,
+        @NonNull TableDefinition td
+    ) {
+        String name = sid.name.getSimple().toUpperCase();
+        List<String> columns = sid.columnList.getList().stream()
+            .map(t -> ((SqlIdentifier) Objects.requireNonNull(t)).getSimple().toUpperCase())
+            .collect(Collectors.toList());
+        for (String column : columns) {
+            if (td.getColumn(column) == null) {
+                throw new RuntimeException("Column \"" + column + "\" of index \"" + name + "\" does not exist.");
+            }
+        }
+        if (columns.stream().distinct().count() != columns.size()) {
+            throw new RuntimeException("Duplicate column names are not allowed in index \"" + name + "\".");
+        }
+        return new IndexDefinition(name, columns);
+    }
+
     private static @NonNull Pair<MutableSchema, String> getSchemaAndTableName(
         @NonNull SqlIdentifier id,
         CalcitePrepare.@NonNull Context context
@@ -199,6 +221,20 @@ public class DingoDdlExecutor extends DdlExecutorImpl {
                 + realColCnt + ", distinct: " + distinctColCnt);
         }
 
+        List<IndexDefinition> indexes = new ArrayList<>();
+        for (SqlNode sqlNode : create.columnList) {
+            if (sqlNode instanceof SqlIndexDeclaration) {
+                IndexDefinition index = fromSqlIndexDeclaration((SqlIndexDeclaration) sqlNode, td);
+                if (indexes.stream().anyMatch(i -> i.getName().equals(index.getName()))) {
+                    throw new RuntimeException("Duplicate index name \"" + index.getName() + "\".");
+                }
+                indexes.add(index);
+            }
+        }
+        if (!indexes.isEmpty()) {
+            td.setIndexes(indexes);
+        }
+
         final MutableSchema schema = schemaTableName.left;
         assert schema != null;
         if (schema.getTable(tableName) != null) {
@@ -260,6 +296,19 @@ public class DingoDdlExecutor extends DdlExecutorImpl {
 
     }
 
+    public void execute(@NonNull SqlAnalyzeTable analyze, CalcitePrepare.Context context) {
+        final Pair<MutableSchema, String> schemaTableName
+            = getSchemaAndTableName(analyze.id, context);
+        final MutableSchema schema = schemaTableName.left;
+        final String tableName = schemaTableName.right;
+        if (schema.getMetaService().getTableDefinition(tableName) == null) {
+            throw SqlUtil.newContextException(
+                analyze.id.getParserPosition(),
+                RESOURCE.tableNotFound(analyze.id.toString()));
+        }
+        schema.getMetaService().analyzeTable(tableName);
+    }
+
     public void validatorCreateTable(List<String> keyList, SqlCreateTable create) throws SQLException {
         DingoSqlCreateTable dingoSqlCreateTable = (DingoSqlCreateTable) create;
         String partType = dingoSqlCreateTable.getPartType();
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.calcite.sql;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+
+/**
+ * Parse tree node for the "ANALYZE TABLE" statement, which collects the statistics of a table for the cost model.
+ */
+public class SqlAnalyzeTable extends SqlDdl {
+
+    private static final SqlOperator OPERATOR =
+        new SqlSpecialOperator("ANALYZE TABLE", SqlKind.OTHER_DDL);
+
+    public final SqlIdentifier id;
+
+    public SqlAnalyzeTable(SqlParserPos pos, @NonNull SqlIdentifier id) {
+        super(OPERATOR, pos);
+        this.id = id;
+    }
+
+    @Override
+    public List<SqlNode> getOperandList() {
+        return ImmutableList.of(id);
+    }
+
+    @Override
+    public void unparse(@NonNull SqlWriter writer, int leftPrec, int rightPrec) {
+        writer.keyword("ANALYZE");
+        writer.keyword("TABLE");
+        id.unparse(writer, leftPrec, rightPrec);
+    }
+}
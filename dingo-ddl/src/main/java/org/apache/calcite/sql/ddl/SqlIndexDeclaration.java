@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.calcite.sql.ddl;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.SqlSpecialOperator;
+import org.apache.calcite.sql.SqlWriter;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+
+/**
+ * Parse tree node for an index declared in "CREATE TABLE", like {@code INDEX name (column, ...)}.
+ */
+public class SqlIndexDeclaration extends SqlCall {
+    private static final SqlOperator OPERATOR =
+        new SqlSpecialOperator("INDEX", SqlKind.OTHER);
+
+    public final SqlIdentifier name;
+    public final SqlNodeList columnList;
+
+    public SqlIndexDeclaration(SqlParserPos pos, @NonNull SqlIdentifier name, @NonNull SqlNodeList columnList) {
+        super(pos);
+        this.name = name;
+        this.columnList = columnList;
+    }
+
+    @Override
+    public @NonNull SqlOperator getOperator() {
+        return OPERATOR;
+    }
+
+    @Override
+    public @NonNull List<SqlNode> getOperandList() {
+        return ImmutableList.of(name, columnList);
+    }
+
+    @Override
+    public void unparse(@NonNull SqlWriter writer, int leftPrec, int rightPrec) {
+        writer.keyword("INDEX");
+        name.unparse(writer, 0, 0);
+        SqlWriter.Frame frame = writer.startList("(", ")");
+        for (SqlNode column : columnList) {
+            writer.sep(",");
+            column.unparse(writer, 0, 0);
+        }
+        writer.endList(frame);
+    }
+}
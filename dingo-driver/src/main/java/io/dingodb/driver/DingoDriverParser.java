@@ -21,6 +21,7 @@ import io.dingodb.calcite.DingoParser;
 import io.dingodb.calcite.DingoSchema;
 import io.dingodb.calcite.MetaCache;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
+import io.dingodb.calcite.visitor.DingoRelDetacher;
 import io.dingodb.common.Location;
 import io.dingodb.common.driver.DingoSignature;
 import io.dingodb.common.type.DingoTypeFactory;
@@ -182,10 +183,29 @@ public final class DingoDriverParser extends DingoParser {
         String sql
     ) throws SqlParseException {
         MetaCache.initTableDefinitions();
+        String schemaName = connection.getDefaultSchemaPath().get(0);
+        DingoPlanCache.Key key = new DingoPlanCache.Key(
+            DingoPlanCache.normalize(sql),
+            schemaName,
+            MetaCache.getSchemaVersion()
+        );
+        DingoPlanCache.Entry entry = DingoPlanCache.INSTANCE.get(key);
+        if (entry != null) {
+            renderJob(jobManager, jobId, entry.getRelNode(), entry.getParasType());
+            return new DingoSignature(
+                entry.getColumns(),
+                sql,
+                entry.getParameters(),
+                null,
+                Meta.CursorFactory.ARRAY,
+                entry.getStatementType()
+            );
+        }
         SqlNode sqlNode = parse(sql);
         if (sqlNode.getKind().belongsTo(SqlKind.DDL)) {
             final DdlExecutor ddlExecutor = PARSER_CONFIG.parserFactory().getDdlExecutor();
             ddlExecutor.executeDdl(connection, sqlNode);
+            MetaCache.invalidateTableStatistics();
             return new DingoSignature(
                 ImmutableList.of(),
                 sql,
@@ -220,15 +240,8 @@ public final class DingoDriverParser extends DingoParser {
         final Meta.CursorFactory cursorFactory = Meta.CursorFactory.ARRAY;
         final RelRoot relRoot = convert(sqlNode, false);
         final RelNode relNode = optimize(relRoot.rel);
-        CalciteSchema rootSchema = connection.getRootSchema();
-        CalciteSchema defaultSchema = rootSchema.getSubSchema(connection.getDefaultSchemaPath().get(0), true);
-        if (defaultSchema == null) {
-            throw new RuntimeException("No default schema is found.");
-        }
-        Location currentLocation = ((DingoSchema) defaultSchema.schema).getMetaService().currentLocation();
         RelDataType parasType = getParameterRowType(sqlNode);
-        Job job = jobManager.createJob(jobId, DingoTypeFactory.fromRelDataType(parasType));
-        DingoJobVisitor.renderJob(job, relNode, currentLocation, true);
+        Job job = renderJob(jobManager, jobId, relNode, parasType);
         if (explain != null) {
             statementType = Meta.StatementType.CALL;
             String logicalPlan = RelOptUtil.dumpPlan("", relNode, SqlExplainFormat.TEXT,
@@ -246,13 +259,44 @@ public final class DingoDriverParser extends DingoParser {
                 job
             );
         }
+        List<AvaticaParameter> parameters = createParameterList(parasType);
+        DingoPlanCache.INSTANCE.put(
+            key,
+            new DingoPlanCache.Entry(DingoRelDetacher.detach(relNode), columns, parasType, parameters, statementType)
+        );
         return new DingoSignature(
             columns,
             sql,
-            createParameterList(parasType),
+            parameters,
             null,
             cursorFactory,
             statementType
         );
     }
+
+    @Nonnull
+    private Job renderJob(
+        @Nonnull JobManager jobManager,
+        Id jobId,
+        RelNode relNode,
+        RelDataType parasType
+    ) {
+        CalciteSchema rootSchema = connection.getRootSchema();
+        CalciteSchema defaultSchema = rootSchema.getSubSchema(connection.getDefaultSchemaPath().get(0), true);
+        if (defaultSchema == null) {
+            throw new RuntimeException("No default schema is found.");
+        }
+        Location currentLocation = ((DingoSchema) defaultSchema.schema).getMetaService().currentLocation();
+        Job job = jobManager.createJob(jobId, DingoTypeFactory.fromRelDataType(parasType));
+        DingoJobVisitor.renderJob(
+            job,
+            relNode,
+            currentLocation,
+            true,
+            connection.getContext().getScanParallelism(),
+            connection.getContext().getJoinMemoryBudget(),
+            connection.getContext().getSortMemoryBudget()
+        );
+        return job;
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.driver;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.dingodb.common.metrics.DingoMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.apache.calcite.avatica.AvaticaParameter;
+import org.apache.calcite.avatica.ColumnMetaData;
+import org.apache.calcite.avatica.Meta;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.type.RelDataType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+
+/**
+ * Cache of optimized plans, shared by all the connections. A cached plan is used only if the normalized sql, the
+ * default schema and the schema version of {@link io.dingodb.calcite.MetaCache} are all the same, so any DDL makes the
+ * old plans unreachable. Jobs are still rendered for each statement, for the job ids and the parts are not stable.
+ * The plans are detached from the planner before caching, see {@link io.dingodb.calcite.visitor.DingoRelDetacher}.
+ */
+final class DingoPlanCache {
+    static final DingoPlanCache INSTANCE = new DingoPlanCache(Long.getLong("dingo.driver.planCacheSize", 1024L));
+
+    private final Cache<Key, Entry> cache;
+
+    DingoPlanCache(long size) {
+        cache = CacheBuilder.newBuilder()
+            .maximumSize(size)
+            .build();
+    }
+
+    /**
+     * Strip the comments and collapse the whitespaces out of quotes, so statements differ only in formatting share the
+     * same plan. Hints, i.e. the comments starting with {@code /*+}, are kept, for they may change the plan.
+     *
+     * @param sql the sql string
+     * @return the normalized sql string
+     */
+    static @NonNull String normalize(@NonNull String sql) {
+        int length = sql.length();
+        StringBuilder builder = new StringBuilder(length);
+        char quote = 0;
+        boolean space = false;
+        for (int i = 0; i < length; ++i) {
+            char ch = sql.charAt(i);
+            if (quote != 0) {
+                builder.append(ch);
+                if (ch == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (ch == '-' && sql.startsWith("-", i + 1)) {
+                int end = sql.indexOf('\n', i + 2);
+                i = end < 0 ? length : end;
+                space = true;
+                continue;
+            }
+            if (ch == '/' && sql.startsWith("*", i + 1) && !sql.startsWith("+", i + 2)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 1;
+                space = true;
+                continue;
+            }
+            if (Character.isWhitespace(ch)) {
+                space = true;
+                continue;
+            }
+            if (space && builder.length() > 0) {
+                builder.append(' ');
+            }
+            space = false;
+            if (ch == '\'' || ch == '"' || ch == '`') {
+                quote = ch;
+            }
+            builder.append(ch);
+        }
+        return builder.toString();
+    }
+
+    @Nullable Entry get(@NonNull Key key) {
+        Entry entry = cache.getIfPresent(key);
+        DingoMetrics.meter(entry != null ? "plan_cache_hit" : "plan_cache_miss").mark();
+        return entry;
+    }
+
+    void put(@NonNull Key key, @NonNull Entry entry) {
+        cache.put(key, entry);
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    static final class Key {
+        private final String sql;
+        private final String schema;
+        private final long schemaVersion;
+    }
+
+    @AllArgsConstructor
+    @Getter
+    static final class Entry {
+        private final RelNode relNode;
+        private final List<ColumnMetaData> columns;
+        private final RelDataType parasType;
+        private final List<AvaticaParameter> parameters;
+        private final Meta.StatementType statementType;
+    }
+}
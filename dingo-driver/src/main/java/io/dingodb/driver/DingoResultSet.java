@@ -16,6 +16,7 @@
 
 package io.dingodb.driver;
 
+import io.dingodb.exec.operator.RootOperator;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -49,4 +50,13 @@ public class DingoResultSet extends AvaticaResultSet {
     public Meta.Signature getSignature() {
         return signature;
     }
+
+    @Override
+    public void close() {
+        // Also called by `AvaticaStatement.close`, stop the job if the results are not all fetched.
+        if (iterator instanceof RootOperator.TupleIterator) {
+            ((RootOperator.TupleIterator) iterator).close();
+        }
+        super.close();
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.driver;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.avatica.Meta;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDingoPlanCache {
+    private static DingoPlanCache.Entry entry() {
+        return new DingoPlanCache.Entry(null, ImmutableList.of(), null, ImmutableList.of(), Meta.StatementType.SELECT);
+    }
+
+    @Test
+    public void testNormalizeWhitespaces() {
+        assertThat(DingoPlanCache.normalize("  select *\n\tfrom   test  where id = 1 "))
+            .isEqualTo("select * from test where id = 1");
+    }
+
+    @Test
+    public void testNormalizeQuotes() {
+        assertThat(DingoPlanCache.normalize("select 'a  b', \"c  d\", `e  f`   from test"))
+            .isEqualTo("select 'a  b', \"c  d\", `e  f` from test");
+        assertThat(DingoPlanCache.normalize("select 'it''s  --  /* x */'  from test"))
+            .isEqualTo("select 'it''s  --  /* x */' from test");
+    }
+
+    @Test
+    public void testNormalizeComments() {
+        String expected = "select * from test where id = 1";
+        assertThat(DingoPlanCache.normalize("select * -- all columns\nfrom test where id = 1 -- the end"))
+            .isEqualTo(expected);
+        assertThat(DingoPlanCache.normalize("select * /* all\ncolumns */ from test where id = 1"))
+            .isEqualTo(expected);
+        assertThat(DingoPlanCache.normalize("select */* no space */from test where id = 1"))
+            .isEqualTo(expected);
+        assertThat(DingoPlanCache.normalize("/* head */ select * from test where id = 1 /* tail"))
+            .isEqualTo(expected);
+    }
+
+    @Test
+    public void testNormalizeKeepsHints() {
+        assertThat(DingoPlanCache.normalize("select /*+ no_index */ * from test"))
+            .isEqualTo("select /*+ no_index */ * from test");
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        DingoPlanCache cache = new DingoPlanCache(16);
+        DingoPlanCache.Key key = new DingoPlanCache.Key(
+            DingoPlanCache.normalize("select * from test -- first"),
+            "DINGO",
+            1L
+        );
+        assertThat(cache.get(key)).isNull();
+        DingoPlanCache.Entry entry = entry();
+        cache.put(key, entry);
+        assertThat(cache.get(new DingoPlanCache.Key(
+            DingoPlanCache.normalize("select *\n  from test /* second */"),
+            "DINGO",
+            1L
+        ))).isSameAs(entry);
+        // A different schema or schema version misses.
+        assertThat(cache.get(new DingoPlanCache.Key("select * from test", "OTHER", 1L))).isNull();
+        assertThat(cache.get(new DingoPlanCache.Key("select * from test", "DINGO", 2L))).isNull();
+        assertThat(cache.get(new DingoPlanCache.Key("select * from test1", "DINGO", 1L))).isNull();
+    }
+
+    @Test
+    public void testEviction() {
+        DingoPlanCache cache = new DingoPlanCache(1);
+        DingoPlanCache.Key key1 = new DingoPlanCache.Key("select 1", "DINGO", 1L);
+        DingoPlanCache.Key key2 = new DingoPlanCache.Key("select 2", "DINGO", 1L);
+        cache.put(key1, entry());
+        cache.put(key2, entry());
+        assertThat(cache.get(key1)).isNull();
+        assertThat(cache.get(key2)).isNotNull();
+    }
+}
@@ -19,6 +19,8 @@ package io.dingodb.exec;
 import io.dingodb.common.Location;
 import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.Task;
+import io.dingodb.exec.impl.PlanCache;
+import io.dingodb.exec.impl.TaskImpl;
 import io.dingodb.net.Channel;
 import io.dingodb.net.Message;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +30,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import java.util.Collections;
 import java.util.Iterator;
 
+import static io.dingodb.exec.Services.TASK_REPLY_TAG;
 import static io.dingodb.exec.Services.TASK_TAG;
 
 @Slf4j
@@ -47,8 +50,36 @@ public final class JobRunner {
         return task.getRoot().getIterator();
     }
 
+    private static void sendTask(@NonNull Channel channel, @NonNull Task task, boolean withPlan) {
+        Message msg = Message.builder()
+            .tag(TASK_TAG)
+            .content(task.serialize(withPlan))
+            .build();
+        channel.send(msg);
+    }
+
+    private static void onTaskReply(@NonNull Channel channel, @NonNull Task task, @NonNull Message message) {
+        if (!TASK_REPLY_TAG.equals(message.tag())) {
+            return;
+        }
+        try {
+            if (message.content()[0] == TaskImpl.REPLY_PLAN_MISSED) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Plan of task {} is not cached at {}, send the full task.", task.getId(),
+                        task.getLocation());
+                }
+                sendTask(channel, task, true);
+                PlanCache.INSTANCE.markSent(task.getLocation(), task.getPlanHash());
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
     /**
-     * Distribute the tasks.
+     * Distribute the tasks. Only the hash of the plan fragment is sent if the plan was sent to the location before, and
+     * the channel is kept open until the executor replies, so that the full task can be sent if the plan is not cached
+     * there any longer.
      *
      * @return the root task
      */
@@ -64,12 +95,15 @@ public final class JobRunner {
             // it is just ignored. Just distribute all the tasks to avoid this.
             try {
                 Channel channel = Services.openNewSysChannel(location.getHost(), location.getPort());
-                Message msg = Message.builder()
-                    .tag(TASK_TAG)
-                    .content(task.serialize())
-                    .build();
-                channel.send(msg);
-                channel.close();
+                String planHash = task.getPlanHash();
+                if (PlanCache.INSTANCE.isSent(location, planHash)) {
+                    channel.setMessageListener((message, ch) -> onTaskReply(ch, task, message));
+                    sendTask(channel, task, false);
+                } else {
+                    sendTask(channel, task, true);
+                    PlanCache.INSTANCE.markSent(location, planHash);
+                    channel.close();
+                }
             } catch (Exception e) {
                 log.error("Error to distribute tasks.", e);
                 throw new RuntimeException("Error to distribute tasks.", e);
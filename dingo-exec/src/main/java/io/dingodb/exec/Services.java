@@ -17,7 +17,6 @@
 package io.dingodb.exec;
 
 import com.codahale.metrics.Timer;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import io.dingodb.cluster.ClusterService;
 import io.dingodb.common.Location;
 import io.dingodb.common.error.DingoException;
@@ -29,13 +28,14 @@ import io.dingodb.exec.impl.TaskImpl;
 import io.dingodb.meta.MetaService;
 import io.dingodb.meta.MetaServiceProvider;
 import io.dingodb.net.Channel;
+import io.dingodb.net.Message;
 import io.dingodb.net.NetError;
 import io.dingodb.net.NetService;
 import io.dingodb.store.api.StoreService;
 import io.dingodb.store.api.StoreServiceProvider;
 import lombok.extern.slf4j.Slf4j;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -63,6 +63,7 @@ public final class Services {
     private static final ExecutorService executorService = Executors.newWorkStealingPool();
 
     public static final String TASK_TAG = "DINGO_TASK";
+    public static final String TASK_REPLY_TAG = "DINGO_TASK_REPLY";
     public static final String CTRL_TAG = "DINGO_CTRL";
 
     static {
@@ -87,21 +88,41 @@ public final class Services {
         initControlMsgService();
         NET.registerTagMessageListener(TASK_TAG, (message, channel) -> {
             final long startTime = System.currentTimeMillis();
-            String taskStr = new String(message.content(), StandardCharsets.UTF_8);
-            if (log.isDebugEnabled()) {
-                log.debug("Received task: {}", taskStr);
-            }
+            byte[] content = message.content();
             try {
                 final Timer.Context timeCtx = DingoMetrics.getTimeContext("deserialize");
-                Task task = TaskImpl.fromString(taskStr);
+                Task task;
+                try {
+                    task = TaskImpl.deserialize(content);
+                } catch (IOException | RuntimeException e) {
+                    if (content[0] != TaskImpl.MESSAGE_CACHED) {
+                        throw new RuntimeException("Cannot deserialize received task.", e);
+                    }
+                    // The sender is waiting for the reply, so ask for the full task instead of failing silently.
+                    log.error("Cannot deserialize received task of a cached plan, ask for the full task.", e);
+                    task = null;
+                }
                 timeCtx.stop();
-
+                // The sender is waiting for the reply only if the plan fragment is not sent.
+                if (content[0] == TaskImpl.MESSAGE_CACHED) {
+                    channel.send(Message.builder()
+                        .tag(TASK_REPLY_TAG)
+                        .content(new byte[]{task != null ? TaskImpl.REPLY_DONE : TaskImpl.REPLY_PLAN_MISSED})
+                        .build());
+                }
+                if (task == null) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Received task of a plan not cached, ask for the full task.");
+                    }
+                    return;
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Received task: {}", task);
+                }
                 executorService.execute(() -> {
                     task.init();
                     task.run();
                 });
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException("Cannot deserialize received task.", e);
             } finally {
                 final long cost = System.currentTimeMillis() - startTime;
                 if (log.isDebugEnabled()) {
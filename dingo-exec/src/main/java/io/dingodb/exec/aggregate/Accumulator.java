@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import io.dingodb.common.type.scalar.DoubleType;
+import io.dingodb.common.type.scalar.IntegerType;
+import io.dingodb.common.type.scalar.LongType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Aggregating contexts of an {@link Agg} for all the groups, indexed by group id.
+ *
+ * <p>The contexts got from/merged into an accumulator are the same as those of the {@link Agg}, but they are stored in
+ * primitive arrays for the common aggregates, to avoid boxing on every tuple.
+ */
+public interface Accumulator {
+    static @NonNull Accumulator of(@NonNull Agg agg) {
+        if (agg instanceof CountAllAgg) {
+            return new CountAccumulator(-1);
+        }
+        if (agg instanceof CountAgg) {
+            return new CountAccumulator(((CountAgg) agg).index);
+        }
+        if (agg.getClass() == SumAgg.class || agg.getClass() == Sum0Agg.class) {
+            SumAgg sumAgg = (SumAgg) agg;
+            if (sumAgg.type instanceof LongType) {
+                return new LongSumAccumulator(sumAgg.index, false);
+            }
+            if (sumAgg.type instanceof IntegerType) {
+                return new LongSumAccumulator(sumAgg.index, true);
+            }
+            if (sumAgg.type instanceof DoubleType) {
+                return new DoubleSumAccumulator(sumAgg.index);
+            }
+        }
+        return new ObjectAccumulator(agg);
+    }
+
+    /**
+     * Make sure that the groups of id in {@code [0, capacity)} can be stored.
+     *
+     * @param capacity the capacity
+     */
+    void ensureCapacity(int capacity);
+
+    /**
+     * Aggregate an input tuple into a group.
+     *
+     * @param group the group id
+     * @param tuple the tuple
+     */
+    void add(int group, Object @NonNull [] tuple);
+
+    /**
+     * Merge an aggregating context into a group.
+     *
+     * @param group the group id
+     * @param var   the aggregating context, may be null
+     */
+    void merge(int group, @Nullable Object var);
+
+    /**
+     * Get the aggregating context of a group.
+     *
+     * @param group the group id
+     * @return the aggregating context, may be null
+     */
+    @Nullable Object get(int group);
+}
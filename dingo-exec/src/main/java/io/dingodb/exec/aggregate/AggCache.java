@@ -16,82 +16,214 @@
 
 package io.dingodb.exec.aggregate;
 
-import com.google.common.collect.Iterators;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.common.util.ArrayUtils;
-import io.dingodb.exec.tuple.TupleKey;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
 
+/**
+ * Aggregating state of groups, with group keys in a {@link GroupTable} and the aggregating contexts in
+ * {@link Accumulator}s indexed by group id. Not thread-safe.
+ */
 @Slf4j
 public class AggCache implements Iterable<Object[]> {
+    // Estimated bytes of the aggregating context of an aggregate for one group.
+    private static final int BYTES_PER_VAR = 16;
+
     private final TupleMapping keyMapping;
     private final List<Agg> aggList;
-    private final Map<TupleKey, Object[]> cache;
+    private final int[] keyIndices;
+    // For reducing, the keys are leading elements in the tuple.
+    private final int[] leadingIndices;
+    private final GroupTable groups;
+    private final Accumulator[] accumulators;
+    private int capacity;
 
-    public AggCache(TupleMapping keyMapping, @NonNull List<Agg> aggList) {
+    public AggCache(@NonNull TupleMapping keyMapping, @NonNull List<Agg> aggList) {
         this.keyMapping = keyMapping;
         this.aggList = aggList;
-        this.cache = new ConcurrentHashMap<>();
+        this.keyIndices = keyMapping.getMappings();
+        this.leadingIndices = new int[keyIndices.length];
+        for (int i = 0; i < leadingIndices.length; ++i) {
+            leadingIndices[i] = i;
+        }
+        this.groups = new GroupTable();
+        this.accumulators = new Accumulator[aggList.size()];
+        for (int i = 0; i < accumulators.length; ++i) {
+            accumulators[i] = Accumulator.of(aggList.get(i));
+        }
+        this.capacity = 0;
+    }
+
+    /**
+     * Get the partition of a tuple by the hash of key fields.
+     *
+     * @param tuple      the tuple
+     * @param keyIndices the indices of key fields
+     * @param bits       number of bits of the partition number
+     * @return the partition
+     */
+    public static int partition(Object @NonNull [] tuple, int @NonNull [] keyIndices, int bits) {
+        return GroupTable.hash(tuple, keyIndices) >>> (Integer.SIZE - bits);
+    }
+
+    public int size() {
+        return groups.size();
+    }
+
+    public long getEstimatedBytes() {
+        return groups.getEstimatedBytes() + (long) capacity * accumulators.length * BYTES_PER_VAR;
+    }
+
+    private int addGroup(Object @NonNull [] tuple, int @NonNull [] indices) {
+        int group = groups.add(tuple, indices);
+        if (group >= capacity) {
+            capacity = Math.max(capacity << 1, 1024);
+            for (Accumulator accumulator : accumulators) {
+                accumulator.ensureCapacity(capacity);
+            }
+        }
+        return group;
+    }
+
+    private void addTuple(int group, Object @NonNull [] tuple) {
+        for (Accumulator accumulator : accumulators) {
+            accumulator.add(group, tuple);
+        }
+    }
+
+    public void addTuple(Object @NonNull [] tuple) {
+        addTuple(addGroup(tuple, keyIndices), tuple);
+    }
+
+    /**
+     * Aggregate a tuple only if its group exists.
+     *
+     * @param tuple the tuple
+     * @return {@code true} if the group exists
+     */
+    public boolean addTupleIfPresent(Object @NonNull [] tuple) {
+        int group = groups.find(tuple, keyIndices);
+        if (group >= 0) {
+            addTuple(group, tuple);
+            return true;
+        }
+        return false;
+    }
+
+    private void reduce(int group, Object @NonNull [] tuple) {
+        int length = leadingIndices.length;
+        for (int i = 0; i < accumulators.length; ++i) {
+            accumulators[i].merge(group, tuple[length + i]);
+        }
     }
 
-    private Object @NonNull [] getVars(TupleKey key) {
-        return cache.computeIfAbsent(key, k -> new Object[aggList.size()]);
+    public void reduce(Object @NonNull [] tuple) {
+        reduce(addGroup(tuple, leadingIndices), tuple);
     }
 
-    public void addTuple(Object[] tuple) {
-        Object[] keyTuple = keyMapping.revMap(tuple);
-        Object[] vars = getVars(new TupleKey(keyTuple));
-        for (int i = 0; i < vars.length; ++i) {
-            Agg agg = aggList.get(i);
-            if (vars[i] == null) {
-                vars[i] = agg.first(tuple);
-            } else {
-                vars[i] = agg.add(vars[i], tuple);
+    /**
+     * Reduce a tuple only if its group exists.
+     *
+     * @param tuple the tuple
+     * @return {@code true} if the group exists
+     */
+    public boolean reduceIfPresent(Object @NonNull [] tuple) {
+        int group = groups.find(tuple, leadingIndices);
+        if (group >= 0) {
+            reduce(group, tuple);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Merge the groups of another cache into this one.
+     *
+     * @param other  the other cache
+     * @param filter to select the groups by their keys
+     */
+    public void merge(@NonNull AggCache other, @NonNull IntPredicate filter) {
+        for (int i = 0; i < other.groups.size(); ++i) {
+            if (!filter.test(i)) {
+                continue;
+            }
+            int group = addGroup(other.groups.getKey(i), leadingIndices);
+            for (int j = 0; j < accumulators.length; ++j) {
+                accumulators[j].merge(group, other.accumulators[j].get(i));
             }
         }
     }
 
-    public void reduce(Object[] tuple) {
-        // Here the keys are leading elements in the tuple.
-        int length = keyMapping.size();
-        Object[] keyTuple = Arrays.copyOf(tuple, length);
-        Object[] vars = getVars(new TupleKey(keyTuple));
-        for (int i = 0; i < vars.length; ++i) {
-            vars[i] = aggList.get(i).merge(vars[i], tuple[length + i]);
+    public void merge(@NonNull AggCache other) {
+        merge(other, i -> true);
+    }
+
+    /**
+     * Get the partition of a group by the hash of its key, the same as {@link #partition(Object[], int[], int)} of
+     * the tuples in the group.
+     *
+     * @param group the group id
+     * @param bits  number of bits of the partition number
+     * @return the partition
+     */
+    public int groupPartition(int group, int bits) {
+        return partition(groups.getKey(group), leadingIndices, bits);
+    }
+
+    private Object @NonNull [] calValue(int group) {
+        Object[] result = new Object[accumulators.length];
+        for (int i = 0; i < accumulators.length; ++i) {
+            result[i] = aggList.get(i).getValue(accumulators[i].get(group));
         }
+        return result;
     }
 
-    private Object @NonNull [] calValue(Object @NonNull [] vars) {
-        Object[] result = new Object[vars.length];
-        for (int i = 0; i < vars.length; ++i) {
-            result[i] = aggList.get(i).getValue(vars[i]);
+    private Object @NonNull [] getVars(int group) {
+        Object[] result = new Object[accumulators.length];
+        for (int i = 0; i < accumulators.length; ++i) {
+            result[i] = accumulators[i].get(group);
         }
         return result;
     }
 
+    private @NonNull Iterator<Object[]> groupIterator(IntFunction<Object[]> valueFun) {
+        return new Iterator<Object[]>() {
+            private int group = 0;
+
+            @Override
+            public boolean hasNext() {
+                return group < groups.size();
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object[] result = ArrayUtils.concat(groups.getKey(group), valueFun.apply(group));
+                ++group;
+                return result;
+            }
+        };
+    }
+
     @Override
     public Iterator<Object[]> iterator() {
-        if (cache.isEmpty() && keyMapping.size() == 0) {
+        if (groups.size() == 0 && keyMapping.size() == 0) {
             return Collections.singleton(aggList.stream().map(agg -> agg.getValue(null)).toArray()).iterator();
         }
-        return Iterators.transform(
-            cache.entrySet().iterator(),
-            e -> ArrayUtils.concat(e.getKey().getTuple(), calValue(e.getValue()))
-        );
+        return groupIterator(this::calValue);
     }
 
     public Iterator<Object[]> iteratorCache() {
-        return Iterators.transform(
-            cache.entrySet().iterator(),
-            e -> ArrayUtils.concat(e.getKey().getTuple(), e.getValue())
-        );
+        return groupIterator(this::getVars);
     }
 }
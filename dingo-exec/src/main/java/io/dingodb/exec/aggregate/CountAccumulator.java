@@ -0,0 +1,59 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+class CountAccumulator implements Accumulator {
+    // -1 means counting all the tuples.
+    private final int index;
+    private long[] counts;
+
+    CountAccumulator(int index) {
+        this.index = index;
+        this.counts = new long[0];
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (counts.length < capacity) {
+            counts = Arrays.copyOf(counts, capacity);
+        }
+    }
+
+    @Override
+    public void add(int group, Object @NonNull [] tuple) {
+        if (index < 0 || tuple[index] != null) {
+            ++counts[group];
+        }
+    }
+
+    @Override
+    public void merge(int group, @Nullable Object var) {
+        if (var != null) {
+            counts[group] += (long) var;
+        }
+    }
+
+    @Override
+    public @Nullable Object get(int group) {
+        return counts[group] > 0 ? counts[group] : null;
+    }
+}
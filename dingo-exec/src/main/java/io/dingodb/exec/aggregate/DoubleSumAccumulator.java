@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+class DoubleSumAccumulator implements Accumulator {
+    private final int index;
+    private final BitSet nonNull;
+    private double[] sums;
+
+    DoubleSumAccumulator(int index) {
+        this.index = index;
+        this.nonNull = new BitSet();
+        this.sums = new double[0];
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (sums.length < capacity) {
+            sums = Arrays.copyOf(sums, capacity);
+        }
+    }
+
+    @Override
+    public void add(int group, Object @NonNull [] tuple) {
+        merge(group, tuple[index]);
+    }
+
+    @Override
+    public void merge(int group, @Nullable Object var) {
+        if (var != null) {
+            sums[group] += ((Number) var).doubleValue();
+            nonNull.set(group);
+        }
+    }
+
+    @Override
+    public @Nullable Object get(int group) {
+        return nonNull.get(group) ? sums[group] : null;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import io.dingodb.exec.util.MemoryUtil;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Map group keys to dense group ids, using open addressing. The key fields are read from the input tuples directly,
+ * so the key tuple is only created for new groups.
+ */
+public final class GroupTable {
+    private static final int INITIAL_SLOTS = 1024;
+
+    // Group id of each slot, -1 for empty slots.
+    private int[] slots;
+    private int[] hashes;
+    private Object[][] keys;
+    private int size;
+    @Getter
+    private long estimatedBytes;
+
+    public GroupTable() {
+        slots = new int[INITIAL_SLOTS];
+        hashes = new int[INITIAL_SLOTS];
+        Arrays.fill(slots, -1);
+        keys = new Object[INITIAL_SLOTS >> 1][];
+        size = 0;
+        estimatedBytes = (long) INITIAL_SLOTS * 2 * Integer.BYTES;
+    }
+
+    public static int hash(Object @NonNull [] tuple, int @NonNull [] keyIndices) {
+        int hash = 1;
+        for (int index : keyIndices) {
+            hash = 31 * hash + Objects.hashCode(tuple[index]);
+        }
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Object[] getKey(int group) {
+        return keys[group];
+    }
+
+    /**
+     * Get the group id of the key in a tuple.
+     *
+     * @param tuple      the tuple
+     * @param keyIndices the indices of key fields in the tuple
+     * @return the group id, or -1 if not exists
+     */
+    public int find(Object @NonNull [] tuple, int @NonNull [] keyIndices) {
+        return slots[findSlot(tuple, keyIndices, hash(tuple, keyIndices))];
+    }
+
+    /**
+     * Get the group id of the key in a tuple, a new group is created if not exists.
+     *
+     * @param tuple      the tuple
+     * @param keyIndices the indices of key fields in the tuple
+     * @return the group id
+     */
+    public int add(Object @NonNull [] tuple, int @NonNull [] keyIndices) {
+        int hash = hash(tuple, keyIndices);
+        int slot = findSlot(tuple, keyIndices, hash);
+        if (slots[slot] >= 0) {
+            return slots[slot];
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+        }
+        Object[] key = new Object[keyIndices.length];
+        for (int i = 0; i < keyIndices.length; ++i) {
+            key[i] = tuple[keyIndices[i]];
+        }
+        int group = size++;
+        keys[group] = key;
+        slots[slot] = group;
+        hashes[slot] = hash;
+        estimatedBytes += MemoryUtil.estimate(key) + Integer.BYTES;
+        if (size > (slots.length >> 1)) {
+            rehash();
+        }
+        return group;
+    }
+
+    private int findSlot(Object @NonNull [] tuple, int @NonNull [] keyIndices, int hash) {
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] >= 0) {
+            if (hashes[slot] == hash && keyEquals(keys[slots[slot]], tuple, keyIndices)) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static boolean keyEquals(Object @NonNull [] key, Object @NonNull [] tuple, int @NonNull [] keyIndices) {
+        for (int i = 0; i < keyIndices.length; ++i) {
+            if (!Objects.equals(key[i], tuple[keyIndices[i]])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        int[] oldSlots = slots;
+        int[] oldHashes = hashes;
+        int capacity = oldSlots.length << 1;
+        int mask = capacity - 1;
+        slots = new int[capacity];
+        hashes = new int[capacity];
+        Arrays.fill(slots, -1);
+        for (int i = 0; i < oldSlots.length; ++i) {
+            if (oldSlots[i] < 0) {
+                continue;
+            }
+            int slot = oldHashes[i] & mask;
+            while (slots[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = oldSlots[i];
+            hashes[slot] = oldHashes[i];
+        }
+        estimatedBytes += (long) (capacity - oldSlots.length) * 2 * Integer.BYTES;
+    }
+}
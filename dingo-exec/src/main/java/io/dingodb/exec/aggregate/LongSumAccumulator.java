@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+class LongSumAccumulator implements Accumulator {
+    private final int index;
+    // The sum of INTEGER is INTEGER, which wraps the same as truncating the long sum.
+    private final boolean intResult;
+    private final BitSet nonNull;
+    private long[] sums;
+
+    LongSumAccumulator(int index, boolean intResult) {
+        this.index = index;
+        this.intResult = intResult;
+        this.nonNull = new BitSet();
+        this.sums = new long[0];
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (sums.length < capacity) {
+            sums = Arrays.copyOf(sums, capacity);
+        }
+    }
+
+    @Override
+    public void add(int group, Object @NonNull [] tuple) {
+        merge(group, tuple[index]);
+    }
+
+    @Override
+    public void merge(int group, @Nullable Object var) {
+        if (var != null) {
+            sums[group] += ((Number) var).longValue();
+            nonNull.set(group);
+        }
+    }
+
+    @Override
+    public @Nullable Object get(int group) {
+        if (!nonNull.get(group)) {
+            return null;
+        }
+        return intResult ? (Object) (int) sums[group] : (Object) sums[group];
+    }
+}
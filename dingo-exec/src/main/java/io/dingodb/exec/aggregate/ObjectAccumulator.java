@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Accumulator of any {@link Agg}, storing the aggregating contexts as objects.
+ */
+class ObjectAccumulator implements Accumulator {
+    private final Agg agg;
+    private Object[] vars;
+
+    ObjectAccumulator(@NonNull Agg agg) {
+        this.agg = agg;
+        this.vars = new Object[0];
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (vars.length < capacity) {
+            vars = Arrays.copyOf(vars, capacity);
+        }
+    }
+
+    @Override
+    public void add(int group, Object @NonNull [] tuple) {
+        Object var = vars[group];
+        vars[group] = (var == null) ? agg.first(tuple) : agg.add(var, tuple);
+    }
+
+    @Override
+    public void merge(int group, @Nullable Object var) {
+        vars[group] = agg.merge(vars[group], var);
+    }
+
+    @Override
+    public @Nullable Object get(int group) {
+        return vars[group];
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.codec.TupleCodec;
+import io.dingodb.exec.spill.SpillFile;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Aggregating state of an aggregating operator, which can be fed concurrently.
+ *
+ * <p>Each pushing thread aggregates into its own {@link AggCache} held by this object, and the partial caches are
+ * merged when finishing. When the partial caches together exceed the memory budget, the groups in memory are kept,
+ * and the tuples of new groups are partitioned by the hash of keys into local spill files. Then each partition is
+ * aggregated and merged with the in-memory groups of the same partition. Spilling is disabled if the schema of input
+ * tuples is not given.
+ */
+@Slf4j
+public final class SpillableAggCache implements AutoCloseable {
+    private static final int PARTITION_BITS = 4;
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+
+    private final TupleMapping keyMapping;
+    private final List<Agg> aggList;
+    // Reducing the outputs of the aggregating phase, instead of aggregating original tuples.
+    private final boolean reducing;
+    private final int[] keyIndices;
+    private final TupleCodec codec;
+    private final long memoryBudget;
+    private final String name;
+    // Partial caches by the pushing threads, not thread locals, so they are released with the operator.
+    private final Map<Thread, AggCache> caches;
+    // Total estimated size of the partial caches, against the memory budget.
+    private final AtomicLong estimatedBytes;
+
+    private volatile SpillFile[] partitions;
+    @Getter
+    private long spillBytes;
+
+    public SpillableAggCache(
+        @NonNull TupleMapping keyMapping,
+        @NonNull List<Agg> aggList,
+        boolean reducing,
+        @Nullable DingoType schema,
+        long memoryBudget,
+        String name
+    ) {
+        this.keyMapping = keyMapping;
+        this.aggList = aggList;
+        this.reducing = reducing;
+        if (reducing) {
+            keyIndices = new int[keyMapping.size()];
+            for (int i = 0; i < keyIndices.length; ++i) {
+                keyIndices[i] = i;
+            }
+        } else {
+            keyIndices = keyMapping.getMappings();
+        }
+        // Only one group if there are no keys, no need to spill.
+        this.codec = (schema != null && keyMapping.size() > 0) ? new TupleCodec(schema) : null;
+        this.memoryBudget = SpillFile.memoryBudget(memoryBudget);
+        this.name = name;
+        this.caches = new ConcurrentHashMap<>();
+        this.estimatedBytes = new AtomicLong(0);
+        this.spillBytes = 0;
+    }
+
+    public void add(Object @NonNull [] tuple) throws IOException {
+        Thread thread = Thread.currentThread();
+        AggCache cache = caches.get(thread);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(thread, t -> new AggCache(keyMapping, aggList));
+        }
+        SpillFile[] files = partitions;
+        if (files == null) {
+            long bytes = cache.getEstimatedBytes();
+            if (reducing) {
+                cache.reduce(tuple);
+            } else {
+                cache.addTuple(tuple);
+            }
+            bytes = cache.getEstimatedBytes() - bytes;
+            if (bytes != 0 && estimatedBytes.addAndGet(bytes) > memoryBudget && codec != null) {
+                startSpilling();
+            }
+            return;
+        }
+        if (reducing ? !cache.reduceIfPresent(tuple) : !cache.addTupleIfPresent(tuple)) {
+            SpillFile file = files[AggCache.partition(tuple, keyIndices, PARTITION_BITS)];
+            byte[] bytes = codec.encode(tuple);
+            synchronized (file) {
+                file.write(bytes);
+            }
+        }
+    }
+
+    private synchronized void startSpilling() throws IOException {
+        if (partitions != null) {
+            return;
+        }
+        SpillFile[] files = new SpillFile[PARTITIONS];
+        for (int i = 0; i < PARTITIONS; ++i) {
+            files[i] = SpillFile.create(name + "-");
+        }
+        if (log.isInfoEnabled()) {
+            log.info(
+                "Aggregation {} exceeded memory budget, spilling new groups into {} partitions.",
+                name,
+                PARTITIONS
+            );
+        }
+        partitions = files;
+    }
+
+    /**
+     * Merge the partial caches and feed the results to a consumer. Must be called after all the tuples are added.
+     *
+     * @param consumer the consumer, returns {@code false} to stop
+     * @throws IOException if failed to read spill files
+     */
+    public void forEach(@NonNull Predicate<Object[]> consumer) throws IOException {
+        AggCache main;
+        if (caches.size() == 1) {
+            main = caches.values().iterator().next();
+        } else {
+            main = new AggCache(keyMapping, aggList);
+            for (AggCache cache : caches.values()) {
+                main.merge(cache);
+            }
+        }
+        caches.clear();
+        estimatedBytes.set(0);
+        if (partitions == null) {
+            for (Object[] tuple : main) {
+                if (!consumer.test(tuple)) {
+                    return;
+                }
+            }
+            return;
+        }
+        for (SpillFile file : partitions) {
+            spillBytes += file.getBytes();
+        }
+        for (int i = 0; i < PARTITIONS; ++i) {
+            AggCache cache = new AggCache(keyMapping, aggList);
+            Iterator<byte[]> it = partitions[i].read();
+            while (it.hasNext()) {
+                Object[] tuple = codec.decode(it.next());
+                if (reducing) {
+                    cache.reduce(tuple);
+                } else {
+                    cache.addTuple(tuple);
+                }
+            }
+            partitions[i].close();
+            final int partition = i;
+            cache.merge(main, group -> main.groupPartition(group, PARTITION_BITS) == partition);
+            for (Object[] tuple : cache) {
+                if (!consumer.test(tuple)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        caches.clear();
+        estimatedBytes.set(0);
+        SpillFile[] files = partitions;
+        if (files != null) {
+            for (SpillFile file : files) {
+                file.close();
+            }
+            partitions = null;
+        }
+    }
+}
@@ -18,6 +18,8 @@ package io.dingodb.exec.base;
 
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Collection;
@@ -50,6 +52,24 @@ public interface Operator {
      */
     boolean push(int pin, @Nullable Object[] tuple);
 
+    /**
+     * Push a batch of tuples to the operator. The default implementation pushes the selected tuples one by one, so
+     * operators not aware of batches keep working.
+     *
+     * @param pin   the input pin no
+     * @param batch the batch pushed in
+     * @return `true` means another push needed, `false` means the task is canceled or finished
+     */
+    default boolean push(int pin, @NonNull TupleBatch batch) {
+        int size = batch.size();
+        for (int i = 0; i < size; ++i) {
+            if (!push(pin, batch.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     void fin(int pin, @Nullable Fin fin);
 
     void reset();
@@ -62,7 +62,24 @@ public interface Task {
         return getOperators().get(id);
     }
 
-    byte[] serialize();
+    /**
+     * Get the hash of the plan fragment, which is the task without the job id and the parameters.
+     *
+     * @return the hash
+     */
+    String getPlanHash();
+
+    /**
+     * Serialize the task to send to executors.
+     *
+     * @param withPlan if the plan fragment is included, otherwise the executor must have cached it
+     * @return the bytes
+     */
+    byte[] serialize(boolean withPlan);
+
+    default byte[] serialize() {
+        return serialize(true);
+    }
 
     DingoType getParasType();
 
@@ -17,6 +17,7 @@
 package io.dingodb.exec.channel;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.dingodb.expr.json.runtime.Parser;
@@ -35,21 +36,33 @@ public class ControlMessage {
     @Getter
     @JsonProperty("status")
     private final ControlStatus status;
+    // Granted bytes for CREDIT.
+    @Getter
+    @JsonProperty("credit")
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private final long credit;
 
     private ControlMessage(
         String tag,
-        ControlStatus status
+        ControlStatus status,
+        long credit
     ) {
         this.tag = tag;
         this.status = status;
+        this.credit = credit;
     }
 
     @JsonCreator
     public static @NonNull ControlMessage of(
         @JsonProperty("tag") String tag,
-        @JsonProperty("status") ControlStatus status
+        @JsonProperty("status") ControlStatus status,
+        @JsonProperty("credit") long credit
     ) {
-        return new ControlMessage(tag, status);
+        return new ControlMessage(tag, status, credit);
+    }
+
+    public static @NonNull ControlMessage of(String tag, ControlStatus status) {
+        return of(tag, status, 0);
     }
 
     public static ControlMessage fromMessage(@NonNull Message message) throws JsonProcessingException {
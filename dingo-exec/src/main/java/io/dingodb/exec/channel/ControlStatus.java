@@ -19,10 +19,8 @@ package io.dingodb.exec.channel;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public enum ControlStatus {
-    @JsonProperty("ready")
-    READY, // The receiver is ready to receive messages.
-    @JsonProperty("halt")
-    HALT, // The receiver's queue is about full, so the sender must wait for READY signal.
+    @JsonProperty("credit")
+    CREDIT, // The receiver grants more bytes to the sender, which must not send messages beyond its credit.
     @JsonProperty("stop")
     STOP, // The receiver need no more messages, so the sender should exit.
 }
@@ -29,13 +29,18 @@ public final class EndpointManager {
     public static EndpointManager INSTANCE = new EndpointManager();
 
     private final Map<String, SendEndpoint> sendEndpointMap;
-    private final Map<String, ControlStatus> signals;
 
     private EndpointManager() {
         sendEndpointMap = new ConcurrentHashMap<>();
-        signals = new ConcurrentHashMap<>();
     }
 
+    /**
+     * Deliver a control message to the send endpoint of its tag.
+     *
+     * <p>Messages of unknown tags are dropped. Credits are granted only for the consumed messages, so they never
+     * arrive before the send endpoint is registered, and those arriving after it is unregistered are useless. A STOP
+     * arriving too early is sent again by the receiver on the next message.
+     */
     public void onControlMessage(@NonNull Message message) {
         ControlMessage msg;
         try {
@@ -46,26 +51,28 @@ public final class EndpointManager {
         }
         String tag = msg.getTag();
         ControlStatus status = msg.getStatus();
+        SendEndpoint sendEndpoint = sendEndpointMap.get(tag);
+        if (sendEndpoint == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Dropped control message \"{}\" of unknown tag {}.", status, tag);
+            }
+            return;
+        }
         if (log.isDebugEnabled()) {
             log.debug("Received control message \"{}\" of tag {}.", status, tag);
         }
-        signals.put(tag, status);
-        SendEndpoint sendEndpoint = sendEndpointMap.get(tag);
-        if (sendEndpoint != null && status == ControlStatus.READY) {
-            sendEndpoint.wakeUp();
+        if (status == ControlStatus.CREDIT) {
+            sendEndpoint.onCredit(msg.getCredit());
+        } else {
+            sendEndpoint.onStop();
         }
     }
 
-    public void registerSendEndpoint(SendEndpoint endpoint) {
+    public void registerSendEndpoint(@NonNull SendEndpoint endpoint) {
         sendEndpointMap.put(endpoint.getTag(), endpoint);
     }
 
     public void unregisterSendEndpoint(@NonNull SendEndpoint endpoint) {
-        sendEndpointMap.remove(endpoint.getTag());
-        signals.remove(endpoint.getTag());
-    }
-
-    public ControlStatus getStatus(@NonNull String tag) {
-        return signals.get(tag);
+        sendEndpointMap.remove(endpoint.getTag(), endpoint);
     }
 }
@@ -23,18 +23,31 @@ import io.dingodb.net.Message;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.util.concurrent.atomic.AtomicReference;
-
 import static io.dingodb.exec.Services.CTRL_TAG;
 
+/**
+ * The receiving end of an exchange, which grants credits in bytes to the sender.
+ *
+ * <p>The sender may have as many bytes in flight as the credits granted, starting with {@link #INITIAL_WINDOW}
+ * without a grant. The receiver grants the consumed bytes back when a quarter of the window is consumed. If the
+ * receiving operator is starved while the sender has almost run out of credits, the window is too small for the
+ * bandwidth-delay product of the link, so it is doubled, up to {@link #MAX_WINDOW}.
+ */
 @Slf4j
 public class ReceiveEndpoint {
+    public static final long INITIAL_WINDOW = 256L << 10;
+    public static final long MAX_WINDOW = 16L << 20;
+
     private final String host;
     private final int port;
     private final String tag;
 
     private Channel channel;
-    private AtomicReference<ControlStatus> emittedStatus;
+    private volatile boolean stopped;
+    private long window;
+    private long granted;
+    private long received;
+    private long consumed;
 
     public ReceiveEndpoint(String host, int port, String tag) {
         this.host = host;
@@ -43,34 +56,78 @@ public class ReceiveEndpoint {
     }
 
     public void init() {
-        channel = Services.openNewSysChannel(host, port);
-        emittedStatus = new AtomicReference<>(ControlStatus.HALT);
+        init(Services.openNewSysChannel(host, port));
+    }
+
+    synchronized void init(@NonNull Channel channel) {
+        this.channel = channel;
+        stopped = false;
+        window = INITIAL_WINDOW;
+        granted = window;
+        received = 0;
+        consumed = 0;
+    }
+
+    /**
+     * Called when a message is received.
+     *
+     * @param bytes the size of the message
+     */
+    public synchronized void onReceived(int bytes) {
+        received += bytes;
+        if (stopped) {
+            // The sender may have not got the STOP, e.g. it arrived before the sender was registered.
+            send(ControlMessage.of(tag, ControlStatus.STOP));
+        }
+    }
+
+    /**
+     * Called when the tuples of a message are consumed.
+     *
+     * @param bytes   the size of the message
+     * @param starved if the receiving operator was waiting for messages
+     */
+    public synchronized void onConsumed(int bytes, boolean starved) {
+        if (stopped) {
+            return;
+        }
+        consumed += bytes;
+        long extra = 0;
+        if (starved && window < MAX_WINDOW && granted - received < (window >> 2)) {
+            extra = window;
+            window <<= 1;
+            if (log.isDebugEnabled()) {
+                log.debug("(tag = {}) Receiver starved, enlarge window to {}.", tag, window);
+            }
+        }
+        if (extra > 0 || consumed >= (window >> 2)) {
+            grant(consumed + extra);
+            consumed = 0;
+        }
+    }
+
+    private synchronized void grant(long credit) {
+        granted += credit;
+        send(ControlMessage.of(tag, ControlStatus.CREDIT, credit));
     }
 
     public void sendControlMessage(@NonNull ControlStatus status) {
-        switch (status) {
-            case READY:
-                if (!emittedStatus.compareAndSet(ControlStatus.HALT, ControlStatus.READY)) {
-                    return;
-                }
-                break;
-            case HALT:
-                if (!emittedStatus.compareAndSet(ControlStatus.READY, ControlStatus.HALT)) {
-                    return;
-                }
-                break;
-            case STOP:
-                if (emittedStatus.getAndSet(ControlStatus.STOP) == ControlStatus.STOP) {
-                    return;
-                }
-                break;
+        if (status == ControlStatus.STOP) {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
         }
+        send(ControlMessage.of(tag, status));
+    }
+
+    private void send(@NonNull ControlMessage message) {
         byte[] content;
         try {
-            content = ControlMessage.of(tag, status).toBytes();
+            content = message.toBytes();
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize control message: host:{} port:{} tag:{}, status:{}",
-                host, port, tag, status, e);
+                host, port, tag, message.getStatus(), e);
             throw new RuntimeException("Serialize control message failed.", e);
         }
         channel.send(
@@ -80,12 +137,13 @@ public class ReceiveEndpoint {
                 .build()
         );
         if (log.isDebugEnabled()) {
-            log.debug("(tag = {}) Sent control message \"{}\".", tag, status);
+            log.debug("(tag = {}) Sent control message \"{}\", credit: {}.", tag, message.getStatus(),
+                message.getCredit());
         }
     }
 
     public boolean isStopped() {
-        return emittedStatus.get() == ControlStatus.STOP;
+        return stopped;
     }
 
     public void close() throws Exception {
@@ -21,6 +21,7 @@ import io.dingodb.net.Channel;
 import io.dingodb.net.Message;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 @Slf4j
 public class SendEndpoint {
@@ -30,6 +31,9 @@ public class SendEndpoint {
     private final String tag;
 
     private Channel channel;
+    // Bytes allowed to send, starting with the initial window of the receiver.
+    private long credit;
+    private boolean stopped;
 
     public SendEndpoint(String host, int port, String tag) {
         this.host = host;
@@ -38,47 +42,72 @@ public class SendEndpoint {
     }
 
     public void init() {
-        EndpointManager.INSTANCE.registerSendEndpoint(this);
         // This may block.
-        channel = Services.openNewChannel(host, port);
+        init(Services.openNewChannel(host, port));
         if (log.isDebugEnabled()) {
             log.debug("(tag = {}) Opened channel to {}:{}.", tag, host, port);
         }
     }
 
-    synchronized void wakeUp() {
-        notify();
+    synchronized void init(@NonNull Channel channel) {
+        this.channel = channel;
+        credit = ReceiveEndpoint.INITIAL_WINDOW;
+        stopped = false;
+        EndpointManager.INSTANCE.registerSendEndpoint(this);
     }
 
-    synchronized ControlStatus checkStatus() {
-        ControlStatus status = EndpointManager.INSTANCE.getStatus(tag);
-        if (status == ControlStatus.STOP) {
-            return status;
-        }
-        if (status != ControlStatus.READY) {
-            while (true) {
-                try {
-                    wait();
-                } catch (InterruptedException e) {
-                    log.warn("Catch (tag = {}) Interrupted while waiting for channel to be ready.", tag);
-                    continue;
-                }
-                status = EndpointManager.INSTANCE.getStatus(tag);
-                if (status == ControlStatus.READY) {
-                    break;
-                }
+    synchronized void onCredit(long credit) {
+        this.credit += credit;
+        notifyAll();
+    }
+
+    synchronized void onStop() {
+        stopped = true;
+        notifyAll();
+    }
+
+    /**
+     * Wait until there is credit to send, or the receiver has stopped.
+     *
+     * @return {@code STOP} if the receiver has stopped, else {@code CREDIT}
+     */
+    private synchronized ControlStatus checkStatus() {
+        while (true) {
+            if (stopped) {
+                return ControlStatus.STOP;
+            }
+            // A message larger than the remaining credit is allowed, so that it cannot block forever.
+            if (credit > 0) {
+                return ControlStatus.CREDIT;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                log.warn("Catch (tag = {}) Interrupted while waiting for credit.", tag);
             }
         }
-        return status;
     }
 
     public boolean send(byte[] content) {
         return send(content, false);
     }
 
+    /**
+     * Send a message if there is credit. Messages are pipelined until the credit granted by the receiver is used up.
+     *
+     * @param content the content of the message
+     * @param needed  send the message even if the receiver has stopped, e.g. for FIN
+     * @return {@code false} if the receiver has stopped
+     */
     public boolean send(byte[] content, boolean needed) {
-        ControlStatus status = checkStatus();
-        if (status == ControlStatus.READY || needed) {
+        ControlStatus status;
+        synchronized (this) {
+            status = needed ? (stopped ? ControlStatus.STOP : ControlStatus.CREDIT) : checkStatus();
+            if (status != ControlStatus.STOP || needed) {
+                credit -= content.length;
+            }
+        }
+        if (status != ControlStatus.STOP || needed) {
             Message msg = Message.builder()
                 .tag(tag)
                 .content(content)
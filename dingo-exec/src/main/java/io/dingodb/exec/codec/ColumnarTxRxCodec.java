@@ -0,0 +1,458 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleType;
+import io.dingodb.common.type.converter.DingoConverter;
+import io.dingodb.common.type.scalar.BinaryType;
+import io.dingodb.common.type.scalar.BooleanType;
+import io.dingodb.common.type.scalar.DateType;
+import io.dingodb.common.type.scalar.DecimalType;
+import io.dingodb.common.type.scalar.DoubleType;
+import io.dingodb.common.type.scalar.IntegerType;
+import io.dingodb.common.type.scalar.LongType;
+import io.dingodb.common.type.scalar.StringType;
+import io.dingodb.common.type.scalar.TimeType;
+import io.dingodb.common.type.scalar.TimestampType;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.FinWithProfiles;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encode a batch of tuples into one message in column-oriented layout.
+ *
+ * <p>The content of a message is a flag byte followed by the body. For tuples, the body is a compression flag, the
+ * number of tuples and then the columns, each of which is a null bitmap followed by the non-null values. The body is
+ * written into a buffer reused by the codec, and compressed if it is large enough and compression is enabled. FIN is
+ * encoded the same as {@link AvroTxRxCodec}.
+ */
+public final class ColumnarTxRxCodec implements TxRxCodec {
+    public static final int TUPLES_FLAG = 3;
+    public static final String COMPRESS_PROPERTY = "dingo.exec.exchange.compress";
+
+    private static final boolean COMPRESS = Boolean.getBoolean(COMPRESS_PROPERTY);
+    private static final int COMPRESS_THRESHOLD = 1024;
+
+    private static final int INT = 0;
+    private static final int LONG = 1;
+    private static final int DOUBLE = 2;
+    private static final int BOOLEAN = 3;
+    private static final int STRING = 4;
+    private static final int DECIMAL = 5;
+    private static final int BINARY = 6;
+    // Dates and times are transferred as long.
+    private static final int TEMPORAL = 7;
+
+    private final DingoType[] columnTypes;
+    private final int[] columnKinds;
+    private final boolean compress;
+    private final Writer writer;
+
+    private ColumnarTxRxCodec(DingoType @NonNull [] columnTypes, int @NonNull [] columnKinds, boolean compress) {
+        this.columnTypes = columnTypes;
+        this.columnKinds = columnKinds;
+        this.compress = compress;
+        this.writer = new Writer();
+    }
+
+    /**
+     * Create a codec for the schema.
+     *
+     * @param schema the schema of tuples
+     * @return the codec, or {@code null} if some column type is not supported
+     */
+    public static ColumnarTxRxCodec of(@NonNull DingoType schema) {
+        if (!(schema instanceof TupleType)) {
+            return null;
+        }
+        DingoType[] types = ((TupleType) schema).getFields();
+        int[] kinds = new int[types.length];
+        for (int i = 0; i < types.length; ++i) {
+            kinds[i] = kindOf(types[i]);
+            if (kinds[i] < 0) {
+                return null;
+            }
+        }
+        return new ColumnarTxRxCodec(types, kinds, COMPRESS);
+    }
+
+    private static int kindOf(DingoType type) {
+        if (type instanceof IntegerType) {
+            return INT;
+        } else if (type instanceof LongType) {
+            return LONG;
+        } else if (type instanceof DoubleType) {
+            return DOUBLE;
+        } else if (type instanceof BooleanType) {
+            return BOOLEAN;
+        } else if (type instanceof StringType) {
+            return STRING;
+        } else if (type instanceof DecimalType) {
+            return DECIMAL;
+        } else if (type instanceof BinaryType) {
+            return BINARY;
+        } else if (type instanceof DateType || type instanceof TimeType || type instanceof TimestampType) {
+            return TEMPORAL;
+        }
+        return -1;
+    }
+
+    @Override
+    public byte @NonNull [] encode(Object[] tuple) throws IOException {
+        return encodeMessage(Collections.singletonList(tuple));
+    }
+
+    @Override
+    public byte @NonNull [] encodeFin(Fin fin) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        if (fin instanceof FinWithProfiles) {
+            os.write(AvroTxRxCodec.NORMAL_FIN_FLAG);
+        } else {
+            os.write(AvroTxRxCodec.ABNORMAL_FIN_FLAG);
+        }
+        fin.writeStream(os);
+        return os.toByteArray();
+    }
+
+    @Override
+    public Object[] decode(byte[] bytes) throws IOException {
+        List<Object[]> tuples = new ArrayList<>(1);
+        decodeMessage(bytes, tuples::add);
+        return tuples.get(0);
+    }
+
+    @Override
+    public byte @NonNull [] encodeMessage(@NonNull List<Object[]> tuples) {
+        int count = tuples.size();
+        writer.reset();
+        writer.writeByte(TUPLES_FLAG);
+        writer.writeByte(0);
+        writer.writeVarInt(count);
+        int bodyPos = writer.pos;
+        for (int i = 0; i < columnKinds.length; ++i) {
+            int bitmapPos = writer.skip((count + 7) >> 3);
+            for (int j = 0; j < count; ++j) {
+                Object value = tuples.get(j)[i];
+                if (value == null) {
+                    writer.buf[bitmapPos + (j >> 3)] |= (byte) (1 << (j & 7));
+                    continue;
+                }
+                writeValue(i, value);
+            }
+        }
+        int rawLength = writer.pos - bodyPos;
+        if (compress && rawLength >= COMPRESS_THRESHOLD) {
+            byte[] compressed = compress(writer.buf, bodyPos, rawLength);
+            if (compressed != null) {
+                Writer compressedWriter = new Writer();
+                compressedWriter.writeByte(TUPLES_FLAG);
+                compressedWriter.writeByte(1);
+                compressedWriter.writeVarInt(count);
+                compressedWriter.writeVarInt(rawLength);
+                compressedWriter.writeBytes(compressed, 0, compressed.length);
+                return compressedWriter.toByteArray();
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    private static byte[] compress(byte @NonNull [] bytes, int offset, int length) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes, offset, length);
+            deflater.finish();
+            byte[] buf = new byte[length];
+            int compressedLength = deflater.deflate(buf);
+            if (deflater.finished() && compressedLength < length) {
+                byte[] result = new byte[compressedLength];
+                System.arraycopy(buf, 0, result, 0, compressedLength);
+                return result;
+            }
+            // Not worth compressing.
+            return null;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public byte @NonNull [] encodeFinMessage(Fin fin) throws IOException {
+        return encodeFin(fin);
+    }
+
+    @Override
+    public void decodeMessage(byte @NonNull [] content, @NonNull Consumer<Object[]> consumer) throws IOException {
+        int flag = content[0];
+        switch (flag) {
+            case TUPLES_FLAG:
+                decodeTuples(content, consumer);
+                return;
+            case AvroTxRxCodec.NORMAL_FIN_FLAG:
+            case AvroTxRxCodec.ABNORMAL_FIN_FLAG:
+                ByteArrayInputStream is = new ByteArrayInputStream(content, 1, content.length - 1);
+                consumer.accept(new Object[]{
+                    flag == AvroTxRxCodec.NORMAL_FIN_FLAG
+                        ? FinWithProfiles.deserialize(is)
+                        : FinWithException.deserialize(is)
+                });
+                return;
+            default:
+        }
+        throw new IllegalStateException("Unexpected data message flag \"" + flag + "\".");
+    }
+
+    private void decodeTuples(byte @NonNull [] content, @NonNull Consumer<Object[]> consumer) throws IOException {
+        Reader reader = new Reader(content, 1);
+        boolean compressed = reader.readByte() != 0;
+        int count = reader.readVarInt();
+        if (compressed) {
+            int rawLength = reader.readVarInt();
+            byte[] raw = new byte[rawLength];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(content, reader.pos, content.length - reader.pos);
+                if (inflater.inflate(raw) != rawLength) {
+                    throw new IOException("Corrupted compressed tuples.");
+                }
+            } catch (DataFormatException e) {
+                throw new IOException(e);
+            } finally {
+                inflater.end();
+            }
+            reader = new Reader(raw, 0);
+        }
+        Object[][] tuples = new Object[count][columnKinds.length];
+        for (int i = 0; i < columnKinds.length; ++i) {
+            int bitmapPos = reader.skip((count + 7) >> 3);
+            for (int j = 0; j < count; ++j) {
+                if ((reader.buf[bitmapPos + (j >> 3)] & (1 << (j & 7))) == 0) {
+                    tuples[j][i] = readValue(i, reader);
+                }
+            }
+        }
+        for (Object[] tuple : tuples) {
+            consumer.accept(tuple);
+        }
+    }
+
+    private void writeValue(int column, @NonNull Object value) {
+        switch (columnKinds[column]) {
+            case INT:
+                writer.writeInt((Integer) value);
+                break;
+            case LONG:
+                writer.writeLong(((Number) value).longValue());
+                break;
+            case DOUBLE:
+                writer.writeLong(Double.doubleToRawLongBits(((Number) value).doubleValue()));
+                break;
+            case BOOLEAN:
+                writer.writeByte((Boolean) value ? 1 : 0);
+                break;
+            case STRING:
+                writer.writeByteArray(value.toString().getBytes(StandardCharsets.UTF_8));
+                break;
+            case DECIMAL:
+                writer.writeByteArray(((BigDecimal) value).toString().getBytes(StandardCharsets.UTF_8));
+                break;
+            case BINARY:
+                writer.writeByteArray((byte[]) value);
+                break;
+            case TEMPORAL:
+                writer.writeLong((Long) columnTypes[column].convertTo(value, DingoConverter.INSTANCE));
+                break;
+            default:
+                throw new IllegalStateException("Unknown column kind " + columnKinds[column] + ".");
+        }
+    }
+
+    private Object readValue(int column, @NonNull Reader reader) {
+        switch (columnKinds[column]) {
+            case INT:
+                return reader.readInt();
+            case LONG:
+                return reader.readLong();
+            case DOUBLE:
+                return Double.longBitsToDouble(reader.readLong());
+            case BOOLEAN:
+                return reader.readByte() != 0;
+            case STRING:
+                return reader.readString();
+            case DECIMAL:
+                return new BigDecimal(reader.readString());
+            case BINARY:
+                return reader.readByteArray();
+            case TEMPORAL:
+                return columnTypes[column].convertFrom(reader.readLong(), DingoConverter.INSTANCE);
+            default:
+                throw new IllegalStateException("Unknown column kind " + columnKinds[column] + ".");
+        }
+    }
+
+    private static final class Writer {
+        private byte[] buf = new byte[4096];
+        private int pos = 0;
+
+        void reset() {
+            pos = 0;
+        }
+
+        private void ensure(int size) {
+            if (pos + size > buf.length) {
+                byte[] newBuf = new byte[Math.max(buf.length << 1, pos + size)];
+                System.arraycopy(buf, 0, newBuf, 0, pos);
+                buf = newBuf;
+            }
+        }
+
+        /**
+         * Reserve zeroed bytes.
+         *
+         * @param size the number of bytes
+         * @return the position of the reserved bytes
+         */
+        int skip(int size) {
+            ensure(size);
+            int start = pos;
+            for (int i = 0; i < size; ++i) {
+                buf[pos++] = 0;
+            }
+            return start;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buf[pos++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            buf[pos++] = (byte) (value >> 24);
+            buf[pos++] = (byte) (value >> 16);
+            buf[pos++] = (byte) (value >> 8);
+            buf[pos++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >> 32));
+            writeInt((int) value);
+        }
+
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeBytes(byte @NonNull [] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buf, pos, length);
+            pos += length;
+        }
+
+        void writeByteArray(byte @NonNull [] bytes) {
+            writeVarInt(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        byte @NonNull [] toByteArray() {
+            byte[] result = new byte[pos];
+            System.arraycopy(buf, 0, result, 0, pos);
+            return result;
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte @NonNull [] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        int skip(int size) {
+            int start = pos;
+            pos += size;
+            return start;
+        }
+
+        int readByte() {
+            return buf[pos++];
+        }
+
+        int readInt() {
+            int value = ((buf[pos] & 0xFF) << 24)
+                | ((buf[pos + 1] & 0xFF) << 16)
+                | ((buf[pos + 2] & 0xFF) << 8)
+                | (buf[pos + 3] & 0xFF);
+            pos += 4;
+            return value;
+        }
+
+        long readLong() {
+            long high = readInt();
+            return (high << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            while (true) {
+                byte b = buf[pos++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+                shift += 7;
+            }
+        }
+
+        byte @NonNull [] readByteArray() {
+            int length = readVarInt();
+            byte[] result = new byte[length];
+            System.arraycopy(buf, pos, result, 0, length);
+            pos += length;
+            return result;
+        }
+
+        @NonNull String readString() {
+            int length = readVarInt();
+            String result = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return result;
+        }
+    }
+}
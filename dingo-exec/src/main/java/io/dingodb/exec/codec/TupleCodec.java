@@ -0,0 +1,45 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import io.dingodb.common.codec.DingoCodec;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.converter.DingoConverter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+
+/**
+ * Encode tuples into the compact row format of {@link DingoCodec}, used to spill tuples to local files.
+ */
+public final class TupleCodec {
+    private final DingoType schema;
+    private final DingoCodec codec;
+
+    public TupleCodec(@NonNull DingoType schema) {
+        this.schema = schema;
+        this.codec = new DingoCodec(schema.toDingoSchemas());
+    }
+
+    public byte @NonNull [] encode(Object @NonNull [] tuple) throws IOException {
+        return codec.encode((Object[]) schema.convertTo(tuple, DingoConverter.INSTANCE));
+    }
+
+    public Object @NonNull [] decode(byte @NonNull [] bytes) throws IOException {
+        return (Object[]) schema.convertFrom(codec.decode(bytes), DingoConverter.INSTANCE);
+    }
+}
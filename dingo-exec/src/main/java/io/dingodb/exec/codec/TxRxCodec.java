@@ -16,14 +16,72 @@
 
 package io.dingodb.exec.codec;
 
+import io.dingodb.common.codec.PrimitiveCodec;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.util.Pair;
 import io.dingodb.exec.fin.Fin;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface TxRxCodec {
+    /**
+     * Create the codec for exchanging tuples of the schema, which is {@link ColumnarTxRxCodec} if all the column types
+     * are supported, else {@link AvroTxRxCodec}.
+     *
+     * @param schema the schema
+     * @return the codec
+     */
+    static @NonNull TxRxCodec of(@NonNull DingoType schema) {
+        TxRxCodec codec = ColumnarTxRxCodec.of(schema);
+        return codec != null ? codec : new AvroTxRxCodec(schema);
+    }
+
     byte[] encode(Object[] tuple) throws IOException;
 
     byte[] encodeFin(Fin fin) throws IOException;
 
     Object[] decode(byte[] bytes) throws IOException;
+
+    /**
+     * Encode tuples into the content of one message. By default, the tuples are encoded one by one and concatenated
+     * with length prefixes.
+     *
+     * @param tuples the tuples
+     * @return the content
+     * @throws IOException if failed to encode
+     */
+    default byte @NonNull [] encodeMessage(@NonNull List<Object[]> tuples) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        for (Object[] tuple : tuples) {
+            os.write(PrimitiveCodec.encodeArray(encode(tuple)));
+        }
+        return os.toByteArray();
+    }
+
+    default byte @NonNull [] encodeFinMessage(Fin fin) throws IOException {
+        return PrimitiveCodec.encodeArray(encodeFin(fin));
+    }
+
+    /**
+     * Decode the content of a message. FIN is decoded as a tuple containing only the {@link Fin} object.
+     *
+     * @param content  the content
+     * @param consumer the consumer of decoded tuples
+     * @throws IOException if failed to decode
+     */
+    default void decodeMessage(byte @NonNull [] content, @NonNull Consumer<Object[]> consumer) throws IOException {
+        int offset = 0;
+        while (offset < content.length) {
+            Pair<byte[], Integer> pair = PrimitiveCodec.decodeArray(content, offset);
+            if (pair == null) {
+                throw new IOException("Failed to decode message at offset " + offset + ".");
+            }
+            consumer.accept(decode(pair.getKey()));
+            offset += pair.getValue();
+        }
+    }
 }
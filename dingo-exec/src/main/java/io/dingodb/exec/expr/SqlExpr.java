@@ -18,16 +18,24 @@ package io.dingodb.exec.expr;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.converter.ExprConverter;
-import io.dingodb.expr.parser.exception.DingoExprCompileException;
-import io.dingodb.expr.parser.exception.DingoExprParseException;
 import io.dingodb.expr.parser.parser.DingoExprCompiler;
 import io.dingodb.expr.runtime.RtExpr;
+import io.dingodb.expr.runtime.compiler.RtExprCompiler;
 import io.dingodb.expr.runtime.exception.FailGetEvaluator;
 import lombok.Getter;
 
+import java.util.concurrent.ExecutionException;
+
 public class SqlExpr {
+    // Compiled expressions shared by tasks, keyed by the expression string and the types of tuples and parameters.
+    private static final Cache<String, RtExpr> COMPILED_CACHE = CacheBuilder.newBuilder()
+        .maximumSize(Long.getLong("dingo.exec.exprCacheSize", 4096L))
+        .build();
+
     @JsonProperty("expr")
     @Getter
     private final String exprString;
@@ -48,16 +56,37 @@ public class SqlExpr {
         this.etx = new SqlExprEvalContext(null);
     }
 
+    /**
+     * Compile the expression to be evaluated on tuples of the specified type. The expression is compiled into bytecode
+     * once and cached, so the same expression in other tasks is not parsed and compiled again.
+     *
+     * @param tupleType the type of tuples
+     * @param parasType the type of sql parameters
+     */
     public void compileIn(DingoType tupleType, DingoType parasType) {
+        String key = exprString + "|" + tupleType + "|" + parasType;
         try {
-            expr = DingoExprCompiler.parse(exprString, true).compileIn(
-                new SqlExprCompileContext(tupleType, parasType)
-            );
-        } catch (DingoExprParseException | DingoExprCompileException e) {
-            throw new IllegalStateException(e);
+            expr = COMPILED_CACHE.get(key, () -> RtExprCompiler.compile(
+                DingoExprCompiler.parse(exprString, true).compileIn(new SqlExprCompileContext(tupleType, parasType))
+            ));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
         }
     }
 
+    /**
+     * Create a copy sharing the compiled expression, but with its own evaluating context, so the copy can be evaluated
+     * in another thread.
+     *
+     * @return the copy
+     */
+    public SqlExpr copy() {
+        SqlExpr copy = new SqlExpr(exprString, type);
+        copy.expr = expr;
+        copy.setParas(etx.getParas());
+        return copy;
+    }
+
     public void setParas(Object[] paras) {
         etx.setParas(paras);
     }
@@ -27,6 +27,7 @@ public class SqlExprEvalContext implements EvalContext {
 
     @Getter
     private final EvalEnv env;
+    @Getter
     @Setter
     private Object[] paras = null;
     @Setter
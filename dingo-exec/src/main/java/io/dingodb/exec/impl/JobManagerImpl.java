@@ -20,9 +20,12 @@ import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.base.Id;
 import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.JobManager;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.operator.RootOperator;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
 public final class JobManagerImpl implements JobManager {
@@ -47,6 +50,14 @@ public final class JobManagerImpl implements JobManager {
 
     @Override
     public Job removeJob(Id jobId) {
-        return jobMap.remove(jobId);
+        Job job = jobMap.remove(jobId);
+        if (job != null) {
+            // Stop the job if the results are not all fetched, or the root task would be blocked forever.
+            job.getTasks().values().stream()
+                .map(Task::getRoot)
+                .filter(Objects::nonNull)
+                .forEach(RootOperator::close);
+        }
+        return job;
     }
 }
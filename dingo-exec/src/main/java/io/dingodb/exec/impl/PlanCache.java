@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.dingodb.common.Location;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Caches of encoded plan fragments of tasks, keyed by the plan hash.
+ *
+ * <p>On executors, the fragments received are kept so that a task of the same plan can be sent with only the hash,
+ * the job id and the parameters. On the sender side, the hashes sent to each location are remembered, which is only a
+ * hint, for the executor may have evicted the fragment, in which case it asks for the full task again.
+ */
+public final class PlanCache {
+    public static final PlanCache INSTANCE = new PlanCache(Long.getLong("dingo.exec.planCacheSize", 1024L));
+
+    private final Cache<String, byte[]> fragments;
+    private final Cache<String, Boolean> sent;
+
+    private PlanCache(long size) {
+        fragments = CacheBuilder.newBuilder()
+            .maximumSize(size)
+            .build();
+        sent = CacheBuilder.newBuilder()
+            .maximumSize(size)
+            .build();
+    }
+
+    private static @NonNull String sentKey(@NonNull Location location, @NonNull String hash) {
+        return location.getUrl() + "|" + hash;
+    }
+
+    public byte @Nullable [] getFragment(@NonNull String hash) {
+        return fragments.getIfPresent(hash);
+    }
+
+    public void putFragment(@NonNull String hash, byte @NonNull [] fragment) {
+        fragments.put(hash, fragment);
+    }
+
+    public boolean isSent(@NonNull Location location, @NonNull String hash) {
+        return sent.getIfPresent(sentKey(location, hash)) != null;
+    }
+
+    public void markSent(@NonNull Location location, @NonNull String hash) {
+        sent.put(sentKey(location, hash), Boolean.TRUE);
+    }
+}
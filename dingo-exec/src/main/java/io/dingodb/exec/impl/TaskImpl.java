@@ -20,10 +20,12 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonView;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.hash.Hashing;
 import io.dingodb.common.Location;
 import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.type.DingoType;
@@ -37,12 +39,17 @@ import io.dingodb.exec.fin.TaskStatus;
 import io.dingodb.exec.operator.AbstractOperator;
 import io.dingodb.exec.operator.RootOperator;
 import io.dingodb.exec.operator.SourceOperator;
+import io.dingodb.expr.json.runtime.Parser;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.nio.charset.StandardCharsets;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -52,10 +59,19 @@ import java.util.Map;
 @JsonPropertyOrder({"jobId", "location", "operators", "runList", "parasType"})
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public final class TaskImpl implements Task {
+    public static final byte MESSAGE_FULL = 0;
+    public static final byte MESSAGE_CACHED = 1;
+    public static final byte REPLY_DONE = 0;
+    public static final byte REPLY_PLAN_MISSED = 1;
+
+    // Binary encoding for tasks sent to executors.
+    private static final Parser PLAN_PARSER = Parser.SMILE;
+
     @JsonProperty("id")
     @Getter
     private final Id id;
     @JsonProperty("jobId")
+    @JsonView(Full.class)
     @Getter
     private final Id jobId;
     @JsonProperty("location")
@@ -78,6 +94,10 @@ public final class TaskImpl implements Task {
     @Getter
     private TaskStatus taskInitStatus;
 
+    // The encoded plan fragment, i.e., the task without the job id and the parameters, and its hash.
+    private byte[] fragment = null;
+    private String planHash = null;
+
     public TaskImpl(Id id, Id jobId, Location location, @Nullable DingoType parasType) {
         this.id = id;
         this.jobId = jobId;
@@ -87,6 +107,15 @@ public final class TaskImpl implements Task {
         this.runList = new LinkedList<>();
     }
 
+    private TaskImpl(@NonNull TaskImpl plan, Id jobId) {
+        this.id = plan.id;
+        this.jobId = jobId;
+        this.location = plan.location;
+        this.parasType = plan.parasType;
+        this.operators = plan.operators;
+        this.runList = plan.runList;
+    }
+
     @JsonCreator
     public static @NonNull TaskImpl fromJson(
         @JsonProperty("id") Id id,
@@ -108,6 +137,45 @@ public final class TaskImpl implements Task {
         return JobImpl.PARSER.parse(str, TaskImpl.class);
     }
 
+    /**
+     * Decode a task message created by {@link #serialize(boolean)}. The plan fragment in a full message is put into
+     * {@link PlanCache}, and that of a cached message is got from it.
+     *
+     * @param content the message content
+     * @return the task, or {@code null} if the message has no plan fragment and it is not in the cache
+     * @throws IOException if failed to decode
+     */
+    public static @Nullable TaskImpl deserialize(byte @NonNull [] content) throws IOException {
+        DataInputStream is = new DataInputStream(new ByteArrayInputStream(content));
+        byte type = is.readByte();
+        String planHash = is.readUTF();
+        Id jobId = new Id(is.readUTF());
+        byte[] parasBytes = null;
+        int parasLength = is.readInt();
+        if (parasLength >= 0) {
+            parasBytes = new byte[parasLength];
+            is.readFully(parasBytes);
+        }
+        byte[] fragment;
+        if (type == MESSAGE_FULL) {
+            fragment = new byte[is.available()];
+            is.readFully(fragment);
+            PlanCache.INSTANCE.putFragment(planHash, fragment);
+        } else {
+            fragment = PlanCache.INSTANCE.getFragment(planHash);
+            if (fragment == null) {
+                return null;
+            }
+        }
+        TaskImpl task = new TaskImpl(PLAN_PARSER.parse(fragment, TaskImpl.class), jobId);
+        if (parasBytes != null) {
+            assert task.parasType != null;
+            JsonNode paras = PLAN_PARSER.parse(parasBytes, JsonNode.class);
+            task.paras = (Object[]) task.parasType.convertFrom(paras, JsonConverter.INSTANCE);
+        }
+        return task;
+    }
+
     @Override
     public RootOperator getRoot() {
         return operators.values().stream()
@@ -124,12 +192,14 @@ public final class TaskImpl implements Task {
         if (operator instanceof SourceOperator) {
             runList.add(operator.getId());
         }
+        clearFragment();
     }
 
     @Override
     public void deleteOperator(@NonNull Operator operator) {
         operators.remove(operator.getId());
         runList.remove(operator.getId());
+        clearFragment();
     }
 
     @Override
@@ -179,7 +249,7 @@ public final class TaskImpl implements Task {
                 boolean isStatusOK = true;
                 String statusErrMsg = "OK";
                 try {
-                    while (operator.push(0, null)) {
+                    while (operator.push(0, (Object[]) null)) {
                         log.info("Operator {} need another pushing.", operator.getId());
                     }
                     operator.fin(0, null);
@@ -210,9 +280,53 @@ public final class TaskImpl implements Task {
         setParas(paras);
     }
 
+    private synchronized void clearFragment() {
+        fragment = null;
+        planHash = null;
+    }
+
+    private synchronized void encodeFragment() {
+        if (fragment == null) {
+            try {
+                fragment = PLAN_PARSER.serialize(this, Fragment.class);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException(e);
+            }
+            planHash = Hashing.murmur3_128().hashBytes(fragment).toString();
+        }
+    }
+
     @Override
-    public byte @NonNull [] serialize() {
-        return toString().getBytes(StandardCharsets.UTF_8);
+    public @NonNull String getPlanHash() {
+        encodeFragment();
+        return planHash;
+    }
+
+    @Override
+    public byte @NonNull [] serialize(boolean withPlan) {
+        encodeFragment();
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            DataOutputStream os = new DataOutputStream(bos);
+            os.writeByte(withPlan ? MESSAGE_FULL : MESSAGE_CACHED);
+            os.writeUTF(planHash);
+            os.writeUTF(jobId.toString());
+            Object[] parasJson = getParasJson();
+            if (parasJson != null) {
+                byte[] parasBytes = PLAN_PARSER.serialize(parasJson);
+                os.writeInt(parasBytes.length);
+                os.write(parasBytes);
+            } else {
+                os.writeInt(-1);
+            }
+            if (withPlan) {
+                os.write(fragment);
+            }
+            os.flush();
+            return bos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
@@ -222,6 +336,7 @@ public final class TaskImpl implements Task {
     }
 
     @JsonProperty("paras")
+    @JsonView(Full.class)
     Object @Nullable [] getParasJson() {
         if (parasType != null) {
             return (Object[]) parasType.convertTo(paras, JsonConverter.INSTANCE);
@@ -237,4 +352,16 @@ public final class TaskImpl implements Task {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * JSON view of the plan fragment of a task.
+     */
+    public interface Fragment {
+    }
+
+    /**
+     * JSON view of the whole task.
+     */
+    public interface Full extends Fragment {
+    }
 }
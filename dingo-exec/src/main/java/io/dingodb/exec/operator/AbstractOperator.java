@@ -38,6 +38,7 @@ import lombok.Setter;
     @JsonSubTypes.Type(HashOperator.class),
     @JsonSubTypes.Type(PartCountOperator.class),
     @JsonSubTypes.Type(PartDeleteOperator.class),
+    @JsonSubTypes.Type(PartIndexScanOperator.class),
     @JsonSubTypes.Type(PartInsertOperator.class),
     @JsonSubTypes.Type(PartitionOperator.class),
     @JsonSubTypes.Type(PartScanOperator.class),
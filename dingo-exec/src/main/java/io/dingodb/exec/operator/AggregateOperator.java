@@ -17,23 +17,33 @@
 package io.dingodb.exec.operator;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.aggregate.AbstractAgg;
 import io.dingodb.exec.aggregate.Agg;
-import io.dingodb.exec.aggregate.AggCache;
+import io.dingodb.exec.aggregate.SpillableAggCache;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.IOException;
 import java.util.List;
 
+/**
+ * Aggregate the input tuples by groups. It is not synchronized, each pushing thread aggregates into its own partial
+ * cache, which are merged when finishing.
+ */
 @Slf4j
 @JsonTypeName("aggregate")
-@JsonPropertyOrder({"keys", "aggregates", "output"})
+@JsonPropertyOrder({"keys", "aggregates", "schema", "memoryBudget", "output"})
 public final class AggregateOperator extends SoleOutOperator {
     @JsonProperty("keys")
     private final TupleMapping keyMapping;
@@ -41,37 +51,71 @@ public final class AggregateOperator extends SoleOutOperator {
     @JsonSerialize(contentAs = AbstractAgg.class)
     @JsonDeserialize(contentAs = AbstractAgg.class)
     private final List<Agg> aggList;
-    private AggCache cache;
+    @JsonProperty("schema")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final DingoType schema;
+    // Not positive means the default budget.
+    @JsonProperty("memoryBudget")
+    private final long memoryBudget;
+    private SpillableAggCache cache;
 
     @JsonCreator
     public AggregateOperator(
         @JsonProperty("keys") TupleMapping keyMapping,
-        @JsonProperty("aggregates") List<Agg> aggList
+        @JsonProperty("aggregates") List<Agg> aggList,
+        @JsonProperty("schema") DingoType schema,
+        @JsonProperty("memoryBudget") long memoryBudget
     ) {
         super();
         this.keyMapping = keyMapping;
         this.aggList = aggList;
+        this.schema = schema;
+        this.memoryBudget = memoryBudget;
+    }
+
+    public AggregateOperator(TupleMapping keyMapping, List<Agg> aggList) {
+        this(keyMapping, aggList, null, 0);
     }
 
     @Override
     public void init() {
         super.init();
-        cache = new AggCache(keyMapping, aggList);
+        cache = new SpillableAggCache(keyMapping, aggList, false, schema, memoryBudget, "aggregate-" + id);
+    }
+
+    @Override
+    public boolean push(int pin, Object[] tuple) {
+        try {
+            cache.add(tuple);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return true;
     }
 
     @Override
-    public synchronized boolean push(int pin, Object[] tuple) {
-        cache.addTuple(tuple);
+    public boolean push(int pin, @NonNull TupleBatch batch) {
+        int size = batch.size();
+        try {
+            for (int i = 0; i < size; ++i) {
+                cache.add(batch.get(i));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
         return true;
     }
 
     @Override
     public synchronized void fin(int pin, Fin fin) {
-        for (Object[] t : cache) {
-            if (!output.push(t)) {
-                break;
+        if (!(fin instanceof FinWithException)) {
+            try {
+                cache.forEach(output::push);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
             }
         }
+        cache.close();
         output.fin(fin);
     }
 }
@@ -23,6 +23,8 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.expr.SqlExpr;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 @JsonTypeName("filter")
 @JsonPropertyOrder({"filter", "schema", "output"})
@@ -58,6 +60,24 @@ public final class FilterOperator extends SoleOutOperator {
         return true;
     }
 
+    @Override
+    public synchronized boolean push(int pin, @NonNull TupleBatch batch) {
+        int size = batch.size();
+        int[] positions = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; ++i) {
+            // The eval result may be `null`
+            Boolean v = (Boolean) filter.eval(batch.get(i));
+            if (v != null && v) {
+                positions[count++] = batch.position(i);
+            }
+        }
+        if (count == 0) {
+            return true;
+        }
+        return output.push(count == size ? batch : batch.select(positions, count));
+    }
+
     @Override
     public synchronized void fin(int pin, Fin fin) {
         output.fin(fin);
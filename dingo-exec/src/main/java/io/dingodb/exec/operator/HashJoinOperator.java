@@ -17,23 +17,42 @@
 package io.dingodb.exec.operator;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.codec.TupleCodec;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
-import io.dingodb.exec.operator.data.TupleWithJoinFlag;
-import io.dingodb.exec.tuple.TupleKey;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.fin.OperatorProfile;
+import io.dingodb.exec.operator.data.JoinHashTable;
+import io.dingodb.exec.spill.SpillFile;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Hash join with the right side as the build side.
+ *
+ * <p>The right tuples are kept in memory until their estimated size exceeds the memory budget, then both sides are
+ * partitioned by the hash of join keys into local spill files (grace hash join), and joined partition by partition.
+ * Spilling is disabled if the schemas of inputs are not given.
+ */
+@Slf4j
 @JsonTypeName("hashJoin")
-@JsonPropertyOrder({"joinType", "leftMapping", "rightMapping"})
+@JsonPropertyOrder({"joinType", "leftMapping", "rightMapping", "leftSchema", "rightSchema", "memoryBudget"})
 public class HashJoinOperator extends SoleOutOperator {
+    private static final int PARTITION_BITS = 4;
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+
     @JsonProperty("leftMapping")
     private final TupleMapping leftMapping;
     @JsonProperty("rightMapping")
@@ -47,9 +66,25 @@ public class HashJoinOperator extends SoleOutOperator {
     private final boolean leftRequired;
     @JsonProperty("rightRequired")
     private final boolean rightRequired;
+    @JsonProperty("leftSchema")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final DingoType leftSchema;
+    @JsonProperty("rightSchema")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final DingoType rightSchema;
+    // Not positive means the default budget.
+    @JsonProperty("memoryBudget")
+    private final long memoryBudget;
 
     boolean rightFinFlag;
-    private ConcurrentHashMap<TupleKey, List<TupleWithJoinFlag>> hashMap;
+    private boolean finished;
+    private JoinHashTable hashTable;
+    private List<OperatorProfile> rightProfiles;
+    private OperatorProfile profile;
+    private TupleCodec leftCodec;
+    private TupleCodec rightCodec;
+    private SpillFile[] leftPartitions;
+    private SpillFile[] rightPartitions;
 
     @JsonCreator
     public HashJoinOperator(
@@ -58,7 +93,10 @@ public class HashJoinOperator extends SoleOutOperator {
         @JsonProperty("leftLength") int leftLength,
         @JsonProperty("rightLength") int rightLength,
         @JsonProperty("leftRequired") boolean leftRequired,
-        @JsonProperty("rightRequired") boolean rightRequired
+        @JsonProperty("rightRequired") boolean rightRequired,
+        @JsonProperty("leftSchema") DingoType leftSchema,
+        @JsonProperty("rightSchema") DingoType rightSchema,
+        @JsonProperty("memoryBudget") long memoryBudget
     ) {
         this.leftMapping = leftMapping;
         this.rightMapping = rightMapping;
@@ -66,39 +104,64 @@ public class HashJoinOperator extends SoleOutOperator {
         this.rightLength = rightLength;
         this.leftRequired = leftRequired;
         this.rightRequired = rightRequired;
+        this.leftSchema = leftSchema;
+        this.rightSchema = rightSchema;
+        this.memoryBudget = memoryBudget;
         rightFinFlag = false;
     }
 
+    public HashJoinOperator(
+        TupleMapping leftMapping,
+        TupleMapping rightMapping,
+        int leftLength,
+        int rightLength,
+        boolean leftRequired,
+        boolean rightRequired
+    ) {
+        this(leftMapping, rightMapping, leftLength, rightLength, leftRequired, rightRequired, null, null, 0);
+    }
+
     @Override
     public void init() {
         super.init();
-        hashMap = new ConcurrentHashMap<>();
+        hashTable = new JoinHashTable(rightMapping.getMappings());
+        rightProfiles = new LinkedList<>();
+        profile = new OperatorProfile();
+        profile.setOperatorId(id);
+        if (leftSchema != null && rightSchema != null) {
+            leftCodec = new TupleCodec(leftSchema);
+            rightCodec = new TupleCodec(rightSchema);
+        }
     }
 
     @Override
     public synchronized boolean push(int pin, Object[] tuple) {
-        if (pin == 0) { // left
-            waitRightFinFlag();
-            TupleKey leftKey = new TupleKey(leftMapping.revMap(tuple));
-            List<TupleWithJoinFlag> rightList = hashMap.get(leftKey);
-            if (rightList != null) {
-                for (TupleWithJoinFlag t : rightList) {
-                    Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
-                    System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
-                    t.setJoined(true);
-                    if (!output.push(newTuple)) {
-                        return false;
-                    }
+        if (profile.getStartTimeStamp() == 0) {
+            profile.setStartTimeStamp(System.currentTimeMillis());
+        }
+        try {
+            if (pin == 0) { // left
+                waitRightFinFlag();
+                if (finished) {
+                    return false;
+                }
+                if (leftPartitions != null) {
+                    leftPartitions[partition(tuple, leftMapping.getMappings())].write(leftCodec.encode(tuple));
+                    return true;
+                }
+                return probe(tuple);
+            } else if (pin == 1) { //right
+                if (rightPartitions != null) {
+                    rightPartitions[partition(tuple, rightMapping.getMappings())].write(rightCodec.encode(tuple));
+                    return true;
+                }
+                hashTable.put(tuple);
+                if (rightCodec != null && hashTable.getEstimatedBytes() > SpillFile.memoryBudget(memoryBudget)) {
+                    spill();
                 }
-            } else if (leftRequired) {
-                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
-                Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
-                return output.push(newTuple);
             }
-        } else if (pin == 1) { //right
-            TupleKey rightKey = new TupleKey(rightMapping.revMap(tuple));
-            List<TupleWithJoinFlag> list = hashMap.computeIfAbsent(rightKey, k -> new LinkedList<>());
-            list.add(new TupleWithJoinFlag(tuple));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
         return true;
     }
@@ -106,32 +169,161 @@ public class HashJoinOperator extends SoleOutOperator {
     @Override
     public synchronized void fin(int pin, Fin fin) {
         if (fin instanceof FinWithException) {
-            output.fin(fin);
+            if (!finished) {
+                finished = true;
+                closePartitions();
+                output.fin(fin);
+            }
+            if (pin == 1) {
+                rightFinFlag = true;
+                notifyAll();
+            }
             return;
         }
 
         if (pin == 0) { // left
-            if (rightRequired) {
-                // should wait in case of no data push to left.
-                waitRightFinFlag();
-                outer:
-                for (List<TupleWithJoinFlag> tList : hashMap.values()) {
-                    for (TupleWithJoinFlag t : tList) {
-                        if (!t.isJoined()) {
-                            Object[] newTuple = new Object[leftLength + rightLength];
-                            Arrays.fill(newTuple, 0, leftLength, null);
-                            System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
-                            if (!output.push(newTuple)) {
-                                break outer;
-                            }
-                        }
-                    }
+            // should wait in case of no data push to left.
+            waitRightFinFlag();
+            if (finished) {
+                return;
+            }
+            try {
+                if (leftPartitions != null) {
+                    joinPartitions();
+                } else if (rightRequired) {
+                    outputUnjoined();
                 }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                closePartitions();
+            }
+            finished = true;
+            profile.setEndTimeStamp(System.currentTimeMillis());
+            if (fin instanceof FinWithProfiles) {
+                List<OperatorProfile> profiles = new LinkedList<>(((FinWithProfiles) fin).getProfiles());
+                profiles.addAll(rightProfiles);
+                profiles.add(profile);
+                output.fin(new FinWithProfiles(profiles));
+            } else {
+                output.fin(fin);
             }
-            output.fin(fin);
         } else if (pin == 1) { //right
+            if (fin instanceof FinWithProfiles) {
+                rightProfiles.addAll(((FinWithProfiles) fin).getProfiles());
+            }
             rightFinFlag = true;
-            notify();
+            notifyAll();
+        }
+    }
+
+    private static int partition(Object @NonNull [] tuple, int @NonNull [] keyIndices) {
+        return JoinHashTable.hash(tuple, keyIndices) >>> (Integer.SIZE - PARTITION_BITS);
+    }
+
+    private boolean probe(Object @NonNull [] tuple) {
+        int index = hashTable.find(tuple, leftMapping.getMappings());
+        if (index >= 0) {
+            do {
+                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+                System.arraycopy(hashTable.get(index), 0, newTuple, leftLength, rightLength);
+                hashTable.setJoined(index);
+                profile.setProcessedTupleCount(profile.getProcessedTupleCount() + 1);
+                if (!output.push(newTuple)) {
+                    return false;
+                }
+                index = hashTable.next(index);
+            } while (index >= 0);
+        } else if (leftRequired) {
+            Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+            Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
+            profile.setProcessedTupleCount(profile.getProcessedTupleCount() + 1);
+            return output.push(newTuple);
+        }
+        return true;
+    }
+
+    private boolean outputUnjoined() {
+        for (int i = 0; i < hashTable.size(); ++i) {
+            if (!hashTable.isJoined(i)) {
+                Object[] newTuple = new Object[leftLength + rightLength];
+                Arrays.fill(newTuple, 0, leftLength, null);
+                System.arraycopy(hashTable.get(i), 0, newTuple, leftLength, rightLength);
+                profile.setProcessedTupleCount(profile.getProcessedTupleCount() + 1);
+                if (!output.push(newTuple)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void spill() throws IOException {
+        leftPartitions = new SpillFile[PARTITIONS];
+        rightPartitions = new SpillFile[PARTITIONS];
+        for (int i = 0; i < PARTITIONS; ++i) {
+            leftPartitions[i] = SpillFile.create("join-" + id + "-left-");
+            rightPartitions[i] = SpillFile.create("join-" + id + "-right-");
+        }
+        int[] keyIndices = rightMapping.getMappings();
+        for (int i = 0; i < hashTable.size(); ++i) {
+            Object[] tuple = hashTable.get(i);
+            rightPartitions[partition(tuple, keyIndices)].write(rightCodec.encode(tuple));
+        }
+        if (log.isInfoEnabled()) {
+            log.info(
+                "Hash join {} exceeded memory budget with {} tuples, spilled into {} partitions.",
+                id,
+                hashTable.size(),
+                PARTITIONS
+            );
+        }
+        hashTable.clear();
+    }
+
+    private void joinPartitions() throws IOException {
+        long budget = SpillFile.memoryBudget(memoryBudget);
+        long spillBytes = 0;
+        for (int i = 0; i < PARTITIONS; ++i) {
+            spillBytes += leftPartitions[i].getBytes() + rightPartitions[i].getBytes();
+        }
+        profile.setSpillBytes(spillBytes);
+        for (int i = 0; i < PARTITIONS; ++i) {
+            hashTable.clear();
+            Iterator<byte[]> rightIt = rightPartitions[i].read();
+            while (rightIt.hasNext()) {
+                hashTable.put(rightCodec.decode(rightIt.next()));
+            }
+            if (hashTable.getEstimatedBytes() > budget) {
+                log.warn(
+                    "Partition {} of hash join {} is still larger than the memory budget ({} > {}).",
+                    i,
+                    id,
+                    hashTable.getEstimatedBytes(),
+                    budget
+                );
+            }
+            Iterator<byte[]> leftIt = leftPartitions[i].read();
+            while (leftIt.hasNext()) {
+                if (!probe(leftCodec.decode(leftIt.next()))) {
+                    return;
+                }
+            }
+            if (rightRequired && !outputUnjoined()) {
+                return;
+            }
+            leftPartitions[i].close();
+            rightPartitions[i].close();
+        }
+        hashTable.clear();
+    }
+
+    private void closePartitions() {
+        if (leftPartitions != null) {
+            for (int i = 0; i < PARTITIONS; ++i) {
+                leftPartitions[i].close();
+                rightPartitions[i].close();
+            }
         }
     }
 
@@ -17,6 +17,7 @@
 package io.dingodb.exec.operator;
 
 import io.dingodb.exec.fin.OperatorProfile;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -32,13 +33,22 @@ public abstract class IteratorSourceOperator extends SourceOperator {
         OperatorProfile profile = getProfile();
         profile.setStartTimeStamp(System.currentTimeMillis());
         final long startTime = System.currentTimeMillis();
+        // Tuples are pushed in batches to save the per-tuple dispatching cost of downstream operators.
+        TupleBatch batch = new TupleBatch();
         while (iterator.hasNext()) {
-            Object[] tuple = iterator.next();
+            batch.add(iterator.next());
             ++count;
-            if (!output.push(tuple)) {
-                break;
+            if (batch.isFull()) {
+                if (!output.push(batch)) {
+                    batch = null;
+                    break;
+                }
+                batch = new TupleBatch();
             }
         }
+        if (batch != null && !batch.isEmpty()) {
+            output.push(batch);
+        }
         if (log.isDebugEnabled()) {
             log.debug("IteratorSourceOperator push,  count: {}, cost: {}ms.", count,
                 System.currentTimeMillis() - startTime);
@@ -23,18 +23,24 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.table.PartIndex;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @JsonTypeName("delete")
-@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "output"})
+@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "indexes", "output"})
 public final class PartDeleteOperator extends PartModifyOperator {
     @JsonCreator
     public PartDeleteOperator(
         @JsonProperty("table") CommonId tableId,
         @JsonProperty("part") Object partId,
         @JsonProperty("schema") DingoType schema,
-        @JsonProperty("keyMapping") TupleMapping keyMapping
+        @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("indexes") List<PartIndex> indexes
     ) {
-        super(tableId, partId, schema, keyMapping);
+        super(tableId, partId, schema, keyMapping, indexes);
     }
 
     @Override
@@ -44,9 +50,12 @@ public final class PartDeleteOperator extends PartModifyOperator {
 
     @Override
     public synchronized boolean push(int pin, Object[] tuple) {
-        if (part.remove(tuple)) {
-            count++;
-        }
+        addToBatch(tuple);
         return true;
     }
+
+    @Override
+    protected @NonNull CompletableFuture<Long> write(@NonNull List<Object[]> tuples) {
+        return part.removeAsync(tuples);
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.google.common.collect.Iterators;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.table.PartInKvStore;
+import io.dingodb.exec.table.PartIndex;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Scan the ranges of a secondary index in a part of a table, and get the rows by the primary keys in the index entries.
+ */
+@JsonTypeName("indexScan")
+@JsonPropertyOrder({
+    "table", "part", "schema", "keyMapping", "filter", "selection", "output", "partKey", "index", "startKeys",
+    "endKeys"
+})
+public final class PartIndexScanOperator extends PartIteratorSourceOperator {
+    @JsonProperty("partKey")
+    private final byte[] partKey;
+    @JsonProperty("index")
+    private final PartIndex index;
+    @JsonProperty("startKeys")
+    private final List<byte[]> startKeys;
+    @JsonProperty("endKeys")
+    private final List<byte[]> endKeys;
+
+    @JsonCreator
+    public PartIndexScanOperator(
+        @JsonProperty("table") CommonId tableId,
+        @JsonProperty("part") Object partId,
+        @JsonProperty("schema") DingoType schema,
+        @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("filter") SqlExpr filter,
+        @JsonProperty("selection") TupleMapping selection,
+        @JsonProperty("partKey") byte[] partKey,
+        @JsonProperty("index") PartIndex index,
+        @JsonProperty("startKeys") List<byte[]> startKeys,
+        @JsonProperty("endKeys") List<byte[]> endKeys
+    ) {
+        super(tableId, partId, schema, keyMapping, filter, selection);
+        this.partKey = partKey;
+        this.index = index;
+        this.startKeys = startKeys;
+        this.endKeys = endKeys;
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        index.init(schema);
+    }
+
+    @Override
+    protected @NonNull Iterator<Object[]> createSourceIterator() {
+        PartInKvStore partInKvStore = (PartInKvStore) part;
+        // The ranges are scanned one by one, for the index entries of different ranges are disjoint.
+        return Iterators.concat(
+            IntStream.range(0, startKeys.size())
+                .mapToObj(i -> partInKvStore.getIteratorByIndex(partKey, index, startKeys.get(i), endKeys.get(i)))
+                .iterator()
+        );
+    }
+}
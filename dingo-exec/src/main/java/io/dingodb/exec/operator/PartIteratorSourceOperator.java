@@ -95,7 +95,17 @@ public abstract class PartIteratorSourceOperator extends IteratorSourceOperator
 
     @Override
     protected @NonNull Iterator<Object[]> createIterator() {
-        Iterator<Object[]> iterator = createSourceIterator();
+        return decorate(createSourceIterator(), filter);
+    }
+
+    /**
+     * Apply the filter and selection to a source iterator.
+     *
+     * @param iterator the source iterator
+     * @param filter   the filter, which must not be shared by iterators consumed in different threads
+     * @return the decorated iterator
+     */
+    protected @NonNull Iterator<Object[]> decorate(@NonNull Iterator<Object[]> iterator, SqlExpr filter) {
         if (filter != null) {
             iterator = Iterators.filter(
                 iterator,
@@ -16,10 +16,12 @@
 
 package io.dingodb.exec.operator;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.table.Part;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
@@ -27,9 +29,33 @@ import io.dingodb.exec.Services;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.table.PartInKvStore;
+import io.dingodb.exec.table.PartIndex;
 import io.dingodb.store.api.StoreInstance;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base of the operators modifying a part. The rows pushed in are buffered and written in batches, so each batch costs
+ * one multi-get and one replicated write instead of a few round trips per row. A batch is written when it is full, when
+ * the first buffered row has waited for the max delay (by a scheduled flush, even if no more rows come) or at
+ * {@code fin}. Writing a batch does not wait for the former ones, until too many batches are in flight.
+ */
 public abstract class PartModifyOperator extends SoleOutOperator {
+    public static final String BATCH_SIZE_PROPERTY = "dingo.exec.modifyBatchSize";
+    public static final String BATCH_DELAY_PROPERTY = "dingo.exec.modifyBatchDelayMs";
+    public static final int BATCH_SIZE = Integer.getInteger(BATCH_SIZE_PROPERTY, 1024);
+    public static final long BATCH_DELAY_MS = Long.getLong(BATCH_DELAY_PROPERTY, 200);
+    public static final String MAX_IN_FLIGHT_PROPERTY = "dingo.exec.modifyMaxInFlight";
+    public static final int MAX_IN_FLIGHT = Integer.getInteger(MAX_IN_FLIGHT_PROPERTY, 16);
+
     @JsonProperty("table")
     @JsonSerialize(using = CommonId.JacksonSerializer.class)
     @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
@@ -40,21 +66,30 @@ public abstract class PartModifyOperator extends SoleOutOperator {
     protected final DingoType schema;
     @JsonProperty("keyMapping")
     protected final TupleMapping keyMapping;
+    @JsonProperty("indexes")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    protected final List<PartIndex> indexes;
 
     protected Part part;
     protected long count;
 
+    private List<Object[]> batch;
+    private ScheduledFuture<?> delayedFlush;
+    private Queue<CompletableFuture<Long>> inFlight;
+
     protected PartModifyOperator(
         CommonId tableId,
         Object partId,
         DingoType schema,
-        TupleMapping keyMapping
+        TupleMapping keyMapping,
+        List<PartIndex> indexes
     ) {
         super();
         this.tableId = tableId;
         this.partId = partId;
         this.schema = schema;
         this.keyMapping = keyMapping;
+        this.indexes = indexes != null ? indexes : Collections.emptyList();
     }
 
     @Override
@@ -64,15 +99,83 @@ public abstract class PartModifyOperator extends SoleOutOperator {
         part = new PartInKvStore(
             store,
             schema,
-            keyMapping
+            keyMapping,
+            indexes
         );
         count = 0;
+        batch = new ArrayList<>(BATCH_SIZE);
+        inFlight = new ArrayDeque<>();
+    }
+
+    /**
+     * Add a row to the current batch, and write the batch if it is full or has waited too long.
+     *
+     * @param tuple the row
+     */
+    protected void addToBatch(Object @NonNull [] tuple) {
+        if (batch.isEmpty()) {
+            List<Object[]> delayed = batch;
+            delayedFlush = Executors.scheduleAsync(
+                "modify-batch-flush",
+                () -> flushDelayed(delayed),
+                BATCH_DELAY_MS,
+                TimeUnit.MILLISECONDS
+            );
+        }
+        batch.add(tuple);
+        if (batch.size() >= BATCH_SIZE) {
+            flush();
+        }
     }
 
+    private synchronized void flushDelayed(List<Object[]> delayed) {
+        // The batch may be written already and replaced by a new one.
+        if (batch == delayed) {
+            flush();
+        }
+    }
+
+    private void cancelDelayedFlush() {
+        if (delayedFlush != null) {
+            delayedFlush.cancel(false);
+            delayedFlush = null;
+        }
+    }
+
+    protected void flush() {
+        cancelDelayedFlush();
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Object[]> tuples = batch;
+        batch = new ArrayList<>(BATCH_SIZE);
+        inFlight.add(write(tuples));
+        while (!inFlight.isEmpty() && (inFlight.size() > MAX_IN_FLIGHT || inFlight.peek().isDone())) {
+            count += inFlight.poll().join();
+        }
+    }
+
+    /**
+     * Write a batch of rows to the part.
+     *
+     * @param tuples the rows, in the order of pushing
+     * @return the future of the number of rows affected
+     */
+    protected abstract @NonNull CompletableFuture<Long> write(@NonNull List<Object[]> tuples);
+
     @Override
     public synchronized void fin(int pin, Fin fin) {
         if (!(fin instanceof FinWithException)) {
+            flush();
+            // Failure of any write is thrown here to fail the task.
+            while (!inFlight.isEmpty()) {
+                count += inFlight.poll().join();
+            }
             output.push(new Object[]{count});
+        } else {
+            cancelDelayedFlush();
+            batch.clear();
+            inFlight.clear();
         }
         output.fin(fin);
     }
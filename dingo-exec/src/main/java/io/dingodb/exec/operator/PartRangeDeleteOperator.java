@@ -17,6 +17,7 @@
 package io.dingodb.exec.operator;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
@@ -29,12 +30,18 @@ import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.fin.OperatorProfile;
 import io.dingodb.exec.table.PartInKvStore;
+import io.dingodb.exec.table.PartIndex;
 import io.dingodb.store.api.StoreInstance;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collections;
+import java.util.List;
+
 @Slf4j
 @JsonTypeName("rangeDelete")
-@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "filter", "selection", "output", "startKey", "endKey"})
+@JsonPropertyOrder({
+    "table", "part", "schema", "keyMapping", "filter", "selection", "output", "startKey", "endKey", "indexes"
+})
 public final class PartRangeDeleteOperator extends SourceOperator {
     @JsonProperty("table")
     @JsonSerialize(using = CommonId.JacksonSerializer.class)
@@ -50,6 +57,9 @@ public final class PartRangeDeleteOperator extends SourceOperator {
     private final byte[] startKey;
     @JsonProperty("endKey")
     private final byte[] endKey;
+    @JsonProperty("indexes")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final List<PartIndex> indexes;
 
     private Part part;
 
@@ -59,13 +69,15 @@ public final class PartRangeDeleteOperator extends SourceOperator {
         @JsonProperty("schema") DingoType schema,
         @JsonProperty("keyMapping") TupleMapping keyMapping,
         @JsonProperty("startKey") byte[] startKey,
-        @JsonProperty("endKey") byte[] endKey
+        @JsonProperty("endKey") byte[] endKey,
+        @JsonProperty("indexes") List<PartIndex> indexes
     ) {
         this.tableId = tableId;
         this.schema = schema;
         this.keyMapping = keyMapping;
         this.startKey = startKey;
         this.endKey = endKey;
+        this.indexes = indexes != null ? indexes : Collections.emptyList();
     }
 
     @Override
@@ -75,7 +87,8 @@ public final class PartRangeDeleteOperator extends SourceOperator {
         part = new PartInKvStore(
             store,
             schema,
-            keyMapping
+            keyMapping,
+            indexes
         );
     }
 
@@ -21,19 +21,29 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.codec.Codec;
+import io.dingodb.common.codec.DingoCodec;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.type.converter.DingoConverter;
+import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.exec.expr.SqlExpr;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 
 @Slf4j
 @JsonTypeName("rangeScan")
 @JsonPropertyOrder({
     "table", "part", "schema", "keyMapping", "filter", "selection", "output",
-    "startKey", "endKey", "includeStart", "includeEnd", "prefixScan"
+    "startKey", "endKey", "includeStart", "includeEnd", "prefixScan",
+    "startValues", "includeStartValues", "endValues", "includeEndValues"
 })
 public final class PartRangeScanOperator extends PartIteratorSourceOperator {
     @JsonProperty("startKey")
@@ -46,6 +56,16 @@ public final class PartRangeScanOperator extends PartIteratorSourceOperator {
     private final boolean includeEnd;
     @JsonProperty("prefixScan")
     private final boolean prefixScan;
+    // If set, the range is bounded by the values of the leading primary columns, which are evaluated with the sql
+    // parameters, and `startKey` and `endKey` are the boundaries of the part. An empty list means unbounded.
+    @JsonProperty("startValues")
+    private final List<SqlExpr> startValues;
+    @JsonProperty("includeStartValues")
+    private final boolean includeStartValues;
+    @JsonProperty("endValues")
+    private final List<SqlExpr> endValues;
+    @JsonProperty("includeEndValues")
+    private final boolean includeEndValues;
 
     @JsonCreator
     public PartRangeScanOperator(
@@ -59,7 +79,11 @@ public final class PartRangeScanOperator extends PartIteratorSourceOperator {
         @JsonProperty("endKey") byte[] endKey,
         @JsonProperty("includeStart") boolean includeStart,
         @JsonProperty("includeEnd") boolean includeEnd,
-        @JsonProperty("prefixScan") boolean prefixScan
+        @JsonProperty("prefixScan") boolean prefixScan,
+        @JsonProperty("startValues") List<SqlExpr> startValues,
+        @JsonProperty("includeStartValues") boolean includeStartValues,
+        @JsonProperty("endValues") List<SqlExpr> endValues,
+        @JsonProperty("includeEndValues") boolean includeEndValues
     ) {
         super(tableId, partId, schema, keyMapping, filter, selection);
         this.startKey = startKey;
@@ -67,10 +91,106 @@ public final class PartRangeScanOperator extends PartIteratorSourceOperator {
         this.includeStart = includeStart;
         this.includeEnd = includeEnd;
         this.prefixScan = prefixScan;
+        this.startValues = startValues;
+        this.includeStartValues = includeStartValues;
+        this.endValues = endValues;
+        this.includeEndValues = includeEndValues;
+    }
+
+    public PartRangeScanOperator(
+        CommonId tableId,
+        Object partId,
+        DingoType schema,
+        TupleMapping keyMapping,
+        SqlExpr filter,
+        TupleMapping selection,
+        byte[] startKey,
+        byte[] endKey,
+        boolean includeStart,
+        boolean includeEnd,
+        boolean prefixScan
+    ) {
+        this(
+            tableId, partId, schema, keyMapping, filter, selection,
+            startKey, endKey, includeStart, includeEnd, prefixScan,
+            null, false, null, false
+        );
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        if (startValues != null) {
+            startValues.forEach(expr -> expr.compileIn(schema, getParasType()));
+            endValues.forEach(expr -> expr.compileIn(schema, getParasType()));
+        }
+    }
+
+    @Override
+    public void setParas(Object[] paras) {
+        super.setParas(paras);
+        if (startValues != null) {
+            startValues.forEach(expr -> expr.setParas(paras));
+            endValues.forEach(expr -> expr.setParas(paras));
+        }
     }
 
     @Override
     protected @NonNull Iterator<Object[]> createSourceIterator() {
-        return part.getIteratorByRange(startKey, endKey, includeStart, includeEnd, prefixScan);
+        if (startValues == null) {
+            return part.getIteratorByRange(startKey, endKey, includeStart, includeEnd, prefixScan);
+        }
+        byte[] start = startKey;
+        byte[] end = endKey;
+        if (!startValues.isEmpty()) {
+            byte[] bound = encodeValues(startValues);
+            if (bound != null && !includeStartValues) {
+                bound = ByteArrayUtils.successor(bound);
+            }
+            if (bound == null) {
+                return Collections.emptyIterator();
+            }
+            if (start == null || ByteArrayUtils.greatThan(bound, start)) {
+                start = bound;
+            }
+        }
+        if (!endValues.isEmpty()) {
+            byte[] bound = encodeValues(endValues);
+            if (bound == null) {
+                return Collections.emptyIterator();
+            }
+            // `null` successor means unbounded.
+            bound = includeEndValues ? ByteArrayUtils.successor(bound) : bound;
+            if (bound != null && (end == null || ByteArrayUtils.lessThan(bound, end))) {
+                end = bound;
+            }
+        }
+        if (start != null && end != null && !ByteArrayUtils.lessThan(start, end)) {
+            return Collections.emptyIterator();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Range scan of part {} with parameters: [{}, {}).", partId, Arrays.toString(start),
+                Arrays.toString(end));
+        }
+        return part.getIteratorByRange(start, end, true, false, false);
+    }
+
+    // `null` means some value is null, so no key can be in the range.
+    private byte @Nullable [] encodeValues(@NonNull List<SqlExpr> values) {
+        DingoType keySchema = schema.select(keyMapping);
+        Object[] tuple = new Object[values.size()];
+        for (int i = 0; i < tuple.length; ++i) {
+            Object value = values.get(i).eval(null);
+            if (value == null) {
+                return null;
+            }
+            tuple[i] = keySchema.getChild(i).convertTo(value, DingoConverter.INSTANCE);
+        }
+        Codec codec = new DingoCodec(keySchema.toDingoSchemas().subList(0, tuple.length), null, true);
+        try {
+            return codec.encodeKeyForRangeScan(tuple);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 }
@@ -21,18 +21,32 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.fin.OperatorProfile;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @JsonTypeName("scan")
-@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "filter", "selection", "output"})
+@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "filter", "selection", "output", "parallelism"})
 public final class PartScanOperator extends PartIteratorSourceOperator {
+    // Scan the part in several sub ranges concurrently if greater than 1, the output is not ordered then.
+    @JsonProperty("parallelism")
+    private final int parallelism;
 
     @JsonCreator
     public PartScanOperator(
@@ -41,13 +55,120 @@ public final class PartScanOperator extends PartIteratorSourceOperator {
         @JsonProperty("schema") DingoType schema,
         @JsonProperty("keyMapping") TupleMapping keyMapping,
         @JsonProperty("filter") SqlExpr filter,
-        @JsonProperty("selection") TupleMapping selection
+        @JsonProperty("selection") TupleMapping selection,
+        @JsonProperty("parallelism") int parallelism
     ) {
         super(tableId, partId, schema, keyMapping, filter, selection);
+        this.parallelism = parallelism;
+    }
+
+    public PartScanOperator(
+        CommonId tableId,
+        Object partId,
+        DingoType schema,
+        TupleMapping keyMapping,
+        SqlExpr filter,
+        TupleMapping selection
+    ) {
+        this(tableId, partId, schema, keyMapping, filter, selection, 1);
     }
 
     @Override
     protected @NonNull Iterator<Object[]> createSourceIterator() {
+        if (parallelism > 1) {
+            // The sub range iterators are created in `push`.
+            return Collections.emptyIterator();
+        }
         return part.getIterator();
     }
+
+    @Override
+    public boolean push() {
+        if (parallelism <= 1) {
+            return super.push();
+        }
+        OperatorProfile profile = getProfile();
+        profile.setStartTimeStamp(System.currentTimeMillis());
+        Queue<Iterator<Object[]>> iterators = new ConcurrentLinkedQueue<>(part.getIterators(parallelism));
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        AtomicLong count = new AtomicLong(0);
+        // The workers may block on the back pressure of downstream, so they are not run on the `QUERY` pool. This
+        // thread scans too, and extra workers are only started on free threads, so the scan never waits for a thread.
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        int workers = Math.min(parallelism, iterators.size());
+        for (int i = 1; i < workers; ++i) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            boolean started = Executors.tryExecute(
+                Executors.SCAN,
+                "scan-" + getTask().getJobId() + "-" + id + "-" + i,
+                () -> {
+                    try {
+                        scanSubRanges(iterators, stopped, count);
+                        future.complete(null);
+                    } catch (Throwable e) {
+                        stopped.set(true);
+                        future.completeExceptionally(e);
+                    }
+                }
+            );
+            if (!started) {
+                break;
+            }
+            futures.add(future);
+        }
+        Throwable error = null;
+        try {
+            scanSubRanges(iterators, stopped, count);
+        } catch (RuntimeException e) {
+            stopped.set(true);
+            throw e;
+        } finally {
+            // Wait for the workers anyway, for no tuples should be pushed after this operator is finished.
+            for (CompletableFuture<Void> future : futures) {
+                Throwable e = future.handle((r, t) -> t).join();
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+        if (error != null) {
+            throw new RuntimeException("Scan sub ranges error.", error);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("PartScanOperator parallel push, parallelism: {}, count: {}, cost: {}ms.",
+                futures.size() + 1, count.get(), System.currentTimeMillis() - profile.getStartTimeStamp());
+        }
+        profile.setProcessedTupleCount(count.get());
+        profile.setEndTimeStamp(System.currentTimeMillis());
+        return false;
+    }
+
+    private void scanSubRanges(
+        @NonNull Queue<Iterator<Object[]>> iterators,
+        @NonNull AtomicBoolean stopped,
+        @NonNull AtomicLong count
+    ) {
+        SqlExpr workerFilter = filter != null ? filter.copy() : null;
+        Iterator<Object[]> source;
+        while (!stopped.get() && (source = iterators.poll()) != null) {
+            Iterator<Object[]> iterator = decorate(source, workerFilter);
+            TupleBatch batch = new TupleBatch();
+            while (!stopped.get() && iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.isFull()) {
+                    count.addAndGet(batch.size());
+                    if (!output.push(batch)) {
+                        stopped.set(true);
+                    }
+                    batch = new TupleBatch();
+                }
+            }
+            if (!stopped.get() && !batch.isEmpty()) {
+                count.addAndGet(batch.size());
+                if (!output.push(batch)) {
+                    stopped.set(true);
+                }
+            }
+        }
+    }
 }
@@ -24,30 +24,39 @@ import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.table.PartIndex;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @JsonTypeName("update")
-@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "mapping", "updates", "output"})
+@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "indexes", "mapping", "updates", "output"})
 public final class PartUpdateOperator extends PartModifyOperator {
     @JsonProperty("mapping")
     private final TupleMapping mapping;
     @JsonProperty("updates")
     private final List<SqlExpr> updates;
 
+    // The old values of the rows in the current batch, which are needed to update the indexes.
+    private List<Object[]> oldTuples;
+
     @JsonCreator
     public PartUpdateOperator(
         @JsonProperty("table") CommonId tableId,
         @JsonProperty("part") Object partId,
         @JsonProperty("schema") DingoType schema,
         @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("indexes") List<PartIndex> indexes,
         @JsonProperty("mapping") TupleMapping mapping,
         @JsonProperty("updates") List<SqlExpr> updates
     ) {
-        super(tableId, partId, schema, keyMapping);
+        super(tableId, partId, schema, keyMapping, indexes);
         this.mapping = mapping;
         this.updates = updates;
     }
@@ -56,6 +65,7 @@ public final class PartUpdateOperator extends PartModifyOperator {
     public void init() {
         super.init();
         updates.forEach(expr -> expr.compileIn(schema, getParasType()));
+        oldTuples = new ArrayList<>(BATCH_SIZE);
     }
 
     @Override
@@ -74,19 +84,34 @@ public final class PartUpdateOperator extends PartModifyOperator {
                     updated = true;
                 }
             }
-            if (updated) {
-                part.upsert(Arrays.copyOf(tuple, schema.fieldCount()));
-                count++;
-            }
         } catch (Exception ex) {
             log.error("update operator with expr:{}, exception:{}",
                 updates.get(i) == null ? "None" : updates.get(i).getExprString(),
                 ex, ex);
             throw new RuntimeException("Update Operator catch Exception");
         }
+        if (updated) {
+            // `newTuple` keeps the old values.
+            oldTuples.add(Arrays.copyOf(newTuple, schema.fieldCount()));
+            addToBatch(Arrays.copyOf(tuple, schema.fieldCount()));
+        }
         return true;
     }
 
+    @Override
+    protected @NonNull CompletableFuture<Long> write(@NonNull List<Object[]> tuples) {
+        List<Object[]> olds = oldTuples;
+        oldTuples = new ArrayList<>(BATCH_SIZE);
+        return part.updateAsync(olds, tuples);
+    }
+
+    @Override
+    public synchronized void fin(int pin, Fin fin) {
+        super.fin(pin, fin);
+        // The rows not written are discarded on failure.
+        oldTuples.clear();
+    }
+
     @Override
     public void setParas(Object[] paras) {
         super.setParas(paras);
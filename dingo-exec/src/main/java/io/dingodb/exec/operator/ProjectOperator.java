@@ -23,6 +23,8 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.expr.SqlExpr;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.List;
 
@@ -52,11 +54,25 @@ public final class ProjectOperator extends SoleOutOperator {
 
     @Override
     public synchronized boolean push(int pin, Object[] tuple) {
+        return output.push(project(tuple));
+    }
+
+    @Override
+    public synchronized boolean push(int pin, @NonNull TupleBatch batch) {
+        int size = batch.size();
+        TupleBatch newBatch = new TupleBatch(size);
+        for (int i = 0; i < size; ++i) {
+            newBatch.add(project(batch.get(i)));
+        }
+        return output.push(newBatch);
+    }
+
+    private Object @NonNull [] project(Object[] tuple) {
         Object[] newTuple = new Object[projects.size()];
         for (int i = 0; i < newTuple.length; ++i) {
             newTuple[i] = projects.get(i).eval(tuple);
         }
-        return output.push(newTuple);
+        return newTuple;
     }
 
     @Override
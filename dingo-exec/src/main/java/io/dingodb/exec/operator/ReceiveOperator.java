@@ -20,18 +20,16 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
-import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.type.DingoType;
-import io.dingodb.common.util.Pair;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.channel.ControlStatus;
 import io.dingodb.exec.channel.ReceiveEndpoint;
-import io.dingodb.exec.codec.AvroTxRxCodec;
 import io.dingodb.exec.codec.TxRxCodec;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.fin.OperatorProfile;
+import io.dingodb.exec.tuple.TupleBatch;
 import io.dingodb.exec.util.QueueUtil;
 import io.dingodb.exec.util.TagUtil;
 import io.dingodb.net.Channel;
@@ -41,6 +39,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
 
@@ -48,9 +48,6 @@ import java.util.concurrent.LinkedBlockingDeque;
 @JsonPropertyOrder({"host", "port", "schema", "output"})
 @JsonTypeName("receive")
 public final class ReceiveOperator extends SourceOperator {
-    private static final int LOW_WATER_LEVEL = 10;
-    private static final int QUEUE_CAPACITY = 1024;
-
     @JsonProperty("host")
     private final String host;
     @JsonProperty("port")
@@ -60,7 +57,8 @@ public final class ReceiveOperator extends SourceOperator {
 
     private String tag;
     private TxRxCodec codec;
-    private BlockingQueue<Object[]> tupleQueue;
+    // Not bounded, for the bytes in flight are limited by the credits granted to the sender.
+    private BlockingQueue<ReceivedMessage> messageQueue;
     private ReceiveMessageListener messageListener;
     private ReceiveEndpoint endpoint;
     private Fin finObj;
@@ -80,8 +78,8 @@ public final class ReceiveOperator extends SourceOperator {
     @Override
     public void init() {
         super.init();
-        codec = new AvroTxRxCodec(schema);
-        tupleQueue = new LinkedBlockingDeque<>(QUEUE_CAPACITY);
+        codec = TxRxCodec.of(schema);
+        messageQueue = new LinkedBlockingDeque<>();
         messageListener = new ReceiveMessageListener();
         tag = TagUtil.tag(getTask().getJobId(), getId());
         Services.NET.registerTagMessageListener(tag, messageListener);
@@ -118,26 +116,25 @@ public final class ReceiveOperator extends SourceOperator {
         OperatorProfile profile = getProfile();
         profile.setStartTimeStamp(System.currentTimeMillis());
         while (true) {
-            if (tupleQueue.size() < LOW_WATER_LEVEL) {
-                endpoint.sendControlMessage(ControlStatus.READY);
-            }
-            Object[] tuple = QueueUtil.forceTake(tupleQueue);
-            if (!(tuple[0] instanceof Fin)) {
-                ++count;
+            boolean starved = messageQueue.isEmpty();
+            ReceivedMessage message = QueueUtil.forceTake(messageQueue);
+            if (message.fin == null) {
+                count += message.tuples.size();
                 if (log.isDebugEnabled()) {
-                    log.debug("(tag = {}) Take out tuple {} from receiving queue.", tag, schema.format(tuple));
+                    log.debug("(tag = {}) Take out {} tuples from receiving queue.", tag, message.tuples.size());
                 }
-                if (!output.push(tuple)) {
+                if (!endpoint.isStopped() && !output.push(message.tuples)) {
                     endpoint.sendControlMessage(ControlStatus.STOP);
                     // Stay in loop to receive FIN.
                 }
+                endpoint.onConsumed(message.bytes, starved);
             } else {
                 if (log.isDebugEnabled()) {
                     log.debug("(tag = {}) Take out FIN.", tag);
                 }
                 profile.setEndTimeStamp(System.currentTimeMillis());
                 profile.setProcessedTupleCount(count);
-                Fin fin = (Fin) tuple[0];
+                Fin fin = message.fin;
                 if (fin instanceof FinWithProfiles) {
                     profiles.addAll(((FinWithProfiles) fin).getProfiles());
                 } else if (fin instanceof FinWithException) {
@@ -149,43 +146,45 @@ public final class ReceiveOperator extends SourceOperator {
         return false;
     }
 
+    private static class ReceivedMessage {
+        private final TupleBatch tuples;
+        private final Fin fin;
+        private final int bytes;
+
+        ReceivedMessage(TupleBatch tuples, Fin fin, int bytes) {
+            this.tuples = tuples;
+            this.fin = fin;
+            this.bytes = bytes;
+        }
+    }
+
     private class ReceiveMessageListener implements MessageListener {
         @Override
         public void onMessage(@NonNull Message message, Channel channel) {
             try {
                 final byte[] content = message.content();
-                int count = 0;
-                int offset = 0;
-                while (offset < content.length) {
-                    Pair<byte[], Integer> pair = PrimitiveCodec.decodeArray(content, offset);
-                    if (pair == null) {
-                        log.error("ReceiveMessageListener, parse error.");
-                        return;
-                    }
-                    int arrLen = pair.getKey().length;
-                    Object[] tuple = codec.decode(pair.getKey());
-                    if (log.isDebugEnabled()) {
-                        if (!(tuple[0] instanceof Fin)) {
-                            log.debug("ReceiveMessageListener (tag = {}) Received tuple {}, arr len: {}, "
-                                    + "total len: {}, offset: {}, hashCode: {}.", tag, schema.format(tuple),
-                                arrLen, pair.getValue(), offset, this.hashCode());
-                        } else {
-                            log.debug("ReceiveMessageListener (tag = {}) Received FIN, arr len: {}, "
-                                + "offset: {}, hashCode: {}.", tag, pair.getKey().length, offset, this.hashCode());
-                        }
-                    }
-                    offset += pair.getValue();
-                    count++;
-                    if (!endpoint.isStopped() || tuple[0] instanceof Fin) {
-                        QueueUtil.forcePut(tupleQueue, tuple);
+                endpoint.onReceived(content.length);
+                List<Object[]> tuples = new ArrayList<>();
+                Fin[] fin = {null};
+                codec.decodeMessage(content, tuple -> {
+                    if (tuple.length == 1 && tuple[0] instanceof Fin) {
+                        fin[0] = (Fin) tuple[0];
+                    } else {
+                        tuples.add(tuple);
                     }
+                });
+                if (!tuples.isEmpty() && !endpoint.isStopped()) {
+                    QueueUtil.forcePut(
+                        messageQueue,
+                        new ReceivedMessage(TupleBatch.of(tuples.toArray(new Object[0][])), null, content.length)
+                    );
                 }
-                if (tupleQueue.remainingCapacity() < SendOperator.SEND_MAX_COUNT * 2) {
-                    endpoint.sendControlMessage(ControlStatus.HALT);
+                if (fin[0] != null) {
+                    QueueUtil.forcePut(messageQueue, new ReceivedMessage(null, fin[0], 0));
                 }
                 if (log.isDebugEnabled()) {
-                    log.debug("ReceiveMessageListener onMessage, content length: {}, tupleCount: {}, "
-                        + "hashCode: {}.", content.length, count, this.hashCode());
+                    log.debug("ReceiveMessageListener (tag = {}) onMessage, content length: {}, tupleCount: {}, "
+                        + "FIN: {}.", tag, content.length, tuples.size(), fin[0] != null);
                 }
             } catch (IOException e) {
                 log.error("ReceiveMessageListener ({}:{} tag = {}) catch exception:{}",
@@ -17,21 +17,25 @@
 package io.dingodb.exec.operator;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.aggregate.AbstractAgg;
 import io.dingodb.exec.aggregate.Agg;
-import io.dingodb.exec.aggregate.AggCache;
+import io.dingodb.exec.aggregate.SpillableAggCache;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
 
+import java.io.IOException;
 import java.util.List;
 
 @JsonTypeName("reduce")
-@JsonPropertyOrder({"inputNum", "keys", "aggregates", "output"})
+@JsonPropertyOrder({"inputNum", "keys", "aggregates", "schema", "memoryBudget", "output"})
 public final class ReduceOperator extends SoleOutOperator {
     @JsonProperty("keys")
     private final TupleMapping keys;
@@ -39,38 +43,59 @@ public final class ReduceOperator extends SoleOutOperator {
     @JsonSerialize(contentAs = AbstractAgg.class)
     @JsonDeserialize(contentAs = AbstractAgg.class)
     private final List<Agg> aggList;
+    @JsonProperty("schema")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final DingoType schema;
+    // Not positive means the default budget.
+    @JsonProperty("memoryBudget")
+    private final long memoryBudget;
 
-    private AggCache cache;
+    private SpillableAggCache cache;
 
     @JsonCreator
     public ReduceOperator(
         @JsonProperty("keys") TupleMapping keys,
-        @JsonProperty("aggregates") List<Agg> aggList
+        @JsonProperty("aggregates") List<Agg> aggList,
+        @JsonProperty("schema") DingoType schema,
+        @JsonProperty("memoryBudget") long memoryBudget
     ) {
         super();
         this.keys = keys;
         this.aggList = aggList;
+        this.schema = schema;
+        this.memoryBudget = memoryBudget;
+    }
+
+    public ReduceOperator(TupleMapping keys, List<Agg> aggList) {
+        this(keys, aggList, null, 0);
     }
 
     @Override
     public void init() {
         super.init();
-        cache = new AggCache(keys, aggList);
+        cache = new SpillableAggCache(keys, aggList, true, schema, memoryBudget, "reduce-" + id);
     }
 
     @Override
-    public synchronized boolean push(int pin, Object[] tuple) {
-        cache.reduce(tuple);
+    public boolean push(int pin, Object[] tuple) {
+        try {
+            cache.add(tuple);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
         return true;
     }
 
     @Override
     public synchronized void fin(int pin, Fin fin) {
-        for (Object[] t : cache) {
-            if (!output.push(t)) {
-                break;
+        if (!(fin instanceof FinWithException)) {
+            try {
+                cache.forEach(output::push);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
             }
         }
+        cache.close();
         output.fin(fin);
     }
 }
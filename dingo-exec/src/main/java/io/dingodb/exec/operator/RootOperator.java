@@ -30,29 +30,53 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import java.util.Iterator;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * The root operator puts the result tuples into a bounded queue, which is the fetch-ahead window of the client.
+ *
+ * <p>When the queue is full, pushing is blocked until the client fetches, so the upstream operators are paused, and
+ * the receive operators halt the remote senders when their own queues are full. If the iterator is closed before all
+ * the tuples are fetched, pushing returns {@code false} to stop the upstream operators.
+ */
 @Slf4j
 @JsonTypeName("root")
-@JsonPropertyOrder({"schema"})
+@JsonPropertyOrder({"schema", "capacity"})
 public final class RootOperator extends SinkOperator {
     public static final Object[] FIN = new Object[0];
+    public static final String CAPACITY_PROPERTY = "dingo.exec.fetchAhead";
+    public static final int DEFAULT_CAPACITY = Integer.getInteger(CAPACITY_PROPERTY, 4096);
+
+    private static final long OFFER_TIMEOUT_MS = 100;
+
     @JsonProperty("schema")
     private final DingoType schema;
+    // Not positive means the default capacity.
+    @JsonProperty("capacity")
+    private final int capacity;
     private Fin errorFin;
     private BlockingQueue<Object[]> tupleQueue;
+    private volatile boolean closed;
 
     @JsonCreator
     public RootOperator(
-        @JsonProperty("schema") DingoType schema
+        @JsonProperty("schema") DingoType schema,
+        @JsonProperty("capacity") int capacity
     ) {
         super();
         this.schema = schema;
+        this.capacity = capacity;
+    }
+
+    public RootOperator(DingoType schema) {
+        this(schema, 0);
     }
 
     @Override
     public void init() {
         super.init();
-        tupleQueue = new LinkedBlockingDeque<>();
+        tupleQueue = new LinkedBlockingDeque<>(capacity > 0 ? capacity : DEFAULT_CAPACITY);
+        closed = false;
     }
 
     @Override
@@ -60,8 +84,15 @@ public final class RootOperator extends SinkOperator {
         if (log.isDebugEnabled()) {
             log.debug("Put tuple {} into root queue.", schema.format(tuple));
         }
-        QueueUtil.forcePut(tupleQueue, tuple);
-        return true;
+        while (!closed) {
+            try {
+                if (tupleQueue.offer(tuple, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            } catch (InterruptedException ignored) {
+            }
+        }
+        return false;
     }
 
     @Override
@@ -74,9 +105,21 @@ public final class RootOperator extends SinkOperator {
                 log.debug("Got FIN with detail:\n{}", fin.detail());
             }
         }
+        if (closed) {
+            // Nobody is fetching, make room for FIN.
+            tupleQueue.clear();
+        }
         QueueUtil.forcePut(tupleQueue, FIN);
     }
 
+    /**
+     * Stop receiving tuples and discard the tuples not fetched, called when the client does not need more results.
+     */
+    public void close() {
+        closed = true;
+        tupleQueue.clear();
+    }
+
     public Object @NonNull [] popValue() {
         return QueueUtil.forceTake(tupleQueue);
     }
@@ -85,13 +128,14 @@ public final class RootOperator extends SinkOperator {
     public void reset() {
         super.reset();
         tupleQueue.clear();
+        closed = false;
     }
 
     public @NonNull TupleIterator getIterator() {
         return new TupleIterator();
     }
 
-    public class TupleIterator implements Iterator<Object[]> {
+    public class TupleIterator implements Iterator<Object[]>, AutoCloseable {
         private Object[] current;
 
         private TupleIterator() {
@@ -117,5 +161,10 @@ public final class RootOperator extends SinkOperator {
             current = RootOperator.this.popValue();
             return result;
         }
+
+        @Override
+        public void close() {
+            RootOperator.this.close();
+        }
     }
 }
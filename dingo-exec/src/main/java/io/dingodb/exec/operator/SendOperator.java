@@ -20,19 +20,19 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
-import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.base.Id;
 import io.dingodb.exec.channel.SendEndpoint;
-import io.dingodb.exec.codec.AvroTxRxCodec;
 import io.dingodb.exec.codec.TxRxCodec;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.util.MemoryUtil;
 import io.dingodb.exec.util.TagUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 @JsonPropertyOrder({"host", "port", "tag", "schema"})
@@ -40,8 +40,8 @@ import java.nio.ByteBuffer;
 public final class SendOperator extends SinkOperator {
     public static final int SEND_MAX_COUNT = 200;
 
-    private static final int SEND_BUFFER_MAX_SIZE = 8192;
-    private static final int SEND_BUFFER_HALF_SIZE = (SEND_BUFFER_MAX_SIZE >> 1);
+    // Estimated size of tuples in one message.
+    private static final int SEND_BUFFER_MAX_SIZE = 64 << 10;
 
     @JsonProperty("host")
     private final String host;
@@ -51,10 +51,10 @@ public final class SendOperator extends SinkOperator {
     private final Id receiveId;
     @JsonProperty("schema")
     private final DingoType schema;
-    private final ByteBuffer sendBuffer;
+    private final List<Object[]> sendBuffer;
+    private long sendBufferSize;
     private TxRxCodec codec;
     private SendEndpoint endpoint;
-    private int tupleCount;
 
     @JsonCreator
     public SendOperator(
@@ -68,14 +68,14 @@ public final class SendOperator extends SinkOperator {
         this.port = port;
         this.receiveId = receiveId;
         this.schema = schema;
-        this.sendBuffer = ByteBuffer.wrap(new byte[SEND_BUFFER_MAX_SIZE]);
-        this.tupleCount = 0;
+        this.sendBuffer = new ArrayList<>(SEND_MAX_COUNT);
+        this.sendBufferSize = 0;
     }
 
     @Override
     public void init() {
         super.init();
-        codec = new AvroTxRxCodec(schema);
+        codec = TxRxCodec.of(schema);
         try {
             endpoint = new SendEndpoint(host, port, TagUtil.tag(getTask().getJobId(), receiveId));
             endpoint.init();
@@ -86,81 +86,54 @@ public final class SendOperator extends SinkOperator {
 
     @Override
     public boolean push(Object[] tuple) {
-        try {
-            byte[] encodeArr = codec.encode(tuple);
-            byte[] array = PrimitiveCodec.encodeArray(encodeArr);
-            if (log.isDebugEnabled()) {
-                log.debug("Will send tuple ({}) to ({}, {}, {}), arr len: {}, total len: {}, buff pos: {}, "
-                        + "hashcode: {}", schema.format(tuple), host, port, receiveId, encodeArr.length,
-                    array.length, this.sendBuffer.position(), this.hashCode());
-            }
-
-            if (array.length >= SEND_BUFFER_HALF_SIZE) {
-                // send data in buffer first
-                if (!this.sendBufferData()) {
-                    return false;
-                }
-                // send directly
-                return endpoint.send(array);
-            }
-
-            if ((array.length + this.sendBuffer.position() > this.sendBuffer.capacity())
-                || this.tupleCount >= SEND_MAX_COUNT) {
-                if (!this.sendBufferData()) {
-                    return false;
-                }
-            }
-            this.putArray(array);
-            return true;
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        if (log.isDebugEnabled()) {
+            log.debug("Will send tuple ({}) to ({}, {}, {}), buffered: {}, hashcode: {}",
+                schema.format(tuple), host, port, receiveId, sendBuffer.size(), this.hashCode());
+        }
+        sendBuffer.add(tuple);
+        sendBufferSize += MemoryUtil.estimate(tuple);
+        if (sendBuffer.size() >= SEND_MAX_COUNT || sendBufferSize >= SEND_BUFFER_MAX_SIZE) {
+            return sendBufferData();
         }
+        return true;
     }
 
     @Override
     public void fin(Fin fin) {
         try {
-            byte[] encodeArr = codec.encodeFin(fin);
-            byte[] array = PrimitiveCodec.encodeArray(encodeArr);
             if (!(fin instanceof FinWithException)) {
                 this.sendBufferData();
             }
             if (log.isDebugEnabled()) {
                 log.debug("Send FIN with detail:\n{}", fin.detail());
             }
-            endpoint.send(array, true);
+            endpoint.send(codec.encodeFinMessage(fin), true);
             endpoint.close();
         } catch (Exception e) {
             log.error("Send FIN to ({}, {}, {}) error", host, port, receiveId, e);
         }
     }
 
-    private void putArray(byte[] array) {
-        this.sendBuffer.put(array);
-        this.tupleCount++;
-    }
-
     private boolean sendBufferData() {
-        if (this.tupleCount <= 0) {
+        if (sendBuffer.isEmpty()) {
             return true;
         }
-        this.sendBuffer.flip();
-        int length = this.sendBuffer.limit() - this.sendBuffer.position();
-        if (length <= 0) {
-            log.error("Send data to ({}, {}, {}) failed, length: {}.", this.host, this.port, this.receiveId, length);
-            return true;
+        int count = sendBuffer.size();
+        byte[] content;
+        try {
+            content = codec.encodeMessage(sendBuffer);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
-        byte[] array = new byte[length];
-        this.sendBuffer.get(array);
-        if (!endpoint.send(array)) {
+        sendBuffer.clear();
+        sendBufferSize = 0;
+        if (!endpoint.send(content)) {
             return false;
         }
         if (log.isDebugEnabled()) {
             log.debug("SendOperator send data to ({}, {}, {}) done, length: {}, tupleCount: {}, hashCode: {}.",
-                this.host, this.port, this.receiveId, length, this.tupleCount, this.hashCode());
+                this.host, this.port, this.receiveId, content.length, count, this.hashCode());
         }
-        this.sendBuffer.clear();
-        this.tupleCount = 0;
         return true;
     }
 }
@@ -19,6 +19,7 @@ package io.dingodb.exec.operator;
 import com.google.common.collect.ImmutableList;
 import io.dingodb.exec.base.Output;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.List;
@@ -34,6 +35,18 @@ public abstract class SinkOperator extends AbstractOperator {
         return push(tuple);
     }
 
+    @Override
+    public synchronized boolean push(int pin, @NonNull TupleBatch batch) {
+        // Only one monitor acquisition for the whole batch.
+        int size = batch.size();
+        for (int i = 0; i < size; ++i) {
+            if (!push(batch.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public synchronized void fin(int pin, Fin fin) {
         fin(fin);
@@ -17,40 +17,83 @@
 package io.dingodb.exec.operator;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.exec.codec.TupleCodec;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.spill.SpillFile;
+import io.dingodb.exec.util.MemoryUtil;
+import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Sort operator.
+ *
+ * <p>If the limit is not negative and {@code offset + limit} is not greater than {@link #MAX_TOP_N}, only the top
+ * {@code offset + limit} tuples are kept in a bounded heap. Otherwise, when the buffered tuples exceed the memory
+ * budget, they are sorted and written to a run file in background, and all the runs are merged in
+ * {@link #fin(int, Fin)} (external merge sort). Spilling is disabled if the schema is not given.
+ */
+@Slf4j
 @JsonTypeName("sort")
-@JsonPropertyOrder({"collations", "limit", "offset", "output"})
+@JsonPropertyOrder({"collations", "limit", "offset", "schema", "memoryBudget", "output"})
 public class SortOperator extends SoleOutOperator {
+    // The heap is not spilled, so a larger top-N is fully sorted instead, whose input is likely smaller anyway.
+    static final int MAX_TOP_N = 1 << 16;
+
     @JsonProperty("collations")
     private final List<SortCollation> collations;
     @JsonProperty("limit")
     private final int limit;
     @JsonProperty("offset")
     private final int offset;
+    @JsonProperty("schema")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final DingoType schema;
+    // Not positive means the default budget.
+    @JsonProperty("memoryBudget")
+    private final long memoryBudget;
 
-    private final List<Object[]> cache;
     private final Comparator<Object[]> comparator;
+    // Count of the tuples to keep, in long for `offset + limit` may overflow an int.
+    private final long kept;
+
+    private List<Object[]> cache;
+    private long cacheBytes;
+    // Max heap of the top tuples, ordered by the comparator and then the arriving sequence, to keep sorting stable.
+    private PriorityQueue<SeqTuple> heap;
+    private long seq;
+    private TupleCodec codec;
+    private List<CompletableFuture<SpillFile>> runs;
 
     @JsonCreator
     public SortOperator(
         @JsonProperty("collations") @NonNull List<SortCollation> collations,
         @JsonProperty("limit") int limit,
-        @JsonProperty("offset") int offset
+        @JsonProperty("offset") int offset,
+        @JsonProperty("schema") DingoType schema,
+        @JsonProperty("memoryBudget") long memoryBudget
     ) {
         this.limit = limit;
         this.offset = offset;
         this.collations = collations;
-        this.cache = new LinkedList<>();
+        this.schema = schema;
+        this.memoryBudget = memoryBudget;
         if (!collations.isEmpty()) {
             Comparator<Object[]> c = collations.get(0).makeComparator();
             for (int i = 1; i < collations.size(); ++i) {
@@ -60,6 +103,28 @@ public class SortOperator extends SoleOutOperator {
         } else {
             comparator = null;
         }
+        kept = limit >= 0 ? (long) offset + limit : Long.MAX_VALUE;
+    }
+
+    public SortOperator(@NonNull List<SortCollation> collations, int limit, int offset) {
+        this(collations, limit, offset, null, 0);
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        cache = new ArrayList<>();
+        cacheBytes = 0;
+        if (comparator != null && kept <= MAX_TOP_N) {
+            Comparator<SeqTuple> c = Comparator.comparing((SeqTuple t) -> t.tuple, comparator)
+                .thenComparingLong(t -> t.seq);
+            heap = new PriorityQueue<>((int) Math.max(1, Math.min(kept, 1024)), c.reversed());
+            seq = 0;
+        }
+        if (schema != null) {
+            codec = new TupleCodec(schema);
+        }
+        runs = new ArrayList<>();
     }
 
     @Override
@@ -67,18 +132,70 @@ public class SortOperator extends SoleOutOperator {
         if (limit == 0) {
             return false;
         }
+        if (heap != null) {
+            SeqTuple seqTuple = new SeqTuple(tuple, seq++);
+            if (heap.size() < kept) {
+                heap.add(seqTuple);
+            } else if (heap.comparator().compare(seqTuple, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(seqTuple);
+            }
+            return true;
+        }
         cache.add(tuple);
-        return collations.size() > 0 || limit < 0 || cache.size() < offset + limit;
+        if (comparator == null) {
+            return cache.size() < kept;
+        }
+        if (codec != null) {
+            cacheBytes += MemoryUtil.estimate(tuple);
+            // Half of the budget, for the last run may still be in memory when it is being written, and there is only
+            // one run being written at a time.
+            if (cacheBytes > SpillFile.memoryBudget(memoryBudget) / 2) {
+                spillRun();
+            }
+        }
+        return true;
     }
 
     @Override
     public synchronized void fin(int pin, Fin fin) {
-        if (comparator != null) {
-            cache.sort(comparator);
+        if (fin instanceof FinWithException) {
+            closeRuns();
+            output.fin(fin);
+            return;
         }
+        try {
+            if (heap != null) {
+                cache = new ArrayList<>(heap.size());
+                while (!heap.isEmpty()) {
+                    cache.add(heap.poll().tuple);
+                }
+                // Polled in descending order.
+                Collections.reverse(cache);
+                outputTuples(cache.iterator());
+            } else if (comparator == null) {
+                outputTuples(cache.iterator());
+            } else {
+                cache.sort(comparator);
+                if (runs.isEmpty()) {
+                    outputTuples(cache.iterator());
+                } else {
+                    mergeRuns();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            closeRuns();
+        }
+        output.fin(fin);
+    }
+
+    private void outputTuples(@NonNull Iterator<Object[]> iterator) {
         int o = 0;
         int c = 0;
-        for (Object[] tuple : cache) {
+        while (iterator.hasNext()) {
+            Object[] tuple = iterator.next();
             if (o < offset) {
                 ++o;
                 continue;
@@ -91,6 +208,101 @@ public class SortOperator extends SoleOutOperator {
             }
             ++c;
         }
-        output.fin(fin);
+    }
+
+    private void spillRun() {
+        if (!runs.isEmpty()) {
+            // Wait for the last run, not to buffer more runs than the budget counts on.
+            runs.get(runs.size() - 1).join();
+        }
+        List<Object[]> run = cache;
+        cache = new ArrayList<>();
+        cacheBytes = 0;
+        runs.add(Executors.submit(Executors.QUERY, "sort-run-" + id, () -> {
+            run.sort(comparator);
+            SpillFile file = SpillFile.create("sort-" + id + "-");
+            try {
+                for (Object[] tuple : run) {
+                    file.write(codec.encode(tuple));
+                }
+            } catch (IOException e) {
+                file.close();
+                throw e;
+            }
+            return file;
+        }));
+    }
+
+    private void mergeRuns() throws IOException {
+        if (log.isInfoEnabled()) {
+            log.info("Sort {} exceeded memory budget, merging {} sorted runs.", id, runs.size());
+        }
+        List<Iterator<Object[]>> iterators = new ArrayList<>(runs.size() + 1);
+        for (CompletableFuture<SpillFile> run : runs) {
+            Iterator<byte[]> it = run.join().read();
+            iterators.add(new Iterator<Object[]>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Object[] next() {
+                    try {
+                        return codec.decode(it.next());
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+        }
+        iterators.add(cache.iterator());
+        // Tuples from earlier runs go first if equal, to keep sorting stable.
+        PriorityQueue<SeqTuple> queue = new PriorityQueue<>(
+            iterators.size(),
+            Comparator.comparing((SeqTuple t) -> t.tuple, comparator).thenComparingLong(t -> t.seq)
+        );
+        for (int i = 0; i < iterators.size(); ++i) {
+            if (iterators.get(i).hasNext()) {
+                queue.add(new SeqTuple(iterators.get(i).next(), i));
+            }
+        }
+        outputTuples(new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return !queue.isEmpty();
+            }
+
+            @Override
+            public Object[] next() {
+                SeqTuple head = queue.poll();
+                Iterator<Object[]> it = iterators.get((int) head.seq);
+                if (it.hasNext()) {
+                    queue.add(new SeqTuple(it.next(), head.seq));
+                }
+                return head.tuple;
+            }
+        });
+    }
+
+    private void closeRuns() {
+        for (CompletableFuture<SpillFile> run : runs) {
+            run.whenComplete((file, e) -> {
+                if (file != null) {
+                    file.close();
+                }
+            });
+        }
+        runs.clear();
+    }
+
+    private static class SeqTuple {
+        private final Object[] tuple;
+        private final long seq;
+
+        SeqTuple(Object[] tuple, long seq) {
+            this.tuple = tuple;
+            this.seq = seq;
+        }
     }
 }
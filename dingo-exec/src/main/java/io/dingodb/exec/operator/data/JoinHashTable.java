@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.data;
+
+import io.dingodb.exec.util.MemoryUtil;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Hash table of the build side of hash join, using open addressing over a flat array of tuples.
+ *
+ * <p>Each slot holds the first tuple of a distinct key, tuples of the same key are chained by their indices in
+ * insertion order. Joined flags are kept in a bit set, so there is no wrapper object for each tuple.
+ */
+public final class JoinHashTable {
+    private static final int INITIAL_SLOTS = 1024;
+    private static final int INITIAL_ROWS = 1024;
+
+    private final int[] keyIndices;
+
+    private Object[][] rows;
+    private int[] next;
+    private int size;
+    private final BitSet joined;
+
+    // Index of the first/last tuple of each key, -1 for empty slots.
+    private int[] heads;
+    private int[] tails;
+    private int[] hashes;
+    private int keyCount;
+    @Getter
+    private long estimatedBytes;
+
+    public JoinHashTable(int @NonNull [] keyIndices) {
+        this.keyIndices = keyIndices;
+        this.joined = new BitSet();
+        clear();
+    }
+
+    /**
+     * Calculate the hash of the key fields of a tuple. Tuples from both sides with equal keys have the same hash.
+     *
+     * @param tuple      the tuple
+     * @param keyIndices the indices of key fields
+     * @return the hash
+     */
+    public static int hash(Object @NonNull [] tuple, int @NonNull [] keyIndices) {
+        int hash = 1;
+        for (int index : keyIndices) {
+            hash = 31 * hash + Objects.hashCode(tuple[index]);
+        }
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    public void clear() {
+        rows = new Object[INITIAL_ROWS][];
+        next = new int[INITIAL_ROWS];
+        size = 0;
+        joined.clear();
+        heads = new int[INITIAL_SLOTS];
+        tails = new int[INITIAL_SLOTS];
+        hashes = new int[INITIAL_SLOTS];
+        Arrays.fill(heads, -1);
+        keyCount = 0;
+        estimatedBytes = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Object[] get(int index) {
+        return rows[index];
+    }
+
+    /**
+     * Get the index of the next tuple with the same key.
+     *
+     * @param index the index of current tuple
+     * @return the index, or -1 if there is no more
+     */
+    public int next(int index) {
+        return next[index];
+    }
+
+    public boolean isJoined(int index) {
+        return joined.get(index);
+    }
+
+    public void setJoined(int index) {
+        joined.set(index);
+    }
+
+    public void put(Object @NonNull [] tuple) {
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, size << 1);
+            next = Arrays.copyOf(next, size << 1);
+        }
+        int index = size++;
+        rows[index] = tuple;
+        next[index] = -1;
+        estimatedBytes += MemoryUtil.estimate(tuple) + 2 * Integer.BYTES;
+        int hash = hash(tuple, keyIndices);
+        int slot = findSlot(tuple, keyIndices, hash);
+        if (heads[slot] >= 0) {
+            next[tails[slot]] = index;
+            tails[slot] = index;
+            return;
+        }
+        heads[slot] = index;
+        tails[slot] = index;
+        hashes[slot] = hash;
+        if (++keyCount > (heads.length >> 1)) {
+            rehash();
+        }
+    }
+
+    /**
+     * Find the first tuple with the same key of the probing tuple.
+     *
+     * @param probe           the probing tuple
+     * @param probeKeyIndices the indices of key fields in the probing tuple
+     * @return the index of the found tuple, or -1 if not found
+     */
+    public int find(Object @NonNull [] probe, int @NonNull [] probeKeyIndices) {
+        return heads[findSlot(probe, probeKeyIndices, hash(probe, probeKeyIndices))];
+    }
+
+    private int findSlot(Object @NonNull [] tuple, int @NonNull [] indices, int hash) {
+        int mask = heads.length - 1;
+        int slot = hash & mask;
+        while (heads[slot] >= 0) {
+            if (hashes[slot] == hash && keyEquals(rows[heads[slot]], tuple, indices)) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean keyEquals(Object @NonNull [] row, Object @NonNull [] tuple, int @NonNull [] indices) {
+        for (int i = 0; i < keyIndices.length; ++i) {
+            if (!Objects.equals(row[keyIndices[i]], tuple[indices[i]])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        int[] oldHeads = heads;
+        int[] oldTails = tails;
+        int[] oldHashes = hashes;
+        int capacity = oldHeads.length << 1;
+        int mask = capacity - 1;
+        heads = new int[capacity];
+        tails = new int[capacity];
+        hashes = new int[capacity];
+        Arrays.fill(heads, -1);
+        for (int i = 0; i < oldHeads.length; ++i) {
+            if (oldHeads[i] < 0) {
+                continue;
+            }
+            int slot = oldHashes[i] & mask;
+            while (heads[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            heads[slot] = oldHeads[i];
+            tails[slot] = oldTails[i];
+            hashes[slot] = oldHashes[i];
+        }
+        estimatedBytes += (long) (capacity - oldHeads.length) * 3 * Integer.BYTES;
+    }
+}
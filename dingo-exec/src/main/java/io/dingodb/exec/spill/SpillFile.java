@@ -0,0 +1,178 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A local temporary file of length-prefixed records, written sequentially and then read back sequentially.
+ */
+@Slf4j
+public final class SpillFile implements AutoCloseable {
+    public static final String SPILL_DIR_PROPERTY = "dingo.exec.spillDir";
+    public static final String MEMORY_BUDGET_PROPERTY = "dingo.exec.memoryBudget";
+
+    // Default memory budget of each spillable operator, in bytes.
+    public static final long DEFAULT_MEMORY_BUDGET = Long.getLong(MEMORY_BUDGET_PROPERTY, 256L << 20);
+
+    private static final int BUFFER_SIZE = 64 << 10;
+
+    private final Path path;
+    // Streams of the iterators, which may be dropped before reaching the end.
+    private final List<DataInputStream> streams = new ArrayList<>();
+    private DataOutputStream os;
+    @Getter
+    private long bytes;
+    @Getter
+    private long count;
+
+    private SpillFile(Path path, DataOutputStream os) {
+        this.path = path;
+        this.os = os;
+        this.bytes = 0;
+        this.count = 0;
+    }
+
+    public static @NonNull SpillFile create(String prefix) throws IOException {
+        Path dir = Paths.get(System.getProperty(SPILL_DIR_PROPERTY, System.getProperty("java.io.tmpdir")));
+        Files.createDirectories(dir);
+        Path path = Files.createTempFile(dir, prefix, ".spill");
+        if (log.isDebugEnabled()) {
+            log.debug("Created spill file \"{}\".", path);
+        }
+        return new SpillFile(
+            path,
+            new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE))
+        );
+    }
+
+    /**
+     * Get the memory budget, the default one is used if the given one is not positive.
+     *
+     * @param memoryBudget the memory budget specified
+     * @return the memory budget
+     */
+    public static long memoryBudget(long memoryBudget) {
+        return memoryBudget > 0 ? memoryBudget : DEFAULT_MEMORY_BUDGET;
+    }
+
+    public void write(byte @NonNull [] record) throws IOException {
+        if (os == null) {
+            throw new IllegalStateException("Cannot write to spill file \"" + path + "\" after reading.");
+        }
+        os.writeInt(record.length);
+        os.write(record);
+        bytes += Integer.BYTES + record.length;
+        ++count;
+    }
+
+    /**
+     * Finish writing and read all the records back. Can be called more than once. The iterator need not be consumed
+     * to the end, its stream is closed with the file.
+     *
+     * @return the iterator of records
+     * @throws IOException if io error occurred
+     */
+    public @NonNull Iterator<byte[]> read() throws IOException {
+        if (os != null) {
+            os.close();
+            os = null;
+        }
+        DataInputStream is = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+        streams.add(is);
+        return new RecordIterator(is);
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (os != null) {
+                os.close();
+                os = null;
+            }
+            streams.forEach(SpillFile::closeStream);
+            streams.clear();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete spill file \"{}\".", path, e);
+        }
+    }
+
+    private static void closeStream(@NonNull Closeable is) {
+        try {
+            is.close();
+        } catch (IOException e) {
+            log.warn("Failed to close spill file stream.", e);
+        }
+    }
+
+    private static class RecordIterator implements Iterator<byte[]> {
+        private final DataInputStream is;
+        private byte[] next;
+
+        RecordIterator(DataInputStream is) {
+            this.is = is;
+            advance();
+        }
+
+        private void advance() {
+            try {
+                int length = is.readInt();
+                next = new byte[length];
+                is.readFully(next);
+            } catch (EOFException e) {
+                next = null;
+                closeStream(is);
+            } catch (IOException e) {
+                closeStream(is);
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public byte[] next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            byte[] result = next;
+            advance();
+            return result;
+        }
+    }
+}
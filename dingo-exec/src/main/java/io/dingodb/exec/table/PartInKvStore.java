@@ -33,23 +33,104 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static io.dingodb.common.util.NoBreakFunctions.wrap;
 
 @Slf4j
 public final class PartInKvStore implements Part {
+    private static final int DELETE_RANGE_BATCH_SIZE = 1024;
+
     private final StoreInstance store;
     @Getter
     private final KeyValueCodec codec;
+    private final List<PartIndex> indexes;
+    // Primary keys of the rows being inserted by batches not finished, which are taken as existing.
+    private final Set<byte[]> insertingKeys = new TreeSet<>(ByteArrayUtils::compare);
 
     public PartInKvStore(StoreInstance store, DingoType schema, TupleMapping keyMapping) {
+        this(store, schema, keyMapping, Collections.emptyList());
+    }
+
+    public PartInKvStore(
+        StoreInstance store,
+        DingoType schema,
+        TupleMapping keyMapping,
+        @NonNull List<PartIndex> indexes
+    ) {
         this.store = store;
         this.codec = new DingoKeyValueCodec(schema, keyMapping);
+        this.indexes = indexes;
+        indexes.forEach(index -> index.init(schema));
+    }
+
+    private @NonNull List<byte[]> encodeIndexKeys(Object @NonNull [] tuple, byte[] primaryKey) throws IOException {
+        List<byte[]> indexKeys = new ArrayList<>(indexes.size());
+        for (PartIndex index : indexes) {
+            indexKeys.add(index.encodeKey(tuple, primaryKey));
+        }
+        return indexKeys;
+    }
+
+    private @NonNull List<byte[]> encodeErasedIndexKeys(
+        Object @Nullable [] oldTuple,
+        @NonNull List<byte[]> indexKeys,
+        byte[] primaryKey
+    ) throws IOException {
+        if (oldTuple == null) {
+            return Collections.emptyList();
+        }
+        List<byte[]> oldIndexKeys = encodeIndexKeys(oldTuple, primaryKey);
+        List<byte[]> erasedIndexKeys = new ArrayList<>(indexes.size());
+        for (int i = 0; i < indexes.size(); ++i) {
+            if (Arrays.equals(oldIndexKeys.get(i), indexKeys.get(i))) {
+                continue;
+            }
+            erasedIndexKeys.add(oldIndexKeys.get(i));
+        }
+        return erasedIndexKeys;
+    }
+
+    private void upsert(@NonNull KeyValue row, Object @Nullable [] oldTuple, Object @NonNull [] tuple)
+        throws IOException {
+        if (indexes.isEmpty()) {
+            store.upsertKeyValue(row);
+            return;
+        }
+        byte[] primaryKey = row.getPrimaryKey();
+        List<byte[]> indexKeys = encodeIndexKeys(tuple, primaryKey);
+        store.upsertKeyValue(row, encodeErasedIndexKeys(oldTuple, indexKeys, primaryKey), indexKeys);
+    }
+
+    private @NonNull CompletableFuture<Boolean> upsertAsync(
+        @NonNull List<KeyValue> rows,
+        @Nullable List<Object[]> oldTuples,
+        @NonNull List<Object[]> tuples
+    ) throws IOException {
+        if (rows.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (indexes.isEmpty()) {
+            return store.upsertKeyValueAsync(rows);
+        }
+        List<List<byte[]>> erasedIndexKeysList = new ArrayList<>(rows.size());
+        List<List<byte[]>> indexKeysList = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); ++i) {
+            byte[] primaryKey = rows.get(i).getPrimaryKey();
+            List<byte[]> indexKeys = encodeIndexKeys(tuples.get(i), primaryKey);
+            Object[] oldTuple = oldTuples != null ? oldTuples.get(i) : null;
+            erasedIndexKeysList.add(encodeErasedIndexKeys(oldTuple, indexKeys, primaryKey));
+            indexKeysList.add(indexKeys);
+        }
+        return store.upsertKeyValueAsync(rows, erasedIndexKeysList, indexKeysList);
     }
 
     @Override
@@ -67,6 +148,16 @@ public final class PartInKvStore implements Part {
         }
     }
 
+    @Override
+    public @NonNull List<Iterator<Object[]>> getIterators(int parallelism) {
+        return store.keyValueScanSplits(parallelism).stream()
+            .map(it -> Iterators.transform(
+                it,
+                wrap(codec::decode, e -> log.error("Iterator: decode error.", e))::apply
+            ))
+            .collect(Collectors.toList());
+    }
+
     @Override
     public @NonNull Iterator<Object[]> getIteratorByRange(
         byte[] startKey, byte[] endKey, boolean includeStart, boolean includeEnd, boolean prefixScan
@@ -93,9 +184,67 @@ public final class PartInKvStore implements Part {
         }
     }
 
+    /**
+     * Get the rows by the entries of a secondary index in range [start, end) of a part. An entry is ignored if it does
+     * not match the current values of the row, which may be left by truncating.
+     *
+     * @param partKey  the start key of the part
+     * @param index    the index
+     * @param startKey the start index key
+     * @param endKey   the end index key
+     * @return the iterator of the rows
+     */
+    public @NonNull Iterator<Object[]> getIteratorByIndex(
+        byte[] partKey,
+        @NonNull PartIndex index,
+        byte[] startKey,
+        byte[] endKey
+    ) {
+        Iterator<Object[]> iterator = Iterators.transform(store.indexScan(partKey, startKey, endKey), entry -> {
+            byte[] primaryKey = entry.getValue();
+            byte[] value = store.getValueByPrimaryKey(primaryKey);
+            if (value == null) {
+                return null;
+            }
+            try {
+                Object[] tuple = codec.decode(new KeyValue(primaryKey, value));
+                if (Arrays.equals(index.encodeKey(tuple, primaryKey), entry.getKey())) {
+                    return tuple;
+                }
+            } catch (IOException e) {
+                log.error("Iterator by index: codec error.", e);
+            }
+            return null;
+        });
+        return Iterators.filter(iterator, Objects::nonNull);
+    }
+
     @Override
     public long countDeleteByRange(byte[] startPrimaryKey, byte[] endPrimaryKey) {
-        return store.countDeleteByRange(startPrimaryKey, endPrimaryKey);
+        if (indexes.isEmpty()) {
+            return store.countDeleteByRange(startPrimaryKey, endPrimaryKey);
+        }
+        // The index keys are computed from the rows, so the rows are deleted in batches together with their entries.
+        long count = 0;
+        Iterator<KeyValue> iterator = store.keyValueScan(startPrimaryKey, endPrimaryKey, true, false);
+        List<byte[]> primaryKeys = new ArrayList<>(DELETE_RANGE_BATCH_SIZE);
+        List<List<byte[]>> erasedIndexKeysList = new ArrayList<>(DELETE_RANGE_BATCH_SIZE);
+        try {
+            while (iterator.hasNext()) {
+                KeyValue row = iterator.next();
+                primaryKeys.add(row.getPrimaryKey());
+                erasedIndexKeysList.add(encodeIndexKeys(codec.decode(row), row.getPrimaryKey()));
+                if (primaryKeys.size() >= DELETE_RANGE_BATCH_SIZE || !iterator.hasNext()) {
+                    store.delete(primaryKeys, erasedIndexKeysList);
+                    count += primaryKeys.size();
+                    primaryKeys.clear();
+                    erasedIndexKeysList.clear();
+                }
+            }
+        } catch (IOException e) {
+            log.error("Delete by range: codec error.", e);
+        }
+        return count;
     }
 
     @Override
@@ -104,7 +253,7 @@ public final class PartInKvStore implements Part {
         try {
             KeyValue row = codec.encode(tuple);
             if (!store.exist(row.getPrimaryKey())) {
-                store.upsertKeyValue(row);
+                upsert(row, null, tuple);
                 return true;
             }
         } catch (IOException e) {
@@ -117,12 +266,65 @@ public final class PartInKvStore implements Part {
         return false;
     }
 
+    @Override
+    public @NonNull CompletableFuture<Long> insertAsync(@NonNull List<Object[]> tuples) {
+        try {
+            List<KeyValue> rows = new ArrayList<>(tuples.size());
+            for (Object[] tuple : tuples) {
+                rows.add(codec.encode(tuple));
+            }
+            List<byte[]> primaryKeys = rows.stream().map(KeyValue::getPrimaryKey).collect(Collectors.toList());
+            // Keys of unfinished batches must be checked before reading the store, for they are removed only after
+            // written, when the following reading sees them.
+            Set<byte[]> skippedKeys = new TreeSet<>(ByteArrayUtils::compare);
+            synchronized (insertingKeys) {
+                primaryKeys.stream().filter(insertingKeys::contains).forEach(skippedKeys::add);
+            }
+            List<KeyValue> oldRows = store.getKeyValueByPrimaryKeys(primaryKeys);
+            // Rows with the same primary key in one batch are inserted only once, like inserting one by one.
+            List<KeyValue> newRows = new ArrayList<>(rows.size());
+            List<Object[]> newTuples = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); ++i) {
+                KeyValue row = rows.get(i);
+                KeyValue oldRow = oldRows.get(i);
+                if ((oldRow == null || oldRow.getValue() == null) && skippedKeys.add(row.getPrimaryKey())) {
+                    newRows.add(row);
+                    newTuples.add(tuples.get(i));
+                }
+            }
+            if (newRows.isEmpty()) {
+                return CompletableFuture.completedFuture(0L);
+            }
+            synchronized (insertingKeys) {
+                newRows.forEach(row -> insertingKeys.add(row.getPrimaryKey()));
+            }
+            return upsertAsync(newRows, null, newTuples)
+                .whenComplete((r, e) -> {
+                    synchronized (insertingKeys) {
+                        newRows.forEach(row -> insertingKeys.remove(row.getPrimaryKey()));
+                    }
+                })
+                .thenApply(r -> (long) newRows.size());
+        } catch (IOException e) {
+            log.error("Insert: encode error.", e);
+        }
+        return CompletableFuture.completedFuture(0L);
+    }
+
     @Override
     public void upsert(Object @NonNull [] tuple) {
         final long startTime = System.currentTimeMillis();
         try {
             KeyValue row = codec.encode(tuple);
-            store.upsertKeyValue(row);
+            Object[] oldTuple = null;
+            if (!indexes.isEmpty()) {
+                // The entries of the overwritten row must be erased.
+                byte[] oldValue = store.getValueByPrimaryKey(row.getPrimaryKey());
+                if (oldValue != null) {
+                    oldTuple = codec.decode(new KeyValue(row.getPrimaryKey(), oldValue));
+                }
+            }
+            upsert(row, oldTuple, tuple);
         } catch (IOException e) {
             log.error("Upsert: encode error.", e);
         } finally {
@@ -132,12 +334,47 @@ public final class PartInKvStore implements Part {
         }
     }
 
+    @Override
+    public void update(Object @NonNull [] oldTuple, Object @NonNull [] tuple) {
+        final long startTime = System.currentTimeMillis();
+        try {
+            KeyValue row = codec.encode(tuple);
+            upsert(row, oldTuple, tuple);
+        } catch (IOException e) {
+            log.error("Update: encode error.", e);
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug("PartInKvStore update cost: {}ms.", System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Long> updateAsync(
+        @NonNull List<Object[]> oldTuples,
+        @NonNull List<Object[]> tuples
+    ) {
+        try {
+            List<KeyValue> rows = new ArrayList<>(tuples.size());
+            for (Object[] tuple : tuples) {
+                rows.add(codec.encode(tuple));
+            }
+            return upsertAsync(rows, oldTuples, tuples).thenApply(r -> (long) tuples.size());
+        } catch (IOException e) {
+            log.error("Update: encode error.", e);
+        }
+        return CompletableFuture.completedFuture(0L);
+    }
+
     @Override
     public boolean remove(Object @NonNull [] tuple) {
         final long startTime = System.currentTimeMillis();
         try {
             KeyValue row = codec.encode(tuple);
-            return store.delete(row.getPrimaryKey());
+            if (indexes.isEmpty()) {
+                return store.delete(row.getPrimaryKey());
+            }
+            return store.delete(row.getPrimaryKey(), encodeIndexKeys(tuple, row.getPrimaryKey()));
         } catch (IOException e) {
             log.error("Remove: encode error.", e);
         } finally {
@@ -148,6 +385,46 @@ public final class PartInKvStore implements Part {
         return false;
     }
 
+    @Override
+    public @NonNull CompletableFuture<Long> removeAsync(@NonNull List<Object[]> tuples) {
+        if (tuples.isEmpty()) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        try {
+            List<byte[]> primaryKeys = new ArrayList<>(tuples.size());
+            for (Object[] tuple : tuples) {
+                primaryKeys.add(codec.encode(tuple).getPrimaryKey());
+            }
+            // Only the existing rows are counted, and the rows with the same primary key in one batch only once.
+            List<KeyValue> oldRows = store.getKeyValueByPrimaryKeys(primaryKeys);
+            Set<byte[]> deletedKeys = new TreeSet<>(ByteArrayUtils::compare);
+            List<byte[]> deletingKeys = new ArrayList<>(tuples.size());
+            List<Object[]> deletingTuples = new ArrayList<>(tuples.size());
+            for (int i = 0; i < tuples.size(); ++i) {
+                KeyValue oldRow = oldRows.get(i);
+                if (oldRow != null && oldRow.getValue() != null && deletedKeys.add(primaryKeys.get(i))) {
+                    deletingKeys.add(primaryKeys.get(i));
+                    deletingTuples.add(tuples.get(i));
+                }
+            }
+            if (deletingKeys.isEmpty()) {
+                return CompletableFuture.completedFuture(0L);
+            }
+            long count = deletingKeys.size();
+            if (indexes.isEmpty()) {
+                return store.deleteAsync(deletingKeys).thenApply(r -> r ? count : 0L);
+            }
+            List<List<byte[]>> erasedIndexKeysList = new ArrayList<>(deletingKeys.size());
+            for (int i = 0; i < deletingKeys.size(); ++i) {
+                erasedIndexKeysList.add(encodeIndexKeys(deletingTuples.get(i), deletingKeys.get(i)));
+            }
+            return store.deleteAsync(deletingKeys, erasedIndexKeysList).thenApply(r -> r ? count : 0L);
+        } catch (IOException e) {
+            log.error("Remove: encode error.", e);
+        }
+        return CompletableFuture.completedFuture(0L);
+    }
+
     @Override
     public long getEntryCntAndDeleteByPart(@NonNull List<String> startKeyList) {
         return getEntryCntOrDeleteByPart(startKeyList, true);
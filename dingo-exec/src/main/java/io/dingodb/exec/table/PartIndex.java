@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.table;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.dingodb.common.codec.Codec;
+import io.dingodb.common.codec.DingoCodec;
+import io.dingodb.common.table.IndexDefinition;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+
+/**
+ * A secondary index of a table in the operators, which encodes the index keys of tuples.
+ */
+@JsonPropertyOrder({"name", "mapping"})
+public final class PartIndex {
+    @JsonProperty("name")
+    @Getter
+    private final String name;
+    @JsonProperty("mapping")
+    @Getter
+    private final TupleMapping mapping;
+
+    private byte[] prefix;
+    private Codec codec;
+
+    @JsonCreator
+    public PartIndex(
+        @JsonProperty("name") String name,
+        @JsonProperty("mapping") TupleMapping mapping
+    ) {
+        this.name = name;
+        this.mapping = mapping;
+    }
+
+    public void init(@NonNull DingoType schema) {
+        prefix = IndexDefinition.keyPrefix(name);
+        codec = new DingoCodec(schema.select(mapping).toDingoSchemas(), null, true);
+    }
+
+    /**
+     * Encode the index key of a tuple.
+     *
+     * @param tuple      the tuple
+     * @param primaryKey the encoded primary key of the tuple
+     * @return the index key
+     */
+    public byte @NonNull [] encodeKey(Object @NonNull [] tuple, byte @NonNull [] primaryKey) throws IOException {
+        return IndexDefinition.concat(prefix, codec.encodeKeyForRangeScan(mapping.revMap(tuple)), primaryKey);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.tuple;
+
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A batch of tuples with an optional selection vector, pushed between operators in one call.
+ *
+ * <p>The rows are shared between batches derived by {@link #select(int[], int)}, so operators must not modify a batch
+ * pushed in, but create a new one instead. The tuples are still boxed {@code Object[]}s, for the expressions are
+ * evaluated on tuples.
+ */
+public final class TupleBatch {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Object[][] rows;
+    @Getter
+    private int rowCount;
+    // `null` means all the rows are selected.
+    private final int @Nullable [] selection;
+    private final int selectedCount;
+
+    public TupleBatch(int capacity) {
+        this.rows = new Object[capacity][];
+        this.rowCount = 0;
+        this.selection = null;
+        this.selectedCount = -1;
+    }
+
+    public TupleBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private TupleBatch(Object[][] rows, int rowCount, int @NonNull [] selection, int selectedCount) {
+        this.rows = rows;
+        this.rowCount = rowCount;
+        this.selection = selection;
+        this.selectedCount = selectedCount;
+    }
+
+    public static @NonNull TupleBatch of(Object[] @NonNull ... tuples) {
+        TupleBatch batch = new TupleBatch(tuples.length);
+        for (Object[] tuple : tuples) {
+            batch.add(tuple);
+        }
+        return batch;
+    }
+
+    public int capacity() {
+        return rows.length;
+    }
+
+    public boolean isFull() {
+        return rowCount >= rows.length;
+    }
+
+    /**
+     * Append a tuple to the batch. Only batches without a selection vector can be appended.
+     *
+     * @param tuple the tuple
+     */
+    public void add(Object[] tuple) {
+        if (selection != null) {
+            throw new IllegalStateException("Cannot append tuples to a batch with selection vector.");
+        }
+        rows[rowCount++] = tuple;
+    }
+
+    /**
+     * Get the number of the selected tuples.
+     *
+     * @return the number
+     */
+    public int size() {
+        return selection != null ? selectedCount : rowCount;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Get the i-th selected tuple.
+     *
+     * @param index the index in selected tuples
+     * @return the tuple
+     */
+    public Object[] get(int index) {
+        return selection != null ? rows[selection[index]] : rows[index];
+    }
+
+    /**
+     * Get the position of the i-th selected tuple in the underlying rows.
+     *
+     * @param index the index in selected tuples
+     * @return the position
+     */
+    public int position(int index) {
+        return selection != null ? selection[index] : index;
+    }
+
+    /**
+     * Create a new batch sharing the rows of this batch, with a new selection vector.
+     *
+     * @param positions the positions of selected rows, as returned by {@link #position(int)}
+     * @param count     the number of valid elements in {@code positions}
+     * @return the new batch
+     */
+    public @NonNull TupleBatch select(int @NonNull [] positions, int count) {
+        return new TupleBatch(rows, rowCount, positions, count);
+    }
+
+    /**
+     * Copy the selected tuples into a new array.
+     *
+     * @return the tuples
+     */
+    public Object[] @NonNull [] toArray() {
+        if (selection == null) {
+            return Arrays.copyOf(rows, rowCount);
+        }
+        Object[][] result = new Object[selectedCount][];
+        for (int i = 0; i < selectedCount; ++i) {
+            result[i] = rows[selection[i]];
+        }
+        return result;
+    }
+}
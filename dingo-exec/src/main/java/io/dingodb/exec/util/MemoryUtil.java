@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public final class MemoryUtil {
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+
+    private MemoryUtil() {
+    }
+
+    /**
+     * Estimate the heap size of a tuple roughly, to keep memory consuming operators within their budget.
+     *
+     * @param tuple the tuple
+     * @return the estimated size in bytes
+     */
+    public static long estimate(Object @NonNull [] tuple) {
+        long size = OBJECT_HEADER + (long) REFERENCE * tuple.length;
+        for (Object value : tuple) {
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof String) {
+                size += OBJECT_HEADER * 3 + ((String) value).length();
+            } else if (value instanceof byte[]) {
+                size += OBJECT_HEADER + ((byte[]) value).length;
+            } else {
+                size += OBJECT_HEADER * 2;
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSpillableAggCache {
+    private static final int GROUPS = 1000;
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("INTEGER", "LONG");
+
+    private static @NonNull SpillableAggCache cache(boolean reducing, long memoryBudget) {
+        List<Agg> aggList = Collections.singletonList(new CountAgg(1));
+        return new SpillableAggCache(
+            TupleMapping.of(new int[]{0}), aggList, reducing, SCHEMA, memoryBudget, "test-agg"
+        );
+    }
+
+    private static @NonNull List<Object[]> results(@NonNull SpillableAggCache cache) throws IOException {
+        List<Object[]> results = new ArrayList<>();
+        cache.forEach(results::add);
+        return results;
+    }
+
+    // Every group has `count` tuples.
+    private static @NonNull List<Object[]> expected(long count) {
+        List<Object[]> expected = new ArrayList<>();
+        for (int i = 0; i < GROUPS; ++i) {
+            expected.add(new Object[]{i, count});
+        }
+        return expected;
+    }
+
+    private static void addConcurrently(
+        @NonNull SpillableAggCache cache,
+        int threads,
+        Object[]... tuples
+    ) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(threads);
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        for (int t = 0; t < threads; ++t) {
+            new Thread(() -> {
+                try {
+                    for (Object[] tuple : tuples) {
+                        cache.add(tuple);
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        assertThat(errors).isEmpty();
+    }
+
+    private static Object[][] tuples(int rounds) {
+        Object[][] tuples = new Object[GROUPS * rounds][];
+        for (int i = 0; i < tuples.length; ++i) {
+            tuples[i] = new Object[]{i % GROUPS, (long) i};
+        }
+        return tuples;
+    }
+
+    @Test
+    public void testMergePartials() throws Exception {
+        try (SpillableAggCache cache = cache(false, Long.MAX_VALUE)) {
+            addConcurrently(cache, 4, tuples(3));
+            assertThat(results(cache)).containsExactlyInAnyOrderElementsOf(expected(12));
+            assertThat(cache.getSpillBytes()).isZero();
+        }
+    }
+
+    @Test
+    public void testSpill() throws Exception {
+        try (SpillableAggCache cache = cache(false, 1)) {
+            for (Object[] tuple : tuples(3)) {
+                cache.add(tuple);
+            }
+            assertThat(results(cache)).containsExactlyInAnyOrderElementsOf(expected(3));
+            assertThat(cache.getSpillBytes()).isPositive();
+        }
+    }
+
+    @Test
+    public void testSpillAndMergePartials() throws Exception {
+        try (SpillableAggCache cache = cache(false, 1)) {
+            addConcurrently(cache, 4, tuples(3));
+            assertThat(results(cache)).containsExactlyInAnyOrderElementsOf(expected(12));
+            assertThat(cache.getSpillBytes()).isPositive();
+        }
+    }
+
+    @Test
+    public void testReduceWithSpill() throws Exception {
+        Object[][] partials = new Object[GROUPS * 2][];
+        for (int i = 0; i < partials.length; ++i) {
+            partials[i] = new Object[]{i % GROUPS, 5L};
+        }
+        try (SpillableAggCache cache = cache(true, 1)) {
+            addConcurrently(cache, 2, partials);
+            assertThat(results(cache)).containsExactlyInAnyOrderElementsOf(expected(20));
+            assertThat(cache.getSpillBytes()).isPositive();
+        }
+    }
+
+    @Test
+    public void testReuseAfterClose() throws Exception {
+        SpillableAggCache cache = cache(false, 1);
+        for (Object[] tuple : tuples(1)) {
+            cache.add(tuple);
+        }
+        cache.close();
+        for (Object[] tuple : tuples(2)) {
+            cache.add(tuple);
+        }
+        assertThat(results(cache)).containsExactlyInAnyOrderElementsOf(expected(2));
+        cache.close();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.channel;
+
+import io.dingodb.net.Channel;
+import io.dingodb.net.Message;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TestEndpoint {
+    private static final String TAG = "test-endpoint";
+    private static final int WINDOW = (int) ReceiveEndpoint.INITIAL_WINDOW;
+
+    private Channel dataChannel;
+    private SendEndpoint sendEndpoint;
+    private ReceiveEndpoint receiveEndpoint;
+
+    // Control messages are delivered to the endpoint manager directly.
+    private static @NonNull Channel controlChannel() {
+        Channel channel = Mockito.mock(Channel.class);
+        doAnswer(invocation -> {
+            EndpointManager.INSTANCE.onControlMessage(invocation.getArgument(0));
+            return null;
+        }).when(channel).send(any(Message.class));
+        return channel;
+    }
+
+    private @NonNull CompletableFuture<Boolean> sendAsync(int bytes) {
+        return CompletableFuture.supplyAsync(() -> sendEndpoint.send(new byte[bytes]));
+    }
+
+    @BeforeEach
+    public void setup() {
+        dataChannel = Mockito.mock(Channel.class);
+        sendEndpoint = new SendEndpoint("localhost", 0, TAG);
+        sendEndpoint.init(dataChannel);
+        receiveEndpoint = new ReceiveEndpoint("localhost", 0, TAG);
+        receiveEndpoint.init(controlChannel());
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        sendEndpoint.close();
+    }
+
+    @Test
+    public void testBlockAtZeroCredit() throws Exception {
+        // Use up the initial window.
+        assertThat(sendEndpoint.send(new byte[WINDOW])).isTrue();
+        CompletableFuture<Boolean> future = sendAsync(100);
+        Thread.sleep(200);
+        assertThat(future).isNotDone();
+        verify(dataChannel, times(1)).send(any(Message.class));
+        receiveEndpoint.onReceived(WINDOW);
+        receiveEndpoint.onConsumed(WINDOW, false);
+        assertThat(future.get(10, TimeUnit.SECONDS)).isTrue();
+        verify(dataChannel, times(2)).send(any(Message.class));
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        assertThat(sendEndpoint.send(new byte[WINDOW])).isTrue();
+        CompletableFuture<Boolean> future = sendAsync(100);
+        Thread.sleep(200);
+        assertThat(future).isNotDone();
+        receiveEndpoint.sendControlMessage(ControlStatus.STOP);
+        assertThat(future.get(10, TimeUnit.SECONDS)).isFalse();
+        // Nothing is sent after stopped, except the needed.
+        assertThat(sendEndpoint.send(new byte[100])).isFalse();
+        verify(dataChannel, times(1)).send(any(Message.class));
+        assertThat(sendEndpoint.send(new byte[100], true)).isFalse();
+        verify(dataChannel, times(2)).send(any(Message.class));
+    }
+
+    @Test
+    public void testStopBeforeRegistered() throws Exception {
+        sendEndpoint.close();
+        receiveEndpoint.sendControlMessage(ControlStatus.STOP);
+        sendEndpoint = new SendEndpoint("localhost", 0, TAG);
+        sendEndpoint.init(dataChannel);
+        // The early STOP is dropped, and sent again when the stopped receiver gets a message.
+        assertThat(sendEndpoint.send(new byte[100])).isTrue();
+        receiveEndpoint.onReceived(100);
+        assertThat(sendEndpoint.send(new byte[100])).isFalse();
+    }
+
+    @Test
+    public void testLateMessagesDropped() throws Exception {
+        assertThat(sendEndpoint.send(new byte[WINDOW])).isTrue();
+        receiveEndpoint.onReceived(WINDOW);
+        sendEndpoint.send(new byte[0], true);
+        sendEndpoint.close();
+        // Arriving after the send endpoint is unregistered.
+        receiveEndpoint.onConsumed(WINDOW, false);
+        receiveEndpoint.sendControlMessage(ControlStatus.STOP);
+        // Not applied to a new endpoint of the same tag.
+        sendEndpoint = new SendEndpoint("localhost", 0, TAG);
+        sendEndpoint.init(dataChannel);
+        assertThat(sendEndpoint.send(new byte[WINDOW])).isTrue();
+        CompletableFuture<Boolean> future = sendAsync(100);
+        Thread.sleep(200);
+        assertThat(future).isNotDone();
+        sendEndpoint.onStop();
+        assertThat(future.join()).isFalse();
+    }
+}
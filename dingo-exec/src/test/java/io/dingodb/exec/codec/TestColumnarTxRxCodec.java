@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import io.dingodb.common.type.DingoTypeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestColumnarTxRxCodec {
+    @Test
+    public void testEncodeDecode() throws IOException {
+        TxRxCodec codec = TxRxCodec.of(DingoTypeFactory.tuple("INTEGER", "STRING", "DOUBLE", "BOOL"));
+        assertThat(codec).isInstanceOf(ColumnarTxRxCodec.class);
+        List<Object[]> tuples = Arrays.asList(
+            new Object[]{1, "Alice", 1.0, true},
+            new Object[]{2, null, null, false},
+            new Object[]{null, "Cindy", 3.5, null}
+        );
+        List<Object[]> decoded = new ArrayList<>();
+        codec.decodeMessage(codec.encodeMessage(tuples), decoded::add);
+        assertThat(decoded).containsExactlyElementsOf(tuples);
+    }
+}
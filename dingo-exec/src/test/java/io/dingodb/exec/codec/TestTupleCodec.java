@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestTupleCodec {
+    @Test
+    public void testRoundTrip() throws IOException {
+        DingoType schema = DingoTypeFactory.tuple("INTEGER", "STRING", "DOUBLE", "BOOL", "LONG");
+        TupleCodec codec = new TupleCodec(schema);
+        Object[] tuple = new Object[]{1, "Alice", 3.5, true, 10000000000L};
+        assertThat(codec.decode(codec.encode(tuple))).containsExactly(1, "Alice", 3.5, true, 10000000000L);
+    }
+
+    @Test
+    public void testRoundTripWithNulls() throws IOException {
+        DingoType schema = DingoTypeFactory.tuple("INTEGER", "STRING|NULL", "DOUBLE|NULL");
+        TupleCodec codec = new TupleCodec(schema);
+        Object[] tuple = new Object[]{2, null, null};
+        assertThat(codec.decode(codec.encode(tuple))).containsExactly(2, null, null);
+    }
+}
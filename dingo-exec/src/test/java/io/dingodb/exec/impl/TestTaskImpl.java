@@ -21,17 +21,25 @@ import io.dingodb.common.Location;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.DingoTypeFactory;
 import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.Task;
 import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.operator.FilterOperator;
 import io.dingodb.exec.operator.ProjectOperator;
 import io.dingodb.exec.operator.RootOperator;
 import io.dingodb.exec.operator.ValuesOperator;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 public class TestTaskImpl {
     @Test
@@ -95,4 +103,125 @@ public class TestTaskImpl {
             root.popValue();
         }
     }
+
+    @Test
+    public void testFilterInBatches() {
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        List<Object[]> tuples = new ArrayList<>();
+        for (int i = 0; i < 3000; ++i) {
+            tuples.add(new Object[]{i});
+        }
+        ValuesOperator values = new ValuesOperator(tuples, DingoTypeFactory.tuple("INTEGER"));
+        values.setId(new Id("0"));
+        task.putOperator(values);
+        FilterOperator filter = new FilterOperator(
+            new SqlExpr("_[0] >= 1022 && _[0] <= 1025", DingoTypeFactory.scalar("BOOL")),
+            DingoTypeFactory.tuple("INTEGER")
+        );
+        filter.setId(new Id("1"));
+        task.putOperator(filter);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INTEGER"));
+        root.setId(new Id("2"));
+        task.putOperator(root);
+        values.getSoleOutput().setLink(filter.getInput(0));
+        filter.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        task.run();
+        // The matched tuples span two batches.
+        assertThat(root.popValue()).containsExactly(1022);
+        assertThat(root.popValue()).containsExactly(1023);
+        assertThat(root.popValue()).containsExactly(1024);
+        assertThat(root.popValue()).containsExactly(1025);
+        assertThat(root.popValue()).isSameAs(RootOperator.FIN);
+    }
+
+    @Test
+    public void testSerialize() throws IOException {
+        DingoType parasType = DingoTypeFactory.tuple("INT", "STRING");
+        TaskImpl task = new TaskImpl(new Id("0"), new Id("job"), new Location("localhost", 0), parasType);
+        ValuesOperator values = new ValuesOperator(
+            ImmutableList.of(new Object[]{0}),
+            DingoTypeFactory.tuple("INT")
+        );
+        values.setId(new Id("0"));
+        task.putOperator(values);
+        ProjectOperator project = new ProjectOperator(
+            Arrays.asList(
+                new SqlExpr("_P[0]", DingoTypeFactory.scalar("INT")),
+                new SqlExpr("_P[1]", DingoTypeFactory.scalar("STRING"))
+            ),
+            DingoTypeFactory.tuple("INT")
+        );
+        project.setId(new Id("1"));
+        task.putOperator(project);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INTEGER", "STRING"));
+        root.setId(new Id("2"));
+        task.putOperator(root);
+        values.getSoleOutput().setLink(project.getInput(0));
+        project.getSoleOutput().setLink(root.getInput(0));
+        task.setParas(new Object[]{1, "Alice"});
+        TaskImpl task1 = TaskImpl.deserialize(task.serialize(true));
+        assertThat(task1).isNotNull();
+        assertThat(task1.getJobId()).isEqualTo(new Id("job"));
+        assertThat(task1.getPlanHash()).isEqualTo(task.getPlanHash());
+        task1.init();
+        task1.run();
+        assertThat(task1.getRoot().popValue()).containsExactly(1, "Alice");
+        // Only the hash and the parameters are sent.
+        task.setParas(new Object[]{2, "Betty"});
+        TaskImpl task2 = TaskImpl.deserialize(task.serialize(false));
+        assertThat(task2).isNotNull();
+        task2.init();
+        task2.run();
+        assertThat(task2.getRoot().popValue()).containsExactly(2, "Betty");
+    }
+
+    // A task producing more tuples than the capacity of the root.
+    private static @NonNull RootOperator blockedRoot(@NonNull Task task) {
+        List<Object[]> tuples = new ArrayList<>();
+        for (int i = 0; i < 10000; ++i) {
+            tuples.add(new Object[]{i});
+        }
+        ValuesOperator values = new ValuesOperator(tuples, DingoTypeFactory.tuple("INTEGER"));
+        values.setId(new Id("0"));
+        task.putOperator(values);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INTEGER"), 16);
+        root.setId(new Id("1"));
+        task.putOperator(root);
+        values.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        task.run();
+        return root;
+    }
+
+    private static void assertFinished(@NonNull RootOperator root) {
+        // Pushing is stopped, so the FIN comes instead of the remaining tuples.
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            int count = 0;
+            while (root.popValue() != RootOperator.FIN) {
+                ++count;
+            }
+            assertThat(count).isLessThan(10000);
+        });
+    }
+
+    @Test
+    public void testCloseIterator() {
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        RootOperator root = blockedRoot(task);
+        RootOperator.TupleIterator iterator = root.getIterator();
+        assertThat(iterator.next()).containsExactly(0);
+        iterator.close();
+        assertFinished(root);
+    }
+
+    @Test
+    public void testRemoveJob() {
+        Id jobId = new Id("testRemoveJob");
+        Job job = JobManagerImpl.INSTANCE.createJob(jobId, null);
+        RootOperator root = blockedRoot(job.create(new Id("0"), Mockito.mock(Location.class), null));
+        assertThat(root.popValue()).containsExactly(0);
+        assertThat(JobManagerImpl.INSTANCE.removeJob(jobId)).isSameAs(job);
+        assertFinished(root);
+    }
 }
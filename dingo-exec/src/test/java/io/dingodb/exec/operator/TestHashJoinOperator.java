@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.impl.TaskImpl;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestHashJoinOperator {
+    private static final DingoType LEFT_SCHEMA = DingoTypeFactory.tuple("INTEGER", "STRING");
+    private static final DingoType RIGHT_SCHEMA = DingoTypeFactory.tuple("INTEGER", "STRING", "DOUBLE|NULL");
+
+    private static @NonNull List<Object[]> leftTuples() {
+        List<Object[]> tuples = new ArrayList<>();
+        for (int i = 0; i < 500; ++i) {
+            tuples.add(new Object[]{i % 150, "L" + i});
+        }
+        return tuples;
+    }
+
+    private static @NonNull List<Object[]> rightTuples() {
+        List<Object[]> tuples = new ArrayList<>();
+        for (int i = 0; i < 300; ++i) {
+            tuples.add(new Object[]{i % 200 + 100, "R" + i, i % 7 == 0 ? null : i * 0.5});
+        }
+        return tuples;
+    }
+
+    // Nested loop join as the expected result.
+    private static @NonNull List<Object[]> expected(boolean leftRequired, boolean rightRequired) {
+        List<Object[]> left = leftTuples();
+        List<Object[]> right = rightTuples();
+        boolean[] rightJoined = new boolean[right.size()];
+        List<Object[]> result = new ArrayList<>();
+        for (Object[] l : left) {
+            boolean joined = false;
+            for (int i = 0; i < right.size(); ++i) {
+                Object[] r = right.get(i);
+                if (Objects.equals(l[0], r[0])) {
+                    result.add(concat(l, r));
+                    joined = true;
+                    rightJoined[i] = true;
+                }
+            }
+            if (!joined && leftRequired) {
+                result.add(concat(l, new Object[3]));
+            }
+        }
+        if (rightRequired) {
+            for (int i = 0; i < right.size(); ++i) {
+                if (!rightJoined[i]) {
+                    result.add(concat(new Object[2], right.get(i)));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Object @NonNull [] concat(Object @NonNull [] left, Object @NonNull [] right) {
+        Object[] tuple = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, tuple, left.length, right.length);
+        return tuple;
+    }
+
+    private static @NonNull List<Object[]> join(boolean leftRequired, boolean rightRequired, long memoryBudget) {
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        ValuesOperator left = new ValuesOperator(leftTuples(), LEFT_SCHEMA);
+        left.setId(new Id("0"));
+        task.putOperator(left);
+        ValuesOperator right = new ValuesOperator(rightTuples(), RIGHT_SCHEMA);
+        right.setId(new Id("1"));
+        task.putOperator(right);
+        HashJoinOperator join = new HashJoinOperator(
+            TupleMapping.of(new int[]{0}),
+            TupleMapping.of(new int[]{0}),
+            2,
+            3,
+            leftRequired,
+            rightRequired,
+            LEFT_SCHEMA,
+            RIGHT_SCHEMA,
+            memoryBudget
+        );
+        join.setId(new Id("2"));
+        task.putOperator(join);
+        RootOperator root = new RootOperator(
+            DingoTypeFactory.tuple("INTEGER|NULL", "STRING|NULL", "INTEGER|NULL", "STRING|NULL", "DOUBLE|NULL")
+        );
+        root.setId(new Id("3"));
+        task.putOperator(root);
+        left.getSoleOutput().setLink(join.getInput(0));
+        right.getSoleOutput().setLink(join.getInput(1));
+        join.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        task.run();
+        List<Object[]> result = new ArrayList<>();
+        Object[] tuple;
+        while ((tuple = root.popValue()) != RootOperator.FIN) {
+            result.add(tuple);
+        }
+        return result;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "false, false, 0",
+        "true, false, 0",
+        "false, true, 0",
+        "true, true, 0",
+        // Any positive budget less than the first right tuple makes the join spill.
+        "false, false, 1",
+        "true, false, 1",
+        "false, true, 1",
+        "true, true, 1",
+    })
+    public void testJoin(boolean leftRequired, boolean rightRequired, long memoryBudget) {
+        List<Object[]> result = join(leftRequired, rightRequired, memoryBudget);
+        assertThat(result).containsExactlyInAnyOrderElementsOf(expected(leftRequired, rightRequired));
+    }
+}
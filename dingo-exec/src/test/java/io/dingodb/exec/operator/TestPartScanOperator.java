@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.table.Part;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Input;
+import io.dingodb.exec.base.Operator;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.fin.OperatorProfile;
+import io.dingodb.exec.tuple.TupleBatch;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+public class TestPartScanOperator {
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("INTEGER", "STRING");
+    private static final int SPLITS = 4;
+
+    private Part part;
+    private List<Object[]> pushed;
+
+    // Rows of a split, without an end if size is negative.
+    private static @NonNull Iterator<Object[]> split(int index, int size) {
+        return new Iterator<Object[]>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return size < 0 || next < size;
+            }
+
+            @Override
+            public Object[] next() {
+                int key = index * 1000000 + next++;
+                return new Object[]{key, "v" + key};
+            }
+        };
+    }
+
+    private @NonNull PartScanOperator scan(@NonNull Predicate<TupleBatch> sink) {
+        PartScanOperator operator = new PartScanOperator(
+            null, 0, SCHEMA, TupleMapping.of(new int[]{0}), null, null, SPLITS
+        );
+        Task task = Mockito.mock(Task.class);
+        when(task.getJobId()).thenReturn(Id.NULL);
+        operator.setId(new Id("0"));
+        operator.setTask(task);
+        // Instead of `init`, which gets the part from the store service.
+        operator.profiles.add(new OperatorProfile());
+        operator.part = part;
+        Operator downstream = Mockito.mock(Operator.class);
+        when(downstream.push(anyInt(), any(TupleBatch.class))).thenAnswer(invocation -> {
+            TupleBatch batch = invocation.getArgument(1);
+            synchronized (pushed) {
+                for (int i = 0; i < batch.size(); ++i) {
+                    pushed.add(batch.get(i));
+                }
+            }
+            return sink.test(batch);
+        });
+        Input input = new Input(new Id("1"), 0);
+        input.setOperator(downstream);
+        operator.getSoleOutput().setLink(input);
+        return operator;
+    }
+
+    @BeforeEach
+    public void setup() {
+        part = Mockito.mock(Part.class);
+        pushed = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @Test
+    public void testParallelScan() {
+        when(part.getIterators(SPLITS)).thenReturn(IntStream.range(0, SPLITS)
+            .mapToObj(i -> split(i, 3000))
+            .collect(Collectors.toList()));
+        PartScanOperator operator = scan(batch -> true);
+        assertThat(operator.push()).isFalse();
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < SPLITS; ++i) {
+            split(i, 3000).forEachRemaining(tuple -> expected.add(tuple[0]));
+        }
+        // Complete, in no particular order.
+        assertThat(pushed.stream().map(tuple -> tuple[0]).collect(Collectors.toList()))
+            .containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(operator.getProfile().getProcessedTupleCount()).isEqualTo(expected.size());
+    }
+
+    @Test
+    public void testParallelScanStopped() {
+        // Splits without an end, so the scan is ended only by the stop.
+        when(part.getIterators(SPLITS)).thenReturn(IntStream.range(0, SPLITS)
+            .mapToObj(i -> split(i, -1))
+            .collect(Collectors.toList()));
+        AtomicInteger batches = new AtomicInteger();
+        PartScanOperator operator = scan(batch -> batches.incrementAndGet() < 10);
+        assertThat(assertTimeoutPreemptively(Duration.ofSeconds(10), () -> operator.push())).isFalse();
+        // Each of the other workers may push at most one batch after the stop.
+        assertThat(batches.get()).isBetween(10, 10 + SPLITS - 1);
+    }
+}
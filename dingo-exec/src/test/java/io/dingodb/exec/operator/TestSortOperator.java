@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.operator.data.SortDirection;
+import io.dingodb.exec.operator.data.SortNullDirection;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSortOperator {
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("INTEGER", "INTEGER");
+    private static final int COUNT = 3000;
+
+    // Many duplicated keys, and the sequence as the second column to check the stability.
+    private static @NonNull List<Object[]> tuples() {
+        List<Object[]> tuples = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; ++i) {
+            tuples.add(new Object[]{(i * 7919) % 101, i});
+        }
+        return tuples;
+    }
+
+    // Stable sort by the first column in descending order.
+    private static @NonNull List<Integer> expected(long offset, long limit) {
+        return tuples().stream()
+            .sorted(Comparator.comparing((Object[] tuple) -> (Integer) tuple[0]).reversed())
+            .skip(offset)
+            .limit(limit)
+            .map(tuple -> (Integer) tuple[1])
+            .collect(Collectors.toList());
+    }
+
+    private static @NonNull List<Integer> sort(int limit, int offset, long memoryBudget) {
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        ValuesOperator values = new ValuesOperator(tuples(), SCHEMA);
+        values.setId(new Id("0"));
+        task.putOperator(values);
+        SortOperator sort = new SortOperator(
+            Collections.singletonList(new SortCollation(0, SortDirection.DESCENDING, SortNullDirection.LAST)),
+            limit,
+            offset,
+            SCHEMA,
+            memoryBudget
+        );
+        sort.setId(new Id("1"));
+        task.putOperator(sort);
+        RootOperator root = new RootOperator(SCHEMA, COUNT + 1);
+        root.setId(new Id("2"));
+        task.putOperator(root);
+        values.getSoleOutput().setLink(sort.getInput(0));
+        sort.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        task.run();
+        List<Integer> result = new ArrayList<>();
+        Object[] tuple;
+        while ((tuple = root.popValue()) != RootOperator.FIN) {
+            result.add((Integer) tuple[1]);
+        }
+        return result;
+    }
+
+    @Test
+    public void testSort() {
+        assertThat(sort(-1, 0, 0)).isEqualTo(expected(0, COUNT));
+    }
+
+    @Test
+    public void testTopN() {
+        assertThat(sort(10, 0, 0)).isEqualTo(expected(0, 10));
+    }
+
+    @Test
+    public void testTopNWithOffset() {
+        assertThat(sort(10, 25, 0)).isEqualTo(expected(25, 10));
+        // Not filling the heap.
+        assertThat(sort(100, COUNT - 50, 0)).isEqualTo(expected(COUNT - 50, 100));
+    }
+
+    @Test
+    public void testTopNOverflow() {
+        // `offset + limit` overflows an int, so it is fully sorted.
+        assertThat(sort(Integer.MAX_VALUE, 1, 0)).isEqualTo(expected(1, Integer.MAX_VALUE));
+        assertThat(sort(SortOperator.MAX_TOP_N + 1, 2, 0)).isEqualTo(expected(2, SortOperator.MAX_TOP_N + 1));
+    }
+
+    @Test
+    public void testExternalSort() {
+        // A budget of a few hundred tuples makes several sorted runs, which are merged stably.
+        assertThat(sort(-1, 0, 16 << 10)).isEqualTo(expected(0, COUNT));
+        assertThat(sort(Integer.MAX_VALUE, 100, 16 << 10)).isEqualTo(expected(100, COUNT));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestSpillFile {
+    private static byte[] record(int index) {
+        return new byte[]{(byte) index, (byte) (index >> 8)};
+    }
+
+    @Test
+    public void testWriteRead() throws IOException {
+        try (SpillFile file = SpillFile.create("test-spill")) {
+            for (int i = 0; i < 1000; ++i) {
+                file.write(record(i));
+            }
+            assertThat(file.getCount()).isEqualTo(1000);
+            assertThat(file.getBytes()).isEqualTo(1000 * (Integer.BYTES + 2));
+            // Read twice.
+            for (int times = 0; times < 2; ++times) {
+                List<byte[]> records = new ArrayList<>();
+                file.read().forEachRemaining(records::add);
+                assertThat(records).hasSize(1000);
+                assertThat(records.get(999)).isEqualTo(record(999));
+            }
+        }
+    }
+
+    @Test
+    public void testCloseIteratorNotConsumed() throws IOException {
+        Iterator<byte[]> iterator;
+        try (SpillFile file = SpillFile.create("test-spill")) {
+            for (int i = 0; i < 1000; ++i) {
+                file.write(record(i));
+            }
+            iterator = file.read();
+            assertThat(iterator.next()).isEqualTo(record(0));
+        }
+        // The stream is closed with the file, so reading ahead fails.
+        assertThatThrownBy(iterator::next).hasCauseInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.table;
+
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.store.api.StoreInstance;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestPartInKvStore {
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("INTEGER", "STRING");
+    private static final TupleMapping KEY_MAPPING = TupleMapping.of(new int[]{0});
+
+    private StoreInstance store;
+    private PartInKvStore part;
+
+    @BeforeEach
+    public void setup() {
+        store = Mockito.mock(StoreInstance.class);
+        // The store is always empty, for the written rows are not applied.
+        when(store.getKeyValueByPrimaryKeys(anyList())).thenAnswer(invocation -> {
+            List<byte[]> primaryKeys = invocation.getArgument(0);
+            return new ArrayList<>(Collections.nCopies(primaryKeys.size(), null));
+        });
+        part = new PartInKvStore(store, SCHEMA, KEY_MAPPING);
+    }
+
+    // Primary keys of the rows in the last of the batches written.
+    private @NonNull List<Object> writtenKeys(int times) throws IOException {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<KeyValue>> rows = ArgumentCaptor.forClass(List.class);
+        verify(store, times(times)).upsertKeyValueAsync(rows.capture());
+        List<Object> keys = new ArrayList<>();
+        for (KeyValue row : rows.getAllValues().get(times - 1)) {
+            keys.add(part.getCodec().decodeKey(row.getPrimaryKey())[0]);
+        }
+        return keys;
+    }
+
+    @Test
+    public void testInsertingKeysSkipped() throws IOException {
+        CompletableFuture<Boolean> first = new CompletableFuture<>();
+        CompletableFuture<Boolean> second = new CompletableFuture<>();
+        when(store.upsertKeyValueAsync(anyList())).thenReturn(first, second);
+        CompletableFuture<Long> firstCount = part.insertAsync(Arrays.asList(
+            new Object[]{1, "a"},
+            new Object[]{2, "b"},
+            new Object[]{1, "x"}
+        ));
+        assertThat(writtenKeys(1)).containsExactly(1, 2);
+        // Keys of the batch in flight are taken as existing, though not in the store yet.
+        CompletableFuture<Long> secondCount = part.insertAsync(Arrays.asList(
+            new Object[]{2, "y"},
+            new Object[]{3, "c"}
+        ));
+        assertThat(writtenKeys(2)).containsExactly(3);
+        assertThat(part.insertAsync(Collections.singletonList(new Object[]{3, "z"})).join()).isEqualTo(0L);
+        verify(store, times(2)).upsertKeyValueAsync(anyList());
+        assertThat(firstCount).isNotDone();
+        first.complete(true);
+        second.complete(true);
+        assertThat(firstCount.join()).isEqualTo(2L);
+        assertThat(secondCount.join()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testInsertingKeysReleased() throws IOException {
+        CompletableFuture<Boolean> first = new CompletableFuture<>();
+        CompletableFuture<Boolean> second = new CompletableFuture<>();
+        when(store.upsertKeyValueAsync(anyList())).thenReturn(
+            first,
+            second,
+            CompletableFuture.completedFuture(true)
+        );
+        CompletableFuture<Long> firstCount = part.insertAsync(Collections.singletonList(new Object[]{1, "a"}));
+        first.complete(true);
+        assertThat(firstCount.join()).isEqualTo(1L);
+        // Once written, the key is checked by reading the store, which is empty here.
+        CompletableFuture<Long> secondCount = part.insertAsync(Collections.singletonList(new Object[]{1, "b"}));
+        assertThat(writtenKeys(2)).containsExactly(1);
+        // The keys of a failed batch are released too.
+        second.completeExceptionally(new RuntimeException("Write failed."));
+        assertThatThrownBy(secondCount::join).hasCauseInstanceOf(RuntimeException.class);
+        assertThat(part.insertAsync(Collections.singletonList(new Object[]{1, "c"})).join()).isEqualTo(1L);
+        assertThat(writtenKeys(3)).containsExactly(1);
+    }
+}
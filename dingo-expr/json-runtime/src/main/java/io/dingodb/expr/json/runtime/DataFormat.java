@@ -25,7 +25,8 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 public enum DataFormat {
     APPLICATION_JSON("application/json"),
     APPLICATION_YAML("application/yaml"),
-    TEXT_CSV("text/csv");
+    TEXT_CSV("text/csv"),
+    APPLICATION_SMILE("application/x-jackson-smile");
 
     @JsonValue
     private final String value;
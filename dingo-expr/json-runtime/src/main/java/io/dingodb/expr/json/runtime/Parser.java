@@ -24,6 +24,7 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
@@ -39,6 +40,7 @@ public class Parser implements Serializable {
     public static final Parser JSON = new Parser(DataFormat.APPLICATION_JSON);
     public static final Parser YAML = new Parser(DataFormat.APPLICATION_YAML);
     public static final Parser CSV = new Parser(DataFormat.TEXT_CSV);
+    public static final Parser SMILE = new Parser(DataFormat.APPLICATION_SMILE);
 
     private static final long serialVersionUID = -4801322278537134701L;
     protected final ObjectMapper mapper;
@@ -62,6 +64,14 @@ public class Parser implements Serializable {
             case TEXT_CSV:
                 mapper = setCsvFeature(new CsvMapper());
                 break;
+            case APPLICATION_SMILE:
+                mapper = JsonMapper.builder(new SmileFactory())
+                    .addModule(new AfterburnerModule())
+                    .build();
+                setJsonFeature(mapper);
+                // Binary format cannot be indented.
+                mapper.disable(SerializationFeature.INDENT_OUTPUT);
+                break;
             default:
                 throw new IllegalArgumentException("Invalid DataFormat value \"" + format
                     + "\" for ParserFactory.");
@@ -94,6 +104,8 @@ public class Parser implements Serializable {
                 return YAML;
             case TEXT_CSV:
                 return CSV;
+            case APPLICATION_SMILE:
+                return SMILE;
             default:
                 throw new IllegalArgumentException("Unsupported format \"" + format + "\".");
         }
@@ -107,10 +119,31 @@ public class Parser implements Serializable {
         return mapper.readValue(is, clazz);
     }
 
+    public <T> T parse(byte[] bytes, Class<T> clazz) throws IOException {
+        return mapper.readValue(bytes, clazz);
+    }
+
     public <T> String stringify(T obj) throws JsonProcessingException {
         return mapper.writeValueAsString(obj);
     }
 
+    public <T> byte[] serialize(T obj) throws JsonProcessingException {
+        return mapper.writeValueAsBytes(obj);
+    }
+
+    /**
+     * Serialize an object to bytes, including only the properties in the specified view (and those without views).
+     *
+     * @param obj  the object
+     * @param view the view class
+     * @param <T>  the type of the object
+     * @return the bytes
+     * @throws JsonProcessingException if failed to serialize
+     */
+    public <T> byte[] serialize(T obj, Class<?> view) throws JsonProcessingException {
+        return mapper.writerWithView(view).writeValueAsBytes(obj);
+    }
+
     public <T> void writeStream(OutputStream os, T obj) throws IOException {
         mapper.writeValue(os, obj);
     }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.expr.parser.parser;
+
+import io.dingodb.expr.runtime.RtExpr;
+import io.dingodb.expr.runtime.compiler.CompiledExpr;
+import io.dingodb.expr.runtime.compiler.RtExprCompiler;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestCompiledExpr {
+    @RegisterExtension
+    static final ContextResource res = new ContextResource(
+        "/simple_vars.yml",
+        "{a: 2, b: 3.0, c: true, d: foo}",
+        "{a: 3, b: 4.0, c: false, d: bar}",
+        "{a: null, b: 5.0, c: null, d: null}"
+    );
+
+    private static @NonNull Stream<Arguments> getParameters() {
+        return Stream.of(
+            arguments("1 + a"),
+            arguments("1 + 2 * b"),
+            arguments("a * b - a"),
+            arguments("a > 2"),
+            arguments("a > 2 and b < 5.0"),
+            arguments("a > 2 or c"),
+            arguments("c and b > 3.0 and a < 3"),
+            arguments("is_null(a) or a < 3"),
+            arguments("abs(a) + 1")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("getParameters")
+    public void test(String exprString) throws Exception {
+        RtExpr rtExpr = DingoExprCompiler.parse(exprString).compileIn(res.getCtx());
+        RtExpr compiled = RtExprCompiler.compile(rtExpr);
+        assertThat(compiled).isInstanceOf(CompiledExpr.class);
+        assertThat(compiled.typeCode()).isEqualTo(rtExpr.typeCode());
+        for (int i = 0; i < 3; ++i) {
+            assertThat(compiled.eval(res.getEtx(i))).isEqualTo(rtExpr.eval(res.getEtx(i)));
+        }
+    }
+}
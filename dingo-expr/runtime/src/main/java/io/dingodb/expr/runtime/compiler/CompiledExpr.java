@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.expr.runtime.compiler;
+
+import io.dingodb.expr.runtime.RtExpr;
+import io.dingodb.expr.runtime.evaluator.base.Evaluator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Base class of the classes generated by {@link RtExprCompiler}. The generated {@code eval} method refers to the
+ * constants, evaluators and uncompiled sub-expressions by their indices in the arrays held here.
+ */
+public abstract class CompiledExpr implements RtExpr {
+    private static final long serialVersionUID = 2941187021651528377L;
+
+    private final RtExpr origin;
+    protected final Object[] consts;
+    protected final Evaluator[] evaluators;
+    protected final RtExpr[] nodes;
+
+    protected CompiledExpr(
+        @NonNull RtExpr origin,
+        Object @NonNull [] consts,
+        Evaluator @NonNull [] evaluators,
+        RtExpr @NonNull [] nodes
+    ) {
+        this.origin = origin;
+        this.consts = consts;
+        this.evaluators = evaluators;
+        this.nodes = nodes;
+    }
+
+    @Override
+    public int typeCode() {
+        return origin.typeCode();
+    }
+
+    /**
+     * The generated classes cannot be loaded elsewhere, so serialize the original expression instead.
+     *
+     * @return the original expression
+     */
+    protected Object writeReplace() {
+        return origin;
+    }
+}
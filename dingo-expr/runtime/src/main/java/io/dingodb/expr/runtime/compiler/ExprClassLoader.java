@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.expr.runtime.compiler;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Each compiled expression is loaded by its own class loader, so the class can be unloaded when the expression is no
+ * longer used.
+ */
+final class ExprClassLoader extends ClassLoader {
+    ExprClassLoader(ClassLoader parent) {
+        super(parent);
+    }
+
+    @NonNull Class<?> define(@NonNull String name, byte @NonNull [] code) {
+        return defineClass(name, code, 0, code.length);
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.expr.runtime.compiler;
+
+import io.dingodb.expr.runtime.RtConst;
+import io.dingodb.expr.runtime.RtExpr;
+import io.dingodb.expr.runtime.RtNull;
+import io.dingodb.expr.runtime.evaluator.base.Evaluator;
+import io.dingodb.expr.runtime.op.RtEvaluatorOp;
+import io.dingodb.expr.runtime.op.RtOp;
+import io.dingodb.expr.runtime.op.logical.RtAndOp;
+import io.dingodb.expr.runtime.op.logical.RtLogicalOp;
+import io.dingodb.expr.runtime.op.logical.RtOrOp;
+import io.dingodb.expr.runtime.var.RtVar;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compile an {@link RtExpr} tree into a generated class, whose {@code eval} method evaluates the whole tree in
+ * straight-line code. The variables are read and the evaluators (which are already specialized for the types of
+ * operands) are called directly, so each call site in the generated code sees only one evaluator and can be inlined
+ * by JIT, instead of the megamorphic virtual calls of walking the tree.
+ *
+ * <p>Ops other than {@link RtEvaluatorOp}, {@link RtAndOp} and {@link RtOrOp} are kept as they are and called by the
+ * generated code.
+ */
+@Slf4j
+public final class RtExprCompiler {
+    // Too large trees may exceed the limit of method size.
+    private static final int MAX_NODES = 1024;
+    private static final String CLASS_NAME_PREFIX = "io/dingodb/expr/runtime/compiler/CompiledExpr$";
+    private static final AtomicLong CLASS_ID = new AtomicLong(0);
+
+    private static final String BASE = Type.getInternalName(CompiledExpr.class);
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final String BOOLEAN = Type.getInternalName(Boolean.class);
+    private static final String EVAL_CONTEXT = "io/dingodb/expr/runtime/EvalContext";
+    private static final String EVALUATOR = Type.getInternalName(Evaluator.class);
+    private static final String RT_EXPR = Type.getInternalName(RtExpr.class);
+    private static final String CONSTRUCTOR_DESC = "(L" + RT_EXPR + ";[L" + OBJECT + ";[L" + EVALUATOR + ";[L"
+        + RT_EXPR + ";)V";
+
+    private RtExprCompiler() {
+    }
+
+    /**
+     * Compile an expression. If the expression cannot be compiled, it is returned as is.
+     *
+     * @param expr the expression
+     * @return the compiled expression
+     */
+    public static @NonNull RtExpr compile(@NonNull RtExpr expr) {
+        if (!(expr instanceof RtOp) || count(expr) > MAX_NODES) {
+            return expr;
+        }
+        String className = CLASS_NAME_PREFIX + CLASS_ID.incrementAndGet();
+        try {
+            Generator generator = new Generator(className);
+            byte[] code = generator.generate(expr);
+            Class<?> clazz = new ExprClassLoader(RtExprCompiler.class.getClassLoader())
+                .define(className.replace('/', '.'), code);
+            return (RtExpr) clazz
+                .getConstructor(RtExpr.class, Object[].class, Evaluator[].class, RtExpr[].class)
+                .newInstance(
+                    expr,
+                    generator.consts.toArray(),
+                    generator.evaluators.toArray(new Evaluator[0]),
+                    generator.nodes.toArray(new RtExpr[0])
+                );
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            log.warn("Failed to compile expression, fall back to interpreting.", e);
+            return expr;
+        }
+    }
+
+    private static int count(@NonNull RtExpr expr) {
+        int count = 1;
+        if (expr instanceof RtOp) {
+            for (RtExpr para : ((RtOp) expr).getParas()) {
+                count += count(para);
+            }
+        }
+        return count;
+    }
+
+    private static final class Generator implements Opcodes {
+        private final String className;
+        private final List<Object> consts = new ArrayList<>();
+        private final List<Evaluator> evaluators = new ArrayList<>();
+        private final List<RtExpr> nodes = new ArrayList<>();
+
+        private MethodVisitor mv;
+        // Local 0 is `this`, local 1 is the `EvalContext`.
+        private int nextLocal = 2;
+
+        private Generator(String className) {
+            this.className = className;
+        }
+
+        byte @NonNull [] generate(@NonNull RtExpr expr) {
+            ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+                // All the values are kept as `Object`, no need to load classes.
+                @Override
+                protected String getCommonSuperClass(String type1, String type2) {
+                    return OBJECT;
+                }
+            };
+            cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, BASE, null);
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESC, null, null);
+            mv.visitCode();
+            for (int i = 0; i < 5; ++i) {
+                mv.visitVarInsn(ALOAD, i);
+            }
+            mv.visitMethodInsn(INVOKESPECIAL, BASE, "<init>", CONSTRUCTOR_DESC, false);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+            mv = cw.visitMethod(
+                ACC_PUBLIC,
+                "eval",
+                "(L" + EVAL_CONTEXT + ";)L" + OBJECT + ";",
+                null,
+                new String[]{"io/dingodb/expr/runtime/exception/FailGetEvaluator"}
+            );
+            mv.visitCode();
+            // The stack is empty before and holds only the result after generating each node.
+            node(expr);
+            mv.visitInsn(ARETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+            cw.visitEnd();
+            return cw.toByteArray();
+        }
+
+        private void node(@NonNull RtExpr expr) {
+            Class<?> clazz = expr.getClass();
+            if (expr instanceof RtNull) {
+                mv.visitInsn(ACONST_NULL);
+            } else if (clazz == RtConst.class) {
+                constant(((RtConst) expr).getValue());
+            } else if (expr instanceof RtVar) {
+                mv.visitVarInsn(ALOAD, 1);
+                constant(((RtVar) expr).getId());
+                mv.visitMethodInsn(INVOKEINTERFACE, EVAL_CONTEXT, "get", "(L" + OBJECT + ";)L" + OBJECT + ";", true);
+            } else if (clazz == RtEvaluatorOp.class) {
+                evaluatorOp((RtEvaluatorOp) expr);
+            } else if (clazz == RtAndOp.class) {
+                logicalOp(((RtOp) expr).getParas(), true);
+            } else if (clazz == RtOrOp.class) {
+                logicalOp(((RtOp) expr).getParas(), false);
+            } else {
+                load("nodes", RT_EXPR, nodes.size());
+                nodes.add(expr);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEINTERFACE, RT_EXPR, "eval", "(L" + EVAL_CONTEXT + ";)L" + OBJECT + ";", true);
+            }
+        }
+
+        private void constant(Object value) {
+            if (value == null) {
+                mv.visitInsn(ACONST_NULL);
+                return;
+            }
+            load("consts", OBJECT, consts.size());
+            consts.add(value);
+        }
+
+        private void load(String field, String elementType, int index) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, BASE, field, "[L" + elementType + ";");
+            push(index);
+            mv.visitInsn(AALOAD);
+        }
+
+        private void push(int value) {
+            if (-1 <= value && value <= 5) {
+                mv.visitInsn(ICONST_0 + value);
+            } else if (Byte.MIN_VALUE <= value && value <= Byte.MAX_VALUE) {
+                mv.visitIntInsn(BIPUSH, value);
+            } else if (Short.MIN_VALUE <= value && value <= Short.MAX_VALUE) {
+                mv.visitIntInsn(SIPUSH, value);
+            } else {
+                mv.visitLdcInsn(value);
+            }
+        }
+
+        /**
+         * Same as {@link io.dingodb.expr.runtime.op.RtEnvFun#eval}, the result is {@code null} if any of the
+         * parameters is {@code null}.
+         */
+        private void evaluatorOp(@NonNull RtEvaluatorOp op) {
+            RtExpr[] paras = op.getParas();
+            int[] locals = new int[paras.length];
+            Label isNull = new Label();
+            Label end = new Label();
+            for (int i = 0; i < paras.length; ++i) {
+                node(paras[i]);
+                mv.visitInsn(DUP);
+                mv.visitJumpInsn(IFNULL, isNull);
+                locals[i] = nextLocal++;
+                mv.visitVarInsn(ASTORE, locals[i]);
+            }
+            load("evaluators", EVALUATOR, evaluators.size());
+            evaluators.add(op.getEvaluator());
+            push(paras.length);
+            mv.visitTypeInsn(ANEWARRAY, OBJECT);
+            for (int i = 0; i < paras.length; ++i) {
+                mv.visitInsn(DUP);
+                push(i);
+                mv.visitVarInsn(ALOAD, locals[i]);
+                mv.visitInsn(AASTORE);
+            }
+            mv.visitMethodInsn(INVOKEINTERFACE, EVALUATOR, "eval", "([L" + OBJECT + ";)L" + OBJECT + ";", true);
+            mv.visitJumpInsn(GOTO, end);
+            mv.visitLabel(isNull);
+            mv.visitInsn(POP);
+            mv.visitInsn(ACONST_NULL);
+            mv.visitLabel(end);
+        }
+
+        /**
+         * Same as {@link RtAndOp#eval} and {@link RtOrOp#eval}, in three-valued logic. AND stops at the first
+         * {@code false}, but OR evaluates all the parameters.
+         */
+        private void logicalOp(RtExpr @NonNull [] paras, boolean and) {
+            int result = nextLocal++;
+            int value = nextLocal++;
+            String initial = and ? "TRUE" : "FALSE";
+            Label end = new Label();
+            mv.visitFieldInsn(GETSTATIC, BOOLEAN, initial, "L" + BOOLEAN + ";");
+            mv.visitVarInsn(ASTORE, result);
+            for (RtExpr para : paras) {
+                Label notNull = new Label();
+                Label next = new Label();
+                node(para);
+                mv.visitVarInsn(ASTORE, value);
+                mv.visitVarInsn(ALOAD, value);
+                mv.visitJumpInsn(IFNONNULL, notNull);
+                // The result becomes `null` if it is still the initial value.
+                mv.visitVarInsn(ALOAD, result);
+                mv.visitFieldInsn(GETSTATIC, BOOLEAN, initial, "L" + BOOLEAN + ";");
+                mv.visitJumpInsn(IF_ACMPNE, next);
+                mv.visitInsn(ACONST_NULL);
+                mv.visitVarInsn(ASTORE, result);
+                mv.visitJumpInsn(GOTO, next);
+                mv.visitLabel(notNull);
+                mv.visitVarInsn(ALOAD, value);
+                mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(RtLogicalOp.class), "test", "(L" + OBJECT + ";)Z",
+                    false);
+                if (and) {
+                    mv.visitJumpInsn(IFNE, next);
+                    mv.visitFieldInsn(GETSTATIC, BOOLEAN, "FALSE", "L" + BOOLEAN + ";");
+                    mv.visitVarInsn(ASTORE, result);
+                    mv.visitJumpInsn(GOTO, end);
+                } else {
+                    mv.visitJumpInsn(IFEQ, next);
+                    mv.visitFieldInsn(GETSTATIC, BOOLEAN, "TRUE", "L" + BOOLEAN + ";");
+                    mv.visitVarInsn(ASTORE, result);
+                }
+                mv.visitLabel(next);
+            }
+            mv.visitLabel(end);
+            mv.visitVarInsn(ALOAD, result);
+        }
+    }
+}
@@ -19,10 +19,12 @@ package io.dingodb.expr.runtime.op;
 import io.dingodb.expr.runtime.RtExpr;
 import io.dingodb.expr.runtime.evaluator.base.Evaluator;
 import io.dingodb.expr.runtime.exception.FailGetEvaluator;
+import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 public class RtEvaluatorOp extends RtFun {
     private static final long serialVersionUID = -2145574267641248415L;
+    @Getter
     private final Evaluator evaluator;
 
     /**
@@ -17,11 +17,13 @@
 package io.dingodb.expr.runtime.op;
 
 import io.dingodb.expr.runtime.RtExpr;
+import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 public abstract class RtOp implements RtExpr {
     private static final long serialVersionUID = 3831182336265497397L;
 
+    @Getter
     protected final RtExpr @NonNull [] paras;
 
     protected RtOp(RtExpr @NonNull [] paras) {
@@ -19,10 +19,12 @@ package io.dingodb.meta;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.table.TableStatistic;
 import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -64,5 +66,23 @@ public interface MetaService {
 
     List<Location> getDistributes(String name);
 
+    /**
+     * Get the statistics of all the tables. Tables never analyzed may only have row counts.
+     *
+     * @return the map of table names to statistics
+     */
+    default Map<String, TableStatistic> getTableStatistics() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Collect the statistics of a table, on all its parts.
+     *
+     * @param tableName the table name, must be upper case
+     */
+    default void analyzeTable(@NonNull String tableName) {
+        throw new UnsupportedOperationException("Analyzing tables is not supported by " + getName() + ".");
+    }
+
     Location currentLocation();
 }
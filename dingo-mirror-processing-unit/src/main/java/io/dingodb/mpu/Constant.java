@@ -30,13 +30,17 @@ public class Constant {
     public static final byte T_SYNC = 2;
     public static final byte T_EXECUTE_CLOCK = 3;
     public static final byte T_EXECUTE_INSTRUCTION = 4;
+    public static final byte T_INSTRUCTIONS = 5;
+    public static final byte T_EXECUTE_INSTRUCTIONS = 6;
 
     // storage key
     public static final byte[] CLOCK_K = "CLOCK".getBytes();
+    public static final byte[] COUNT_K = "COUNT".getBytes();
 
     // storage namespace
     public static final byte[] CF_DEFAULT = "default".getBytes();
     public static final byte[] CF_META = "META".getBytes();
     public static final byte[] CF_DATA = "DATA".getBytes();
+    public static final byte[] CF_INDEX = "INDEX".getBytes();
     public static final byte[] CF_INSTRUCTION = "INSTRUCTION".getBytes();
 }
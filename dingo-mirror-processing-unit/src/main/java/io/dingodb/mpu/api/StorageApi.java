@@ -17,9 +17,10 @@
 package io.dingodb.mpu.api;
 
 import io.dingodb.common.CommonId;
-import io.dingodb.common.Location;
 import io.dingodb.net.api.annotation.ApiDeclaration;
 
+import java.util.List;
+
 import static io.dingodb.mpu.Constant.API;
 
 public interface StorageApi {
@@ -29,17 +30,18 @@ public interface StorageApi {
     }
 
     @ApiDeclaration
-    default String transferBackup(CommonId mpuId, CommonId coreId) {
-        return InternalApi.core(mpuId, coreId).storage.receiveBackup();
+    default String receiveFiles(CommonId mpuId, CommonId coreId) {
+        return InternalApi.core(mpuId, coreId).storage.receiveFiles();
     }
 
-    static String transferBackup(Location location, CommonId mpuId, CommonId coreId) {
-        return API.proxy(StorageApi.class, location).transferBackup(mpuId, coreId);
+    @ApiDeclaration
+    default List<String> missingFiles(CommonId mpuId, CommonId coreId, List<String> files) {
+        return InternalApi.core(mpuId, coreId).storage.missingFiles(files);
     }
 
     @ApiDeclaration
-    default void applyBackup(CommonId mpuId, CommonId coreId) {
-        InternalApi.core(mpuId, coreId).storage.applyBackup();
+    default void ingestFiles(CommonId mpuId, CommonId coreId, List<String> files) {
+        InternalApi.core(mpuId, coreId).storage.ingestFiles(files);
     }
 
 }
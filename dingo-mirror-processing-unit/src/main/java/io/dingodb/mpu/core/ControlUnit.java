@@ -21,15 +21,23 @@ import io.dingodb.common.util.Optional;
 import io.dingodb.mpu.api.InternalApi;
 import io.dingodb.mpu.instruction.EmptyInstructions;
 import io.dingodb.mpu.instruction.Instruction;
+import io.dingodb.mpu.protocol.InstructionGroup;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Accessors(chain = true, fluent = true)
 class ControlUnit {
 
+    private static final int MAX_GROUP_SIZE = 256;
+
     public final Core core;
     public final boolean local;
     public final long startClock;
@@ -43,8 +51,12 @@ class ControlUnit {
     private LinkedRunner firstRunner;
     private LinkedRunner secondRunner;
     private LinkedRunner executeRunner;
+    private LinkedRunner commitRunner;
     private InstructionChain chain;
 
+    // Instructions waiting for group commit, in clock order.
+    private final Queue<Instruction> pending = new ConcurrentLinkedQueue<>();
+
     private boolean closed = false;
     private final boolean extClock = false;
 
@@ -65,6 +77,7 @@ class ControlUnit {
         if (!local) {
             this.firstRunner = new LinkedRunner(first.label + "-sync-runner");
             this.secondRunner = new LinkedRunner(second.label + "-sync-runner");
+            this.commitRunner = new LinkedRunner(core.meta.label + "-commit");
         }
     }
 
@@ -140,11 +153,36 @@ class ControlUnit {
             ack.result.completeExceptionally(new RuntimeException("Control unit closed."));
             return;
         }
-        core.storage.saveInstruction(instruction.clock, instruction.encode());
-        executeRunner.forceFollow(() -> chain.forceFollow(
-            instruction, () -> core.executionUnit.execute(instruction, ack.result)));
-        Optional.ifPresent(firstChannel, () -> firstRunner.forceFollow(() -> firstChannel.sync(instruction)));
-        Optional.ifPresent(secondChannel, () -> secondRunner.forceFollow(() -> secondChannel.sync(instruction)));
+        pending.add(instruction);
+        commitRunner.forceFollow(this::commit);
+    }
+
+    /**
+     * Group commit: the instructions arrived while the last group was being committed are saved in one write and
+     * synced to each mirror in one message. Each instruction keeps its own clock and future.
+     */
+    private void commit() {
+        List<Instruction> group = new ArrayList<>();
+        Instruction instruction;
+        while (group.size() < MAX_GROUP_SIZE && (instruction = pending.poll()) != null) {
+            group.add(instruction);
+        }
+        if (group.isEmpty()) {
+            return;
+        }
+        if (isClosed()) {
+            group.forEach(
+                rejected -> rejected.future.completeExceptionally(new RuntimeException("Control unit closed."))
+            );
+            return;
+        }
+        List<byte[]> encoded = group.stream().map(Instruction::encode).collect(Collectors.toList());
+        core.storage.saveInstructions(group.get(0).clock, encoded);
+        executeRunner.forceFollow(() -> group.forEach(saved -> chain.forceFollow(
+            saved, () -> core.executionUnit.execute(saved, saved.future))));
+        byte[] frame = group.size() == 1 ? encoded.get(0) : InstructionGroup.encode(encoded);
+        Optional.ifPresent(firstChannel, () -> firstRunner.forceFollow(() -> firstChannel.sync(group, frame)));
+        Optional.ifPresent(secondChannel, () -> secondRunner.forceFollow(() -> secondChannel.sync(group, frame)));
     }
 
     protected void onSynced(CoreMeta mirror, Instruction instruction) {
@@ -131,4 +131,16 @@ public class InstructionChain implements Unsafe {
     public void tick() {
         runner.forceFollow(current = current.next);
     }
+
+    /**
+     * Tick all the followed instructions whose clock is less than or equal to the given clock.
+     *
+     * @param clock clock
+     */
+    public void tick(long clock) {
+        InstructionNode next;
+        while ((next = current.next) != null && next.instruction.clock <= clock) {
+            runner.forceFollow(current = next);
+        }
+    }
 }
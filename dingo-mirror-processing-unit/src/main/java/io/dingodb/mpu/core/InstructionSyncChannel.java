@@ -22,6 +22,7 @@ import io.dingodb.common.util.Optional;
 import io.dingodb.mpu.Constant;
 import io.dingodb.mpu.api.InternalApi;
 import io.dingodb.mpu.instruction.Instruction;
+import io.dingodb.mpu.protocol.InstructionGroup;
 import io.dingodb.mpu.protocol.SelectReturn;
 import io.dingodb.mpu.protocol.SyncChannel;
 import io.dingodb.mpu.protocol.TagClock;
@@ -31,7 +32,11 @@ import io.dingodb.net.MessageListener;
 import lombok.experimental.Delegate;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
 
 import static io.dingodb.mpu.Constant.NET;
 import static io.dingodb.mpu.api.InternalApi.connectMirror;
@@ -42,27 +47,43 @@ import static io.dingodb.mpu.protocol.SelectReturn.OK;
 @Slf4j
 public class InstructionSyncChannel implements Channel, MessageListener {
 
+    // Catch-up of a lagging mirror is limited so that it does not saturate the network shared with live replication.
+    private static final int MAX_CATCH_UP_COUNT = 1024;
+    private static final long MAX_CATCH_UP_BYTES = 4L * 1024 * 1024;
+    private static final long CATCH_UP_BYTES_PER_SECOND = 64L * 1024 * 1024;
+
     @Delegate
     private Channel channel;
     private Core core;
     private ControlUnit controlUnit;
     private CoreMeta mirror;
     private LinkedRunner sendRunner;
+    private LinkedRunner catchUpRunner;
     private InstructionChain executeChain;
     private LinkedRunner chainRunner;
     private long clock;
     private long syncClock;
+    // Guarded by the send runner.
+    private boolean catchingUp = false;
+    private final List<Runnable> pending = new ArrayList<>();
 
     public InstructionSyncChannel(Core core, CoreMeta mirror, long clock) {
         this.core = core;
         this.mirror = mirror;
         this.sendRunner = new LinkedRunner(mirror.label + "-send-runner");
+        this.catchUpRunner = new LinkedRunner(mirror.label + "-catch-up-runner");
         this.executeChain = new InstructionChain(clock, mirror.label + "-instruction-chain");
         this.chainRunner = new LinkedRunner(mirror.label + "-synced-runner");
         this.clock = clock;
         this.syncClock = clock;
     }
 
+    // For a channel connected already.
+    InstructionSyncChannel(Core core, CoreMeta mirror, long clock, Channel channel) {
+        this(core, mirror, clock);
+        this.channel = channel;
+    }
+
     public SelectReturn connect() {
         try {
             CompletableFuture<Void> future = new CompletableFuture<>();
@@ -108,7 +129,8 @@ public class InstructionSyncChannel implements Channel, MessageListener {
         TagClock tagClock = TagClock.decode(content);
         switch (tagClock.tag) {
             case Constant.T_SYNC: {
-                executeChain.tick();
+                // One sync message acknowledges all the instructions up to its clock, for group sent in one frame.
+                executeChain.tick(tagClock.clock);
                 return;
             }
             default: {
@@ -118,36 +140,121 @@ public class InstructionSyncChannel implements Channel, MessageListener {
         }
     }
 
-    public void sync(Instruction instruction) {
+    /**
+     * Sync a group of instructions with consecutive clocks in one message.
+     *
+     * @param instructions instructions
+     * @param frame        the encoded instruction if only one, else the encoded instruction group
+     */
+    public void sync(List<Instruction> instructions, byte[] frame) {
         if (isClosed()) {
             return;
         }
         if (log.isDebugEnabled()) {
-            log.debug("Sync instruction to {}, clock: {}", channel.remoteLocation(), instruction.clock);
+            log.debug(
+                "Sync instructions to {}, clock: {} ~ {}", channel.remoteLocation(),
+                instructions.get(0).clock, instructions.get(instructions.size() - 1).clock
+            );
         }
-        sendRunner.forceFollow(() -> {
-            if (!isClosed()) {
-                try {
-                    while (syncClock < instruction.clock - 1) {
-                        syncClock++;
-                        byte[] reappearInstruction = core.storage.reappearInstruction(syncClock);
-                        if (reappearInstruction == null) {
-                            core.storage.transferTo(mirror).join();
-                            syncClock = InternalApi.askClock(mirror.location, mirror.mpuId, mirror.coreId);
-                        } else {
-                            reappearInstruction[0] = Constant.T_EXECUTE_INSTRUCTION;
-                            channel.send(new Message(null, reappearInstruction));
-                        }
-                        chainRunner.forceFollow(() -> executeChain.reset(syncClock, false));
-                    }
-                    executeChain.forceFollow(instruction, () -> controlUnit.onSynced(mirror, instruction));
-                    channel.send(new Message(null, instruction.encode()), true);
-                    syncClock = instruction.clock;
-                } catch (Exception e) {
-                    log.error("Sync to {} error.", mirror.label, e);
-                    close();
+        sendRunner.forceFollow(() -> send(instructions, frame));
+    }
+
+    // Run on the send runner.
+    private void send(List<Instruction> instructions, byte[] frame) {
+        if (isClosed()) {
+            return;
+        }
+        if (catchingUp) {
+            pending.add(() -> send(instructions, frame));
+            return;
+        }
+        Instruction first = instructions.get(0);
+        Instruction last = instructions.get(instructions.size() - 1);
+        if (last.clock <= syncClock) {
+            // Already in the data transferred to the mirror.
+            return;
+        }
+        if (syncClock < first.clock - 1) {
+            catchingUp = true;
+            pending.add(() -> send(instructions, frame));
+            long from = syncClock;
+            catchUpRunner.forceFollow(() -> catchUp(from, first.clock - 1));
+            return;
+        }
+        List<Instruction> sending = instructions;
+        byte[] sendingFrame = frame;
+        if (first.clock <= syncClock) {
+            sending = instructions.subList((int) (syncClock - first.clock + 1), instructions.size());
+            List<byte[]> encoded = sending.stream().map(Instruction::encode).collect(Collectors.toList());
+            sendingFrame = encoded.size() == 1 ? encoded.get(0) : InstructionGroup.encode(encoded);
+        }
+        try {
+            for (Instruction instruction : sending) {
+                executeChain.forceFollow(instruction, () -> controlUnit.onSynced(mirror, instruction));
+            }
+            channel.send(new Message(null, sendingFrame), true);
+            syncClock = last.clock;
+        } catch (Exception e) {
+            log.error("Sync to {} error.", mirror.label, e);
+            close();
+        }
+    }
+
+    /**
+     * Replay the saved instructions after {@code from} up to {@code to} to the mirror in rate limited batches, or
+     * transfer the data files if the instructions are purged. Live groups are held in pending until it is done, so
+     * the mirror still receives instructions in clock order.
+     */
+    private void catchUp(long from, long to) {
+        long clock = from;
+        try {
+            log.info("Catch up {} from {} to {}.", mirror.label, from, to);
+            long start = System.nanoTime();
+            long sent = 0;
+            while (clock < to && !isClosed()) {
+                List<byte[]> instructions = core.storage.reappearInstructions(
+                    clock + 1, (int) Math.min(MAX_CATCH_UP_COUNT, to - clock), MAX_CATCH_UP_BYTES
+                );
+                if (instructions.isEmpty()) {
+                    log.info("Instruction {} of {} purged, transfer data files to {}.", clock + 1, core.meta.label,
+                        mirror.label);
+                    core.storage.transferTo(mirror).join();
+                    clock = InternalApi.askClock(mirror.location, mirror.mpuId, mirror.coreId);
+                    continue;
+                }
+                byte[] frame = InstructionGroup.encode(instructions);
+                frame[0] = Constant.T_EXECUTE_INSTRUCTIONS;
+                channel.send(new Message(null, frame), true);
+                clock += instructions.size();
+                sent += frame.length;
+                long ahead = (long) (sent * 1e9 / CATCH_UP_BYTES_PER_SECOND) - (System.nanoTime() - start);
+                if (ahead > 0) {
+                    LockSupport.parkNanos(ahead);
                 }
             }
+        } catch (Exception e) {
+            log.error("Catch up {} error.", mirror.label, e);
+            close();
+            return;
+        }
+        if (isClosed()) {
+            return;
+        }
+        log.info("Catch up {} finished on {}.", mirror.label, clock);
+        long synced = clock;
+        sendRunner.forceFollow(() -> {
+            syncClock = synced;
+            catchingUp = false;
+            // The pending groups must follow the reset chain, so wait for the reset.
+            CompletableFuture<Void> reset = new CompletableFuture<>();
+            chainRunner.forceFollow(() -> {
+                executeChain.reset(synced, false);
+                reset.complete(null);
+            });
+            reset.join();
+            List<Runnable> groups = new ArrayList<>(pending);
+            pending.clear();
+            groups.forEach(Runnable::run);
         });
     }
 
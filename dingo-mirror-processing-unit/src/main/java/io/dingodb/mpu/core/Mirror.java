@@ -19,6 +19,7 @@ package io.dingodb.mpu.core;
 import io.dingodb.common.concurrent.Executors;
 import io.dingodb.mpu.Constant;
 import io.dingodb.mpu.instruction.Instruction;
+import io.dingodb.mpu.protocol.InstructionGroup;
 import io.dingodb.mpu.protocol.TagClock;
 import io.dingodb.net.Channel;
 import io.dingodb.net.Message;
@@ -28,6 +29,9 @@ import lombok.experimental.Accessors;
 import lombok.experimental.Delegate;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Accessors(chain = true, fluent = true)
 public class Mirror implements MessageListener {
@@ -61,6 +65,22 @@ public class Mirror implements MessageListener {
                 }
                 return;
             }
+            case Constant.T_INSTRUCTIONS: {
+                try {
+                    List<byte[]> encoded = InstructionGroup.decode(message.content());
+                    List<Instruction> instructions = encoded.stream()
+                        .map(Instruction::decode)
+                        .collect(Collectors.toList());
+                    Instruction last = instructions.get(instructions.size() - 1);
+                    core.storage.saveInstructions(instructions.get(0).clock, encoded);
+                    channel.send(new Message(null, new TagClock(Constant.T_SYNC, last.clock).encode()));
+                    instructions.forEach(core.executionUnit::execute);
+                } catch (Exception e) {
+                    log.error("Sync instructions from {} error.", channel.remoteLocation(), e);
+                    channel.close();
+                }
+                return;
+            }
             case Constant.T_EXECUTE_INSTRUCTION: {
                 try {
                     Instruction instruction = Instruction.decode(message.content());
@@ -73,6 +93,20 @@ public class Mirror implements MessageListener {
                 }
                 return;
             }
+            case Constant.T_EXECUTE_INSTRUCTIONS: {
+                try {
+                    List<byte[]> encoded = InstructionGroup.decode(message.content());
+                    List<Instruction> instructions = encoded.stream()
+                        .map(Instruction::decode)
+                        .collect(Collectors.toList());
+                    core.storage.saveInstructions(instructions.get(0).clock, encoded);
+                    instructions.forEach(core.executionUnit::execute);
+                } catch (Exception e) {
+                    log.error("Sync and execute instructions from {} error.", channel.remoteLocation(), e);
+                    channel.close();
+                }
+                return;
+            }
             case Constant.T_EXECUTE_CLOCK: {
                 Executors
                     .execute("clear-clock", () -> core.storage.clearClock(TagClock.decode(message.content()).clock));
@@ -58,6 +58,16 @@ public final class PhaseAck {
         return (V) result.get(ttl, unit);
     }
 
+    /**
+     * Get the future of the result, which completes after the instruction is executed, without blocking.
+     *
+     * @param <V> type of the result
+     * @return future of the result
+     */
+    public <V> CompletableFuture<V> future() {
+        return clock.thenCompose(__ -> (CompletableFuture<V>) result);
+    }
+
     public void whenClockCompleteAsync(BiConsumer<Long, Throwable> consumer, Executor executor) {
         clock.whenCompleteAsync(consumer, executor);
     }
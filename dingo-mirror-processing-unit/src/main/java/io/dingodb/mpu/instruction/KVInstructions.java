@@ -35,11 +35,16 @@ public class KVInstructions implements Instructions {
     public static final int SET_BATCH_OC = 5;
     public static final int DEL_BATCH_OC = 7;
     public static final int DEL_RANGE_OC = 9;
+    public static final int SET_INDEXED_OC = 11;
+    public static final int DEL_INDEXED_OC = 13;
 
     public static final int COUNT_OC = 0;
     public static final int GET_OC = 2;
     public static final int SCAN_OC = 4;
     public static final int GET_BATCH_OC = 6;
+    public static final int SPLIT_KEYS_OC = 8;
+    public static final int INDEX_SCAN_OC = 10;
+    public static final int CONTAINS_OC = 12;
 
     public static final KVInstructions INSTRUCTIONS;
 
@@ -128,6 +133,29 @@ public class KVInstructions implements Instructions {
             DEL_RANGE_OC,
             (InProcessor) (writer, operand) -> writer.erase((byte[]) operand[0], (byte[]) operand[1])
         );
+        // set with index entries opcode 11, operands are groups of key, value, index keys to erase and index keys to
+        // set, one group for each row
+        kv.processor(SET_INDEXED_OC, (InProcessor) (writer, operand) -> {
+            for (int i = 0; i < operand.length; i += 4) {
+                byte[] key = (byte[]) operand[i];
+                for (byte[] indexKey : (List<byte[]>) operand[i + 2]) {
+                    writer.eraseIndex(indexKey);
+                }
+                for (byte[] indexKey : (List<byte[]>) operand[i + 3]) {
+                    writer.setIndex(indexKey, key);
+                }
+                writer.set(key, (byte[]) operand[i + 1]);
+            }
+        });
+        // delete with index entries opcode 13, operands are pairs of key and index keys to erase, one for each row
+        kv.processor(DEL_INDEXED_OC, (InProcessor) (writer, operand) -> {
+            for (int i = 0; i < operand.length; i += 2) {
+                for (byte[] indexKey : (List<byte[]>) operand[i + 1]) {
+                    writer.eraseIndex(indexKey);
+                }
+                writer.erase((byte[]) operand[i]);
+            }
+        });
 
         // out instruction:
         // count opcode 0
@@ -151,6 +179,16 @@ public class KVInstructions implements Instructions {
             }
         });
         kv.processor(GET_BATCH_OC, (OutProcessor) (reader, operand) -> reader.get((List<byte[]>) operand[0]));
+        // split keys opcode 8
+        kv.processor(SPLIT_KEYS_OC, (OutProcessor) (reader, operand) -> reader.splitKeys(
+            (byte[]) operand[0], (byte[]) operand[1], (int) operand[2]
+        ));
+        // index scan opcode 10
+        kv.processor(INDEX_SCAN_OC, (OutProcessor) (reader, operand) -> reader.indexScan(
+            (byte[]) operand[0], (byte[]) operand[1], true, false
+        ));
+        // contains opcode 12
+        kv.processor(CONTAINS_OC, (OutProcessor) (reader, operand) -> reader.containsKey((byte[]) operand[0]));
 
     }
 
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.mpu.protocol;
+
+import io.dingodb.mpu.Constant;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Frame of a group of encoded instructions with consecutive clocks, sent to a mirror in one message.
+ */
+public final class InstructionGroup {
+
+    private InstructionGroup() {
+    }
+
+    public static byte[] encode(List<byte[]> instructions) {
+        int size = 1 + Integer.BYTES;
+        for (byte[] instruction : instructions) {
+            size += Integer.BYTES + instruction.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).put(Constant.T_INSTRUCTIONS).putInt(instructions.size());
+        for (byte[] instruction : instructions) {
+            buffer.putInt(instruction.length).put(instruction);
+        }
+        return buffer.array();
+    }
+
+    public static List<byte[]> decode(byte[] content) {
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        buffer.get();
+        int count = buffer.getInt();
+        List<byte[]> instructions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] instruction = new byte[buffer.getInt()];
+            buffer.get(instruction);
+            instructions.add(instruction);
+        }
+        return instructions;
+    }
+
+}
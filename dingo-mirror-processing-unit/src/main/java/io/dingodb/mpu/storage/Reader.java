@@ -25,10 +25,39 @@ public interface Reader extends AutoCloseable {
 
     Iterator<KeyValue> scan(byte[] startKey, byte[] endKey, boolean withStart, boolean withEnd);
 
+    /**
+     * Scan the entries of secondary indexes, whose values are the primary keys of the indexed rows.
+     *
+     * @param startKey the start index key, {@code null} means the first key
+     * @param endKey   the end index key, {@code null} means the last key
+     * @param withStart whether the start key is included
+     * @param withEnd   whether the end key is included
+     * @return the iterator of index entries
+     */
+    Iterator<KeyValue> indexScan(byte[] startKey, byte[] endKey, boolean withStart, boolean withEnd);
+
     long count();
 
+    /**
+     * Get keys splitting the range [start, end] into at most {@code count} sub ranges of similar size.
+     *
+     * @param start the start key, {@code null} means the first key
+     * @param end   the end key, {@code null} means the last key
+     * @param count the max count of the sub ranges
+     * @return the sorted split keys, empty if the range cannot be split
+     */
+    List<byte[]> splitKeys(byte[] start, byte[] end, int count);
+
     byte[] get(byte[] key);
 
+    /**
+     * Check if the key exists, without copying the value.
+     *
+     * @param key the key
+     * @return {@code true} if exists
+     */
+    boolean containsKey(byte[] key);
+
     List<KeyValue> get(List<byte[]> keys);
 
     @Override
@@ -19,6 +19,8 @@ package io.dingodb.mpu.storage;
 import io.dingodb.mpu.core.CoreMeta;
 import io.dingodb.mpu.instruction.Instruction;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 public interface Storage {
@@ -31,17 +33,69 @@ public interface Storage {
 
     void saveInstruction(long clock, byte[] instruction);
 
+    /**
+     * Save encoded instructions with consecutive clocks, starting from the given clock.
+     *
+     * @param clock        clock of the first instruction
+     * @param instructions encoded instructions
+     */
+    default void saveInstructions(long clock, List<byte[]> instructions) {
+        for (byte[] instruction : instructions) {
+            saveInstruction(clock++, instruction);
+        }
+    }
+
     byte[] reappearInstruction(long clock);
 
+    /**
+     * Get saved instructions with consecutive clocks from the given clock, stopping at the first missing one.
+     *
+     * @param clock    clock of the first instruction
+     * @param count    max count of instructions
+     * @param maxBytes max total size of instructions, the first instruction is always included if it exists
+     * @return encoded instructions, empty if the instruction of the given clock is missing
+     */
+    default List<byte[]> reappearInstructions(long clock, int count, long maxBytes) {
+        List<byte[]> instructions = new ArrayList<>();
+        long bytes = 0;
+        byte[] instruction;
+        while (instructions.size() < count && bytes < maxBytes) {
+            if ((instruction = reappearInstruction(clock++)) == null) {
+                break;
+            }
+            instructions.add(instruction);
+            bytes += instruction.length;
+        }
+        return instructions;
+    }
+
     void destroy();
 
     CompletableFuture<Void> transferTo(CoreMeta meta);
 
     String filePath();
 
-    String receiveBackup();
+    /**
+     * Prepare to receive data files transferred by {@link #transferTo(CoreMeta)} of the primary.
+     *
+     * @return the directory to put the files
+     */
+    String receiveFiles();
+
+    /**
+     * Get the files not received yet.
+     *
+     * @param files names of the files to transfer
+     * @return names of the files missing or incomplete in the receiving directory
+     */
+    List<String> missingFiles(List<String> files);
 
-    void applyBackup();
+    /**
+     * Replace the data with the received files, while the storage stays open.
+     *
+     * @param files names of the received files
+     */
+    void ingestFiles(List<String> files);
 
     void clearClock(long clock);
 
@@ -49,6 +103,15 @@ public interface Storage {
 
     long approximateSize();
 
+    /**
+     * Get the exact number of data keys maintained by the storage, without counting.
+     *
+     * @return the row count, or -1 if it is not known now
+     */
+    default long rowCount() {
+        return -1;
+    }
+
     /**
      * Get storage snapshot reader.
      *
@@ -60,4 +60,19 @@ public interface Writer extends AutoCloseable {
      */
     void erase(byte[] begin, byte[] end);
 
+    /**
+     * <p>Set an entry of secondary indexes, which is kept apart from the data.</p>
+     *
+     * @param key the index key
+     * @param value the primary key of the indexed row
+     */
+    void setIndex(byte[] key, byte[] value);
+
+    /**
+     * <p>If contains an entry of secondary indexes for "key", erase it.  Else do nothing.</p>
+     *
+     * @param key the index key
+     */
+    void eraseIndex(byte[] key);
+
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.mpu.storage.rocks;
+
+import org.rocksdb.EnvOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Write sorted entries of a column family into SST files, which are cut at boundaries defined by the keys and named
+ * {@code <prefix>-<sha1 of entries>-<file size>.sst}. So a range not changed between two checkpoints results in the
+ * same file, and a mirror having the complete file skips receiving it.
+ */
+class CheckpointFileWriter implements AutoCloseable {
+    static final String SUFFIX = ".sst";
+
+    private static final long MIN_FILE_SIZE = 32L * 1024 * 1024;
+    private static final long MAX_FILE_SIZE = 256L * 1024 * 1024;
+    // After the minimum size, about one in 1024 keys ends the file.
+    private static final int BOUNDARY_MASK = 1023;
+
+    private final Path path;
+    private final String prefix;
+    private final EnvOptions envOptions;
+    private final Options options;
+    private final List<String> files = new ArrayList<>();
+
+    private SstFileWriter writer;
+    private Path tempPath;
+    private MessageDigest digest;
+    private long size;
+
+    CheckpointFileWriter(Path path, String prefix, EnvOptions envOptions, Options options) {
+        this.path = path;
+        this.prefix = prefix;
+        this.envOptions = envOptions;
+        this.options = options;
+    }
+
+    /**
+     * Get the size of the file from its name.
+     *
+     * @param name file name
+     * @return the size, or -1 if the name is not a checkpoint file name
+     */
+    static long fileSize(String name) {
+        if (!name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(name.lastIndexOf('-') + 1, name.length() - SUFFIX.length()));
+        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    void put(byte[] key, byte[] value) throws RocksDBException, IOException, NoSuchAlgorithmException {
+        if (writer == null) {
+            tempPath = path.resolve(prefix + "-" + files.size() + ".tmp");
+            writer = new SstFileWriter(envOptions, options);
+            writer.open(tempPath.toString());
+            digest = MessageDigest.getInstance("SHA-1");
+            size = 0;
+        }
+        writer.put(key, value);
+        update(key);
+        update(value);
+        size += key.length + value.length;
+        if (size >= MAX_FILE_SIZE || (size >= MIN_FILE_SIZE && (hash(key) & BOUNDARY_MASK) == 0)) {
+            finishFile();
+        }
+    }
+
+    /**
+     * Finish writing.
+     *
+     * @return names of the written files
+     */
+    List<String> finish() throws RocksDBException, IOException {
+        if (writer != null) {
+            finishFile();
+        }
+        return files;
+    }
+
+    private void finishFile() throws RocksDBException, IOException {
+        writer.finish();
+        writer.close();
+        writer = null;
+        StringBuilder name = new StringBuilder(prefix).append('-');
+        for (byte b : digest.digest()) {
+            name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        name.append('-').append(Files.size(tempPath)).append(SUFFIX);
+        Files.move(tempPath, path.resolve(name.toString()), REPLACE_EXISTING);
+        files.add(name.toString());
+    }
+
+    private void update(byte[] bytes) {
+        int length = bytes.length;
+        digest.update((byte) (length >>> 24));
+        digest.update((byte) (length >>> 16));
+        digest.update((byte) (length >>> 8));
+        digest.update((byte) length);
+        digest.update(bytes);
+    }
+
+    private static int hash(byte[] key) {
+        int hash = Arrays.hashCode(key);
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        return hash ^ (hash >>> 13);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            Files.deleteIfExists(tempPath);
+        }
+    }
+}
@@ -52,26 +52,32 @@ import static io.dingodb.common.util.ByteArrayUtils.lessThanOrEqual;
 @Slf4j
 @SuppressWarnings("checkstyle:NoFinalizer")
 public class Reader implements io.dingodb.mpu.storage.Reader {
+    private static final byte[] NO_VALUE = new byte[0];
+
     private final RocksDB db;
     private final ColumnFamilyHandle handle;
-    private final Snapshot snapshot;
-    private final ReadOptions readOptions;
+    private final ColumnFamilyHandle indexHandle;
 
-    public Reader(RocksDB db, ColumnFamilyHandle handle) {
+    /**
+     * Create a reader, which is cheap for no snapshot is taken. Point reads see the latest data with the default read
+     * options, so no native options object is created or kept for them. Each iterator is on the implicit snapshot taken
+     * when it is created and kept until it is closed, and counting takes an explicit snapshot for its concurrent
+     * sub-counts.
+     */
+    public Reader(RocksDB db, ColumnFamilyHandle handle, ColumnFamilyHandle indexHandle) {
         this.db = db;
-        this.snapshot = db.getSnapshot();
         this.handle = handle;
-        this.readOptions = new ReadOptions().setSnapshot(snapshot);
+        this.indexHandle = indexHandle;
     }
 
     public Iterator iterator() {
-        return new Iterator(db.newIterator(handle, readOptions), null, null, true, true);
+        return new Iterator(db.newIterator(handle), null, null, true, true);
     }
 
     @Override
     public byte[] get(byte[] key) {
         try {
-            return db.get(handle, readOptions, key);
+            return db.get(handle, key);
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
         }
@@ -80,7 +86,11 @@ public class Reader implements io.dingodb.mpu.storage.Reader {
     @Override
     public List<KeyValue> get(List<byte[]> keys) {
         try {
-            List<byte[]> values = db.multiGetAsList(readOptions, Collections.singletonList(handle), keys);
+            if (keys.isEmpty()) {
+                return Collections.emptyList();
+            }
+            // RocksDB requires a column family handle for each key.
+            List<byte[]> values = db.multiGetAsList(Collections.nCopies(keys.size(), handle), keys);
             List<KeyValue> entries = new ArrayList<>(keys.size());
             for (int i = 0; i < keys.size(); i++) {
                 entries.add(new KeyValue(keys.get(i), values.get(i)));
@@ -91,9 +101,11 @@ public class Reader implements io.dingodb.mpu.storage.Reader {
         }
     }
 
+    @Override
     public boolean containsKey(byte[] key) {
         try {
-            return db.get(handle, readOptions, key) != null;
+            // Read into an empty buffer, so the value is only pinned but not copied.
+            return db.get(handle, key, NO_VALUE) != RocksDB.NOT_FOUND;
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
         }
@@ -101,7 +113,12 @@ public class Reader implements io.dingodb.mpu.storage.Reader {
 
     @Override
     public Iterator scan(byte[] startKey, byte[] endKey, boolean withStart, boolean withEnd) {
-        return new Iterator(db.newIterator(handle, readOptions), startKey, endKey, withStart, withEnd);
+        return new Iterator(db.newIterator(handle), startKey, endKey, withStart, withEnd);
+    }
+
+    @Override
+    public Iterator indexScan(byte[] startKey, byte[] endKey, boolean withStart, boolean withEnd) {
+        return new Iterator(db.newIterator(indexHandle), startKey, endKey, withStart, withEnd);
     }
 
     @Override
@@ -109,15 +126,62 @@ public class Reader implements io.dingodb.mpu.storage.Reader {
         return count(null, null, true, true);
     }
 
-    public long count(byte[] start, byte[] end, boolean withStart, boolean withEnd) {
-        java.util.Iterator<byte[]> keyIterator = db.getLiveFilesMetaData().stream()
+    /**
+     * Get the boundary keys of live sst files in range [start, end], which split the range at no cost.
+     */
+    private TreeSet<byte[]> sstBoundaryKeys(byte[] start, byte[] end) {
+        return db.getLiveFilesMetaData().stream()
             .filter(meta -> Arrays.equals(meta.columnFamilyName(), Constant.CF_DEFAULT))
             .flatMap(meta -> Stream.of(meta.smallestKey(), meta.largestKey()))
             .filter(k -> (end == null || lessThanOrEqual(k, end)) && (start == null || greatThanOrEqual(k, start)))
-            .collect(Collectors.toCollection(() -> new TreeSet<>(ByteArrayUtils::compare)))
-            .iterator();
+            .collect(Collectors.toCollection(() -> new TreeSet<>(ByteArrayUtils::compare)));
+    }
+
+    @Override
+    public List<byte[]> splitKeys(byte[] start, byte[] end, int count) {
+        if (count <= 1) {
+            return Collections.emptyList();
+        }
+        List<byte[]> keys = new ArrayList<>(sstBoundaryKeys(start, end));
+        if (start != null) {
+            keys.removeIf(k -> Arrays.equals(k, start));
+        }
+        if (end != null) {
+            keys.removeIf(k -> Arrays.equals(k, end));
+        }
+        if (keys.size() < count) {
+            return keys;
+        }
+        // Pick `count - 1` keys evenly.
+        List<byte[]> splits = new ArrayList<>(count - 1);
+        for (int i = 1; i < count; ++i) {
+            splits.add(keys.get(i * keys.size() / count));
+        }
+        return splits;
+    }
+
+    public long count(byte[] start, byte[] end, boolean withStart, boolean withEnd) {
+        Snapshot snapshot = db.getSnapshot();
+        try (ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot)) {
+            return count(readOptions, start, end, withStart, withEnd);
+        } finally {
+            db.releaseSnapshot(snapshot);
+        }
+    }
+
+    /**
+     * Count all the data keys visible in the given snapshot, the snapshot is not released.
+     */
+    long count(Snapshot snapshot) {
+        try (ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot)) {
+            return count(readOptions, null, null, true, true);
+        }
+    }
+
+    private long count(ReadOptions readOptions, byte[] start, byte[] end, boolean withStart, boolean withEnd) {
+        java.util.Iterator<byte[]> keyIterator = sstBoundaryKeys(start, end).iterator();
         if (!keyIterator.hasNext()) {
-            return countAsync(start, end, withStart, withEnd).join();
+            return countAsync(readOptions, start, end, withStart, withEnd).join();
         }
         Map<byte[], byte[]> subCounts = new TreeMap<>(ByteArrayUtils::compare);
         byte[] key = keyIterator.next();
@@ -142,7 +206,7 @@ public class Reader implements io.dingodb.mpu.storage.Reader {
             if (!subIterator.hasNext()) {
                 sWithEnd = withEnd;
             }
-            countAsync(entry.getKey(), entry.getValue(), sWithStart, sWithEnd)
+            countAsync(readOptions, entry.getKey(), entry.getValue(), sWithStart, sWithEnd)
                 .whenComplete((r, e) -> {
                     try {
                         if (e == null) {
@@ -164,9 +228,15 @@ public class Reader implements io.dingodb.mpu.storage.Reader {
         }
     }
 
-    public CompletableFuture<Long> countAsync(byte[] start, byte[] end, boolean withStart, boolean withEnd) {
+    private CompletableFuture<Long> countAsync(
+        ReadOptions readOptions,
+        byte[] start,
+        byte[] end,
+        boolean withStart,
+        boolean withEnd
+    ) {
         Predicate<byte[]> ep = end == null ? k -> true : withEnd ? k -> lessThanOrEqual(k, end) : k -> lessThan(k, end);
-        return Executors.submit("calc-count", () -> {
+        return Executors.submit(Executors.IO, "calc-count", () -> {
             long count = 0;
             try (RocksIterator iterator = db.newIterator(handle, readOptions)) {
                 if (start == null) {
@@ -189,10 +259,6 @@ public class Reader implements io.dingodb.mpu.storage.Reader {
 
     @Override
     public void close() {
-        readOptions.setSnapshot(null);
-        db.releaseSnapshot(snapshot);
-        readOptions.close();
-        snapshot.close();
     }
 
     static class Iterator implements java.util.Iterator<KeyValue> {
@@ -29,8 +29,6 @@ import io.dingodb.net.service.FileTransferService;
 import lombok.extern.slf4j.Slf4j;
 import org.rocksdb.AbstractEventListener;
 import org.rocksdb.BackgroundErrorReason;
-import org.rocksdb.BackupEngine;
-import org.rocksdb.BackupEngineOptions;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
 import org.rocksdb.Cache;
@@ -41,15 +39,17 @@ import org.rocksdb.CompactionJobInfo;
 import org.rocksdb.CompressionType;
 import org.rocksdb.ConfigOptions;
 import org.rocksdb.DBOptions;
+import org.rocksdb.EnvOptions;
 import org.rocksdb.FileOperationInfo;
 import org.rocksdb.FlushJobInfo;
 import org.rocksdb.FlushOptions;
+import org.rocksdb.IngestExternalFileOptions;
 import org.rocksdb.LRUCache;
 import org.rocksdb.MemTableInfo;
+import org.rocksdb.Options;
 import org.rocksdb.OptionsUtil;
 import org.rocksdb.Range;
 import org.rocksdb.ReadOptions;
-import org.rocksdb.RestoreOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
@@ -66,21 +66,32 @@ import org.rocksdb.WriteOptions;
 import org.rocksdb.WriteStallInfo;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
 
 import static io.dingodb.common.codec.PrimitiveCodec.encodeLong;
 import static io.dingodb.mpu.Constant.API;
 import static io.dingodb.mpu.Constant.CF_DEFAULT;
+import static io.dingodb.mpu.Constant.CF_INDEX;
 import static io.dingodb.mpu.Constant.CF_META;
 import static io.dingodb.mpu.Constant.CLOCK_K;
+import static io.dingodb.mpu.Constant.COUNT_K;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.rocksdb.SizeApproximationFlag.INCLUDE_FILES;
@@ -93,12 +104,20 @@ public class RocksStorage implements Storage {
         RocksDB.loadLibrary();
     }
 
+    private static final String CHECKPOINT_DATA = "data";
+    private static final String CHECKPOINT_META = "meta";
+    private static final String CHECKPOINT_INDEX = "index";
+    // Files of a transfer not finished in this time are taken as abandoned.
+    private static final long RECEIVE_FILE_EXPIRE = TimeUnit.HOURS.toMillis(1);
+
     public final CoreMeta coreMeta;
 
     public final Path path;
     public final Path instructionPath;
     public final Path dbPath;
-    public final Path backupPath;
+    public final Path checkpointPath;
+    public final Path receivePath;
+    public final Path ingestMarkPath;
     public final Path dcfPath;
     public final Path mcfPath;
     public final Path icfPath;
@@ -110,20 +129,28 @@ public class RocksStorage implements Storage {
     public final WriteOptions writeOptions;
     public final LinkedRunner runner;
 
-    public BackupEngine backup;
     public RocksDB instruction;
     public RocksDB db;
 
     private ColumnFamilyHandle dcfHandler;
     private ColumnFamilyHandle mcfHandler;
     private ColumnFamilyHandle icfHandler;
+    private ColumnFamilyHandle xcfHandler;
 
     private ColumnFamilyDescriptor dcfDesc;
     private ColumnFamilyDescriptor mcfDesc;
     private ColumnFamilyDescriptor icfDesc;
+    private ColumnFamilyDescriptor xcfDesc;
 
     private boolean destroy = false;
 
+    // The row count is maintained by flushing, and calibrated by counting a snapshot when it is unknown.
+    private final Object countLock = new Object();
+    private long rowCount = -1;
+    private long pendingCountDelta = 0;
+    private boolean calibrating = false;
+    private long calibration = 0;
+
     public RocksStorage(CoreMeta coreMeta, String path, final String dbRocksOptionsFile,
                         final String logRocksOptionsFile, final int ttl) throws Exception {
         this.coreMeta = coreMeta;
@@ -133,7 +160,9 @@ public class RocksStorage implements Storage {
         this.logRocksOptionsFile = logRocksOptionsFile;
         this.ttl = ttl;
 
-        this.backupPath = this.path.resolve("backup");
+        this.checkpointPath = this.path.resolve("checkpoint");
+        this.receivePath = this.path.resolve("receive");
+        this.ingestMarkPath = this.path.resolve("ingesting");
 
         this.dbPath = this.path.resolve("db");
         this.dcfPath = this.dbPath.resolve("data");
@@ -142,14 +171,16 @@ public class RocksStorage implements Storage {
         this.instructionPath = this.path.resolve("instruction");
         this.icfPath = this.instructionPath.resolve("data");
         FileUtils.createDirectories(this.instructionPath);
-        FileUtils.createDirectories(this.backupPath);
+        FileUtils.createDirectories(this.checkpointPath);
+        FileUtils.createDirectories(this.receivePath);
         FileUtils.createDirectories(this.dbPath);
         this.instruction = createInstruction();
         log.info("Create {} instruction db.", coreMeta.label);
         this.db = createDB();
+        recoverIngest();
+        this.rowCount = loadRowCount();
         this.writeOptions = new WriteOptions();
         log.info("Create {} db,  ttl: {}.", coreMeta.label, this.ttl);
-        backup = BackupEngine.open(db.getEnv(), new BackupEngineOptions(backupPath.toString()));
         log.info("Create rocks storage for {} success.", coreMeta.label);
     }
 
@@ -208,7 +239,8 @@ public class RocksStorage implements Storage {
 
         List<ColumnFamilyDescriptor> cfs = Arrays.asList(
             dcfDesc = dcfDesc(),
-            mcfDesc = mcfDesc()
+            mcfDesc = mcfDesc(),
+            xcfDesc = xcfDesc()
         );
 
         RocksDB db;
@@ -217,6 +249,7 @@ public class RocksStorage implements Storage {
             List<Integer> ttlList = new ArrayList<>();
             ttlList.add(this.ttl);
             ttlList.add(0);
+            ttlList.add(this.ttl);
             db = TtlDB.open(options, this.dbPath.toString(), cfs, handles, ttlList, false, true);
             Executors.scheduleWithFixedDelayAsync("kv-compact", this::compact,  60 * 60, 60 * 60,
                 SECONDS);
@@ -227,6 +260,7 @@ public class RocksStorage implements Storage {
             this.dbPath, this.dbRocksOptionsFile, handles.size(), this.ttl);
         this.dcfHandler = handles.get(0);
         this.mcfHandler = handles.get(1);
+        this.xcfHandler = handles.get(2);
         return db;
     }
 
@@ -249,6 +283,7 @@ public class RocksStorage implements Storage {
         this.db.close();
         this.dcfHandler.close();
         this.mcfHandler.close();
+        this.xcfHandler.close();
     }
 
     @Override
@@ -258,7 +293,6 @@ public class RocksStorage implements Storage {
         closeDB();
         this.instruction.close();
         this.icfHandler.close();
-        this.backup.close();
         /**
          * to avoid the file handle leak when drop table
          */
@@ -272,19 +306,34 @@ public class RocksStorage implements Storage {
             dcfDesc.getOptions().close();
             mcfDesc.getOptions().close();
             icfDesc.getOptions().close();
+            xcfDesc.getOptions().close();
         } catch (Exception e) {
             log.error("Close {} cf options error.", coreMeta.label, e);
         }
     }
 
+    /**
+     * Transfer the data to the mirror as SST files written from a snapshot, the mirror only receives the files it does
+     * not have from an unfinished transfer and ingests them without closing its DB.
+     */
     @Override
     public CompletableFuture<Void> transferTo(CoreMeta meta) {
-        return Executors.submit("transfer-to-" + meta.label, () -> {
-            backup();
-            StorageApi storageApi = API.proxy(StorageApi.class, meta.location);
-            String target = storageApi.transferBackup(meta.mpuId, meta.coreId);
-            FileTransferService.transferTo(meta.location, Paths.get(backupPath.toString()), Paths.get(target));
-            storageApi.applyBackup(meta.mpuId, meta.coreId);
+        return Executors.submit(Executors.BACKGROUND, "transfer-to-" + meta.label, () -> {
+            Path checkpoint = checkpointPath.resolve(meta.label);
+            try {
+                List<String> files = checkpoint(checkpoint);
+                StorageApi storageApi = API.proxy(StorageApi.class, meta.location);
+                Path target = Paths.get(storageApi.receiveFiles(meta.mpuId, meta.coreId));
+                List<String> missing = storageApi.missingFiles(meta.mpuId, meta.coreId, files);
+                log.info("Transfer {} files of {} to {}, {} files missing.",
+                    files.size(), coreMeta.label, meta.label, missing.size());
+                for (String file : missing) {
+                    FileTransferService.transferTo(meta.location, checkpoint.resolve(file), target.resolve(file));
+                }
+                storageApi.ingestFiles(meta.mpuId, meta.coreId, files);
+            } finally {
+                FileUtils.deleteIfExists(checkpoint);
+            }
             return null;
         });
     }
@@ -305,39 +354,175 @@ public class RocksStorage implements Storage {
         }
     }
 
-    public void backup() {
+    private List<String> checkpoint(Path checkpoint) throws Exception {
         if (destroy) {
-            return;
+            throw new RuntimeException();
         }
-        try {
-            backup.createNewBackup(db);
-            backup.purgeOldBackups(3);
-            backup.garbageCollect();
-        } catch (RocksDBException e) {
+        FileUtils.deleteIfExists(checkpoint);
+        FileUtils.createDirectories(checkpoint);
+        List<String> files = new ArrayList<>();
+        Snapshot snapshot = db.getSnapshot();
+        try (
+            ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot);
+            EnvOptions envOptions = new EnvOptions();
+            Options options = new Options()
+        ) {
+            files.addAll(checkpoint(checkpoint, CHECKPOINT_DATA, dcfHandler, readOptions, envOptions, options));
+            files.addAll(checkpoint(checkpoint, CHECKPOINT_META, mcfHandler, readOptions, envOptions, options));
+            files.addAll(checkpoint(checkpoint, CHECKPOINT_INDEX, xcfHandler, readOptions, envOptions, options));
+            readOptions.setSnapshot(null);
+        } finally {
+            db.releaseSnapshot(snapshot);
+        }
+        return files;
+    }
+
+    private List<String> checkpoint(
+        Path checkpoint, String prefix, ColumnFamilyHandle handle,
+        ReadOptions readOptions, EnvOptions envOptions, Options options
+    ) throws Exception {
+        boolean ttlValid = RocksUtils.ttlValid(this.ttl);
+        try (
+            RocksIterator iterator = db.newIterator(handle, readOptions);
+            CheckpointFileWriter writer = new CheckpointFileWriter(checkpoint, prefix, envOptions, options)
+        ) {
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                // The ttl db strips the timestamp when reading, and the files are ingested without adding it.
+                byte[] value = iterator.value();
+                writer.put(iterator.key(), ttlValid ? RocksUtils.getValueWithNowTs(value) : value);
+            }
+            iterator.status();
+            return writer.finish();
+        }
+    }
+
+    @Override
+    public String receiveFiles() {
+        FileUtils.createDirectories(receivePath);
+        long expire = System.currentTimeMillis() - RECEIVE_FILE_EXPIRE;
+        try (DirectoryStream<Path> received = Files.newDirectoryStream(receivePath)) {
+            for (Path file : received) {
+                if (Files.getLastModifiedTime(file).toMillis() < expire) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        return receivePath.toString();
     }
 
     @Override
-    public String receiveBackup() {
-        return this.backupPath.toString();
+    public List<String> missingFiles(List<String> files) {
+        return files.stream().filter(file -> {
+            try {
+                Path path = receivePath.resolve(file);
+                return !Files.exists(path) || Files.size(path) != CheckpointFileWriter.fileSize(file);
+            } catch (IOException e) {
+                return true;
+            }
+        }).collect(Collectors.toList());
     }
 
     @Override
-    public void applyBackup() {
+    public void ingestFiles(List<String> files) {
         if (destroy) {
             throw new RuntimeException();
         }
-        try {
-            backup.close();
-            backup = BackupEngine.open(db.getEnv(), new BackupEngineOptions(backupPath.toString()));
-            closeDB();
-            backup.restoreDbFromLatestBackup(
-                dbPath.toString(), dbPath.resolve("wal").toString(), new RestoreOptions(false)
-            );
-            db = createDB();
+        Path ingest = path.resolve("ingest");
+        FileUtils.deleteIfExists(ingest);
+        FileUtils.createDirectories(ingest);
+        try (IngestExternalFileOptions options = new IngestExternalFileOptions().setMoveFiles(true)) {
+            Map<ColumnFamilyHandle, List<String>> cfFiles = new LinkedHashMap<>();
+            cfFiles.put(dcfHandler, new ArrayList<>());
+            cfFiles.put(mcfHandler, new ArrayList<>());
+            cfFiles.put(xcfHandler, new ArrayList<>());
+            for (String file : files) {
+                ColumnFamilyHandle handle = file.startsWith(CHECKPOINT_DATA + "-") ? dcfHandler
+                    : file.startsWith(CHECKPOINT_META + "-") ? mcfHandler : xcfHandler;
+                // Ingest hard links, so the received files are kept for a retry if the ingestion fails.
+                Path link = ingest.resolve(file);
+                linkOrCopy(receivePath.resolve(file), link);
+                cfFiles.get(handle).add(link.toString());
+            }
+            synchronized (countLock) {
+                // Column families are cleared and ingested one by one, the mark tells an interrupted ingestion.
+                mark(ingestMarkPath);
+                try {
+                    for (Map.Entry<ColumnFamilyHandle, List<String>> entry : cfFiles.entrySet()) {
+                        // The files are ingested after the range deletion, so the entries not in the files are
+                        // deleted.
+                        clearColumnFamily(entry.getKey());
+                        if (!entry.getValue().isEmpty()) {
+                            db.ingestExternalFile(entry.getKey(), entry.getValue(), options);
+                        }
+                    }
+                    // The range deletions of the column families without files are only in the memtables.
+                    try (FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+                        db.flush(flushOptions, new ArrayList<>(cfFiles.keySet()));
+                    }
+                    Files.delete(ingestMarkPath);
+                } finally {
+                    // If failed, the data is cleared rather than taken as synced with a part of the files.
+                    recoverIngest();
+                    calibrating = false;
+                    rowCount = loadRowCount();
+                }
+            }
+            FileUtils.deleteIfExists(receivePath);
         } catch (Exception e) {
             throw new RuntimeException(e);
+        } finally {
+            FileUtils.deleteIfExists(ingest);
+        }
+        log.info("Ingest {} files for {}, clock: {}.", files.size(), coreMeta.label, clocked());
+    }
+
+    /**
+     * Clear the data left by an interrupted or failed ingestion, so the mirror syncs from clock 0 and the data is
+     * transferred again.
+     */
+    private void recoverIngest() throws Exception {
+        if (!Files.exists(ingestMarkPath)) {
+            return;
+        }
+        log.warn("Ingestion of {} was interrupted, clear the data.", coreMeta.label);
+        clearColumnFamily(dcfHandler);
+        clearColumnFamily(mcfHandler);
+        clearColumnFamily(xcfHandler);
+        try (FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+            db.flush(flushOptions, Arrays.asList(dcfHandler, mcfHandler, xcfHandler));
+        }
+        Files.delete(ingestMarkPath);
+    }
+
+    private void clearColumnFamily(ColumnFamilyHandle handle) throws RocksDBException {
+        byte[] first;
+        byte[] last;
+        try (RocksIterator iterator = db.newIterator(handle)) {
+            iterator.seekToFirst();
+            if (!iterator.isValid()) {
+                return;
+            }
+            first = iterator.key();
+            iterator.seekToLast();
+            last = iterator.key();
+        }
+        db.deleteRange(handle, first, last);
+        db.delete(handle, last);
+    }
+
+    private static void mark(Path mark) throws IOException {
+        try (FileChannel channel = FileChannel.open(mark, CREATE, WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(source, target);
         }
     }
 
@@ -353,6 +538,102 @@ public class RocksStorage implements Storage {
         }
     }
 
+    @Override
+    public long rowCount() {
+        if (destroy) {
+            throw new RuntimeException();
+        }
+        if (RocksUtils.ttlValid(this.ttl)) {
+            return -1;
+        }
+        synchronized (countLock) {
+            if (rowCount >= 0) {
+                return rowCount;
+            }
+            if (calibrating) {
+                return -1;
+            }
+        }
+        Executors.execute("calibrate-row-count-" + coreMeta.label, this::calibrateRowCount);
+        return -1;
+    }
+
+    private long loadRowCount() throws RocksDBException {
+        if (RocksUtils.ttlValid(this.ttl)) {
+            return -1;
+        }
+        return Optional.mapOrGet(db.get(mcfHandler, COUNT_K), PrimitiveCodec::readLong, () -> -1L);
+    }
+
+    private void calibrateRowCount() {
+        RocksDB db;
+        Snapshot snapshot;
+        long calibration;
+        synchronized (countLock) {
+            if (destroy || calibrating || rowCount >= 0) {
+                return;
+            }
+            calibrating = true;
+            pendingCountDelta = 0;
+            calibration = ++this.calibration;
+            db = this.db;
+            snapshot = db.getSnapshot();
+        }
+        try {
+            long count = new Reader(db, dcfHandler, xcfHandler).count(snapshot);
+            synchronized (countLock) {
+                // Aborted by a range erasing or restoring during counting.
+                if (!calibrating || calibration != this.calibration) {
+                    return;
+                }
+                calibrating = false;
+                db.put(mcfHandler, writeOptions, COUNT_K, encodeLong(count + pendingCountDelta));
+                rowCount = count + pendingCountDelta;
+            }
+            log.info("Calibrate {} row count: {}.", coreMeta.label, rowCount);
+        } catch (Exception e) {
+            log.error("Calibrate {} row count error.", coreMeta.label, e);
+            synchronized (countLock) {
+                if (calibration == this.calibration) {
+                    calibrating = false;
+                }
+            }
+        } finally {
+            synchronized (countLock) {
+                if (db == this.db && !destroy) {
+                    db.releaseSnapshot(snapshot);
+                }
+            }
+        }
+    }
+
+    private boolean countTracking() {
+        synchronized (countLock) {
+            return rowCount >= 0 || calibrating;
+        }
+    }
+
+    /**
+     * Apply the row count change of the writer, must be called with {@code countLock} held, before writing the batch.
+     */
+    private void applyCountDelta(Writer writer, WriteBatch batch) throws RocksDBException {
+        if (rowCount < 0 && !calibrating) {
+            return;
+        }
+        if (writer.countInvalid()) {
+            rowCount = -1;
+            calibrating = false;
+            batch.delete(mcfHandler, COUNT_K);
+            return;
+        }
+        if (calibrating) {
+            pendingCountDelta += writer.countDelta();
+        } else if (writer.countDelta() != 0) {
+            rowCount += writer.countDelta();
+            batch.put(mcfHandler, COUNT_K, encodeLong(rowCount));
+        }
+    }
+
     @Override
     public long approximateSize() {
         if (destroy) {
@@ -449,6 +730,21 @@ public class RocksStorage implements Storage {
         }
     }
 
+    @Override
+    public void saveInstructions(long clock, List<byte[]> instructions) {
+        if (destroy) {
+            throw new RuntimeException();
+        }
+        try (WriteBatch batch = new WriteBatch()) {
+            for (byte[] instruction : instructions) {
+                batch.put(icfHandler, PrimitiveCodec.encodeLong(clock++), instruction);
+            }
+            this.instruction.write(writeOptions, batch);
+        } catch (RocksDBException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public byte[] reappearInstruction(long clock) {
         if (destroy) {
@@ -461,6 +757,33 @@ public class RocksStorage implements Storage {
         }
     }
 
+    @Override
+    public List<byte[]> reappearInstructions(long clock, int count, long maxBytes) {
+        if (destroy) {
+            throw new RuntimeException();
+        }
+        List<byte[]> instructions = new ArrayList<>();
+        long bytes = 0;
+        try (
+            ReadOptions readOptions = new ReadOptions().setTotalOrderSeek(true);
+            RocksIterator iterator = instruction.newIterator(icfHandler, readOptions)
+        ) {
+            iterator.seek(encodeLong(clock));
+            while (iterator.isValid() && instructions.size() < count && bytes < maxBytes) {
+                byte[] key = iterator.key();
+                if (key.length != Long.BYTES || PrimitiveCodec.readLong(key) != clock) {
+                    break;
+                }
+                byte[] value = iterator.value();
+                instructions.add(value);
+                bytes += value.length;
+                clock++;
+                iterator.next();
+            }
+        }
+        return instructions;
+    }
+
     @Override
     public String filePath() {
         return null;
@@ -471,7 +794,7 @@ public class RocksStorage implements Storage {
         if (destroy) {
             throw new RuntimeException();
         }
-        return new Reader(db, dcfHandler);
+        return new Reader(db, dcfHandler, xcfHandler);
     }
 
     @Override
@@ -479,7 +802,9 @@ public class RocksStorage implements Storage {
         if (destroy) {
             throw new RuntimeException();
         }
-        return new Writer(db, instruction, dcfHandler);
+        return new Writer(
+            db, instruction, dcfHandler, xcfHandler, !RocksUtils.ttlValid(this.ttl) && countTracking()
+        );
     }
 
     @Override
@@ -495,7 +820,20 @@ public class RocksStorage implements Storage {
                 clockValue = RocksUtils.getValueWithNowTs(clockValue);
             }
             batch.put(mcfHandler, CLOCK_K, clockValue);
-            this.db.write(writeOptions, batch);
+            synchronized (countLock) {
+                long count = rowCount;
+                long pending = pendingCountDelta;
+                boolean wasCalibrating = calibrating;
+                try {
+                    applyCountDelta((Writer) writer, batch);
+                    this.db.write(writeOptions, batch);
+                } catch (Exception e) {
+                    rowCount = count;
+                    pendingCountDelta = pending;
+                    calibrating = wasCalibrating;
+                    throw e;
+                }
+            }
         } catch (Exception e) {
             throw new RuntimeException(e);
         } finally {
@@ -575,6 +913,10 @@ public class RocksStorage implements Storage {
         return new ColumnFamilyDescriptor(CF_META, new ColumnFamilyOptions());
     }
 
+    private static ColumnFamilyDescriptor xcfDesc() {
+        return new ColumnFamilyDescriptor(CF_INDEX, new ColumnFamilyOptions());
+    }
+
     public class Listener extends AbstractEventListener {
 
         @Override
@@ -584,10 +926,9 @@ public class RocksStorage implements Storage {
                 db.getName().equals(RocksStorage.this.db.getName())
                 && flushJobInfo.getColumnFamilyId() == dcfHandler.getID()
             ) {
-                log.info("Flush on db default, will flush instruction and meta, and backup default db.");
+                log.info("Flush on db default, will flush instruction and meta.");
                 runner.forceFollow(() -> LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1)));
                 runner.forceFollow(RocksStorage.this::flushMeta);
-                runner.forceFollow(RocksStorage.this::backup);
             }
         }
 
@@ -599,7 +940,6 @@ public class RocksStorage implements Storage {
         @Override
         public void onTableFileDeleted(TableFileDeletionInfo tableFileDeletionInfo) {
             log.info("{} on table file deleted, info: {}", coreMeta.label, tableFileDeletionInfo);
-            //runner.forceFollow(RocksStorage.this::backup);
         }
 
         @Override
@@ -610,14 +950,6 @@ public class RocksStorage implements Storage {
         @Override
         public void onCompactionCompleted(RocksDB db, CompactionJobInfo compactionJobInfo) {
             log.info("{} on compaction completed, info: {}", coreMeta.label, compactionJobInfo);
-            if (
-                db.getName().equals(RocksStorage.this.db.getName())
-                && Arrays.equals(compactionJobInfo.columnFamilyName(), CF_DEFAULT)
-            ) {
-                runner.forceFollow(() -> LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1)));
-                runner.forceFollow(RocksStorage.this::backup);
-            }
-
         }
 
         @Override
@@ -676,7 +1008,6 @@ public class RocksStorage implements Storage {
         @Override
         public void onFileTruncateFinish(FileOperationInfo fileOperationInfo) {
             log.info("{} on file truncate finish, info: {}", coreMeta.label, fileOperationInfo);
-            //runner.forceFollow(RocksStorage.this::backup);
         }
 
         @Override
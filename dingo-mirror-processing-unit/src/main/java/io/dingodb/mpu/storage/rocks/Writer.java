@@ -16,33 +16,73 @@
 
 package io.dingodb.mpu.storage.rocks;
 
+import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.mpu.instruction.Instruction;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.WriteBatch;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.TreeMap;
 
 @Accessors(chain = true, fluent = true)
 public class Writer implements io.dingodb.mpu.storage.Writer {
 
+    private static final ThreadLocal<ReadOptions> POINT_READ_OPTIONS = ThreadLocal.withInitial(ReadOptions::new);
+    private static final byte[] NO_VALUE = new byte[0];
+
     @Getter
     private final Instruction instruction;
 
     private final RocksDB db;
     private final ColumnFamilyHandle handler;
+    private final ColumnFamilyHandle indexHandler;
     private final WriteBatch writeBatch;
 
-    public Writer(RocksDB db, Instruction instruction, ColumnFamilyHandle dcfHandler) {
+    // Existence of the data keys written by this writer, `null` if the row count is not tracked.
+    private final Map<byte[], Boolean> touched;
+    @Getter
+    private long countDelta = 0;
+    @Getter
+    private boolean countInvalid = false;
+
+    public Writer(RocksDB db, Instruction instruction, ColumnFamilyHandle dcfHandler, ColumnFamilyHandle xcfHandler) {
+        this(db, instruction, dcfHandler, xcfHandler, false);
+    }
+
+    /**
+     * Create writer, if {@code trackCount} is true, the writer checks whether each written data key exists before,
+     * so that the change of the row count can be applied in flushing without counting the storage. Otherwise, writing
+     * any data key makes the count invalid.
+     */
+    public Writer(
+        RocksDB db,
+        Instruction instruction,
+        ColumnFamilyHandle dcfHandler,
+        ColumnFamilyHandle xcfHandler,
+        boolean trackCount
+    ) {
         this.db = db;
         this.instruction = instruction;
         this.handler = dcfHandler;
+        this.indexHandler = xcfHandler;
         this.writeBatch = new WriteBatch();
+        this.touched = trackCount ? new TreeMap<>(ByteArrayUtils::compare) : null;
+    }
+
+    // The point read copies no value, and the rows written by SQL are read just before to check or get the old ones,
+    // so it is served by the memtable or the block cache mostly.
+    private boolean exists(byte[] key) throws RocksDBException {
+        Boolean exists = touched.get(key);
+        if (exists == null) {
+            exists = db.get(handler, POINT_READ_OPTIONS.get(), key, NO_VALUE) != RocksDB.NOT_FOUND;
+        }
+        return exists;
     }
 
     public WriteBatch writeBatch() {
@@ -67,7 +107,15 @@ public class Writer implements io.dingodb.mpu.storage.Writer {
     @Override
     public void set(byte[] key, byte[] value) {
         try {
+            if (touched == null) {
+                countInvalid = true;
+            } else if (!exists(key)) {
+                countDelta++;
+            }
             writeBatch.put(handler, key, value);
+            if (touched != null) {
+                touched.put(key, Boolean.TRUE);
+            }
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
         }
@@ -76,7 +124,15 @@ public class Writer implements io.dingodb.mpu.storage.Writer {
     @Override
     public void erase(byte[] key) {
         try {
+            if (touched == null) {
+                countInvalid = true;
+            } else if (exists(key)) {
+                countDelta--;
+            }
             writeBatch.delete(handler, key);
+            if (touched != null) {
+                touched.put(key, Boolean.FALSE);
+            }
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
         }
@@ -84,6 +140,7 @@ public class Writer implements io.dingodb.mpu.storage.Writer {
 
     @Override
     public void erase(byte[] begin, byte[] end) {
+        countInvalid = true;
         try {
             if (end == null) {
                 try (RocksIterator iter = db.newIterator()) {
@@ -102,4 +159,22 @@ public class Writer implements io.dingodb.mpu.storage.Writer {
         }
     }
 
+    @Override
+    public void setIndex(byte[] key, byte[] value) {
+        try {
+            writeBatch.put(indexHandler, key, value);
+        } catch (RocksDBException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void eraseIndex(byte[] key) {
+        try {
+            writeBatch.delete(indexHandler, key);
+        } catch (RocksDBException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
 }
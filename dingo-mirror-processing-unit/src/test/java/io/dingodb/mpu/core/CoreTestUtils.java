@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.mpu.core;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.mpu.storage.Storage;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.mockito.Mockito;
+
+final class CoreTestUtils {
+    private static final CommonId MPU_ID = new CommonId((byte) 'T', new byte[]{'M', 'U'}, new byte[4], 1);
+    private static final CommonId CORE_ID = new CommonId((byte) 'T', new byte[]{'C', 'R'}, new byte[4], 1);
+
+    private CoreTestUtils() {
+    }
+
+    static @NonNull CoreMeta meta(int seq) {
+        return new CoreMeta(
+            new CommonId((byte) 'T', new byte[]{'R', 'P'}, new byte[4], seq),
+            CORE_ID,
+            MPU_ID,
+            new Location("localhost", 10000 + seq),
+            seq
+        );
+    }
+
+    // A core with mirrors 1 and 2, whose storage is the given one.
+    static @NonNull Core core(Storage storage) {
+        return new Core(Mockito.mock(MirrorProcessingUnit.class), meta(0), meta(1), meta(2), storage);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.mpu.core;
+
+import io.dingodb.mpu.Constant;
+import io.dingodb.mpu.instruction.EmptyInstructions;
+import io.dingodb.mpu.instruction.Instruction;
+import io.dingodb.mpu.protocol.InstructionGroup;
+import io.dingodb.mpu.storage.Storage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static io.dingodb.mpu.core.CoreTestUtils.core;
+import static io.dingodb.mpu.core.CoreTestUtils.meta;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class TestControlUnit {
+    private Storage storage;
+    private Core core;
+    private CoreMeta first;
+    private CoreMeta second;
+    private InstructionSyncChannel firstChannel;
+    private InstructionSyncChannel secondChannel;
+    private ControlUnit controlUnit;
+
+    // The mirror acknowledges the synced instructions one by one, as the chain of a sync channel does on T_SYNC.
+    private void acknowledge(InstructionSyncChannel channel, CoreMeta mirror) {
+        doAnswer(invocation -> {
+            List<Instruction> instructions = invocation.getArgument(0);
+            instructions.forEach(instruction -> controlUnit.onSynced(mirror, instruction));
+            return null;
+        }).when(channel).sync(anyList(), any());
+    }
+
+    @BeforeEach
+    public void setup() {
+        storage = Mockito.mock(Storage.class);
+        core = core(storage);
+        first = meta(1);
+        second = meta(2);
+        firstChannel = Mockito.mock(InstructionSyncChannel.class);
+        secondChannel = Mockito.mock(InstructionSyncChannel.class);
+        acknowledge(firstChannel, first);
+        acknowledge(secondChannel, second);
+        controlUnit = new ControlUnit(core, 0, first, second);
+        // Each connection commits an empty instruction, clock 1 and 2.
+        controlUnit.onMirrorConnect(first, firstChannel);
+        controlUnit.onMirrorConnect(second, secondChannel);
+    }
+
+    // The core is closed first, so that it does not select primary again on the closing of the control unit.
+    private void close() {
+        core.close();
+        controlUnit.close();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        close();
+    }
+
+    @Test
+    public void testGroupCommit() throws InterruptedException {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch saved = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            saving.countDown();
+            saved.await();
+            return null;
+        }).when(storage).saveInstructions(anyLong(), anyList());
+        List<PhaseAck> acks = new ArrayList<>();
+        PhaseAck ack = new PhaseAck();
+        controlUnit.process(ack, EmptyInstructions.id, EmptyInstructions.EMPTY);
+        acks.add(ack);
+        assertThat(saving.await(10, TimeUnit.SECONDS)).isTrue();
+        // Arrived while the former group is being saved, so committed in one group.
+        for (int i = 0; i < 4; ++i) {
+            ack = new PhaseAck();
+            controlUnit.process(ack, EmptyInstructions.id, EmptyInstructions.EMPTY);
+            acks.add(ack);
+        }
+        saved.countDown();
+        for (PhaseAck phaseAck : acks) {
+            phaseAck.future().get(10, TimeUnit.SECONDS);
+        }
+        ArgumentCaptor<Long> clocks = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<List<byte[]>> groups = ArgumentCaptor.forClass(List.class);
+        verify(storage, atLeastOnce()).saveInstructions(clocks.capture(), groups.capture());
+        assertThat(clocks.getAllValues()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(groups.getAllValues().stream().map(List::size).collect(Collectors.toList()))
+            .containsExactly(1, 1, 1, 4);
+        List<byte[]> group = groups.getAllValues().get(3);
+        for (int i = 0; i < group.size(); ++i) {
+            assertThat(Instruction.decode(group.get(i)).clock).isEqualTo(4 + i);
+        }
+        // Synced to each mirror in one frame.
+        ArgumentCaptor<byte[]> frames = ArgumentCaptor.forClass(byte[].class);
+        verify(firstChannel, timeout(10000).times(4)).sync(anyList(), frames.capture());
+        byte[] frame = frames.getAllValues().get(3);
+        assertThat(frame[0]).isEqualTo(Constant.T_INSTRUCTIONS);
+        assertThat(InstructionGroup.decode(frame)).hasSize(4);
+        assertThat(frames.getAllValues().get(2)[0]).isEqualTo(Constant.T_INSTRUCTION);
+        verify(secondChannel, timeout(10000).times(4)).sync(anyList(), any());
+    }
+
+    @Test
+    public void testClosed() {
+        close();
+        PhaseAck ack = new PhaseAck();
+        controlUnit.process(ack, EmptyInstructions.id, EmptyInstructions.EMPTY);
+        assertThat(ack.future()).isCompletedExceptionally();
+    }
+}
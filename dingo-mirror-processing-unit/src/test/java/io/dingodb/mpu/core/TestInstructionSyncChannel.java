@@ -0,0 +1,207 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.mpu.core;
+
+import io.dingodb.mpu.Constant;
+import io.dingodb.mpu.instruction.EmptyInstructions;
+import io.dingodb.mpu.instruction.Instruction;
+import io.dingodb.mpu.protocol.InstructionGroup;
+import io.dingodb.mpu.protocol.TagClock;
+import io.dingodb.mpu.storage.Storage;
+import io.dingodb.net.Channel;
+import io.dingodb.net.Message;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static io.dingodb.mpu.core.CoreTestUtils.core;
+import static io.dingodb.mpu.core.CoreTestUtils.meta;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestInstructionSyncChannel {
+    private Storage storage;
+    private Core core;
+    private CoreMeta mirror;
+    private Channel channel;
+    private ControlUnit controlUnit;
+
+    private static @NonNull List<Instruction> instructions(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+            .mapToObj(clock -> new Instruction(clock, EmptyInstructions.id, EmptyInstructions.EMPTY))
+            .collect(Collectors.toList());
+    }
+
+    private static byte @NonNull [] frame(@NonNull List<Instruction> instructions) {
+        List<byte[]> encoded = instructions.stream().map(Instruction::encode).collect(Collectors.toList());
+        return encoded.size() == 1 ? encoded.get(0) : InstructionGroup.encode(encoded);
+    }
+
+    private static @NonNull List<Long> clocks(byte @NonNull [] frame) {
+        if (frame[0] == Constant.T_INSTRUCTION) {
+            return Collections.singletonList(Instruction.decode(frame).clock);
+        }
+        return InstructionGroup.decode(frame).stream()
+            .map(instruction -> Instruction.decode(instruction).clock)
+            .collect(Collectors.toList());
+    }
+
+    private @NonNull InstructionSyncChannel connect(long clock) {
+        InstructionSyncChannel syncChannel = new InstructionSyncChannel(core, mirror, clock, channel);
+        syncChannel.assignControlUnit(controlUnit);
+        return syncChannel;
+    }
+
+    private @NonNull List<byte[]> sent(int times) {
+        ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+        verify(channel, timeout(10000).times(times)).send(messages.capture(), eq(true));
+        return messages.getAllValues().stream().map(Message::content).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    public void setup() {
+        storage = Mockito.mock(Storage.class);
+        core = core(storage);
+        mirror = meta(1);
+        channel = Mockito.mock(Channel.class);
+        controlUnit = Mockito.mock(ControlUnit.class);
+    }
+
+    @Test
+    public void testSyncGroup() {
+        InstructionSyncChannel syncChannel = connect(0);
+        List<Instruction> group = instructions(1, 3);
+        byte[] frame = frame(group);
+        syncChannel.sync(group, frame);
+        assertThat(sent(1).get(0)).isEqualTo(frame);
+        syncChannel.sync(instructions(4, 4), frame(instructions(4, 4)));
+        assertThat(clocks(sent(2).get(1))).containsExactly(4L);
+    }
+
+    @Test
+    public void testSyncAcknowledged() {
+        InstructionSyncChannel syncChannel = connect(0);
+        List<Instruction> group = instructions(1, 3);
+        syncChannel.sync(group, frame(group));
+        sent(1);
+        // One T_SYNC acknowledges all the instructions up to its clock, in clock order.
+        syncChannel.onMessage(new Message(null, new TagClock(Constant.T_SYNC, 2).encode()), channel);
+        InOrder inOrder = inOrder(controlUnit);
+        inOrder.verify(controlUnit, timeout(10000)).onSynced(mirror, group.get(0));
+        inOrder.verify(controlUnit, timeout(10000)).onSynced(mirror, group.get(1));
+        verify(controlUnit, after(100).never()).onSynced(mirror, group.get(2));
+        syncChannel.onMessage(new Message(null, new TagClock(Constant.T_SYNC, 3).encode()), channel);
+        verify(controlUnit, timeout(10000)).onSynced(mirror, group.get(2));
+    }
+
+    @Test
+    public void testSyncTrimmed() {
+        // The mirror has the instructions up to clock 2 already.
+        InstructionSyncChannel syncChannel = connect(2);
+        syncChannel.sync(instructions(1, 2), frame(instructions(1, 2)));
+        syncChannel.sync(instructions(1, 4), frame(instructions(1, 4)));
+        byte[] frame = sent(1).get(0);
+        assertThat(frame[0]).isEqualTo(Constant.T_INSTRUCTIONS);
+        assertThat(clocks(frame)).containsExactly(3L, 4L);
+        syncChannel.sync(instructions(4, 5), frame(instructions(4, 5)));
+        frame = sent(2).get(1);
+        assertThat(frame[0]).isEqualTo(Constant.T_INSTRUCTION);
+        assertThat(clocks(frame)).containsExactly(5L);
+        syncChannel.onMessage(new Message(null, new TagClock(Constant.T_SYNC, 5).encode()), channel);
+        verify(controlUnit, timeout(10000)).onSynced(eq(mirror), any());
+        verify(controlUnit, after(100).times(3)).onSynced(eq(mirror), any());
+    }
+
+    @Test
+    public void testCatchUp() {
+        CompletableFuture<Void> saved = new CompletableFuture<>();
+        // Two saved instructions at most each time, so the catch-up is sent in batches.
+        when(storage.reappearInstructions(anyLong(), anyInt(), anyLong())).thenAnswer(invocation -> {
+            saved.join();
+            long clock = invocation.getArgument(0);
+            int count = Math.min(2, invocation.<Integer>getArgument(1));
+            return instructions(clock, clock + count - 1).stream()
+                .map(Instruction::encode)
+                .collect(Collectors.toList());
+        });
+        InstructionSyncChannel syncChannel = connect(0);
+        List<Instruction> group = instructions(5, 6);
+        syncChannel.sync(group, frame(group));
+        // Held in pending while catching up.
+        syncChannel.sync(instructions(7, 7), frame(instructions(7, 7)));
+        verify(channel, after(100).never()).send(any(), eq(true));
+        saved.complete(null);
+        List<byte[]> frames = sent(4);
+        assertThat(frames.get(0)[0]).isEqualTo(Constant.T_EXECUTE_INSTRUCTIONS);
+        assertThat(clocks(frames.get(0))).containsExactly(1L, 2L);
+        assertThat(frames.get(1)[0]).isEqualTo(Constant.T_EXECUTE_INSTRUCTIONS);
+        assertThat(clocks(frames.get(1))).containsExactly(3L, 4L);
+        assertThat(frames.get(2)).isEqualTo(frame(group));
+        assertThat(clocks(frames.get(3))).containsExactly(7L);
+        // The replayed instructions are not acknowledged, the chain follows on from them.
+        syncChannel.onMessage(new Message(null, new TagClock(Constant.T_SYNC, 7).encode()), channel);
+        InOrder inOrder = inOrder(controlUnit);
+        inOrder.verify(controlUnit, timeout(10000)).onSynced(mirror, group.get(0));
+        inOrder.verify(controlUnit, timeout(10000)).onSynced(mirror, group.get(1));
+        inOrder.verify(controlUnit, timeout(10000)).onSynced(eq(mirror), any());
+        verify(controlUnit, after(100).times(3)).onSynced(eq(mirror), any());
+    }
+
+    @Test
+    public void testCatchUpPurged() {
+        // No saved instructions, then the data files are transferred, which fails here.
+        CompletableFuture<Void> transfer = new CompletableFuture<>();
+        transfer.completeExceptionally(new RuntimeException("Transfer failed."));
+        when(storage.transferTo(mirror)).thenReturn(transfer);
+        InstructionSyncChannel syncChannel = connect(0);
+        syncChannel.sync(instructions(5, 6), frame(instructions(5, 6)));
+        verify(channel, timeout(10000)).close();
+        verify(storage).reappearInstructions(1, 4, 4L * 1024 * 1024);
+        verify(storage).transferTo(mirror);
+        verify(channel, never()).send(any(), eq(true));
+    }
+
+    @Test
+    public void testUnexpectedMessage() {
+        InstructionSyncChannel syncChannel = connect(0);
+        Message message = new Message(null, new TagClock(Constant.T_EXECUTE_CLOCK, 1).encode());
+        assertThatThrownBy(() -> syncChannel.onMessage(message, channel))
+            .isInstanceOf(IllegalStateException.class);
+        verify(channel).close();
+        verify(controlUnit, never()).onSynced(any(), any());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.mpu.core;
+
+import io.dingodb.mpu.Constant;
+import io.dingodb.mpu.instruction.EmptyInstructions;
+import io.dingodb.mpu.instruction.Instruction;
+import io.dingodb.mpu.protocol.InstructionGroup;
+import io.dingodb.mpu.protocol.TagClock;
+import io.dingodb.mpu.storage.Storage;
+import io.dingodb.net.Channel;
+import io.dingodb.net.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static io.dingodb.mpu.core.CoreTestUtils.core;
+import static io.dingodb.mpu.core.CoreTestUtils.meta;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class TestMirror {
+    private Storage storage;
+    private Channel channel;
+    private Mirror mirror;
+
+    private static List<byte[]> encode(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+            .mapToObj(clock -> new Instruction(clock, EmptyInstructions.id, EmptyInstructions.EMPTY).encode())
+            .collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    public void setup() {
+        storage = Mockito.mock(Storage.class);
+        channel = Mockito.mock(Channel.class);
+        mirror = new Mirror(meta(0), core(storage), 0, channel);
+    }
+
+    @Test
+    public void testInstruction() {
+        byte[] instruction = encode(1, 1).get(0);
+        mirror.onMessage(new Message(null, instruction), channel);
+        InOrder inOrder = inOrder(storage, channel);
+        inOrder.verify(storage).saveInstruction(1, instruction);
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        inOrder.verify(channel).send(message.capture());
+        TagClock sync = TagClock.decode(message.getValue().content());
+        assertThat(sync.tag).isEqualTo(Constant.T_SYNC);
+        assertThat(sync.clock).isEqualTo(1);
+        verify(storage, timeout(10000)).flush(any());
+    }
+
+    @Test
+    public void testInstructions() {
+        List<byte[]> instructions = encode(1, 3);
+        mirror.onMessage(new Message(null, InstructionGroup.encode(instructions)), channel);
+        // The group is saved at once and acknowledged by one sync message with the last clock, before executing.
+        InOrder inOrder = inOrder(storage, channel);
+        ArgumentCaptor<List<byte[]>> saved = ArgumentCaptor.forClass(List.class);
+        inOrder.verify(storage).saveInstructions(eq(1L), saved.capture());
+        assertThat(saved.getValue()).containsExactlyElementsOf(instructions);
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        inOrder.verify(channel).send(message.capture());
+        TagClock sync = TagClock.decode(message.getValue().content());
+        assertThat(sync.tag).isEqualTo(Constant.T_SYNC);
+        assertThat(sync.clock).isEqualTo(3);
+        verify(storage, never()).saveInstruction(anyLong(), any());
+        verify(storage, timeout(10000).times(3)).flush(any());
+    }
+
+    @Test
+    public void testExecuteInstructions() {
+        List<byte[]> instructions = encode(4, 5);
+        byte[] frame = InstructionGroup.encode(instructions);
+        frame[0] = Constant.T_EXECUTE_INSTRUCTIONS;
+        mirror.onMessage(new Message(null, frame), channel);
+        // Replayed instructions are executed without acknowledgement.
+        verify(storage).saveInstructions(eq(4L), any());
+        verify(storage, timeout(10000).times(2)).flush(any());
+        verify(channel, never()).send(any());
+    }
+}
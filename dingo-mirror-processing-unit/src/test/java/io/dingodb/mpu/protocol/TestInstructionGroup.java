@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.mpu.protocol;
+
+import io.dingodb.mpu.Constant;
+import io.dingodb.mpu.instruction.EmptyInstructions;
+import io.dingodb.mpu.instruction.Instruction;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestInstructionGroup {
+    @Test
+    public void testEncodeDecode() {
+        List<byte[]> encoded = LongStream.rangeClosed(1, 3)
+            .mapToObj(clock -> new Instruction(clock, EmptyInstructions.id, EmptyInstructions.EMPTY).encode())
+            .collect(Collectors.toList());
+        byte[] frame = InstructionGroup.encode(encoded);
+        assertThat(frame[0]).isEqualTo(Constant.T_INSTRUCTIONS);
+        List<byte[]> decoded = InstructionGroup.decode(frame);
+        assertThat(decoded).hasSize(3);
+        for (int i = 0; i < 3; ++i) {
+            assertThat(decoded.get(i)).isEqualTo(encoded.get(i));
+            assertThat(Instruction.decode(decoded.get(i)).clock).isEqualTo(i + 1);
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        assertThat(InstructionGroup.decode(InstructionGroup.encode(Collections.emptyList()))).isEmpty();
+    }
+
+    @Test
+    public void testVariableLength() {
+        List<byte[]> encoded = Arrays.asList(new byte[0], new byte[]{1}, new byte[300]);
+        List<byte[]> decoded = InstructionGroup.decode(InstructionGroup.encode(encoded));
+        assertThat(decoded).hasSize(3);
+        for (int i = 0; i < 3; ++i) {
+            assertThat(decoded.get(i)).isEqualTo(encoded.get(i));
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.mpu.storage.rocks;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.common.codec.PrimitiveCodec;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.mpu.core.CoreMeta;
+import io.dingodb.mpu.instruction.EmptyInstructions;
+import io.dingodb.mpu.instruction.Instruction;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.Options;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static io.dingodb.mpu.Constant.CLOCK_K;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestRocksStorage {
+    @TempDir
+    public Path path;
+
+    private RocksStorage storage;
+    private long clock;
+
+    private static byte @NonNull [] key(int index) {
+        return new byte[]{'k', (byte) index};
+    }
+
+    private @NonNull RocksStorage open() throws Exception {
+        CommonId mpuId = new CommonId((byte) 'T', new byte[]{'M', 'U'}, new byte[4], 1);
+        CommonId coreId = new CommonId((byte) 'T', new byte[]{'C', 'R'}, new byte[4], 1);
+        CoreMeta meta = new CoreMeta(
+            new CommonId((byte) 'T', new byte[]{'R', 'P'}, new byte[4], 1),
+            coreId,
+            mpuId,
+            new Location("localhost", 10000),
+            0
+        );
+        return new RocksStorage(meta, path.toString(), null, null, 0);
+    }
+
+    // Write in one instruction, as the execution unit does.
+    private void write(@NonNull Consumer<Writer> writes) {
+        Writer writer = storage.writer(new Instruction(++clock, EmptyInstructions.id, EmptyInstructions.EMPTY));
+        writes.accept(writer);
+        storage.flush(writer);
+    }
+
+    // Files of a transfer with the given data keys and clock, put into the receiving directory.
+    private @NonNull List<String> receive(int from, int to, long clock) throws Exception {
+        Path receivePath = Paths.get(storage.receiveFiles());
+        List<String> files = new ArrayList<>();
+        try (
+            EnvOptions envOptions = new EnvOptions();
+            Options options = new Options();
+            CheckpointFileWriter data = new CheckpointFileWriter(receivePath, "data", envOptions, options);
+            CheckpointFileWriter meta = new CheckpointFileWriter(receivePath, "meta", envOptions, options)
+        ) {
+            for (int i = from; i <= to; ++i) {
+                data.put(key(i), key(i));
+            }
+            meta.put(CLOCK_K, PrimitiveCodec.encodeLong(clock));
+            files.addAll(data.finish());
+            files.addAll(meta.finish());
+        }
+        return files;
+    }
+
+    private long calibratedRowCount() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        long rowCount;
+        while ((rowCount = storage.rowCount()) < 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return rowCount;
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        storage = open();
+        clock = 0;
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        storage.destroy();
+    }
+
+    @Test
+    public void testInsertOverwriteDelete() throws InterruptedException {
+        assertThat(calibratedRowCount()).isEqualTo(0);
+        write(writer -> {
+            writer.set(key(1), key(1));
+            writer.set(key(2), key(2));
+            writer.set(key(3), key(3));
+            // Written twice in one instruction.
+            writer.set(key(1), key(1));
+        });
+        assertThat(storage.rowCount()).isEqualTo(3);
+        write(writer -> writer.set(key(2), key(0)));
+        assertThat(storage.rowCount()).isEqualTo(3);
+        write(writer -> {
+            writer.erase(key(3));
+            // Missing, and erased twice.
+            writer.erase(key(4));
+            writer.erase(key(3));
+        });
+        assertThat(storage.rowCount()).isEqualTo(2);
+        write(writer -> {
+            writer.erase(key(1));
+            writer.set(key(1), key(1));
+            writer.set(key(5), key(5));
+            writer.erase(key(5));
+        });
+        assertThat(storage.rowCount()).isEqualTo(2);
+        try (Reader reader = storage.reader()) {
+            assertThat(reader.count()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void testDeleteRange() throws InterruptedException {
+        assertThat(calibratedRowCount()).isEqualTo(0);
+        write(writer -> {
+            for (int i = 1; i <= 5; ++i) {
+                writer.set(key(i), key(i));
+            }
+        });
+        assertThat(storage.rowCount()).isEqualTo(5);
+        // Range erasing invalidates the count, then it is calibrated again.
+        write(writer -> writer.erase(key(2), key(4)));
+        assertThat(storage.rowCount()).isEqualTo(-1);
+        assertThat(calibratedRowCount()).isEqualTo(3);
+        write(writer -> writer.set(key(6), key(6)));
+        assertThat(storage.rowCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void testCalibrate() throws InterruptedException {
+        // Not tracked before the count is asked for the first time.
+        write(writer -> {
+            for (int i = 1; i <= 10; ++i) {
+                writer.set(key(i), key(i));
+            }
+        });
+        assertThat(calibratedRowCount()).isEqualTo(10);
+        write(writer -> writer.erase(key(10)));
+        assertThat(storage.rowCount()).isEqualTo(9);
+    }
+
+    @Test
+    public void testReopen() throws Exception {
+        assertThat(calibratedRowCount()).isEqualTo(0);
+        write(writer -> {
+            writer.set(key(1), key(1));
+            writer.set(key(2), key(2));
+        });
+        storage.destroy();
+        // The count is persisted with the data, so it is known at once.
+        storage = open();
+        assertThat(storage.rowCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testIngestFiles() throws Exception {
+        write(writer -> {
+            writer.set(key(1), key(1));
+            writer.set(key(2), key(2));
+        });
+        List<String> files = receive(2, 4, 10);
+        assertThat(files).hasSize(2);
+        assertThat(storage.missingFiles(files)).isEmpty();
+        storage.ingestFiles(files);
+        assertThat(storage.clocked()).isEqualTo(10);
+        try (Reader reader = storage.reader()) {
+            assertThat(reader.get(key(1))).isNull();
+            assertThat(reader.get(key(3))).isEqualTo(key(3));
+            assertThat(reader.count()).isEqualTo(3);
+        }
+        assertThat(calibratedRowCount()).isEqualTo(3);
+        // The received files are not kept after ingested.
+        assertThat(storage.receivePath).doesNotExist();
+        assertThat(storage.ingestMarkPath).doesNotExist();
+    }
+
+    @Test
+    public void testIngestInterrupted() throws Exception {
+        write(writer -> {
+            writer.set(key(1), key(1));
+            writer.set(key(2), key(2));
+        });
+        assertThat(storage.clocked()).isEqualTo(1);
+        Files.createFile(storage.ingestMarkPath);
+        storage.destroy();
+        // The data of an interrupted ingestion is cleared, so it is transferred again.
+        storage = open();
+        assertThat(storage.ingestMarkPath).doesNotExist();
+        assertThat(storage.clocked()).isEqualTo(0);
+        assertThat(calibratedRowCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testReceiveFilesExpired() throws Exception {
+        List<String> files = receive(1, 2, 1);
+        Path receivePath = Paths.get(storage.receiveFiles());
+        Path abandoned = receivePath.resolve(files.get(0));
+        long expired = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2);
+        Files.setLastModifiedTime(abandoned, FileTime.fromMillis(expired));
+        storage.receiveFiles();
+        assertThat(abandoned).doesNotExist();
+        assertThat(receivePath.resolve(files.get(1))).exists();
+        assertThat(storage.missingFiles(files)).containsExactly(files.get(0));
+    }
+
+    private static @NonNull List<byte[]> keys(@NonNull Iterator<KeyValue> iterator) {
+        List<byte[]> keys = new ArrayList<>();
+        iterator.forEachRemaining(kv -> keys.add(kv.getKey()));
+        return keys;
+    }
+
+    @Test
+    public void testReaderGet() throws Exception {
+        write(writer -> {
+            for (int i = 1; i <= 5; ++i) {
+                writer.set(key(i), key(i));
+            }
+        });
+        try (Reader reader = storage.reader()) {
+            assertThat(reader.get(key(2))).isEqualTo(key(2));
+            assertThat(reader.get(key(9))).isNull();
+            assertThat(reader.containsKey(key(5))).isTrue();
+            assertThat(reader.containsKey(key(9))).isFalse();
+            List<KeyValue> entries = reader.get(Arrays.asList(key(1), key(9), key(3)));
+            assertThat(entries).extracting(KeyValue::getValue).containsExactly(key(1), null, key(3));
+        }
+        // The latest data are seen by a new reader.
+        write(writer -> writer.erase(key(2)));
+        try (Reader reader = storage.reader()) {
+            assertThat(reader.get(key(2))).isNull();
+            assertThat(reader.containsKey(key(2))).isFalse();
+        }
+    }
+
+    @Test
+    public void testReaderScan() throws Exception {
+        write(writer -> {
+            for (int i = 1; i <= 5; ++i) {
+                writer.set(key(i), key(i));
+            }
+            // Out of the prefix of the data keys.
+            writer.set(new byte[]{'l', 0}, key(0));
+        });
+        try (Reader reader = storage.reader()) {
+            assertThat(keys(reader.scan(key(2), key(4), true, false))).containsExactly(key(2), key(3));
+            assertThat(keys(reader.scan(key(2), key(4), false, true))).containsExactly(key(3), key(4));
+            // Stopped at the end of the prefix.
+            assertThat(keys(reader.scan(key(0), new byte[]{'k', (byte) 0xFF}, true, true)))
+                .containsExactly(key(1), key(2), key(3), key(4), key(5));
+            assertThat(keys(reader.scan(key(4), null, true, true)))
+                .containsExactly(key(4), key(5), new byte[]{'l', 0});
+            assertThat(keys(reader.scan(key(6), key(9), true, true))).isEmpty();
+            assertThat(reader.count(key(2), key(4), true, true)).isEqualTo(3);
+        }
+    }
+}
@@ -152,8 +152,13 @@ public class ApiRegistryImpl implements ApiRegistry, InvocationHandler {
             Object[] args = deserializeArgs(channel, buffer, method.getParameterTypes());
             result = invoke(definedMap.get(name), method, args);
             if (result instanceof CompletableFuture) {
-                channel.setMessageListener(listenCancel(name, (CompletableFuture<?>) result));
-                Executors.execute("invoke-api", () -> invokeWithFuture(name, channel, (CompletableFuture<?>) result));
+                CompletableFuture<?> future = (CompletableFuture<?>) result;
+                channel.setMessageListener(listenCancel(name, future));
+                // Reply on completion instead of holding a thread for each call in flight.
+                future.whenCompleteAsync(
+                    (r, e) -> invokeWithFuture(name, channel, future),
+                    Executors.executor(Executors.NET, "invoke-api")
+                );
                 return;
             }
             if (result != null) {
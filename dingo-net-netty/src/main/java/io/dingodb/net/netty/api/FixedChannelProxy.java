@@ -67,7 +67,7 @@ public class FixedChannelProxy<T> implements  ApiProxy<T> {
             if (e instanceof CancellationException) {
                 ch.send(new Message(API_CANCEL, EMPTY.content()));
             }
-        }, Executors.executor("cancel-api-invoke"));
+        }, Executors.executor(Executors.NET, "cancel-api-invoke"));
         ch.send(buffer);
     }
 
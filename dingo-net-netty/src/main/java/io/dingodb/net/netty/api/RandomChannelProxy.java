@@ -76,7 +76,7 @@ public class RandomChannelProxy<T> implements ApiProxy<T> {
             } catch (Exception ex) {
                 log.error("Close channel error, address: [{}].", ch.remoteLocation(), ex);
             }
-        }, Executors.executor("on-invoke-complete"));
+        }, Executors.executor(Executors.NET, "on-invoke-complete"));
         ch.send(buffer);
     }
 
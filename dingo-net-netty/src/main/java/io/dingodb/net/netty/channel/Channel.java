@@ -227,7 +227,7 @@ public class Channel implements io.dingodb.net.Channel {
                     log.trace("Channel [{}] receive close command.", channelId);
                 }
                 shutdown();
-                Executors.execute(channelId + "-channel-close", () -> onClose.accept(channelId));
+                Executors.execute(Executors.NET, channelId + "-channel-close", () -> onClose.accept(channelId));
                 return;
             case ERROR:
                 log.error("Receive error: {}.", PrimitiveCodec.readString(buffer));
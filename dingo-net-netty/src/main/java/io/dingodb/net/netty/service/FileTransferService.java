@@ -86,6 +86,7 @@ public class FileTransferService implements io.dingodb.net.service.FileTransferS
             CountDownLatch countDownLatch = new CountDownLatch(files.length);
             Arrays.stream(files).map(File::toPath).forEach(_p ->
                 Executors.submit(
+                    Executors.IO,
                     "transfer-to-" + location.getUrl(),
                     () -> transfer(location, _p, target.resolve(_p.getFileName()))
                 ).thenRun(countDownLatch::countDown)
@@ -20,4 +20,6 @@ public class Constants {
     public static final String SNAPSHOT_SST = "snapshot.sst";
     public static final String SNAPSHOT_ZIP = "snapshot.zip";
     public static final String SNAPSHOT = "snapshot.dat";
+    public static final String SNAPSHOT_SST_PREFIX = "snapshot-";
+    public static final String SNAPSHOT_SST_SUFFIX = ".sst";
 }
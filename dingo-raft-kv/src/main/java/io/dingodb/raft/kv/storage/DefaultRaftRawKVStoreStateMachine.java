@@ -24,7 +24,7 @@ import io.dingodb.raft.StateMachine;
 import io.dingodb.raft.Status;
 import io.dingodb.raft.conf.Configuration;
 import io.dingodb.raft.entity.LeaderChangeContext;
-import io.dingodb.raft.entity.LocalFileMetaOutter;
+import io.dingodb.raft.entity.LocalFileMetaOutter.LocalFileMeta;
 import io.dingodb.raft.error.RaftError;
 import io.dingodb.raft.error.RaftException;
 import io.dingodb.raft.rpc.ReportTarget;
@@ -32,10 +32,11 @@ import io.dingodb.raft.storage.snapshot.SnapshotReader;
 import io.dingodb.raft.storage.snapshot.SnapshotWriter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.zip.Checksum;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import static io.dingodb.raft.kv.Constants.SNAPSHOT_ZIP;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.SNAPSHOT_LOAD;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.SNAPSHOT_SAVE;
 
@@ -112,18 +113,35 @@ public class DefaultRaftRawKVStoreStateMachine implements StateMachine {
     public RaftRawKVOperation snapshotLoadOperation(final SnapshotReader reader) {
         return RaftRawKVOperation.builder()
             .ext1(reader.getPath())
-            .ext2(((LocalFileMetaOutter.LocalFileMeta) reader.getFileMeta(SNAPSHOT_ZIP)).getChecksum())
+            .ext2(snapshotFiles(reader))
             .op(SNAPSHOT_LOAD)
             .build();
     }
 
+    /**
+     * Get the files of a snapshot with their checksums, as saved by {@link RawKVStore#snapshotSaveFiles}.
+     */
+    protected static Map<String, String> snapshotFiles(final SnapshotReader reader) {
+        return reader.listFiles().stream().collect(Collectors.toMap(
+            Function.identity(),
+            file -> ((LocalFileMeta) reader.getFileMeta(file)).getChecksum()
+        ));
+    }
+
     @Override
     public void onSnapshotSave(final SnapshotWriter writer, final Closure done) {
-        store.snapshotSave(snapshotSaveOperation(writer, done)).whenCompleteAsync((checksum, ex) -> {
-            LocalFileMetaOutter.LocalFileMeta.Builder metaBuilder = LocalFileMetaOutter.LocalFileMeta.newBuilder();
-            metaBuilder.setChecksum(Long.toHexString(checksum.getValue()));
-            metaBuilder.setUserMeta(ByteString.copyFromUtf8(store.getRaftId().toString()));
-            writer.addFile(SNAPSHOT_ZIP, metaBuilder.build());
+        store.snapshotSave(snapshotSaveOperation(writer, done)).whenCompleteAsync((files, ex) -> {
+            if (ex != null) {
+                log.error("Save snapshot to {} error.", writer.getPath(), ex);
+                done.run(new Status(RaftError.EIO, "Save snapshot error: %s.", ex.getMessage()));
+                return;
+            }
+            // Files are named by checksums of their contents, so unchanged files are not copied to followers again.
+            files.forEach((file, checksum) -> writer.addFile(file, LocalFileMeta.newBuilder()
+                .setChecksum(checksum)
+                .setUserMeta(ByteString.copyFromUtf8(store.getRaftId().toString()))
+                .build()
+            ));
             done.run(Status.OK());
         }, Executors.executor("snapshot-save-" + id));
     }
@@ -32,10 +32,10 @@ import lombok.extern.slf4j.Slf4j;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
-import java.util.zip.Checksum;
 
 import static io.dingodb.common.util.Parameters.cleanNull;
 import static io.dingodb.raft.RaftServiceFactory.createRaftNode;
@@ -168,8 +168,8 @@ public class RaftRawKVStore implements Lifecycle<Void> {
         return this.kvStore.delete(startKey, endKey);
     }
 
-    protected CompletableFuture<Checksum> snapshotSave(RaftRawKVOperation operation) {
-        return this.kvStore.snapshotSave(
+    protected CompletableFuture<Map<String, String>> snapshotSave(RaftRawKVOperation operation) {
+        return this.kvStore.snapshotSaveFiles(
             operation.ext1(),
             operation.getKey(),
             operation.getExtKey()
@@ -177,7 +177,7 @@ public class RaftRawKVStore implements Lifecycle<Void> {
     }
 
     protected CompletableFuture<Boolean> snapshotLoad(RaftRawKVOperation operation) {
-        return this.kvStore.snapshotLoad(
+        return this.kvStore.snapshotLoadFiles(
             operation.ext1(),
             operation.ext2(),
             operation.getKey(),
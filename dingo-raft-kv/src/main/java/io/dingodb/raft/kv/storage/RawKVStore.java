@@ -16,10 +16,14 @@
 
 package io.dingodb.raft.kv.storage;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.zip.Checksum;
 
+import static io.dingodb.raft.kv.Constants.SNAPSHOT_ZIP;
+
 public interface RawKVStore {
 
     default void init() {
@@ -63,4 +67,28 @@ public interface RawKVStore {
 
     CompletableFuture<Boolean> snapshotLoad(String path, String checksum, byte[] startKey, byte[] endKey);
 
+    /**
+     * Save the snapshot of the range as files in the path.
+     *
+     * @return checksums of the saved files by the file names relative to the path
+     */
+    default CompletableFuture<Map<String, String>> snapshotSaveFiles(String path, byte[] startKey, byte[] endKey) {
+        return snapshotSave(path, startKey, endKey)
+            .thenApply(checksum -> Collections.singletonMap(SNAPSHOT_ZIP, Long.toHexString(checksum.getValue())));
+    }
+
+    /**
+     * Load the snapshot files saved by {@link #snapshotSaveFiles(String, byte[], byte[])}.
+     *
+     * @param files checksums of the files by the file names relative to the path
+     */
+    default CompletableFuture<Boolean> snapshotLoadFiles(
+        String path,
+        Map<String, String> files,
+        byte[] startKey,
+        byte[] endKey
+    ) {
+        return snapshotLoad(path, files.get(SNAPSHOT_ZIP), startKey, endKey);
+    }
+
 }
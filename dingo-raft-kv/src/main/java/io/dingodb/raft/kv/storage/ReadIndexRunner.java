@@ -20,13 +20,25 @@ import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.raft.Node;
 import io.dingodb.raft.Status;
+import io.dingodb.raft.option.RaftOptions;
+import io.dingodb.raft.option.ReadOnlyOption;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
 
+/**
+ * Run linearizable reads on the raft node.
+ *
+ * <p>Reads arrived while a ReadIndex request is in flight wait for it, and then share the next request, so one
+ * ReadIndex round serves all the reads of that round. If {@link ReadOnlyOption#ReadOnlyLeaseBased} is set, the
+ * leader serves reads locally while its lease is valid, see {@link Node#isLeaseReadable()}. Followers serve reads
+ * after the committed index got from the leader is applied, unless {@link RaftOptions#isFollowerRead()} is false.
+ */
 @Slf4j
 public class ReadIndexRunner {
 
@@ -34,6 +46,9 @@ public class ReadIndexRunner {
     private final Node node;
     private final Function<RaftRawKVOperation, Object> executeFunc;
 
+    private List<Read<?>> pending = new ArrayList<>();
+    private boolean inflight = false;
+
     public ReadIndexRunner(Node node, Function<RaftRawKVOperation, Object> executeFunc) {
         this.node = node;
         this.executeFunc = executeFunc;
@@ -41,21 +56,74 @@ public class ReadIndexRunner {
     }
 
     public <T> CompletableFuture<T> readIndex(RaftRawKVOperation operation) {
-        CompletableFuture<T> future = new CompletableFuture<>();
-        this.node.readIndex(ByteArrayUtils.EMPTY_BYTES, new ReadIndexClosure<T>(future, operation));
-        return future;
+        Read<T> read = new Read<>(new CompletableFuture<>(), operation);
+        RaftOptions raftOptions = node.getRaftOptions();
+        if (raftOptions.getReadOnlyOptions() == ReadOnlyOption.ReadOnlyLeaseBased && node.isLeaseReadable()) {
+            read.run();
+            return read.future;
+        }
+        if (!raftOptions.isFollowerRead() && !node.isLeader()) {
+            // Client will retry to leader node
+            read.future.completeExceptionally(new RuntimeException(String.format(
+                "Read index error, node %s is not leader.", node.getNodeId()
+            )));
+            return read.future;
+        }
+        synchronized (this) {
+            pending.add(read);
+            if (inflight) {
+                return read.future;
+            }
+            inflight = true;
+        }
+        sendReadIndex();
+        return read.future;
+    }
+
+    private void sendReadIndex() {
+        List<Read<?>> reads;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                inflight = false;
+                return;
+            }
+            reads = pending;
+            pending = new ArrayList<>();
+        }
+        try {
+            this.node.readIndex(ByteArrayUtils.EMPTY_BYTES, new ReadIndexClosure(reads));
+        } catch (Exception e) {
+            reads.forEach(read -> read.future.completeExceptionally(e));
+            sendReadIndex();
+        }
     }
 
     @AllArgsConstructor
-    private class ReadIndexClosure<T> extends io.dingodb.raft.closure.ReadIndexClosure {
+    private class Read<T> {
 
         private final CompletableFuture<T> future;
         private final RaftRawKVOperation operation;
 
+        private void run() {
+            try {
+                future.complete((T) executeFunc.apply(operation));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private class ReadIndexClosure extends io.dingodb.raft.closure.ReadIndexClosure {
+
+        private final List<Read<?>> reads;
+
         @Override
         public void run(Status status, long index, byte[] reqCtx) {
+            // The reads arrived after the request of this batch was sent, send a new request for them.
+            sendReadIndex();
             if (status.isOk()) {
-                Executors.execute("read-index-exec", () -> future.complete((T) executeFunc.apply(operation)));
+                Executors.execute("read-index-exec", () -> reads.forEach(Read::run));
                 return;
             }
             executor.execute(() -> {
@@ -64,21 +132,22 @@ public class ReadIndexRunner {
                     // If 'read index' read fails, try to applying to the state machine at the leader node
                     RaftRawKVOperation.sync().applyOnNode(node).whenCompleteAsync((r, e) -> {
                         if (e == null) {
-                            future.complete((T) executeFunc.apply(operation));
+                            reads.forEach(Read::run);
                         } else {
-                            future.completeExceptionally(e);
+                            reads.forEach(read -> read.future.completeExceptionally(e));
                         }
                     }, Executors.executor("read-index-exec"));
                 } else {
                     log.warn("Fail to [get] with 'ReadIndex': {}.", status);
                     // Client will retry to leader node
-                    future.completeExceptionally(new RuntimeException(
+                    RuntimeException error = new RuntimeException(
                         String.format(
                             "Read index error, code: %d, msg: %s, raft: %s.",
                             status.getCode(),
                             status.getErrorMsg(),
                             status.getRaftError()
-                        )));
+                        ));
+                    reads.forEach(read -> read.future.completeExceptionally(error));
                 }
             });
         }
@@ -17,9 +17,11 @@
 package io.dingodb.raft.kv.storage;
 
 import io.dingodb.common.codec.ProtostuffCodec;
+import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.operation.Operation;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.common.util.FileUtils;
 import io.dingodb.common.util.Utils;
 import io.dingodb.raft.kv.Constants;
 import io.dingodb.raft.util.BytesUtil;
@@ -29,6 +31,7 @@ import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ConfigOptions;
 import org.rocksdb.DBOptions;
 import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
 import org.rocksdb.Options;
 import org.rocksdb.OptionsUtil;
 import org.rocksdb.ReadOptions;
@@ -44,13 +47,16 @@ import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledFuture;
 import java.util.function.Predicate;
@@ -60,6 +66,8 @@ import javax.annotation.Nonnull;
 
 import static io.dingodb.common.concurrent.Executors.scheduleWithFixedDelayAsync;
 import static io.dingodb.common.util.ByteArrayUtils.greatThanOrEqual;
+import static io.dingodb.common.util.ByteArrayUtils.lessThan;
+import static io.dingodb.raft.kv.Constants.SNAPSHOT_ZIP;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 @Slf4j
@@ -500,6 +508,138 @@ public class RocksRawKVStore implements RawKVStore {
         return true;
     }
 
+    @Override
+    public CompletableFuture<Map<String, String>> snapshotSaveFiles(String path, byte[] startKey, byte[] endKey) {
+        return Executors.submit("snapshot-save-" + groupId, () -> snapshotSaveFilesSync(path, startKey, endKey));
+    }
+
+    private Map<String, String> snapshotSaveFilesSync(String path, byte[] startKey, byte[] endKey) throws Exception {
+        log.info("RocksRawKVStore snapshotSaveFilesSync, path: {}, startKey: {}, endKey: {}.",
+            path, BytesUtil.toHex(startKey), BytesUtil.toHex(endKey));
+        Files.createDirectories(Paths.get(path));
+        Map<String, String> files;
+        Snapshot snapshot = this.db.getSnapshot();
+        try (
+            ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot);
+            EnvOptions envOptions = new EnvOptions();
+            Options options = new Options();
+            RocksIterator iterator = this.db.newIterator(readOptions);
+            SnapshotFileWriter writer = new SnapshotFileWriter(Paths.get(path), envOptions, options)
+        ) {
+            if (startKey == null) {
+                iterator.seekToFirst();
+            } else {
+                iterator.seek(startKey);
+            }
+            int now = (int) (System.currentTimeMillis() / 1000);
+            for (; iterator.isValid(); iterator.next()) {
+                byte[] key = iterator.key();
+                if (endKey != null && greatThanOrEqual(key, endKey)) {
+                    break;
+                }
+                byte[] value = iterator.value();
+                if (RocksDBUtils.dataWithTtl(this.ttl) && RocksDBUtils.getTsbyValue(value) + this.ttl < now) {
+                    continue;
+                }
+                writer.put(key, value);
+            }
+            files = writer.finish();
+        } finally {
+            this.db.releaseSnapshot(snapshot);
+        }
+        log.info("RocksRawKVStore snapshotSaveFilesSync, path: {}, files: {}.", path, files.size());
+        return files;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> snapshotLoadFiles(
+        String path,
+        Map<String, String> files,
+        byte[] startKey,
+        byte[] endKey
+    ) {
+        if (files.containsKey(SNAPSHOT_ZIP)) {
+            // Snapshot saved by the former versions.
+            return snapshotLoad(path, files.get(SNAPSHOT_ZIP), startKey, endKey);
+        }
+        return Executors.submit(
+            "snapshot-load-" + groupId, () -> snapshotLoadFilesSync(path, files.keySet(), startKey, endKey)
+        );
+    }
+
+    private boolean snapshotLoadFilesSync(
+        String path,
+        Collection<String> files,
+        byte[] startKey,
+        byte[] endKey
+    ) throws Exception {
+        log.info("RocksRawKVStore snapshotLoadFilesSync, path: {}, files: {}, startKey: {}, endKey: {}.",
+            path, files.size(), BytesUtil.toHex(startKey), BytesUtil.toHex(endKey));
+        // The snapshot files are kept for copying to followers, so ingest links of them.
+        Path ingestPath = Paths.get(path, "ingest");
+        FileUtils.deleteIfExists(ingestPath);
+        Files.createDirectories(ingestPath);
+        List<String> ingestFiles = new ArrayList<>();
+        try (
+            ReadOptions readOptions = new ReadOptions();
+            Options options = new Options()
+        ) {
+            for (String file : files) {
+                Path filePath = Paths.get(path, file);
+                try (
+                    SstFileReader reader = new SstFileReader(options)
+                ) {
+                    reader.open(filePath.toAbsolutePath().toString());
+                    try (SstFileReaderIterator iterator = reader.newIterator(readOptions)) {
+                        iterator.seekToFirst();
+                        if (!iterator.isValid()) {
+                            continue;
+                        }
+                        byte[] first = iterator.key();
+                        iterator.seekToLast();
+                        byte[] last = iterator.key();
+                        if ((startKey == null || greatThanOrEqual(first, startKey))
+                            && (endKey == null || lessThan(last, endKey))) {
+                            ingestFiles.add(linkOrCopy(filePath, ingestPath.resolve(file)).toString());
+                            continue;
+                        }
+                        // The range changed after the snapshot was saved, load the entries in range only.
+                        if (startKey == null) {
+                            iterator.seekToFirst();
+                        } else {
+                            iterator.seek(startKey);
+                        }
+                        for (; iterator.isValid(); iterator.next()) {
+                            if (endKey != null && greatThanOrEqual(iterator.key(), endKey)) {
+                                break;
+                            }
+                            this.db.put(iterator.key(), iterator.value());
+                        }
+                    }
+                }
+            }
+            if (!ingestFiles.isEmpty()) {
+                try (IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions()) {
+                    ingestOptions.setMoveFiles(true);
+                    ingestOptions.setWriteGlobalSeqno(false);
+                    ingestOptions.setAllowBlockingFlush(true);
+                    this.db.ingestExternalFile(ingestFiles, ingestOptions);
+                }
+            }
+        } finally {
+            FileUtils.deleteIfExists(ingestPath);
+        }
+        return true;
+    }
+
+    private static Path linkOrCopy(Path source, Path target) throws IOException {
+        try {
+            return Files.createLink(target, source);
+        } catch (IOException | UnsupportedOperationException e) {
+            return Files.copy(source, target);
+        }
+    }
+
     private void compact() {
         long now = System.currentTimeMillis();
         try {
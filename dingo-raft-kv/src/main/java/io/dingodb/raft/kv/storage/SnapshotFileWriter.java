@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.raft.kv.storage;
+
+import io.dingodb.raft.util.CRC64;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static io.dingodb.raft.kv.Constants.SNAPSHOT_SST_PREFIX;
+import static io.dingodb.raft.kv.Constants.SNAPSHOT_SST_SUFFIX;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Write sorted snapshot entries into SST files, which are cut at boundaries defined by the keys and named by the
+ * checksum of their entries. So a range not changed between two snapshots results in the same file, and followers
+ * having the file skip copying it.
+ */
+class SnapshotFileWriter implements AutoCloseable {
+    private static final long MIN_FILE_SIZE = 32L * 1024 * 1024;
+    private static final long MAX_FILE_SIZE = 256L * 1024 * 1024;
+    // After the minimum size, about one in 1024 keys ends the file.
+    private static final int BOUNDARY_MASK = 1023;
+
+    private final Path path;
+    private final EnvOptions envOptions;
+    private final Options options;
+    private final Map<String, String> files = new LinkedHashMap<>();
+
+    private SstFileWriter writer;
+    private Path tempPath;
+    private CRC64 checksum;
+    private long size;
+
+    SnapshotFileWriter(Path path, EnvOptions envOptions, Options options) {
+        this.path = path;
+        this.envOptions = envOptions;
+        this.options = options;
+    }
+
+    void put(byte[] key, byte[] value) throws RocksDBException, IOException {
+        if (writer == null) {
+            tempPath = path.resolve(SNAPSHOT_SST_PREFIX + files.size() + ".tmp");
+            writer = new SstFileWriter(envOptions, options);
+            writer.open(tempPath.toString());
+            checksum = new CRC64();
+            size = 0;
+        }
+        writer.put(key, value);
+        update(key);
+        update(value);
+        size += key.length + value.length;
+        if (size >= MAX_FILE_SIZE || (size >= MIN_FILE_SIZE && (hash(key) & BOUNDARY_MASK) == 0)) {
+            finishFile();
+        }
+    }
+
+    /**
+     * Finish writing.
+     *
+     * @return checksums of the written files by the file names
+     */
+    Map<String, String> finish() throws RocksDBException, IOException {
+        if (writer != null) {
+            finishFile();
+        }
+        return files;
+    }
+
+    private void finishFile() throws RocksDBException, IOException {
+        writer.finish();
+        writer.close();
+        writer = null;
+        String hex = Long.toHexString(checksum.getValue());
+        String name = SNAPSHOT_SST_PREFIX + hex + SNAPSHOT_SST_SUFFIX;
+        Files.move(tempPath, path.resolve(name), REPLACE_EXISTING);
+        files.put(name, hex);
+    }
+
+    private void update(byte[] bytes) {
+        int length = bytes.length;
+        checksum.update(length >>> 24);
+        checksum.update(length >>> 16);
+        checksum.update(length >>> 8);
+        checksum.update(length);
+        checksum.update(bytes);
+    }
+
+    private static int hash(byte[] key) {
+        int hash = Arrays.hashCode(key);
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        return hash ^ (hash >>> 13);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            Files.deleteIfExists(tempPath);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.raft.kv.storage;
+
+import io.dingodb.raft.Node;
+import io.dingodb.raft.Status;
+import io.dingodb.raft.closure.ReadIndexClosure;
+import io.dingodb.raft.entity.Task;
+import io.dingodb.raft.error.RaftError;
+import io.dingodb.raft.option.RaftOptions;
+import io.dingodb.raft.option.ReadOnlyOption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestReadIndexRunner {
+    private Node node;
+    private RaftOptions raftOptions;
+    // Closures of the ReadIndex requests sent, in order.
+    private List<ReadIndexClosure> requests;
+    private ReadIndexRunner runner;
+
+    private static Status failed() {
+        return new Status(RaftError.EPERM, "Not leader.");
+    }
+
+    @BeforeEach
+    public void setup() {
+        node = Mockito.mock(Node.class);
+        raftOptions = new RaftOptions();
+        when(node.getRaftOptions()).thenReturn(raftOptions);
+        when(node.getGroupId()).thenReturn("test");
+        requests = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> requests.add(invocation.getArgument(1))).when(node).readIndex(any(), any());
+        // The read returns the operation itself.
+        runner = new ReadIndexRunner(node, operation -> operation);
+    }
+
+    @Test
+    public void testBatch() {
+        RaftRawKVOperation first = RaftRawKVOperation.get(new byte[]{1});
+        RaftRawKVOperation second = RaftRawKVOperation.get(new byte[]{2});
+        RaftRawKVOperation third = RaftRawKVOperation.get(new byte[]{3});
+        CompletableFuture<Object> firstFuture = runner.readIndex(first);
+        assertThat(requests).hasSize(1);
+        // Reads arrived while a request is in flight wait for it.
+        CompletableFuture<Object> secondFuture = runner.readIndex(second);
+        CompletableFuture<Object> thirdFuture = runner.readIndex(third);
+        assertThat(requests).hasSize(1);
+        requests.get(0).run(Status.OK());
+        assertThat(firstFuture.join()).isSameAs(first);
+        // And share one follow-up request.
+        assertThat(requests).hasSize(2);
+        assertThat(secondFuture).isNotDone();
+        assertThat(thirdFuture).isNotDone();
+        requests.get(1).run(Status.OK());
+        assertThat(secondFuture.join()).isSameAs(second);
+        assertThat(thirdFuture.join()).isSameAs(third);
+        assertThat(requests).hasSize(2);
+        // No request in flight now, a new read sends a request at once.
+        runner.readIndex(first);
+        assertThat(requests).hasSize(3);
+    }
+
+    @Test
+    public void testFailOnFollower() {
+        CompletableFuture<Object> firstFuture = runner.readIndex(RaftRawKVOperation.get(new byte[]{1}));
+        CompletableFuture<Object> secondFuture = runner.readIndex(RaftRawKVOperation.get(new byte[]{2}));
+        CompletableFuture<Object> thirdFuture = runner.readIndex(RaftRawKVOperation.get(new byte[]{3}));
+        requests.get(0).run(failed());
+        assertThatThrownBy(firstFuture::join).hasMessageContaining("Read index error");
+        // Every read in the failed batch fails.
+        requests.get(1).run(failed());
+        assertThatThrownBy(secondFuture::join).hasMessageContaining("Read index error");
+        assertThatThrownBy(thirdFuture::join).hasMessageContaining("Read index error");
+        verify(node, never()).apply(any());
+    }
+
+    @Test
+    public void testFailOnLeader() {
+        when(node.isLeader()).thenReturn(true);
+        // Applying to the state machine fails too.
+        doAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            task.getDone().run(failed());
+            return null;
+        }).when(node).apply(any());
+        CompletableFuture<Object> firstFuture = runner.readIndex(RaftRawKVOperation.get(new byte[]{1}));
+        CompletableFuture<Object> secondFuture = runner.readIndex(RaftRawKVOperation.get(new byte[]{2}));
+        CompletableFuture<Object> thirdFuture = runner.readIndex(RaftRawKVOperation.get(new byte[]{3}));
+        requests.get(0).run(failed());
+        assertThatThrownBy(firstFuture::join).hasMessageContaining("Apply operation error");
+        requests.get(1).run(failed());
+        assertThatThrownBy(secondFuture::join).hasMessageContaining("Apply operation error");
+        assertThatThrownBy(thirdFuture::join).hasMessageContaining("Apply operation error");
+        verify(node, times(2)).apply(any());
+    }
+
+    @Test
+    public void testReadIndexThrows() {
+        doThrow(new IllegalStateException("Node shutdown.")).when(node).readIndex(any(), any());
+        CompletableFuture<Object> future = runner.readIndex(RaftRawKVOperation.get(new byte[]{1}));
+        assertThatThrownBy(future::join).hasCauseInstanceOf(IllegalStateException.class);
+        // Not in flight any more.
+        CompletableFuture<Object> next = runner.readIndex(RaftRawKVOperation.get(new byte[]{2}));
+        assertThatThrownBy(next::join).hasCauseInstanceOf(IllegalStateException.class);
+        verify(node, times(2)).readIndex(any(), any());
+    }
+
+    @Test
+    public void testLeaseRead() {
+        raftOptions.setReadOnlyOptions(ReadOnlyOption.ReadOnlyLeaseBased);
+        when(node.isLeaseReadable()).thenReturn(true);
+        RaftRawKVOperation operation = RaftRawKVOperation.get(new byte[]{1});
+        // Served in the calling thread, without ReadIndex.
+        CompletableFuture<Object> future = runner.readIndex(operation);
+        assertThat(future).isCompleted();
+        assertThat(future.join()).isSameAs(operation);
+        assertThat(requests).isEmpty();
+        // Out of the lease.
+        when(node.isLeaseReadable()).thenReturn(false);
+        future = runner.readIndex(operation);
+        assertThat(requests).hasSize(1);
+        requests.get(0).run(Status.OK());
+        assertThat(future.join()).isSameAs(operation);
+    }
+
+    @Test
+    public void testLeaseNotUsedIfSafe() {
+        when(node.isLeaseReadable()).thenReturn(true);
+        runner.readIndex(RaftRawKVOperation.get(new byte[]{1}));
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    public void testFollowerReadDisabled() {
+        raftOptions.setFollowerRead(false);
+        CompletableFuture<Object> future = runner.readIndex(RaftRawKVOperation.get(new byte[]{1}));
+        assertThatThrownBy(future::join).hasMessageContaining("is not leader");
+        assertThat(requests).isEmpty();
+        when(node.isLeader()).thenReturn(true);
+        runner.readIndex(RaftRawKVOperation.get(new byte[]{1}));
+        assertThat(requests).hasSize(1);
+        verify(node, times(1)).readIndex(any(), any());
+    }
+}
@@ -26,6 +26,7 @@ import org.junit.jupiter.api.Test;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.zip.Checksum;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -139,4 +140,29 @@ public class TestRocksRawKVStore {
         assertThat(iterator.hasNext()).isFalse();
     }
 
+    @Test
+    public void testSnapshotFiles() throws Exception {
+        Path path = Paths.get(DB_PATH + "-snapshot");
+        try {
+            Map<String, String> files = store.snapshotSaveFiles(path.toString(), null, null).get();
+            assertThat(files).isNotEmpty();
+            afterEach();
+            assertThat(store.iterator().hasNext()).isFalse();
+
+            store.snapshotLoadFiles(path.toString(), files, new byte[] {2}, new byte[] {4}).get();
+            SeekableIterator<byte[], ByteArrayEntry> iterator = store.iterator();
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {2}, new byte[] {2}));
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {3}, new byte[] {3}));
+            assertThat(iterator.hasNext()).isFalse();
+
+            store.snapshotLoadFiles(path.toString(), files, null, null).get();
+            assertThat(store.get(new byte[] {1})).isEqualTo(new byte[] {1});
+            assertThat(store.get(new byte[] {5})).isEqualTo(new byte[] {5});
+            // Files are named by contents, so the same data gets the same files.
+            assertThat(store.snapshotSaveFiles(path.toString(), null, null).get()).isEqualTo(files);
+        } finally {
+            FileUtils.deleteIfExists(path);
+        }
+    }
+
 }
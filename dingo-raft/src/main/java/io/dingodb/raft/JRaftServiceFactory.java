@@ -18,6 +18,7 @@ package io.dingodb.raft;
 
 import io.dingodb.common.CommonId;
 import io.dingodb.raft.entity.codec.LogEntryCodecFactory;
+import io.dingodb.raft.option.RaftLogStoreOptions;
 import io.dingodb.raft.option.RaftOptions;
 import io.dingodb.raft.storage.LogStorage;
 import io.dingodb.raft.storage.LogStore;
@@ -26,6 +27,13 @@ import io.dingodb.raft.storage.SnapshotStorage;
 
 // Refer to SOFAJRaft: <A>https://github.com/sofastack/sofa-jraft/<A/>
 public interface JRaftServiceFactory {
+    /*
+     * Creates a raft log store, shared by the log storages of the raft groups on the same store.
+     * @param raftOptions  the raft options, {@link RaftOptions#getLogStorageType()} selects the store.
+     * @return store to init with {@link RaftLogStoreOptions} and create log storages from.
+     */
+    LogStore<RaftLogStoreOptions> createLogStore(final RaftOptions raftOptions);
+
     /*
      * Creates a raft log storage.
      * @param regionId Region Id Str.
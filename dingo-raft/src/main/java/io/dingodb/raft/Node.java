@@ -124,6 +124,15 @@ public interface Node extends Lifecycle<NodeOptions>, Describer {
      */
     void readIndex(final byte[] requestContext, final ReadIndexClosure done);
 
+    /**
+     * Returns true when the node is leader with a valid lease, and all the logs committed are applied, so the
+     * state machine can be read locally without confirming the leadership with followers.
+     *
+     * The lease is {@link NodeOptions#getLeaderLeaseTimeoutMs()}, which is shorter than the election timeout of
+     * followers by {@link NodeOptions#getLeaderLeaseTimeRatio()}, for the bound of clock drift.
+     */
+    boolean isLeaseReadable();
+
     /**
      * List peers of this raft group, only leader returns.
      *
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.raft.core;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnknownFieldSet;
+import io.dingodb.raft.entity.RaftOutter;
+import io.dingodb.raft.rpc.RpcRequests;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression of the data of AppendEntries requests.
+ *
+ * <p>The flags are carried in unknown fields of the messages, which are kept by protobuf across versions, so nodes
+ * of former versions ignore them: a follower declares that it can decompress on its probe and heartbeat responses,
+ * and the leader compresses only for the followers declared, marking the requests compressed.
+ */
+final class AppendEntriesCompression {
+    // Field numbers out of the range used by rpc.proto.
+    static final int COMPRESSION_FIELD = 1000;
+    static final int DEFLATE = 1;
+
+    private static final UnknownFieldSet DEFLATE_FIELDS = UnknownFieldSet.newBuilder()
+        .addField(COMPRESSION_FIELD, UnknownFieldSet.Field.newBuilder().addVarint(DEFLATE).build())
+        .build();
+
+    private AppendEntriesCompression() {
+    }
+
+    /**
+     * Declare on the response that the follower can decompress the data.
+     */
+    static RpcRequests.AppendEntriesResponse.Builder declareSupport(
+        final RpcRequests.AppendEntriesResponse.Builder builder
+    ) {
+        return builder.setUnknownFields(DEFLATE_FIELDS);
+    }
+
+    /**
+     * Returns true if the follower declared that it can decompress the data.
+     */
+    static boolean isSupported(final RpcRequests.AppendEntriesResponse response) {
+        return isDeflate(response.getUnknownFields());
+    }
+
+    /**
+     * Compress the data and set it to the request, if it gets smaller by 1/8 at least.
+     *
+     * @return true if the compressed data is set
+     */
+    static boolean compress(final RpcRequests.AppendEntriesRequest.Builder rb, final ByteBuffer data) {
+        final int size = data.remaining();
+        final byte[] input = new byte[size];
+        data.duplicate().get(input);
+        final byte[] output = new byte[size - (size >>> 3)];
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            final int length = deflater.deflate(output);
+            if (!deflater.finished()) {
+                return false;
+            }
+            rb.setData(ByteString.copyFrom(output, 0, length));
+            rb.setUnknownFields(DEFLATE_FIELDS);
+            return true;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Returns the data of the request, decompressed if it was compressed by the leader.
+     */
+    static ByteBuffer data(final RpcRequests.AppendEntriesRequest request) throws DataFormatException {
+        final ByteBuffer data = request.getData().asReadOnlyByteBuffer();
+        if (!isDeflate(request.getUnknownFields())) {
+            return data;
+        }
+        long size = 0;
+        final List<RaftOutter.EntryMeta> entries = request.getEntriesList();
+        for (final RaftOutter.EntryMeta entry : entries) {
+            size += entry.getDataLen();
+        }
+        final byte[] output = new byte[(int) size];
+        final Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(request.getData().toByteArray());
+            final int length = inflater.inflate(output);
+            if (length != size || !inflater.finished()) {
+                throw new DataFormatException("Expect " + size + " bytes, but got " + length + ".");
+            }
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(output);
+    }
+
+    private static boolean isDeflate(final UnknownFieldSet fields) {
+        if (!fields.hasField(COMPRESSION_FIELD)) {
+            return false;
+        }
+        final List<Long> values = fields.getField(COMPRESSION_FIELD).getVarintList();
+        return !values.isEmpty() && values.get(0) == DEFLATE;
+    }
+}
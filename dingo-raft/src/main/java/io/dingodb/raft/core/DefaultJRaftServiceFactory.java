@@ -20,6 +20,8 @@ import io.dingodb.common.CommonId;
 import io.dingodb.raft.JRaftServiceFactory;
 import io.dingodb.raft.entity.codec.LogEntryCodecFactory;
 import io.dingodb.raft.entity.codec.v2.LogEntryV2CodecFactory;
+import io.dingodb.raft.option.LogStorageType;
+import io.dingodb.raft.option.RaftLogStoreOptions;
 import io.dingodb.raft.option.RaftOptions;
 import io.dingodb.raft.storage.LogStorage;
 import io.dingodb.raft.storage.LogStore;
@@ -28,6 +30,8 @@ import io.dingodb.raft.storage.SnapshotStorage;
 import io.dingodb.raft.storage.impl.LocalRaftMetaStorage;
 import io.dingodb.raft.storage.impl.RocksDBLogStorage;
 import io.dingodb.raft.storage.impl.RocksDBLogStore;
+import io.dingodb.raft.storage.impl.SegmentLogStorage;
+import io.dingodb.raft.storage.impl.SegmentLogStore;
 import io.dingodb.raft.storage.snapshot.local.LocalSnapshotStorage;
 import io.dingodb.raft.util.Requires;
 import io.dingodb.raft.util.SPI;
@@ -40,10 +44,21 @@ public class DefaultJRaftServiceFactory implements JRaftServiceFactory {
         return new DefaultJRaftServiceFactory();
     }
 
+    @Override
+    public LogStore<RaftLogStoreOptions> createLogStore(final RaftOptions raftOptions) {
+        if (raftOptions != null && raftOptions.getLogStorageType() == LogStorageType.Segment) {
+            return new SegmentLogStore();
+        }
+        return new RocksDBLogStore();
+    }
+
     @Override
     public LogStorage createLogStorage(CommonId regionId, LogStore logStore) {
         Requires.requireTrue(regionId != null);
         Requires.requireTrue(logStore != null, "Null logStore.");
+        if (logStore instanceof SegmentLogStore) {
+            return new SegmentLogStorage(regionId, (SegmentLogStore) logStore);
+        }
         Requires.requireTrue(logStore instanceof RocksDBLogStore, "LogStore type error.");
         return new RocksDBLogStorage(regionId, (RocksDBLogStore) logStore);
     }
@@ -120,6 +120,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
 
 // Refer to SOFAJRaft: <A>https://github.com/sofastack/sofa-jraft/<A/>
 public class NodeImpl implements Node, RaftServerService {
@@ -1447,6 +1448,22 @@ public class NodeImpl implements Node, RaftServerService {
         this.readOnlyService.addRequest(requestContext, done);
     }
 
+    @Override
+    public boolean isLeaseReadable() {
+        this.readLock.lock();
+        try {
+            if (this.state != State.STATE_LEADER || !isLeaderLeaseValid()) {
+                return false;
+            }
+            final long lastCommittedIndex = this.ballotBox.getLastCommittedIndex();
+            // Same as ReadIndex, the leader must have committed a log entry at its term.
+            return this.logManager.getTerm(lastCommittedIndex) == this.currTerm
+                   && this.fsmCaller.getLastAppliedIndex() >= lastCommittedIndex;
+        } finally {
+            this.readLock.unlock();
+        }
+    }
+
     private class ReadIndexHeartbeatResponseClosure
         extends RpcResponseClosureAdapter<RpcRequests.AppendEntriesResponse> {
         final RpcRequests.ReadIndexResponse.Builder respBuilder;
@@ -1923,7 +1940,7 @@ public class NodeImpl implements Node, RaftServerService {
             if (request.getTerm() < this.currTerm) {
                 LOG.warn("Node {} ignore stale AppendEntriesRequest from {}, term={}, currTerm={}.", getNodeId(),
                     request.getServerId(), request.getTerm(), this.currTerm);
-                return RpcRequests.AppendEntriesResponse.newBuilder() //
+                return AppendEntriesCompression.declareSupport(RpcRequests.AppendEntriesResponse.newBuilder()) //
                     .setSuccess(false) //
                     .setTerm(this.currTerm) //
                     .build();
@@ -1938,7 +1955,7 @@ public class NodeImpl implements Node, RaftServerService {
                 // loss of split brain
                 stepDown(request.getTerm() + 1, false, new Status(RaftError.ELEADERCONFLICT,
                     "More than one leader in the same term."));
-                return RpcRequests.AppendEntriesResponse.newBuilder() //
+                return AppendEntriesCompression.declareSupport(RpcRequests.AppendEntriesResponse.newBuilder()) //
                     .setSuccess(false) //
                     .setTerm(request.getTerm() + 1) //
                     .build();
@@ -1966,7 +1983,7 @@ public class NodeImpl implements Node, RaftServerService {
                     getNodeId(), request.getServerId(), request.getTerm(), prevLogIndex, prevLogTerm, localPrevLogTerm,
                     lastLogIndex, entriesCount);
 
-                return RpcRequests.AppendEntriesResponse.newBuilder()
+                return AppendEntriesCompression.declareSupport(RpcRequests.AppendEntriesResponse.newBuilder())
                     .setSuccess(false)
                     .setTerm(this.currTerm)
                     .setLastLogIndex(lastLogIndex)
@@ -1976,7 +1993,7 @@ public class NodeImpl implements Node, RaftServerService {
             if (entriesCount == 0) {
                 // heartbeat or probe request
                 final RpcRequests.AppendEntriesResponse.Builder respBuilder
-                    = RpcRequests.AppendEntriesResponse.newBuilder()
+                    = AppendEntriesCompression.declareSupport(RpcRequests.AppendEntriesResponse.newBuilder())
                     .setSuccess(true)
                     .setTerm(this.currTerm)
                     .setLastLogIndex(this.logManager.getLastLogIndex());
@@ -2001,7 +2018,15 @@ public class NodeImpl implements Node, RaftServerService {
             final List<LogEntry> entries = new ArrayList<>(entriesCount);
             ByteBuffer allData = null;
             if (request.hasData()) {
-                allData = request.getData().asReadOnlyByteBuffer();
+                try {
+                    allData = AppendEntriesCompression.data(request);
+                } catch (final DataFormatException e) {
+                    LOG.error("Node {} received AppendEntriesRequest with corrupted data.", getNodeId(), e);
+                    return RpcFactoryHelper //
+                        .responseFactory() //
+                        .newResponse(RpcRequests.AppendEntriesResponse.getDefaultInstance(), RaftError.EINVAL,
+                            "Corrupted data: %s.", e.getMessage());
+                }
             }
 
             final List<RaftOutter.EntryMeta> entriesList = request.getEntriesList();
@@ -2032,9 +2057,14 @@ public class NodeImpl implements Node, RaftServerService {
                 }
             }
 
-            final FollowerStableClosure closure
-                = new FollowerStableClosure(request, RpcRequests.AppendEntriesResponse.newBuilder()
-                .setTerm(this.currTerm), this, done, this.currTerm);
+            final FollowerStableClosure closure = new FollowerStableClosure(
+                request,
+                AppendEntriesCompression.declareSupport(RpcRequests.AppendEntriesResponse.newBuilder())
+                    .setTerm(this.currTerm),
+                this,
+                done,
+                this.currTerm
+            );
             this.logManager.appendEntries(entries, closure);
             // update configuration after _log_manager updated its memory status
             checkAndSetConfiguration(true);
@@ -119,6 +119,23 @@ public class Replicator implements ThreadId.OnError {
 
     private final String metricName;
 
+    // Sizes the AppendEntries requests to the follower.
+    private final ReplicatorFlowControl flowControl;
+    // Whether the follower declared that it can decompress the data of AppendEntries requests.
+    private boolean compressionSupported = false;
+
+    /**
+     * Follow the declaration of every response, so compression is turned off if the follower is replaced by one of a
+     * former version, e.g. in a rolling downgrade.
+     */
+    void onCompressionDeclared(final RpcRequests.AppendEntriesResponse response) {
+        this.compressionSupported = AppendEntriesCompression.isSupported(response);
+    }
+
+    boolean isCompressionSupported() {
+        return this.compressionSupported;
+    }
+
     private int getAndIncrementReqSeq() {
         final int prev = this.reqSeq;
         this.reqSeq++;
@@ -159,6 +176,7 @@ public class Replicator implements ThreadId.OnError {
         this.raftOptions = raftOptions;
         this.rpcService = replicatorOptions.getRaftRpcService();
         this.metricName = getReplicatorMetricName(replicatorOptions);
+        this.flowControl = new ReplicatorFlowControl(raftOptions);
         setState(State.Created);
     }
 
@@ -187,6 +205,9 @@ public class Replicator implements ThreadId.OnError {
             gauges.put("probe-times", (Gauge<Long>) () -> this.r.probeCounter);
             gauges.put("block-times", (Gauge<Long>) () -> this.r.blockCounter);
             gauges.put("append-entries-times", (Gauge<Long>) () -> this.r.appendEntriesCounter);
+            gauges.put("srtt-ms", (Gauge<Long>) () -> this.r.flowControl.getSrttMs());
+            gauges.put("inflight-bytes", (Gauge<Long>) () -> this.r.flowControl.getInflightBytes());
+            gauges.put("batch-bytes-limit", (Gauge<Integer>) () -> this.r.flowControl.bodySize());
             return gauges;
         }
     }
@@ -573,8 +594,8 @@ public class Replicator implements ThreadId.OnError {
         if (this.inflights.isEmpty()) {
             return this.nextIndex;
         }
-        // Too many in-flight requests.
-        if (this.inflights.size() > this.raftOptions.getMaxReplicatorInflightMsgs()) {
+        // Too many in-flight requests or bytes.
+        if (this.inflights.size() > this.raftOptions.getMaxReplicatorInflightMsgs() || !this.flowControl.canSend()) {
             return -1L;
         }
         // Last request should be a AppendEntries request and has some entries.
@@ -816,8 +837,8 @@ public class Replicator implements ThreadId.OnError {
     }
 
     boolean prepareEntry(final long nextSendingIndex, final int offset, final RaftOutter.EntryMeta.Builder emb,
-                         final RecyclableByteBufferList dateBuffer) {
-        if (dateBuffer.getCapacity() >= this.raftOptions.getMaxBodySize()) {
+                         final RecyclableByteBufferList dateBuffer, final int maxBodySize) {
+        if (dateBuffer.getCapacity() >= maxBodySize) {
             return false;
         }
         final long logIndex = nextSendingIndex + offset;
@@ -1324,7 +1345,8 @@ public class Replicator implements ThreadId.OnError {
                         case AppendEntries:
                             continueSendEntries = onAppendEntriesReturned(id, inflight, queuedPipelinedResponse.status,
                                 (RpcRequests.AppendEntriesRequest) queuedPipelinedResponse.request,
-                                (RpcRequests.AppendEntriesResponse) queuedPipelinedResponse.response, rpcSendTime, startTimeMs, r);
+                                (RpcRequests.AppendEntriesResponse) queuedPipelinedResponse.response,
+                                queuedPipelinedResponse.rpcSendTime, startTimeMs, r);
                             break;
                         case Snapshot:
                             continueSendEntries = onInstallSnapshotReturned(id, r, queuedPipelinedResponse.status,
@@ -1362,6 +1384,7 @@ public class Replicator implements ThreadId.OnError {
         this.version++;
         this.inflights.clear();
         this.pendingResponses.clear();
+        this.flowControl.reset();
         final int rs = Math.max(this.reqSeq, this.requiredNextSeq);
         this.reqSeq = this.requiredNextSeq = rs;
         releaseReader();
@@ -1427,6 +1450,7 @@ public class Replicator implements ThreadId.OnError {
             return false;
         }
         r.consecutiveErrorTimes = 0;
+        r.onCompressionDeclared(response);
         if (!response.getSuccess()) {
             // Target node is is busy, sleep for a while.
             if(response.getErrorResponse().getErrorCode() == RaftError.EBUSY.getNumber()) {
@@ -1504,6 +1528,11 @@ public class Replicator implements ThreadId.OnError {
         }
         final int entriesSize = request.getEntriesCount();
         if (entriesSize > 0) {
+            final long nowMs = Utils.monotonicMs();
+            r.flowControl.onAcked(inflight.size, nowMs - rpcSendTime, nowMs);
+            r.nodeMetrics.recordLatency(MetricRegistry.name(r.metricName, "append-entries-rtt"), nowMs - rpcSendTime);
+            r.nodeMetrics.recordSize(MetricRegistry.name(r.metricName, "replicate-lags"),
+                r.options.getLogManager().getLastLogIndex() - (r.nextIndex + entriesSize - 1));
             if (r.options.getReplicatorType().isFollower()) {
                 // Only commit index when the response is from follower.
                 r.options.getBallotBox().commitAt(r.nextIndex, r.nextIndex + entriesSize - 1, r.options.getPeerId());
@@ -1611,12 +1640,13 @@ public class Replicator implements ThreadId.OnError {
         }
 
         ByteBufferCollector dataBuf = null;
-        final int maxEntriesSize = this.raftOptions.getMaxEntriesSize();
+        final int maxEntriesSize = this.flowControl.entriesSize();
+        final int maxBodySize = this.flowControl.bodySize();
         final RecyclableByteBufferList byteBufList = RecyclableByteBufferList.newInstance();
         try {
             for (int i = 0; i < maxEntriesSize; i++) {
                 final RaftOutter.EntryMeta.Builder emb = RaftOutter.EntryMeta.newBuilder();
-                if (!prepareEntry(nextSendingIndex, i, emb, byteBufList)) {
+                if (!prepareEntry(nextSendingIndex, i, emb, byteBufList, maxBodySize)) {
                     break;
                 }
                 rb.addEntries(emb.build());
@@ -1637,7 +1667,14 @@ public class Replicator implements ThreadId.OnError {
                 }
                 final ByteBuffer buf = dataBuf.getBuffer();
                 buf.flip();
-                rb.setData(ZeroByteStringHelper.wrap(buf));
+                final int compressThreshold = this.raftOptions.getReplicatorCompressThreshold();
+                if (!this.compressionSupported || compressThreshold <= 0 || buf.remaining() < compressThreshold
+                    || !AppendEntriesCompression.compress(rb, buf)) {
+                    rb.setData(ZeroByteStringHelper.wrap(buf));
+                } else {
+                    this.nodeMetrics.recordSize(MetricRegistry.name(this.metricName, "append-entries-raw-bytes"),
+                        buf.remaining());
+                }
             }
         } finally {
             RecycleUtil.recycle(byteBufList);
@@ -1679,6 +1716,11 @@ public class Replicator implements ThreadId.OnError {
         }
         addInflight(RequestType.AppendEntries, nextSendingIndex, request.getEntriesCount(), request.getData().size(),
             seq, rpcFuture);
+        this.flowControl.onSent(request.getData().size(), monotonicSendTimeMs);
+        this.nodeMetrics.recordSize(MetricRegistry.name(this.metricName, "append-entries-batch-bytes"),
+            request.getData().size());
+        this.nodeMetrics.recordSize(MetricRegistry.name(this.metricName, "append-entries-batch-count"),
+            request.getEntriesCount());
 
         return true;
     }
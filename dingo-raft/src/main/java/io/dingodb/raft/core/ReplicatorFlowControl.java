@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.raft.core;
+
+import io.dingodb.raft.option.RaftOptions;
+
+/**
+ * Adaptive sizing of the AppendEntries requests of a replicator, from the round trip time and the delivery rate
+ * measured on the responses of its follower. Not thread safe, it is guarded by the lock of the replicator.
+ *
+ * <p>The bandwidth-delay product (BDP) is the bytes to keep in flight so the link to the follower is busy. Each
+ * request carries a quarter of the BDP, so a distant follower gets larger batches and fewer round trips, and at most
+ * twice the BDP is in flight, so the sending rate can grow while the bytes queued in the link are bounded.
+ */
+final class ReplicatorFlowControl {
+    private static final int BATCHES_PER_RTT = 4;
+    private static final double RTT_GAIN = 0.125;
+    private static final double RATE_DECAY = 0.9;
+
+    private final boolean adaptive;
+    private final int baseBodySize;
+    private final int baseEntriesSize;
+    private final int minBodySize;
+    private final int maxBodySize;
+    private final long maxInflightBytes;
+
+    // Smoothed round trip time in ms, negative before the first sample.
+    private double srttMs = -1;
+    // Delivery rate in bytes per ms.
+    private double rate = 0;
+    private long inflightBytes = 0;
+    // Bytes acknowledged since the start of the current rate sampling window, which is open only while busy.
+    private long windowStartMs = -1;
+    private long windowBytes = 0;
+    // Whether sending was limited by the in-flight bytes in the window, or else the sample is limited by the
+    // entries appended on the leader and cannot lower the rate.
+    private boolean windowLimited = false;
+
+    ReplicatorFlowControl(final RaftOptions raftOptions) {
+        this.adaptive = raftOptions.isReplicatorAdaptiveBatch();
+        this.baseBodySize = raftOptions.getMaxBodySize();
+        this.baseEntriesSize = raftOptions.getMaxEntriesSize();
+        this.minBodySize = Math.max(1, this.baseBodySize / 4);
+        this.maxBodySize = raftOptions.getMaxReplicatorBatchBytes();
+        this.maxInflightBytes = (long) this.baseBodySize * raftOptions.getMaxReplicatorInflightMsgs();
+    }
+
+    /**
+     * Returns the byte size limit of the next request.
+     */
+    int bodySize() {
+        if (!measured()) {
+            return this.baseBodySize;
+        }
+        final long size = (long) (bdp() / BATCHES_PER_RTT);
+        return (int) Math.max(this.minBodySize, Math.min(size, this.maxBodySize));
+    }
+
+    /**
+     * Returns the entries count limit of the next request, scaled with the byte size limit.
+     */
+    int entriesSize() {
+        return (int) Math.max(1L, (long) this.baseEntriesSize * bodySize() / this.baseBodySize);
+    }
+
+    /**
+     * Returns true if more requests with entries can be sent now.
+     */
+    boolean canSend() {
+        if (!measured()) {
+            return true;
+        }
+        final long limit = Math.max((long) (2 * bdp()), 2L * bodySize());
+        if (this.inflightBytes < Math.min(limit, this.maxInflightBytes)) {
+            return true;
+        }
+        this.windowLimited = true;
+        return false;
+    }
+
+    void onSent(final int bytes, final long nowMs) {
+        if (this.inflightBytes == 0) {
+            this.windowStartMs = nowMs;
+            this.windowBytes = 0;
+            this.windowLimited = false;
+        }
+        this.inflightBytes += bytes;
+    }
+
+    void onAcked(final int bytes, final long rttMs, final long nowMs) {
+        this.inflightBytes = Math.max(0, this.inflightBytes - bytes);
+        final double rtt = Math.max(1, rttMs);
+        this.srttMs = this.srttMs < 0 ? rtt : this.srttMs + RTT_GAIN * (rtt - this.srttMs);
+        this.windowBytes += bytes;
+        final long elapsed = nowMs - this.windowStartMs;
+        if (this.windowStartMs >= 0 && elapsed >= this.srttMs) {
+            final double sample = (double) this.windowBytes / elapsed;
+            if (sample > this.rate) {
+                this.rate = sample;
+            } else if (this.windowLimited) {
+                this.rate = RATE_DECAY * this.rate + (1 - RATE_DECAY) * sample;
+            }
+            this.windowStartMs = nowMs;
+            this.windowBytes = 0;
+            this.windowLimited = false;
+        }
+        if (this.inflightBytes == 0) {
+            this.windowStartMs = -1;
+        }
+    }
+
+    /**
+     * Clear the in-flight state, the measured round trip time and rate are kept.
+     */
+    void reset() {
+        this.inflightBytes = 0;
+        this.windowStartMs = -1;
+        this.windowBytes = 0;
+        this.windowLimited = false;
+    }
+
+    long getInflightBytes() {
+        return this.inflightBytes;
+    }
+
+    long getSrttMs() {
+        return (long) this.srttMs;
+    }
+
+    private boolean measured() {
+        return this.adaptive && this.srttMs >= 0 && this.rate > 0;
+    }
+
+    private double bdp() {
+        return this.rate * this.srttMs;
+    }
+}
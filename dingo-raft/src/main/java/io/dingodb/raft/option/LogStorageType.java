@@ -14,20 +14,12 @@
  * limitations under the License.
  */
 
-package io.dingodb.exec.operator.data;
 
-import lombok.Getter;
-import lombok.Setter;
+package io.dingodb.raft.option;
 
-public class TupleWithJoinFlag {
-    @Getter
-    private final Object[] tuple;
-    @Getter
-    @Setter
-    private boolean joined;
-
-    public TupleWithJoinFlag(Object[] tuple) {
-        this.tuple = tuple;
-        this.joined = false;
-    }
+public enum LogStorageType {
+    // Log entries are written into RocksDB, shared by the raft groups on the same store.
+    RocksDB,
+    // Log entries are appended to fixed-size memory mapped segment files of each raft group, without compaction.
+    Segment
 }
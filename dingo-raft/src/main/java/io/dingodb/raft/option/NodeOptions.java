@@ -107,8 +107,8 @@ public class NodeOptions extends RpcOptions implements Copiable<NodeOptions> {
     // If enable, we will filter duplicate files before copy remote snapshot,
     // to avoid useless transmission. Two files in local and remote are duplicate,
     // only if they has the same filename and the same checksum (stored in file meta).
-    // Default: false
-    private boolean filterBeforeCopyRemote = false;
+    // Default: true
+    private boolean filterBeforeCopyRemote = true;
 
     // If non-null, we will pass this throughput_snapshot_throttle to SnapshotExecutor
     // Default: NULL
@@ -30,4 +30,5 @@ public class RaftLogStoreOptions {
     private boolean sync = true;
     private boolean openStatistics = false;
     private LogEntryCodecFactory logEntryCodecFactory;
+    private int segmentSize = 64 * 1024 * 1024;
 }
@@ -47,6 +47,19 @@ public class RaftOptions implements Copiable<RaftOptions> {
     private boolean        replicatorPipeline                   = true;
     /** The maximum replicator pipeline in-flight requests/responses, only valid when enable replicator pipeline. */
     private int            maxReplicatorInflightMsgs            = 256;
+    /**
+     * Whether to size AppendEntriesRequest from the round trip time and the delivery rate measured on each follower,
+     * between 1/4 of maxBodySize and maxReplicatorBatchBytes, and bound the bytes in flight to twice the
+     * bandwidth-delay product. The entries count limit is scaled from maxEntriesSize in proportion.
+     */
+    private boolean        replicatorAdaptiveBatch              = true;
+    /** The maximum byte size of AppendEntriesRequest when replicatorAdaptiveBatch is enabled */
+    private int            maxReplicatorBatchBytes              = 4 * 1024 * 1024;
+    /**
+     * The data of AppendEntriesRequest not less than this size is compressed, if the follower is able to
+     * decompress it, non-positive to disable.
+     */
+    private int            replicatorCompressThreshold          = 256 * 1024;
     /** Internal disruptor buffers size for Node/FSMCaller/LogManager etc. */
     private int            disruptorBufferSize                  = 16384;
     /**
@@ -87,12 +100,63 @@ public class RaftOptions implements Copiable<RaftOptions> {
      */
     private int            maxReadIndexLag                      = -1;
 
+    /**
+     * Whether followers serve read only requests, by waiting until the committed index got from the leader is
+     * applied locally. If disabled, read only requests are rejected on followers, so clients retry on the leader.
+     */
+    private boolean        followerRead                         = true;
+
     /**
      * Candidate steps down when election reaching timeout, default is true(enabled).
      * @since 1.3.0
      */
     private boolean        stepDownWhenVoteTimedout             = true;
 
+    /** The storage type of raft log entries */
+    private LogStorageType logStorageType                       = LogStorageType.RocksDB;
+    /** The size of each log segment file, only valid when the log storage type is segment */
+    private int            logSegmentSize                       = 64 * 1024 * 1024;
+
+    public LogStorageType getLogStorageType() {
+        return this.logStorageType;
+    }
+
+    public void setLogStorageType(final LogStorageType logStorageType) {
+        this.logStorageType = logStorageType;
+    }
+
+    public int getLogSegmentSize() {
+        return this.logSegmentSize;
+    }
+
+    public void setLogSegmentSize(final int logSegmentSize) {
+        this.logSegmentSize = logSegmentSize;
+    }
+
+    public boolean isReplicatorAdaptiveBatch() {
+        return this.replicatorAdaptiveBatch;
+    }
+
+    public void setReplicatorAdaptiveBatch(final boolean replicatorAdaptiveBatch) {
+        this.replicatorAdaptiveBatch = replicatorAdaptiveBatch;
+    }
+
+    public int getMaxReplicatorBatchBytes() {
+        return this.maxReplicatorBatchBytes;
+    }
+
+    public void setMaxReplicatorBatchBytes(final int maxReplicatorBatchBytes) {
+        this.maxReplicatorBatchBytes = maxReplicatorBatchBytes;
+    }
+
+    public int getReplicatorCompressThreshold() {
+        return this.replicatorCompressThreshold;
+    }
+
+    public void setReplicatorCompressThreshold(final int replicatorCompressThreshold) {
+        this.replicatorCompressThreshold = replicatorCompressThreshold;
+    }
+
     public boolean isStepDownWhenVoteTimedout() {
         return this.stepDownWhenVoteTimedout;
     }
@@ -125,6 +189,14 @@ public class RaftOptions implements Copiable<RaftOptions> {
         this.readOnlyOptions = readOnlyOptions;
     }
 
+    public boolean isFollowerRead() {
+        return this.followerRead;
+    }
+
+    public void setFollowerRead(final boolean followerRead) {
+        this.followerRead = followerRead;
+    }
+
     public int getMaxReadIndexLag() {
         return maxReadIndexLag;
     }
@@ -261,10 +333,16 @@ public class RaftOptions implements Copiable<RaftOptions> {
         raftOptions.setOpenStatistics(this.openStatistics);
         raftOptions.setReplicatorPipeline(this.replicatorPipeline);
         raftOptions.setMaxReplicatorInflightMsgs(this.maxReplicatorInflightMsgs);
+        raftOptions.setReplicatorAdaptiveBatch(this.replicatorAdaptiveBatch);
+        raftOptions.setMaxReplicatorBatchBytes(this.maxReplicatorBatchBytes);
+        raftOptions.setReplicatorCompressThreshold(this.replicatorCompressThreshold);
         raftOptions.setDisruptorBufferSize(this.disruptorBufferSize);
         raftOptions.setDisruptorPublishEventWaitTimeoutSecs(this.disruptorPublishEventWaitTimeoutSecs);
         raftOptions.setEnableLogEntryChecksum(this.enableLogEntryChecksum);
         raftOptions.setReadOnlyOptions(this.readOnlyOptions);
+        raftOptions.setFollowerRead(this.followerRead);
+        raftOptions.setLogStorageType(this.logStorageType);
+        raftOptions.setLogSegmentSize(this.logSegmentSize);
         return raftOptions;
     }
 
@@ -276,9 +354,13 @@ public class RaftOptions implements Copiable<RaftOptions> {
                + this.maxElectionDelayMs + ", electionHeartbeatFactor=" + this.electionHeartbeatFactor
                + ", applyBatch=" + this.applyBatch + ", sync=" + this.sync + ", syncMeta=" + this.syncMeta
                + ", openStatistics=" + this.openStatistics + ", replicatorPipeline=" + this.replicatorPipeline
-               + ", maxReplicatorInflightMsgs=" + this.maxReplicatorInflightMsgs + ", disruptorBufferSize="
+               + ", maxReplicatorInflightMsgs=" + this.maxReplicatorInflightMsgs + ", replicatorAdaptiveBatch="
+               + this.replicatorAdaptiveBatch + ", maxReplicatorBatchBytes=" + this.maxReplicatorBatchBytes
+               + ", replicatorCompressThreshold=" + this.replicatorCompressThreshold + ", disruptorBufferSize="
                + this.disruptorBufferSize + ", disruptorPublishEventWaitTimeoutSecs="
                + this.disruptorPublishEventWaitTimeoutSecs + ", enableLogEntryChecksum=" + this.enableLogEntryChecksum
-               + ", readOnlyOptions=" + this.readOnlyOptions + '}';
+               + ", readOnlyOptions=" + this.readOnlyOptions + ", followerRead=" + this.followerRead
+               + ", logStorageType=" + this.logStorageType
+               + ", logSegmentSize=" + this.logSegmentSize + '}';
     }
 }
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.raft.storage.impl;
+
+import io.dingodb.raft.error.LogEntryCorruptedException;
+import io.dingodb.raft.util.CrcUtil;
+import io.dingodb.raft.util.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A fixed-size, memory mapped and append-only file of log entries with consecutive indexes.
+ *
+ * <pre>
+ * segment: | magic (4) | first index (8) | record | record | ... | zeros |
+ * record:  | data length (4) | flags (1) | index (8) | crc64 of data (8) | data |
+ * </pre>
+ *
+ * <p>The offset of every {@link #INDEX_INTERVAL}-th record is kept in memory, other records are found by skipping
+ * records from the nearest one. The segment is not thread safe, it is guarded by {@link SegmentLogStorage}.
+ */
+class LogSegment {
+    private static final Logger LOG = LoggerFactory.getLogger(LogSegment.class);
+
+    static final String SUFFIX = ".log";
+    static final int MAGIC = 0x44474C53;
+    static final int HEADER_SIZE = 12;
+    static final int RECORD_HEADER_SIZE = 21;
+    static final byte FLAG_CONF = 1;
+
+    private static final int INDEX_INTERVAL = 64;
+    private static final int FLAGS_OFFSET = 4;
+    private static final int INDEX_OFFSET = 5;
+    private static final int CRC_OFFSET = 13;
+
+    interface RecordVisitor {
+        void visit(long index, byte[] data);
+    }
+
+    final Path path;
+    final long firstIndex;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private int wrotePos;
+    private long lastIndex;
+    private int[] offsets = new int[16];
+    private int offsetCount = 0;
+
+    private LogSegment(Path path, long firstIndex, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstIndex = firstIndex;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.wrotePos = HEADER_SIZE;
+        this.lastIndex = firstIndex - 1;
+    }
+
+    static String fileName(long firstIndex) {
+        return String.format("%020d%s", firstIndex, SUFFIX);
+    }
+
+    /**
+     * Create an empty segment of which the first record will be {@code firstIndex}.
+     */
+    static LogSegment create(Path dir, long firstIndex, int size) throws IOException {
+        Path path = dir.resolve(fileName(firstIndex));
+        FileChannel channel = FileChannel.open(path, CREATE_NEW, READ, WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putLong(4, firstIndex);
+            return new LogSegment(path, firstIndex, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open an existing segment, the records after the first broken one (torn by a crash) are discarded.
+     */
+    static LogSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, READ, WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new LogEntryCorruptedException("Bad log segment header: " + path);
+            }
+            LogSegment segment = new LogSegment(path, buffer.getLong(4), channel, buffer);
+            segment.recover();
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void recover() {
+        int pos = HEADER_SIZE;
+        long index = firstIndex;
+        while (pos + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(pos);
+            if (length <= 0 || length > buffer.capacity() - pos - RECORD_HEADER_SIZE) {
+                break;
+            }
+            if (buffer.getLong(pos + INDEX_OFFSET) != index
+                || CrcUtil.crc64(data(pos, length)) != buffer.getLong(pos + CRC_OFFSET)) {
+                LOG.warn("Broken record of index {} at {} in log segment {}, discard it and the following.",
+                    index, pos, path);
+                break;
+            }
+            addOffset(index, pos);
+            pos += RECORD_HEADER_SIZE + length;
+            ++index;
+        }
+        if (pos + 4 <= buffer.capacity() && buffer.getInt(pos) != 0) {
+            zero(pos, buffer.capacity());
+        }
+        wrotePos = pos;
+        lastIndex = index - 1;
+    }
+
+    long lastIndex() {
+        return lastIndex;
+    }
+
+    boolean isEmpty() {
+        return lastIndex < firstIndex;
+    }
+
+    /**
+     * Append a record, the index must be next to the last index.
+     *
+     * @return false if there is not enough space
+     */
+    boolean append(long index, byte flags, byte[] data) {
+        if (index != lastIndex + 1) {
+            throw new IllegalArgumentException(
+                "Log index " + index + " is not next to " + lastIndex + " in log segment " + path
+            );
+        }
+        int pos = wrotePos;
+        if (data.length > buffer.capacity() - pos - RECORD_HEADER_SIZE) {
+            return false;
+        }
+        ByteBuffer dup = buffer.duplicate();
+        dup.position(pos + RECORD_HEADER_SIZE);
+        dup.put(data);
+        buffer.put(pos + FLAGS_OFFSET, flags);
+        buffer.putLong(pos + INDEX_OFFSET, index);
+        buffer.putLong(pos + CRC_OFFSET, CrcUtil.crc64(data));
+        // Length is written at last, so a record is visible only if it is complete.
+        buffer.putInt(pos, data.length);
+        addOffset(index, pos);
+        wrotePos = pos + RECORD_HEADER_SIZE + data.length;
+        lastIndex = index;
+        return true;
+    }
+
+    /**
+     * Read the data of a record.
+     *
+     * @return the data, or null if the index is not in this segment
+     */
+    byte[] read(long index) {
+        if (index < firstIndex || index > lastIndex) {
+            return null;
+        }
+        int pos = position(index);
+        byte[] data = data(pos, buffer.getInt(pos));
+        if (buffer.getLong(pos + INDEX_OFFSET) != index || CrcUtil.crc64(data) != buffer.getLong(pos + CRC_OFFSET)) {
+            throw new LogEntryCorruptedException("Corrupted record of index " + index + " in log segment " + path);
+        }
+        return data;
+    }
+
+    /**
+     * Visit the records with the given flags, from {@code fromIndex}.
+     */
+    void visit(long fromIndex, byte flags, RecordVisitor visitor) {
+        if (fromIndex > lastIndex) {
+            return;
+        }
+        long index = Math.max(fromIndex, firstIndex);
+        int pos = position(index);
+        for (; index <= lastIndex; ++index) {
+            int length = buffer.getInt(pos);
+            if (buffer.get(pos + FLAGS_OFFSET) == flags) {
+                visitor.visit(index, data(pos, length));
+            }
+            pos += RECORD_HEADER_SIZE + length;
+        }
+    }
+
+    /**
+     * Discard the records after {@code lastIndexKept}.
+     */
+    void truncateSuffix(long lastIndexKept) {
+        if (lastIndexKept >= lastIndex) {
+            return;
+        }
+        long nextIndex = Math.max(lastIndexKept + 1, firstIndex);
+        int pos = position(nextIndex);
+        zero(pos, wrotePos);
+        wrotePos = pos;
+        lastIndex = nextIndex - 1;
+        offsetCount = (int) ((lastIndex - firstIndex + INDEX_INTERVAL) / INDEX_INTERVAL);
+    }
+
+    void sync() {
+        buffer.force();
+    }
+
+    void close() {
+        Utils.unmap(buffer);
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.error("Fail to close log segment {}.", path, e);
+        }
+    }
+
+    void destroy() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    private int position(long index) {
+        int slot = (int) ((index - firstIndex) / INDEX_INTERVAL);
+        int pos = offsets[slot];
+        for (long i = firstIndex + (long) slot * INDEX_INTERVAL; i < index; ++i) {
+            pos += RECORD_HEADER_SIZE + buffer.getInt(pos);
+        }
+        return pos;
+    }
+
+    private void addOffset(long index, int pos) {
+        if ((index - firstIndex) % INDEX_INTERVAL != 0) {
+            return;
+        }
+        if (offsetCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsetCount << 1);
+        }
+        offsets[offsetCount++] = pos;
+    }
+
+    private byte[] data(int pos, int length) {
+        byte[] data = new byte[length];
+        ByteBuffer dup = buffer.duplicate();
+        dup.position(pos + RECORD_HEADER_SIZE);
+        dup.get(data);
+        return data;
+    }
+
+    private void zero(int from, int to) {
+        int pos = from;
+        for (; pos + 8 <= to; pos += 8) {
+            buffer.putLong(pos, 0L);
+        }
+        for (; pos < to; ++pos) {
+            buffer.put(pos, (byte) 0);
+        }
+    }
+}
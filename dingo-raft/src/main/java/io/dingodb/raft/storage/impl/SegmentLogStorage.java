@@ -0,0 +1,388 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.raft.storage.impl;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.raft.conf.Configuration;
+import io.dingodb.raft.conf.ConfigurationEntry;
+import io.dingodb.raft.conf.ConfigurationManager;
+import io.dingodb.raft.entity.EnumOutter.EntryType;
+import io.dingodb.raft.entity.LogEntry;
+import io.dingodb.raft.entity.LogId;
+import io.dingodb.raft.error.LogEntryCorruptedException;
+import io.dingodb.raft.option.LogStorageOptions;
+import io.dingodb.raft.storage.LogStorage;
+import io.dingodb.raft.util.Bits;
+import io.dingodb.raft.util.Describer;
+import io.dingodb.raft.util.Requires;
+import io.dingodb.raft.util.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Log storage on append-only segment files, see {@link LogSegment}.
+ *
+ * <p>Unlike {@link RocksDBLogStorage}, entries are written once and never compacted. Prefix truncation drops whole
+ * segments, the first log index is kept in a meta file, so the entries before it in the first segment are ignored.
+ */
+public class SegmentLogStorage implements LogStorage, Describer {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentLogStorage.class);
+
+    private static final String META_FILE = "meta";
+    private static final String META_TEMP_FILE = "meta.tmp";
+
+    private final CommonId id;
+    private final SegmentLogStore logStore;
+    private final Path path;
+
+    private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+    private final Lock readLock = this.readWriteLock.readLock();
+    private final Lock writeLock = this.readWriteLock.writeLock();
+
+    /**
+     * Segments by their first index.
+     */
+    private final NavigableMap<Long, LogSegment> segments = new TreeMap<>();
+    private volatile long firstLogIndex = 1;
+    private volatile long lastLogIndex = 0;
+
+    public SegmentLogStorage(CommonId id, SegmentLogStore logStore) {
+        this.id = id;
+        this.logStore = logStore;
+        this.path = logStore.getPath().resolve(id.toString());
+    }
+
+    @Override
+    public boolean init(final LogStorageOptions opts) {
+        ConfigurationManager confManager = opts.getConfigurationManager();
+        Requires.requireNonNull(confManager, "Null conf manager");
+        this.writeLock.lock();
+        try {
+            Files.createDirectories(this.path);
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(this.path)) {
+                files = stream
+                    .filter(p -> p.getFileName().toString().endsWith(LogSegment.SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                LogSegment segment = LogSegment.open(file);
+                LogSegment last = this.segments.isEmpty() ? null : this.segments.lastEntry().getValue();
+                if (last != null && segment.firstIndex != last.lastIndex() + 1) {
+                    // Tail of the previous segment was lost, the following entries are useless.
+                    LOG.warn("Log segment {} is not next to {} in {}, discard it.", file, last.path, this.id);
+                    segment.destroy();
+                    continue;
+                }
+                this.segments.put(segment.firstIndex, segment);
+            }
+            Path meta = this.path.resolve(META_FILE);
+            if (Files.exists(meta)) {
+                this.firstLogIndex = Bits.getLong(Files.readAllBytes(meta), 0);
+            } else if (!this.segments.isEmpty()) {
+                this.firstLogIndex = this.segments.firstKey();
+            }
+            dropSegmentsBefore(this.firstLogIndex);
+            this.lastLogIndex = this.segments.isEmpty()
+                ? this.firstLogIndex - 1
+                : Math.max(this.segments.lastEntry().getValue().lastIndex(), this.firstLogIndex - 1);
+            for (LogSegment segment : this.segments.values()) {
+                segment.visit(this.firstLogIndex, LogSegment.FLAG_CONF, (index, data) -> loadConf(confManager, data));
+            }
+            LOG.info("Init segment log storage of {}, path: {}, segments: {}, first log index: {}, last log index: {}.",
+                this.id, this.path, this.segments.size(), this.firstLogIndex, this.lastLogIndex);
+            return true;
+        } catch (final IOException | RuntimeException e) {
+            LOG.error("Fail to init segment log storage of {}, path: {}.", this.id, this.path, e);
+            return false;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    private void loadConf(final ConfigurationManager confManager, final byte[] data) {
+        final LogEntry entry = this.logStore.getLogEntryDecoder().decode(data);
+        if (entry == null || entry.getType() != EntryType.ENTRY_TYPE_CONFIGURATION) {
+            return;
+        }
+        final ConfigurationEntry confEntry = new ConfigurationEntry();
+        confEntry.setId(new LogId(entry.getId().getIndex(), entry.getId().getTerm()));
+        confEntry.setConf(new Configuration(entry.getPeers(), entry.getLearners()));
+        if (entry.getOldPeers() != null) {
+            confEntry.setOldConf(new Configuration(entry.getOldPeers(), entry.getOldLearners()));
+        }
+        confManager.add(confEntry);
+    }
+
+    private void saveFirstLogIndex(final long firstLogIndex) throws IOException {
+        final byte[] vs = new byte[8];
+        Bits.putLong(vs, 0, firstLogIndex);
+        final Path temp = this.path.resolve(META_TEMP_FILE);
+        Files.write(temp, vs);
+        Utils.atomicMoveFile(temp.toFile(), this.path.resolve(META_FILE).toFile(), this.logStore.isSync());
+    }
+
+    /**
+     * Destroy the segments of which all the entries are before {@code index}.
+     */
+    private void dropSegmentsBefore(final long index) throws IOException {
+        final Iterator<Map.Entry<Long, LogSegment>> it = this.segments.entrySet().iterator();
+        while (it.hasNext()) {
+            final LogSegment segment = it.next().getValue();
+            if (segment.lastIndex() >= index) {
+                break;
+            }
+            it.remove();
+            segment.destroy();
+        }
+    }
+
+    private void dropAllSegments() throws IOException {
+        for (LogSegment segment : this.segments.values()) {
+            segment.destroy();
+        }
+        this.segments.clear();
+    }
+
+    @Override
+    public void shutdown() {
+        this.writeLock.lock();
+        try {
+            // Drop the log data as RocksDBLogStorage does on shutdown.
+            dropAllSegments();
+            Files.deleteIfExists(this.path.resolve(META_FILE));
+        } catch (final IOException e) {
+            LOG.error("Fail to delete LogData on LogStorage in {}", this.id, e);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public long getFirstLogIndex() {
+        return this.firstLogIndex;
+    }
+
+    @Override
+    public long getLastLogIndex() {
+        return this.lastLogIndex;
+    }
+
+    @Override
+    public LogEntry getEntry(final long index) {
+        this.readLock.lock();
+        try {
+            if (index < this.firstLogIndex || index > this.lastLogIndex) {
+                return null;
+            }
+            final Map.Entry<Long, LogSegment> segment = this.segments.floorEntry(index);
+            if (segment == null) {
+                return null;
+            }
+            final byte[] data = segment.getValue().read(index);
+            if (data == null) {
+                return null;
+            }
+            final LogEntry entry = this.logStore.getLogEntryDecoder().decode(data);
+            if (entry == null) {
+                LOG.error("Bad log entry format for index={} in {}.", index, this.id);
+            }
+            return entry;
+        } catch (final LogEntryCorruptedException e) {
+            LOG.error("Fail to get log entry at index {} in {}.", index, this.id, e);
+        } finally {
+            this.readLock.unlock();
+        }
+        return null;
+    }
+
+    @Override
+    public long getTerm(final long index) {
+        final LogEntry entry = getEntry(index);
+        if (entry != null) {
+            return entry.getId().getTerm();
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean appendEntry(final LogEntry entry) {
+        return appendEntries(Collections.singletonList(entry)) == 1;
+    }
+
+    @Override
+    public int appendEntries(final List<LogEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return 0;
+        }
+        final List<LogSegment> written = new ArrayList<>(2);
+        int appended = 0;
+        this.writeLock.lock();
+        try {
+            for (final LogEntry entry : entries) {
+                final long index = entry.getId().getIndex();
+                if (index != this.lastLogIndex + 1) {
+                    LOG.error("Log index {} is not next to the last log index {} in {}.",
+                        index, this.lastLogIndex, this.id);
+                    break;
+                }
+                final byte[] data = this.logStore.getLogEntryEncoder().encode(entry);
+                final byte flags = entry.getType() == EntryType.ENTRY_TYPE_CONFIGURATION ? LogSegment.FLAG_CONF : 0;
+                LogSegment segment = this.segments.isEmpty() ? null : this.segments.lastEntry().getValue();
+                if (segment == null || !segment.append(index, flags, data)) {
+                    final int size = Math.max(
+                        this.logStore.getSegmentSize(),
+                        LogSegment.HEADER_SIZE + LogSegment.RECORD_HEADER_SIZE + data.length
+                    );
+                    segment = LogSegment.create(this.path, index, size);
+                    this.segments.put(index, segment);
+                    segment.append(index, flags, data);
+                }
+                if (written.isEmpty() || written.get(written.size() - 1) != segment) {
+                    written.add(segment);
+                }
+                this.lastLogIndex = index;
+                ++appended;
+            }
+            // Downgrade to read lock, so that entries can be read while syncing.
+            this.readLock.lock();
+        } catch (final IOException e) {
+            LOG.error("Fail to append entries in {}.", this.id, e);
+            this.readLock.lock();
+        } finally {
+            this.writeLock.unlock();
+        }
+        try {
+            if (this.logStore.isSync()) {
+                written.forEach(LogSegment::sync);
+            }
+        } finally {
+            this.readLock.unlock();
+        }
+        return appended;
+    }
+
+    @Override
+    public boolean truncatePrefix(final long firstIndexKept) {
+        final long startMs = Utils.monotonicMs();
+        this.writeLock.lock();
+        try {
+            if (firstIndexKept <= this.firstLogIndex) {
+                return true;
+            }
+            final long startIndex = this.firstLogIndex;
+            saveFirstLogIndex(firstIndexKept);
+            this.firstLogIndex = firstIndexKept;
+            if (firstIndexKept > this.lastLogIndex) {
+                dropAllSegments();
+                this.lastLogIndex = firstIndexKept - 1;
+            } else {
+                dropSegmentsBefore(firstIndexKept);
+            }
+            LOG.info("Truncated prefix logs from log index {} to {} in {}, cost {} ms.",
+                startIndex, firstIndexKept, this.id, Utils.monotonicMs() - startMs);
+            return true;
+        } catch (final IOException e) {
+            LOG.error("Fail to truncatePrefix in {}, firstIndexKept={}.", this.id, firstIndexKept, e);
+            return false;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean truncateSuffix(final long lastIndexKept) {
+        this.writeLock.lock();
+        try {
+            while (!this.segments.isEmpty() && this.segments.lastKey() > lastIndexKept) {
+                this.segments.pollLastEntry().getValue().destroy();
+            }
+            if (!this.segments.isEmpty()) {
+                final LogSegment segment = this.segments.lastEntry().getValue();
+                segment.truncateSuffix(lastIndexKept);
+                segment.sync();
+            }
+            LOG.debug("Truncate suffix in {}, last index: {}, last index kept: {}.",
+                this.id, this.lastLogIndex, lastIndexKept);
+            this.lastLogIndex = Math.max(lastIndexKept, this.firstLogIndex - 1);
+            return true;
+        } catch (final IOException e) {
+            LOG.error("Fail to truncateSuffix {} in {}, last log index: {}.",
+                lastIndexKept, this.id, this.lastLogIndex, e);
+            return false;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean reset(final long nextLogIndex) {
+        if (nextLogIndex <= 0) {
+            throw new IllegalArgumentException("Invalid next log index.");
+        }
+        this.writeLock.lock();
+        try {
+            LogEntry entry = getEntry(nextLogIndex);
+            dropAllSegments();
+            saveFirstLogIndex(nextLogIndex);
+            this.firstLogIndex = nextLogIndex;
+            this.lastLogIndex = nextLogIndex - 1;
+            if (entry == null) {
+                entry = new LogEntry();
+                entry.setType(EntryType.ENTRY_TYPE_NO_OP);
+                entry.setId(new LogId(nextLogIndex, 0));
+                LOG.warn("Entry not found for nextLogIndex {} when reset in {}.", nextLogIndex, this.id);
+            }
+            return appendEntry(entry);
+        } catch (final IOException e) {
+            LOG.error("Fail to reset next log index {} in {}.", nextLogIndex, this.id, e);
+            return false;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void describe(final Printer out) {
+        this.readLock.lock();
+        try {
+            out.println("path: " + this.path);
+            out.println("segments: " + this.segments.size());
+            out.println("firstLogIndex: " + this.firstLogIndex);
+            out.println("lastLogIndex: " + this.lastLogIndex);
+        } finally {
+            this.readLock.unlock();
+        }
+    }
+}
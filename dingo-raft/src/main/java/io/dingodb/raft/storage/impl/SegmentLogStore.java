@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.raft.storage.impl;
+
+import io.dingodb.raft.entity.codec.LogEntryDecoder;
+import io.dingodb.raft.entity.codec.LogEntryEncoder;
+import io.dingodb.raft.option.RaftLogStoreOptions;
+import io.dingodb.raft.storage.LogStore;
+import io.dingodb.raft.util.Requires;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The root of {@link SegmentLogStorage}s, each raft group keeps its segment files in its own directory.
+ */
+@Getter
+public class SegmentLogStore implements LogStore<RaftLogStoreOptions> {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentLogStore.class);
+
+    private Path path;
+    private boolean sync;
+    private int segmentSize;
+    private LogEntryEncoder logEntryEncoder;
+    private LogEntryDecoder logEntryDecoder;
+
+    @Override
+    public boolean init(final RaftLogStoreOptions opts) {
+        Requires.requireNonNull(opts.getDataPath(), "Null Log Store DataPath");
+        Requires.requireNonNull(opts.getLogEntryCodecFactory(), "Null log entry codec factory");
+        Requires.requireTrue(opts.getSegmentSize() > LogSegment.HEADER_SIZE, "Invalid log segment size");
+        this.path = Paths.get(opts.getDataPath());
+        this.sync = opts.isSync();
+        this.segmentSize = opts.getSegmentSize();
+        this.logEntryDecoder = opts.getLogEntryCodecFactory().decoder();
+        this.logEntryEncoder = opts.getLogEntryCodecFactory().encoder();
+        Requires.requireNonNull(this.logEntryDecoder, "Null log entry decoder");
+        Requires.requireNonNull(this.logEntryEncoder, "Null log entry encoder");
+        try {
+            Files.createDirectories(this.path);
+        } catch (final IOException e) {
+            LOG.error("Fail to init SegmentLogStore, path={}.", this.path, e);
+            return false;
+        }
+        LOG.info("Init raft segment log path: {}, segment size: {}.", this.path, this.segmentSize);
+        return true;
+    }
+
+    @Override
+    public void shutdown() {
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.raft.core;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnknownFieldSet;
+import io.dingodb.raft.entity.EnumOutter;
+import io.dingodb.raft.entity.PeerId;
+import io.dingodb.raft.entity.RaftOutter;
+import io.dingodb.raft.option.RaftOptions;
+import io.dingodb.raft.option.ReplicatorOptions;
+import io.dingodb.raft.rpc.RpcRequests;
+import io.dingodb.raft.storage.LogManager;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestAppendEntriesCompression {
+    private static final int ENTRIES_COUNT = 16;
+
+    private static byte @NonNull [] compressible() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1024; ++i) {
+            builder.append("key-").append(i % 10).append("=value-").append(i % 7).append(';');
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte @NonNull [] incompressible() {
+        byte[] data = new byte[16 * 1024];
+        new Random(1).nextBytes(data);
+        return data;
+    }
+
+    // A request of the data split into entries, whose data lengths sum to the data length.
+    private static RpcRequests.AppendEntriesRequest.@NonNull Builder request(int dataLength) {
+        RpcRequests.AppendEntriesRequest.Builder builder = RpcRequests.AppendEntriesRequest.newBuilder()
+            .setGroupId("group")
+            .setServerId("127.0.0.1:8081")
+            .setPeerId("127.0.0.1:8082")
+            .setTerm(1)
+            .setPrevLogTerm(1)
+            .setPrevLogIndex(1)
+            .setCommittedIndex(1);
+        for (int i = 0; i < ENTRIES_COUNT; ++i) {
+            int length = dataLength / ENTRIES_COUNT + (i < dataLength % ENTRIES_COUNT ? 1 : 0);
+            builder.addEntries(RaftOutter.EntryMeta.newBuilder()
+                .setTerm(1)
+                .setType(EnumOutter.EntryType.ENTRY_TYPE_DATA)
+                .setDataLen(length));
+        }
+        return builder;
+    }
+
+    // Sent over the network, with the unknown fields.
+    private static RpcRequests.@NonNull AppendEntriesRequest transfer(
+        RpcRequests.AppendEntriesRequest.@NonNull Builder builder
+    ) throws InvalidProtocolBufferException {
+        return RpcRequests.AppendEntriesRequest.parseFrom(builder.build().toByteArray());
+    }
+
+    private static RpcRequests.@NonNull AppendEntriesResponse transfer(
+        RpcRequests.AppendEntriesResponse.@NonNull Builder builder
+    ) throws InvalidProtocolBufferException {
+        return RpcRequests.AppendEntriesResponse.parseFrom(builder.build().toByteArray());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        byte[] data = compressible();
+        RpcRequests.AppendEntriesRequest.Builder builder = request(data.length);
+        assertThat(AppendEntriesCompression.compress(builder, ByteBuffer.wrap(data))).isTrue();
+        assertThat(builder.getData().size()).isLessThanOrEqualTo(data.length - data.length / 8);
+        RpcRequests.AppendEntriesRequest request = transfer(builder);
+        assertThat(request.getUnknownFields().hasField(AppendEntriesCompression.COMPRESSION_FIELD)).isTrue();
+        assertThat(AppendEntriesCompression.data(request)).isEqualTo(ByteBuffer.wrap(data));
+    }
+
+    @Test
+    public void testIncompressible() throws Exception {
+        byte[] data = incompressible();
+        RpcRequests.AppendEntriesRequest.Builder builder = request(data.length);
+        builder.setData(ByteString.copyFrom(data));
+        assertThat(AppendEntriesCompression.compress(builder, ByteBuffer.wrap(data))).isFalse();
+        // Sent uncompressed.
+        RpcRequests.AppendEntriesRequest request = transfer(builder);
+        assertThat(request.getUnknownFields().asMap()).isEmpty();
+        assertThat(AppendEntriesCompression.data(request)).isEqualTo(ByteBuffer.wrap(data));
+    }
+
+    @Test
+    public void testUncompressedFromOldLeader() throws Exception {
+        byte[] data = compressible();
+        RpcRequests.AppendEntriesRequest request = transfer(request(data.length).setData(ByteString.copyFrom(data)));
+        assertThat(AppendEntriesCompression.data(request)).isEqualTo(ByteBuffer.wrap(data));
+    }
+
+    @Test
+    public void testCorrupted() throws Exception {
+        byte[] data = compressible();
+        // The data lengths of the entries do not match the decompressed data.
+        RpcRequests.AppendEntriesRequest.Builder builder = request(data.length + 1);
+        assertThat(AppendEntriesCompression.compress(builder, ByteBuffer.wrap(data))).isTrue();
+        RpcRequests.AppendEntriesRequest request = transfer(builder);
+        assertThatThrownBy(() -> AppendEntriesCompression.data(request)).isInstanceOf(DataFormatException.class);
+    }
+
+    @Test
+    public void testSupportDeclared() throws Exception {
+        RpcRequests.AppendEntriesResponse.Builder builder = RpcRequests.AppendEntriesResponse.newBuilder()
+            .setTerm(1)
+            .setSuccess(true);
+        RpcRequests.AppendEntriesResponse response = transfer(AppendEntriesCompression.declareSupport(builder));
+        assertThat(AppendEntriesCompression.isSupported(response)).isTrue();
+    }
+
+    @Test
+    public void testUnknownCompression() throws Exception {
+        // Declared by a follower of a later version with another compression.
+        UnknownFieldSet.Field field = UnknownFieldSet.Field.newBuilder().addVarint(2).build();
+        UnknownFieldSet fields = UnknownFieldSet.newBuilder()
+            .addField(AppendEntriesCompression.COMPRESSION_FIELD, field)
+            .build();
+        RpcRequests.AppendEntriesResponse response = transfer(
+            RpcRequests.AppendEntriesResponse.newBuilder().setTerm(1).setSuccess(true).setUnknownFields(fields)
+        );
+        assertThat(AppendEntriesCompression.isSupported(response)).isFalse();
+    }
+
+    @Test
+    public void testOldPeer() throws Exception {
+        // A follower of a former version responds without field 1000.
+        RpcRequests.AppendEntriesResponse response = transfer(
+            RpcRequests.AppendEntriesResponse.newBuilder().setTerm(1).setSuccess(true)
+        );
+        assertThat(response.getUnknownFields().hasField(AppendEntriesCompression.COMPRESSION_FIELD)).isFalse();
+        assertThat(AppendEntriesCompression.isSupported(response)).isFalse();
+        // A follower of a former version reads the fields it knows of a compressed request as usual.
+        byte[] data = compressible();
+        RpcRequests.AppendEntriesRequest.Builder builder = request(data.length);
+        AppendEntriesCompression.compress(builder, ByteBuffer.wrap(data));
+        RpcRequests.AppendEntriesRequest request = transfer(builder);
+        assertThat(request.getTerm()).isEqualTo(1);
+        assertThat(request.getEntriesCount()).isEqualTo(ENTRIES_COUNT);
+    }
+
+    @Test
+    public void testTurnedOff() throws Exception {
+        ReplicatorOptions options = new ReplicatorOptions();
+        options.setNode(Mockito.mock(NodeImpl.class));
+        options.setLogManager(Mockito.mock(LogManager.class));
+        options.setPeerId(new PeerId("127.0.0.1", 8082));
+        Replicator replicator = new Replicator(options, new RaftOptions());
+        assertThat(replicator.isCompressionSupported()).isFalse();
+        replicator.onCompressionDeclared(transfer(AppendEntriesCompression.declareSupport(
+            RpcRequests.AppendEntriesResponse.newBuilder().setTerm(1).setSuccess(true)
+        )));
+        assertThat(replicator.isCompressionSupported()).isTrue();
+        // The follower is replaced by one of a former version.
+        replicator.onCompressionDeclared(transfer(
+            RpcRequests.AppendEntriesResponse.newBuilder().setTerm(1).setSuccess(true)
+        ));
+        assertThat(replicator.isCompressionSupported()).isFalse();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.raft.core;
+
+import io.dingodb.raft.option.RaftOptions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestReplicatorFlowControl {
+    private static final int BODY_SIZE = 512 * 1024;
+    private static final int ENTRIES_SIZE = 1024;
+    private static final int MAX_BATCH_BYTES = 4 * 1024 * 1024;
+    private static final int MAX_INFLIGHT_MSGS = 256;
+
+    private static @NonNull RaftOptions raftOptions(boolean adaptive) {
+        RaftOptions raftOptions = new RaftOptions();
+        raftOptions.setReplicatorAdaptiveBatch(adaptive);
+        raftOptions.setMaxBodySize(BODY_SIZE);
+        raftOptions.setMaxEntriesSize(ENTRIES_SIZE);
+        raftOptions.setMaxReplicatorBatchBytes(MAX_BATCH_BYTES);
+        raftOptions.setMaxReplicatorInflightMsgs(MAX_INFLIGHT_MSGS);
+        return raftOptions;
+    }
+
+    // Send and acknowledge the bytes in one round trip, which measures the rate as bytes / rtt.
+    private static void roundTrip(@NonNull ReplicatorFlowControl flowControl, int bytes, long rttMs, long nowMs) {
+        flowControl.onSent(bytes, nowMs);
+        flowControl.onAcked(bytes, rttMs, nowMs + rttMs);
+    }
+
+    @Test
+    public void testNotMeasured() {
+        ReplicatorFlowControl flowControl = new ReplicatorFlowControl(raftOptions(true));
+        assertThat(flowControl.bodySize()).isEqualTo(BODY_SIZE);
+        assertThat(flowControl.entriesSize()).isEqualTo(ENTRIES_SIZE);
+        for (int i = 0; i < 2 * MAX_INFLIGHT_MSGS; ++i) {
+            assertThat(flowControl.canSend()).isTrue();
+            flowControl.onSent(BODY_SIZE, 0);
+        }
+    }
+
+    @Test
+    public void testNotAdaptive() {
+        ReplicatorFlowControl flowControl = new ReplicatorFlowControl(raftOptions(false));
+        roundTrip(flowControl, 100 * 1024 * 1024, 100, 0);
+        assertThat(flowControl.getSrttMs()).isEqualTo(100);
+        assertThat(flowControl.bodySize()).isEqualTo(BODY_SIZE);
+        assertThat(flowControl.entriesSize()).isEqualTo(ENTRIES_SIZE);
+        assertThat(flowControl.canSend()).isTrue();
+    }
+
+    @Test
+    public void testUpperBound() {
+        ReplicatorFlowControl flowControl = new ReplicatorFlowControl(raftOptions(true));
+        // 1 MB per ms with 100 ms rtt, a quarter of the 100 MB bdp is over the max batch bytes.
+        roundTrip(flowControl, 100 * 1024 * 1024, 100, 0);
+        assertThat(flowControl.bodySize()).isEqualTo(MAX_BATCH_BYTES);
+        assertThat(flowControl.entriesSize()).isEqualTo(ENTRIES_SIZE * (MAX_BATCH_BYTES / BODY_SIZE));
+        // In-flight bytes are bounded by the max in-flight messages of the base body size.
+        long maxInflightBytes = (long) BODY_SIZE * MAX_INFLIGHT_MSGS;
+        while (flowControl.canSend()) {
+            flowControl.onSent(flowControl.bodySize(), 200);
+        }
+        assertThat(flowControl.getInflightBytes()).isGreaterThanOrEqualTo(maxInflightBytes);
+        assertThat(flowControl.getInflightBytes()).isLessThan(maxInflightBytes + MAX_BATCH_BYTES);
+    }
+
+    @Test
+    public void testLowerBound() {
+        ReplicatorFlowControl flowControl = new ReplicatorFlowControl(raftOptions(true));
+        // 1000 bytes per ms with 1 ms rtt, the bdp is less than the min body size.
+        roundTrip(flowControl, 1000, 1, 0);
+        assertThat(flowControl.bodySize()).isEqualTo(BODY_SIZE / 4);
+        assertThat(flowControl.entriesSize()).isEqualTo(ENTRIES_SIZE / 4);
+        // At least two requests can be in flight.
+        assertThat(flowControl.canSend()).isTrue();
+        flowControl.onSent(BODY_SIZE / 4, 10);
+        assertThat(flowControl.canSend()).isTrue();
+        flowControl.onSent(BODY_SIZE / 4, 10);
+        assertThat(flowControl.canSend()).isFalse();
+        flowControl.onAcked(BODY_SIZE / 4, 1, 11);
+        assertThat(flowControl.canSend()).isTrue();
+    }
+
+    @Test
+    public void testInBounds() {
+        ReplicatorFlowControl flowControl = new ReplicatorFlowControl(raftOptions(true));
+        // 40 KB per ms with 20 ms rtt, the bdp is 800 KB.
+        roundTrip(flowControl, 800 * 1024, 20, 0);
+        assertThat(flowControl.bodySize()).isEqualTo(200 * 1024);
+        assertThat(flowControl.entriesSize()).isEqualTo(ENTRIES_SIZE * 200 / 512);
+        // Twice the bdp in flight.
+        for (int i = 0; i < 8; ++i) {
+            assertThat(flowControl.canSend()).isTrue();
+            flowControl.onSent(200 * 1024, 100);
+        }
+        assertThat(flowControl.canSend()).isFalse();
+    }
+
+    @Test
+    public void testReset() {
+        ReplicatorFlowControl flowControl = new ReplicatorFlowControl(raftOptions(true));
+        roundTrip(flowControl, 800 * 1024, 20, 0);
+        flowControl.onSent(200 * 1024, 100);
+        flowControl.reset();
+        assertThat(flowControl.getInflightBytes()).isEqualTo(0);
+        // The measurement is kept.
+        assertThat(flowControl.getSrttMs()).isEqualTo(20);
+        assertThat(flowControl.bodySize()).isEqualTo(200 * 1024);
+    }
+}
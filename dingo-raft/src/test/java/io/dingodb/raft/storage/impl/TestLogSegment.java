@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.raft.storage.impl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestLogSegment {
+    private static final int SEGMENT_SIZE = 16 * 1024;
+    // Data of all the records are of the same length, so the position of a record can be calculated.
+    private static final int DATA_LENGTH = 8;
+
+    @TempDir
+    public Path dir;
+
+    private static byte @NonNull [] data(long index) {
+        return String.format("%08d", index).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long position(long firstIndex, long index) {
+        return LogSegment.HEADER_SIZE + (index - firstIndex) * (LogSegment.RECORD_HEADER_SIZE + DATA_LENGTH);
+    }
+
+    private static @NonNull LogSegment create(@NonNull Path dir, long firstIndex, long lastIndex) throws IOException {
+        LogSegment segment = LogSegment.create(dir, firstIndex, SEGMENT_SIZE);
+        for (long index = firstIndex; index <= lastIndex; ++index) {
+            assertThat(segment.append(index, (byte) 0, data(index))).isTrue();
+        }
+        return segment;
+    }
+
+    private static void assertRecords(@NonNull LogSegment segment, long firstIndex, long lastIndex) {
+        assertThat(segment.lastIndex()).isEqualTo(lastIndex);
+        for (long index = firstIndex; index <= lastIndex; ++index) {
+            assertThat(segment.read(index)).isEqualTo(data(index));
+        }
+        assertThat(segment.read(firstIndex - 1)).isNull();
+        assertThat(segment.read(lastIndex + 1)).isNull();
+    }
+
+    private void overwrite(@NonNull Path path, long position, byte @NonNull [] bytes) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(position);
+            file.write(bytes);
+        }
+    }
+
+    @Test
+    public void testAppendAndRead() throws IOException {
+        LogSegment segment = LogSegment.create(dir, 10, SEGMENT_SIZE);
+        assertThat(segment.isEmpty()).isTrue();
+        assertThat(segment.read(10)).isNull();
+        // More than the interval of the offsets kept in memory.
+        for (long index = 10; index < 210; ++index) {
+            assertThat(segment.append(index, (byte) 0, data(index))).isTrue();
+        }
+        assertThat(segment.isEmpty()).isFalse();
+        assertRecords(segment, 10, 209);
+        assertThatThrownBy(() -> segment.append(211, (byte) 0, data(211)))
+            .isInstanceOf(IllegalArgumentException.class);
+        segment.close();
+    }
+
+    @Test
+    public void testAppendFull() throws IOException {
+        LogSegment segment = LogSegment.create(dir, 1, SEGMENT_SIZE);
+        int capacity = (SEGMENT_SIZE - LogSegment.HEADER_SIZE) / (LogSegment.RECORD_HEADER_SIZE + DATA_LENGTH);
+        for (long index = 1; index <= capacity; ++index) {
+            assertThat(segment.append(index, (byte) 0, data(index))).isTrue();
+        }
+        assertThat(segment.append(capacity + 1, (byte) 0, data(capacity + 1))).isFalse();
+        assertRecords(segment, 1, capacity);
+        segment.close();
+    }
+
+    @Test
+    public void testVisit() throws IOException {
+        LogSegment segment = LogSegment.create(dir, 1, SEGMENT_SIZE);
+        for (long index = 1; index <= 100; ++index) {
+            byte flags = index % 30 == 0 ? LogSegment.FLAG_CONF : 0;
+            segment.append(index, flags, data(index));
+        }
+        List<Long> visited = new ArrayList<>();
+        segment.visit(40, LogSegment.FLAG_CONF, (index, data) -> {
+            assertThat(data).isEqualTo(data(index));
+            visited.add(index);
+        });
+        assertThat(visited).containsExactly(60L, 90L);
+        segment.close();
+    }
+
+    @Test
+    public void testTruncateSuffix() throws IOException {
+        LogSegment segment = create(dir, 1, 100);
+        segment.truncateSuffix(100);
+        assertRecords(segment, 1, 100);
+        segment.truncateSuffix(70);
+        assertRecords(segment, 1, 70);
+        // Records are appended again after the truncated ones.
+        assertThat(segment.append(71, (byte) 0, data(71))).isTrue();
+        assertRecords(segment, 1, 71);
+        segment.truncateSuffix(0);
+        assertThat(segment.isEmpty()).isTrue();
+        assertThat(segment.read(1)).isNull();
+        segment.close();
+        // The truncated records are not recovered by reopening.
+        LogSegment reopened = LogSegment.open(dir.resolve(LogSegment.fileName(1)));
+        assertThat(reopened.isEmpty()).isTrue();
+        reopened.close();
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        LogSegment segment = create(dir, 5, 104);
+        segment.sync();
+        segment.close();
+        LogSegment reopened = LogSegment.open(dir.resolve(LogSegment.fileName(5)));
+        assertThat(reopened.firstIndex).isEqualTo(5);
+        assertRecords(reopened, 5, 104);
+        assertThat(reopened.append(105, (byte) 0, data(105))).isTrue();
+        assertRecords(reopened, 5, 105);
+        reopened.close();
+    }
+
+    @Test
+    public void testRecoverTornData() throws IOException {
+        LogSegment segment = create(dir, 1, 10);
+        segment.close();
+        // Data of the 8th record is partly written, the crc does not match.
+        Path path = dir.resolve(LogSegment.fileName(1));
+        overwrite(path, position(1, 8) + LogSegment.RECORD_HEADER_SIZE, new byte[]{0, 0, 0});
+        LogSegment reopened = LogSegment.open(path);
+        assertRecords(reopened, 1, 7);
+        assertThat(reopened.append(8, (byte) 0, data(8))).isTrue();
+        assertRecords(reopened, 1, 8);
+        reopened.close();
+        // The discarded records are erased, not recovered again.
+        reopened = LogSegment.open(path);
+        assertRecords(reopened, 1, 8);
+        reopened.close();
+    }
+
+    @Test
+    public void testRecoverTornLength() throws IOException {
+        LogSegment segment = create(dir, 1, 10);
+        segment.close();
+        // Only the length of the 11th record is written, the rest of it is missing.
+        Path path = dir.resolve(LogSegment.fileName(1));
+        overwrite(path, position(1, 11), new byte[]{0, 0, 0, DATA_LENGTH});
+        LogSegment reopened = LogSegment.open(path);
+        assertRecords(reopened, 1, 10);
+        reopened.close();
+        // A length out of the segment.
+        overwrite(path, position(1, 11), new byte[]{0x7f, 0, 0, 0});
+        reopened = LogSegment.open(path);
+        assertRecords(reopened, 1, 10);
+        assertThat(reopened.append(11, (byte) 0, data(11))).isTrue();
+        assertRecords(reopened, 1, 11);
+        reopened.close();
+    }
+}
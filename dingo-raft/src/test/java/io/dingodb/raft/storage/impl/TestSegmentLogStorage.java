@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.raft.storage.impl;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.raft.conf.ConfigurationEntry;
+import io.dingodb.raft.conf.ConfigurationManager;
+import io.dingodb.raft.entity.EnumOutter.EntryType;
+import io.dingodb.raft.entity.LogEntry;
+import io.dingodb.raft.entity.LogId;
+import io.dingodb.raft.entity.PeerId;
+import io.dingodb.raft.entity.codec.v2.LogEntryV2CodecFactory;
+import io.dingodb.raft.option.LogStorageOptions;
+import io.dingodb.raft.option.RaftLogStoreOptions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSegmentLogStorage {
+    // Small segments, so that the entries are in several segments.
+    private static final int SEGMENT_SIZE = 1024;
+    private static final CommonId ID = new CommonId((byte) 'T', new byte[]{'L', 'S'}, new byte[4], 1);
+
+    @TempDir
+    public Path dir;
+
+    private SegmentLogStore logStore;
+    private SegmentLogStorage storage;
+
+    private static @NonNull LogEntry entry(long index, long term) {
+        LogEntry entry = new LogEntry(EntryType.ENTRY_TYPE_DATA);
+        entry.setId(new LogId(index, term));
+        entry.setData(ByteBuffer.wrap(("data-" + index).getBytes(StandardCharsets.UTF_8)));
+        return entry;
+    }
+
+    private static @NonNull List<LogEntry> entries(long from, long to, long term) {
+        return LongStream.rangeClosed(from, to).mapToObj(index -> entry(index, term)).collect(Collectors.toList());
+    }
+
+    // The storage is not shutdown for reopening, for shutting down drops the log data.
+    private @NonNull SegmentLogStorage open(@NonNull ConfigurationManager confManager) {
+        SegmentLogStorage storage = new SegmentLogStorage(ID, logStore);
+        LogStorageOptions opts = new LogStorageOptions();
+        opts.setConfigurationManager(confManager);
+        assertThat(storage.init(opts)).isTrue();
+        return storage;
+    }
+
+    private @NonNull List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir.resolve(ID.toString()))) {
+            return files
+                .filter(file -> file.getFileName().toString().endsWith(LogSegment.SUFFIX))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private void assertEntries(long firstIndex, long lastIndex, long term) {
+        assertThat(storage.getFirstLogIndex()).isEqualTo(firstIndex);
+        assertThat(storage.getLastLogIndex()).isEqualTo(lastIndex);
+        for (long index = firstIndex; index <= lastIndex; ++index) {
+            LogEntry entry = storage.getEntry(index);
+            assertThat(entry.getId()).isEqualTo(new LogId(index, term));
+            assertThat(entry.getData()).isEqualTo(entry(index, term).getData());
+        }
+        assertThat(storage.getEntry(firstIndex - 1)).isNull();
+        assertThat(storage.getEntry(lastIndex + 1)).isNull();
+    }
+
+    @BeforeEach
+    public void setup() {
+        RaftLogStoreOptions opts = new RaftLogStoreOptions();
+        opts.setDataPath(dir.toString());
+        opts.setSegmentSize(SEGMENT_SIZE);
+        opts.setLogEntryCodecFactory(LogEntryV2CodecFactory.getInstance());
+        logStore = new SegmentLogStore();
+        assertThat(logStore.init(opts)).isTrue();
+        storage = open(new ConfigurationManager());
+    }
+
+    @Test
+    public void testAppendAndRead() throws IOException {
+        assertThat(storage.getFirstLogIndex()).isEqualTo(1);
+        assertThat(storage.getLastLogIndex()).isEqualTo(0);
+        assertThat(storage.appendEntries(entries(1, 100, 1))).isEqualTo(100);
+        assertThat(storage.appendEntry(entry(101, 2))).isTrue();
+        assertThat(segmentFiles()).hasSizeGreaterThan(1);
+        assertEntries(1, 100, 1);
+        assertThat(storage.getTerm(101)).isEqualTo(2);
+        // Entries not next to the last one are rejected.
+        assertThat(storage.appendEntries(entries(103, 105, 2))).isEqualTo(0);
+        assertThat(storage.getLastLogIndex()).isEqualTo(101);
+    }
+
+    @Test
+    public void testTruncatePrefix() throws IOException {
+        storage.appendEntries(entries(1, 100, 1));
+        int segments = segmentFiles().size();
+        assertThat(storage.truncatePrefix(50)).isTrue();
+        assertEntries(50, 100, 1);
+        assertThat(segmentFiles()).hasSizeLessThan(segments);
+        // The first log index is kept, though the first segment has entries before it.
+        storage = open(new ConfigurationManager());
+        assertEntries(50, 100, 1);
+        // Truncating all the entries.
+        assertThat(storage.truncatePrefix(200)).isTrue();
+        assertThat(storage.getFirstLogIndex()).isEqualTo(200);
+        assertThat(storage.getLastLogIndex()).isEqualTo(199);
+        assertThat(segmentFiles()).isEmpty();
+        assertThat(storage.appendEntry(entry(200, 2))).isTrue();
+        assertEntries(200, 200, 2);
+    }
+
+    @Test
+    public void testTruncateSuffix() throws IOException {
+        storage.appendEntries(entries(1, 100, 1));
+        int segments = segmentFiles().size();
+        assertThat(storage.truncateSuffix(30)).isTrue();
+        assertEntries(1, 30, 1);
+        assertThat(segmentFiles()).hasSizeLessThan(segments);
+        assertThat(storage.appendEntries(entries(31, 40, 2))).isEqualTo(10);
+        assertThat(storage.getTerm(30)).isEqualTo(1);
+        assertThat(storage.getTerm(31)).isEqualTo(2);
+        storage = open(new ConfigurationManager());
+        assertThat(storage.getLastLogIndex()).isEqualTo(40);
+        assertThat(storage.getTerm(40)).isEqualTo(2);
+    }
+
+    @Test
+    public void testReset() {
+        storage.appendEntries(entries(1, 100, 1));
+        assertThat(storage.reset(60)).isTrue();
+        assertEntries(60, 60, 1);
+        assertThat(storage.reset(500)).isTrue();
+        assertThat(storage.getFirstLogIndex()).isEqualTo(500);
+        assertThat(storage.getLastLogIndex()).isEqualTo(500);
+        assertThat(storage.getEntry(500).getType()).isEqualTo(EntryType.ENTRY_TYPE_NO_OP);
+    }
+
+    @Test
+    public void testReopen() {
+        storage.appendEntries(entries(1, 10, 1));
+        LogEntry conf = new LogEntry(EntryType.ENTRY_TYPE_CONFIGURATION);
+        conf.setId(new LogId(11, 1));
+        conf.setPeers(Arrays.asList(PeerId.parsePeer("127.0.0.1:8081"), PeerId.parsePeer("127.0.0.1:8082")));
+        storage.appendEntry(conf);
+        storage.appendEntries(entries(12, 50, 1));
+        ConfigurationManager confManager = new ConfigurationManager();
+        storage = open(confManager);
+        assertEntries(1, 10, 1);
+        assertThat(storage.getLastLogIndex()).isEqualTo(50);
+        // The configurations are loaded from the entries.
+        ConfigurationEntry confEntry = confManager.getLastConfiguration();
+        assertThat(confEntry.getId()).isEqualTo(new LogId(11, 1));
+        assertThat(confEntry.getConf().listPeers()).containsExactlyInAnyOrderElementsOf(conf.getPeers());
+    }
+
+    @Test
+    public void testRecoverTornTail() throws IOException {
+        storage.appendEntries(entries(1, 50, 1));
+        List<Path> files = segmentFiles();
+        Path last = files.get(files.size() - 1);
+        long firstIndex = Long.parseLong(last.getFileName().toString().replace(LogSegment.SUFFIX, ""));
+        // The data of the last entry is partly written, as if crashed while appending.
+        try (RandomAccessFile file = new RandomAccessFile(last.toFile(), "rw")) {
+            long position = LogSegment.HEADER_SIZE;
+            for (long index = firstIndex; index < 50; ++index) {
+                file.seek(position);
+                position += LogSegment.RECORD_HEADER_SIZE + file.readInt();
+            }
+            file.seek(position + LogSegment.RECORD_HEADER_SIZE);
+            byte data = file.readByte();
+            file.seek(position + LogSegment.RECORD_HEADER_SIZE);
+            file.writeByte(~data);
+        }
+        storage = open(new ConfigurationManager());
+        assertEntries(1, 49, 1);
+        assertThat(storage.appendEntries(entries(50, 60, 2))).isEqualTo(11);
+        assertThat(storage.getTerm(49)).isEqualTo(1);
+        assertThat(storage.getTerm(60)).isEqualTo(2);
+    }
+}
@@ -34,7 +34,7 @@ import io.dingodb.raft.option.RaftLogStoreOptions;
 import io.dingodb.raft.rpc.RaftRpcServerFactory;
 import io.dingodb.raft.rpc.RpcServer;
 import io.dingodb.raft.storage.LogStorage;
-import io.dingodb.raft.storage.impl.RocksDBLogStore;
+import io.dingodb.raft.storage.LogStore;
 import io.dingodb.raft.util.Endpoint;
 import io.dingodb.server.api.ClusterServiceApi;
 import io.dingodb.server.api.LogLevelApi;
@@ -104,9 +104,11 @@ public class CoordinatorServer {
         logStoreOptions.setDataPath(logPath.toString());
         logStoreOptions.setLogEntryCodecFactory(DefaultJRaftServiceFactory.newInstance().createLogEntryCodecFactory());
         logStoreOptions.setLogRocksOptionsFile(configuration.getLogRocksOptionsFile());
-        RocksDBLogStore logStore = new RocksDBLogStore();
+        logStoreOptions.setSegmentSize(nodeOptions.getRaftOptions().getLogSegmentSize());
+        LogStore<RaftLogStoreOptions> logStore = nodeOptions.getServiceFactory()
+            .createLogStore(nodeOptions.getRaftOptions());
         if (!logStore.init(logStoreOptions)) {
-            log.error("Fail to init [RocksDBLogStore]");
+            log.error("Fail to init [{}]", logStore.getClass().getSimpleName());
         }
         return nodeOptions.getServiceFactory().createLogStorage(
             new CommonId(ID_TYPE.service, SERVICE_IDENTIFIER.coordinator, encodeInt(0), encodeInt(0)), logStore
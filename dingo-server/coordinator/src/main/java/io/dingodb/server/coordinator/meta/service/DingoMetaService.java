@@ -19,8 +19,10 @@ package io.dingodb.server.coordinator.meta.service;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.codec.PrimitiveCodec;
+import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.config.DingoConfiguration;
 import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.table.TableStatistic;
 import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
 import io.dingodb.common.util.Optional;
 import io.dingodb.meta.MetaService;
@@ -32,21 +34,27 @@ import io.dingodb.server.coordinator.meta.adaptor.impl.ExecutorAdaptor;
 import io.dingodb.server.coordinator.meta.adaptor.impl.ReplicaAdaptor;
 import io.dingodb.server.coordinator.meta.adaptor.impl.TableAdaptor;
 import io.dingodb.server.coordinator.meta.adaptor.impl.TablePartStatsAdaptor;
+import io.dingodb.server.coordinator.meta.adaptor.impl.TableStatsAdaptor;
+import io.dingodb.server.coordinator.schedule.processor.TableStoreProcessor;
 import io.dingodb.server.protocol.CommonIdConstant;
 import io.dingodb.server.protocol.meta.Executor;
 import io.dingodb.server.protocol.meta.Replica;
 import io.dingodb.server.protocol.meta.Table;
 import io.dingodb.server.protocol.meta.TablePart;
 import io.dingodb.server.protocol.meta.TablePartStats;
+import io.dingodb.server.protocol.meta.TableStats;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.ServiceLoader;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static io.dingodb.server.coordinator.meta.adaptor.MetaAdaptorRegistry.getMetaAdaptor;
@@ -169,6 +177,92 @@ public class DingoMetaService implements MetaService, MetaServiceApi {
             .collect(Collectors.toList());
     }
 
+    @Override
+    public Map<String, TableStatistic> getTableStatistics() {
+        TableAdaptor tableAdaptor = getMetaAdaptor(Table.class);
+        TableStatsAdaptor tableStatsAdaptor = getStatsMetaAdaptor(TableStats.class);
+        Map<String, TableStatistic> result = new HashMap<>();
+        for (String tableName : tableAdaptor.getAllDefinition().keySet()) {
+            CommonId tableId = tableAdaptor.getTableId(tableName);
+            TableStats stats = tableStatsAdaptor.getStats(tableStatsId(tableId));
+            TableStatistic statistic = stats != null ? stats.getStatistic() : approximateStatistic(tableId);
+            if (statistic != null) {
+                result.put(tableName, statistic);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void analyzeTable(@NonNull String tableName) {
+        TableAdaptor tableAdaptor = getMetaAdaptor(Table.class);
+        CommonId tableId = tableAdaptor.getTableId(tableName);
+        if (tableId == null) {
+            throw new RuntimeException("Table " + tableName + " not exists");
+        }
+        TableDefinition definition = tableAdaptor.getDefinition(tableId);
+        TableStatsAdaptor tableStatsAdaptor = getStatsMetaAdaptor(TableStats.class);
+        TablePartStatsAdaptor partStatsAdaptor = getStatsMetaAdaptor(TablePartStats.class);
+        List<CompletableFuture<TableStatistic>> futures = new ArrayList<>();
+        for (TablePart part : getMetaAdaptor(TablePart.class).getByDomain(tableId.seqContent())) {
+            TablePartStats partStats = partStatsAdaptor.getStats(tablePartStatsId(part));
+            if (partStats == null) {
+                throw new RuntimeException("Table part " + part.getId() + " has no leader");
+            }
+            futures.add(Executors.submit(
+                Executors.IO,
+                "analyze-table-part",
+                () -> TableStoreProcessor.analyzeTablePart(partStats.getLeader(), part, definition)
+            ));
+        }
+        List<TableStatistic> partials = new ArrayList<>(futures.size());
+        for (CompletableFuture<TableStatistic> future : futures) {
+            partials.add(future.join());
+        }
+        TableStatistic statistic = TableStatistic.merge(partials);
+        TableStats stats = TableStats.builder()
+            .id(tableStatsId(tableId))
+            .time(statistic.getTime())
+            .table(tableId)
+            .statistic(statistic)
+            .build();
+        tableStatsAdaptor.onStats(stats);
+        log.info("Analyze table [{}] finished, {} rows in {} parts.", tableName, statistic.getRowCount(),
+            statistic.getPartCount());
+    }
+
+    private static CommonId tableStatsId(CommonId tableId) {
+        return new CommonId(ID_TYPE.stats, STATS_IDENTIFIER.table, tableId.domainContent(), tableId.seqContent());
+    }
+
+    private static CommonId tablePartStatsId(TablePart part) {
+        return new CommonId(ID_TYPE.stats, STATS_IDENTIFIER.part, part.getId().domainContent(),
+            part.getId().seqContent());
+    }
+
+    /**
+     * Build the statistics of a table never analyzed, with the row count summed from the approximate counts reported
+     * by the stores. No statistics if nothing is reported, so the planner uses the default row count.
+     */
+    private static @Nullable TableStatistic approximateStatistic(CommonId tableId) {
+        TablePartStatsAdaptor partStatsAdaptor = getStatsMetaAdaptor(TablePartStats.class);
+        List<Long> counts = new ArrayList<>();
+        int partCount = 0;
+        for (TablePart part : getMetaAdaptor(TablePart.class).getByDomain(tableId.seqContent())) {
+            ++partCount;
+            TablePartStats partStats = partStatsAdaptor.getStats(tablePartStatsId(part));
+            if (partStats == null || partStats.getApproximateStats() == null) {
+                continue;
+            }
+            for (TablePartStats.ApproximateStats approximateStats : partStats.getApproximateStats()) {
+                if (approximateStats.getCount() != null) {
+                    counts.add(approximateStats.getCount());
+                }
+            }
+        }
+        return TableStatistic.approximate(counts, partCount);
+    }
+
     @Override
     public Location currentLocation() {
         return CURRENT_LOCATION;
@@ -20,6 +20,8 @@ import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.store.Part;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.table.TableStatistic;
 import io.dingodb.net.api.ApiRegistry;
 import io.dingodb.server.api.TableStoreApi;
 import io.dingodb.server.coordinator.meta.adaptor.MetaAdaptorRegistry;
@@ -77,6 +79,17 @@ public class TableStoreProcessor {
             .build());
     }
 
+    public static TableStatistic analyzeTablePart(CommonId executor, TablePart tablePart, TableDefinition definition) {
+        TableStoreApi api = getOrAddStore(executor);
+        return api.analyzeTablePart(Part.builder()
+            .id(tablePart.getId())
+            .instanceId(tablePart.getTable())
+            .type(Part.PartType.ROW_STORE)
+            .start(tablePart.getStart())
+            .end(tablePart.getEnd())
+            .build(), definition);
+    }
+
     public static void applyTablePart(
         TablePart tablePart, CommonId executor, List<Location> replicaLocations, boolean exist
     ) {
@@ -54,12 +54,12 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.zip.Checksum;
-
-import static io.dingodb.raft.kv.Constants.SNAPSHOT_ZIP;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class CoordinatorStateMachine implements StateMachine {
@@ -150,19 +150,22 @@ public class CoordinatorStateMachine implements StateMachine {
 
     @Override
     public void onSnapshotSave(SnapshotWriter writer, Closure done) {
-        Checksum checksum = store.snapshotSave(writer.getPath()).join();
-        LocalFileMeta.Builder metaBuilder = LocalFileMeta.newBuilder();
-        metaBuilder.setChecksum(Long.toHexString(checksum.getValue()));
-        metaBuilder.setUserMeta(ByteString.copyFromUtf8(node.getGroupId()));
-        writer.addFile(SNAPSHOT_ZIP, metaBuilder.build());
+        Map<String, String> files = store.snapshotSaveFiles(writer.getPath(), null, null).join();
+        files.forEach((file, checksum) -> writer.addFile(file, LocalFileMeta.newBuilder()
+            .setChecksum(checksum)
+            .setUserMeta(ByteString.copyFromUtf8(node.getGroupId()))
+            .build()
+        ));
         done.run(Status.OK());
     }
 
     @Override
     public boolean onSnapshotLoad(SnapshotReader reader) {
-        return store
-            .snapshotLoad(reader.getPath(), ((LocalFileMeta) reader.getFileMeta(SNAPSHOT_ZIP)).getChecksum())
-            .join();
+        Map<String, String> files = reader.listFiles().stream().collect(Collectors.toMap(
+            Function.identity(),
+            file -> ((LocalFileMeta) reader.getFileMeta(file)).getChecksum()
+        ));
+        return store.snapshotLoadFiles(reader.getPath(), files, null, null).join();
     }
 
     @Override
@@ -20,6 +20,8 @@ import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.config.DingoConfiguration;
 import io.dingodb.common.store.Part;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.table.TableStatistic;
 import io.dingodb.net.NetServiceProvider;
 import io.dingodb.net.api.ApiRegistry;
 import io.dingodb.server.api.ReportApi;
@@ -98,4 +100,9 @@ public class FakeTableStoreApi implements TableStoreApi {
     public void deleteTablePart(Part part) {
 
     }
+
+    @Override
+    public TableStatistic analyzeTablePart(Part part, TableDefinition definition) {
+        return new TableStatistic(0, 1);
+    }
 }
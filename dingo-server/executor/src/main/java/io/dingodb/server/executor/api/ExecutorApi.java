@@ -29,6 +29,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -86,6 +87,34 @@ public class ExecutorApi implements io.dingodb.server.api.ExecutorApi {
         return storeService.getInstance(tableId).delete(startPrimaryKey, endPrimaryKey);
     }
 
+    @Override
+    public CompletableFuture<Boolean> upsertKeyValueAsync(CommonId tableId, KeyValue row) {
+        return storeService.getInstance(tableId).upsertKeyValueAsync(row);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> upsertKeyValueAsync(CommonId tableId, List<KeyValue> rows) {
+        return storeService.getInstance(tableId).upsertKeyValueAsync(rows);
+    }
+
+    @Override
+    public CompletableFuture<List<KeyValue>> getKeyValueByPrimaryKeysAsync(
+        CommonId tableId,
+        List<byte[]> primaryKeys
+    ) {
+        return storeService.getInstance(tableId).getKeyValueByPrimaryKeysAsync(primaryKeys);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(CommonId tableId, byte[] primaryKey) {
+        return storeService.getInstance(tableId).deleteAsync(primaryKey);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(CommonId tableId, List<byte[]> primaryKeys) {
+        return storeService.getInstance(tableId).deleteAsync(primaryKeys);
+    }
+
     @Override
     public List<KeyValue> getKeyValueByRange(CommonId tableId, byte[] startPrimaryKey, byte[] endPrimaryKey) {
         if (log.isDebugEnabled()) {
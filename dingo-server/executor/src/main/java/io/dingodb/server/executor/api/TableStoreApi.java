@@ -18,11 +18,19 @@ package io.dingodb.server.executor.api;
 
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
+import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.store.Part;
+import io.dingodb.common.table.DingoKeyValueCodec;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.table.TableStatistic;
+import io.dingodb.common.table.TableStatisticCollector;
 import io.dingodb.net.NetService;
 import io.dingodb.store.api.StoreService;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.util.Iterator;
+
 @Slf4j
 public class TableStoreApi implements io.dingodb.server.api.TableStoreApi {
 
@@ -83,4 +91,21 @@ public class TableStoreApi implements io.dingodb.server.api.TableStoreApi {
         log.info("Delete table part: {}", part);
         storeService.getInstance(part.getInstanceId()).deletePart(part);
     }
+
+    @Override
+    public TableStatistic analyzeTablePart(Part part, TableDefinition definition) {
+        log.info("Analyze table part: {}", part);
+        DingoKeyValueCodec codec = new DingoKeyValueCodec(definition.getDingoType(), definition.getKeyMapping());
+        TableStatisticCollector collector = new TableStatisticCollector(definition);
+        Iterator<KeyValue> iterator = storeService.getInstance(part.getInstanceId())
+            .keyValueScan(part.getStart(), part.getEnd());
+        try {
+            while (iterator.hasNext()) {
+                collector.add(codec.decode(iterator.next()));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return collector.build();
+    }
 }
@@ -22,6 +22,7 @@ import io.dingodb.common.store.KeyValue;
 import io.dingodb.net.api.annotation.ApiDeclaration;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface ExecutorApi {
 
@@ -52,6 +53,21 @@ public interface ExecutorApi {
     @ApiDeclaration
     boolean deleteRange(CommonId tableId, byte[] startPrimaryKey, byte[] endPrimaryKey);
 
+    @ApiDeclaration
+    CompletableFuture<Boolean> upsertKeyValueAsync(CommonId tableId, KeyValue row);
+
+    @ApiDeclaration
+    CompletableFuture<Boolean> upsertKeyValueAsync(CommonId tableId, List<KeyValue> rows);
+
+    @ApiDeclaration
+    CompletableFuture<List<KeyValue>> getKeyValueByPrimaryKeysAsync(CommonId tableId, List<byte[]> primaryKeys);
+
+    @ApiDeclaration
+    CompletableFuture<Boolean> deleteAsync(CommonId tableId, byte[] primaryKey);
+
+    @ApiDeclaration
+    CompletableFuture<Boolean> deleteAsync(CommonId tableId, List<byte[]> primaryKeys);
+
     @ApiDeclaration
     List<KeyValue> getKeyValueByRange(CommonId tableId, byte[] startPrimaryKey, byte[] endPrimaryKey);
 
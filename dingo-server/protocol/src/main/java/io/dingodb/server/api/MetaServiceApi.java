@@ -19,6 +19,7 @@ package io.dingodb.server.api;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.table.TableStatistic;
 import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
 import io.dingodb.meta.Part;
 import io.dingodb.net.api.annotation.ApiDeclaration;
@@ -57,6 +58,12 @@ public interface MetaServiceApi {
     @ApiDeclaration
     TableDefinition getTableDefinition(@NonNull CommonId commonId);
 
+    @ApiDeclaration
+    Map<String, TableStatistic> getTableStatistics();
+
+    @ApiDeclaration
+    void analyzeTable(@NonNull String tableName);
+
     @ApiDeclaration
     int registerUDF(CommonId id, String udfName, String function);
 
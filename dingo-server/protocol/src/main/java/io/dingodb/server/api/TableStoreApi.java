@@ -19,6 +19,8 @@ package io.dingodb.server.api;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.store.Part;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.table.TableStatistic;
 import io.dingodb.net.api.annotation.ApiDeclaration;
 
 public interface TableStoreApi {
@@ -50,4 +52,7 @@ public interface TableStoreApi {
     @ApiDeclaration
     void transferLeader(CommonId table, CommonId part, Location leader);
 
+    @ApiDeclaration
+    TableStatistic analyzeTablePart(Part part, TableDefinition definition);
+
 }
@@ -73,6 +73,7 @@ public class CommonIdConstant {
         public final byte[] executor = new byte[] {'S', 'E'};
         public final byte[] replica = new byte[] {'S', 'R'};
         public final byte[] part = new byte[] {'S', 'P'};
+        public final byte[] table = new byte[] {'S', 'T'};
 
         private StatsIdentifier() {
         }
@@ -21,8 +21,10 @@ import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.store.Part;
 import io.dingodb.common.store.Row;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface StoreInstance {
 
@@ -94,6 +96,38 @@ public interface StoreInstance {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Upsert a row together with the entries of secondary indexes in the same part, atomically. The value of an index
+     * entry is the primary key of the row.
+     *
+     * @param row             the row
+     * @param erasedIndexKeys the index keys of the old row to erase
+     * @param indexKeys       the index keys of the new row to set
+     * @return {@code true} if success
+     */
+    default boolean upsertKeyValue(KeyValue row, List<byte[]> erasedIndexKeys, List<byte[]> indexKeys) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Upsert rows together with the entries of secondary indexes, each part written in one instruction.
+     *
+     * @param rows            the rows
+     * @param erasedIndexKeys the index keys of the old rows to erase, one list for each row
+     * @param indexKeys       the index keys of the new rows to set, one list for each row
+     * @return {@code true} if success
+     */
+    default boolean upsertKeyValue(
+        List<KeyValue> rows,
+        List<List<byte[]>> erasedIndexKeys,
+        List<List<byte[]>> indexKeys
+    ) {
+        for (int i = 0; i < rows.size(); ++i) {
+            upsertKeyValue(rows.get(i), erasedIndexKeys.get(i), indexKeys.get(i));
+        }
+        return true;
+    }
+
     default boolean update(Row row) {
         throw new UnsupportedOperationException();
     }
@@ -113,6 +147,31 @@ public interface StoreInstance {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Delete a row together with the entries of secondary indexes in the same part, atomically.
+     *
+     * @param primaryKey      the primary key of the row
+     * @param erasedIndexKeys the index keys of the row to erase
+     * @return {@code true} if success
+     */
+    default boolean delete(byte[] primaryKey, List<byte[]> erasedIndexKeys) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Delete rows together with the entries of secondary indexes, each part written in one instruction.
+     *
+     * @param primaryKeys     the primary keys of the rows
+     * @param erasedIndexKeys the index keys of the rows to erase, one list for each row
+     * @return {@code true} if success
+     */
+    default boolean delete(List<byte[]> primaryKeys, List<List<byte[]>> erasedIndexKeys) {
+        for (int i = 0; i < primaryKeys.size(); ++i) {
+            delete(primaryKeys.get(i), erasedIndexKeys.get(i));
+        }
+        return true;
+    }
+
     default boolean delete(List<byte[]> primaryKeys) {
         throw new UnsupportedOperationException();
     }
@@ -167,6 +226,16 @@ public interface StoreInstance {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Scan all the key-values as several iterators over disjoint key ranges, which can be consumed concurrently.
+     *
+     * @param parallelism the expected number of the iterators of each part
+     * @return the iterators, in key order
+     */
+    default List<Iterator<KeyValue>> keyValueScanSplits(int parallelism) {
+        return Collections.singletonList(keyValueScan());
+    }
+
     default Iterator<KeyValue> keyValueScan(byte[] key) {
         byte[] stop = new byte[key.length];
         System.arraycopy(key, 0, stop, 0, key.length);
@@ -190,6 +259,19 @@ public interface StoreInstance {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Scan the entries of secondary indexes in range [start, end) of the part containing the given key. The keys of
+     * the entries are index keys and the values are the primary keys of the indexed rows.
+     *
+     * @param partKey       a primary key in the part, usually the start key of the part
+     * @param startIndexKey the start index key
+     * @param endIndexKey   the end index key
+     * @return the iterator of index entries
+     */
+    default Iterator<KeyValue> indexScan(byte[] partKey, byte[] startIndexKey, byte[] endIndexKey) {
+        throw new UnsupportedOperationException();
+    }
+
     default Iterator<byte[]> columnScan(int columnIndex) {
         throw new UnsupportedOperationException();
     }
@@ -205,4 +287,55 @@ public interface StoreInstance {
     default boolean udfUpdate(byte[] primaryKey, String udfName, String functionName, int version) {
         throw new UnsupportedOperationException();
     }
+
+    // Asynchronous variants, completed when the operation is applied. The default implementations run the synchronous
+    // ones in the calling thread and return completed futures, for stores whose operations do not wait for anything.
+
+    default CompletableFuture<Void> deletePartAsync(Part part) {
+        return CompletableFuture.runAsync(() -> deletePart(part), Runnable::run);
+    }
+
+    default CompletableFuture<Boolean> upsertKeyValueAsync(KeyValue row) {
+        return CompletableFuture.supplyAsync(() -> upsertKeyValue(row), Runnable::run);
+    }
+
+    default CompletableFuture<Boolean> upsertKeyValueAsync(List<KeyValue> rows) {
+        return CompletableFuture.supplyAsync(() -> upsertKeyValue(rows), Runnable::run);
+    }
+
+    default CompletableFuture<Boolean> upsertKeyValueAsync(
+        List<KeyValue> rows,
+        List<List<byte[]>> erasedIndexKeys,
+        List<List<byte[]>> indexKeys
+    ) {
+        return CompletableFuture.supplyAsync(() -> upsertKeyValue(rows, erasedIndexKeys, indexKeys), Runnable::run);
+    }
+
+    default CompletableFuture<Boolean> computeAsync(
+        byte[] startPrimaryKey,
+        byte[] endPrimaryKey,
+        List<byte[]> operations
+    ) {
+        return CompletableFuture.supplyAsync(() -> compute(startPrimaryKey, endPrimaryKey, operations), Runnable::run);
+    }
+
+    default CompletableFuture<Boolean> deleteAsync(byte[] primaryKey) {
+        return CompletableFuture.supplyAsync(() -> delete(primaryKey), Runnable::run);
+    }
+
+    default CompletableFuture<Boolean> deleteAsync(List<byte[]> primaryKeys) {
+        return CompletableFuture.supplyAsync(() -> delete(primaryKeys), Runnable::run);
+    }
+
+    default CompletableFuture<Boolean> deleteAsync(List<byte[]> primaryKeys, List<List<byte[]>> erasedIndexKeys) {
+        return CompletableFuture.supplyAsync(() -> delete(primaryKeys, erasedIndexKeys), Runnable::run);
+    }
+
+    default CompletableFuture<byte[]> getValueByPrimaryKeyAsync(byte[] primaryKey) {
+        return CompletableFuture.supplyAsync(() -> getValueByPrimaryKey(primaryKey), Runnable::run);
+    }
+
+    default CompletableFuture<List<KeyValue>> getKeyValueByPrimaryKeysAsync(List<byte[]> primaryKeys) {
+        return CompletableFuture.supplyAsync(() -> getKeyValueByPrimaryKeys(primaryKeys), Runnable::run);
+    }
 }
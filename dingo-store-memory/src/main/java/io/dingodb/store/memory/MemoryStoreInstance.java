@@ -22,6 +22,7 @@ import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.store.api.StoreInstance;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +37,8 @@ import static io.dingodb.common.util.ByteArrayUtils.MAX_BYTES;
 public class MemoryStoreInstance implements StoreInstance {
     private final Map<byte[], Part> startKeyPartMap = new ConcurrentSkipListMap<>(ByteArrayUtils::compare);
     private final NavigableMap<byte[], byte[]> db = new ConcurrentSkipListMap<>(ByteArrayUtils::compare);
+    // Entries of secondary indexes, whose values are primary keys.
+    private final NavigableMap<byte[], byte[]> index = new ConcurrentSkipListMap<>(ByteArrayUtils::compare);
 
     @Override
     public void assignPart(Part part) {
@@ -123,12 +126,27 @@ public class MemoryStoreInstance implements StoreInstance {
         return true;
     }
 
+    @Override
+    public synchronized boolean upsertKeyValue(KeyValue row, List<byte[]> erasedIndexKeys, List<byte[]> indexKeys) {
+        erasedIndexKeys.forEach(index::remove);
+        indexKeys.forEach(indexKey -> index.put(indexKey, row.getKey()));
+        db.put(row.getKey(), row.getValue());
+        return true;
+    }
+
     @Override
     public boolean delete(byte[] primaryKey) {
         db.remove(primaryKey);
         return true;
     }
 
+    @Override
+    public synchronized boolean delete(byte[] primaryKey, List<byte[]> erasedIndexKeys) {
+        erasedIndexKeys.forEach(index::remove);
+        db.remove(primaryKey);
+        return true;
+    }
+
     @Override
     public boolean delete(List<byte[]> primaryKeys) {
         primaryKeys.forEach(db::remove);
@@ -180,7 +198,12 @@ public class MemoryStoreInstance implements StoreInstance {
         byte[] startPrimaryKey, byte[] endPrimaryKey, boolean includeStart, boolean includeEnd
     ) {
         if (endPrimaryKey == null) {
+            // `null` means to the end, including the last key.
+            if (db.isEmpty()) {
+                return Collections.emptyIterator();
+            }
             endPrimaryKey = db.lastKey();
+            includeEnd = true;
         }
 
         TreeMap<byte[], byte[]> treeMap = getTreeMapByRange(
@@ -188,6 +211,19 @@ public class MemoryStoreInstance implements StoreInstance {
         return new KeyValueIterator(treeMap.entrySet().iterator());
     }
 
+    @Override
+    public Iterator<KeyValue> indexScan(byte[] partKey, byte[] startIndexKey, byte[] endIndexKey) {
+        Part part = startKeyPartMap.get(partKey);
+        byte[] partEnd = part == null || part.getEnd() == null ? MAX_BYTES : part.getEnd();
+        // All the entries are kept in one map, so those of other parts are filtered out by the primary keys.
+        List<KeyValue> entries = index.subMap(startIndexKey, true, endIndexKey, false).entrySet().stream()
+            .filter(entry -> ByteArrayUtils.greatThanOrEqual(entry.getValue(), partKey))
+            .filter(entry -> ByteArrayUtils.lessThan(entry.getValue(), partEnd))
+            .map(entry -> new KeyValue(entry.getKey(), entry.getValue()))
+            .collect(Collectors.toList());
+        return entries.iterator();
+    }
+
     private TreeMap<byte[], byte[]> getTreeMapByRange(Iterator<Map.Entry<byte[], byte[]>> iterator,
                                                       byte[] startPrimaryKey,
                                                       byte[] endPrimaryKey,
@@ -27,13 +27,13 @@ import io.dingodb.common.table.DingoKeyValueCodec;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.common.util.FileUtils;
-import io.dingodb.common.util.Optional;
 import io.dingodb.common.util.Parameters;
 import io.dingodb.common.util.UdfUtils;
 import io.dingodb.mpu.core.Core;
 import io.dingodb.mpu.core.CoreListener;
 import io.dingodb.mpu.core.CoreMeta;
 import io.dingodb.mpu.core.MirrorProcessingUnit;
+import io.dingodb.mpu.core.PhaseAck;
 import io.dingodb.mpu.instruction.KVInstructions;
 import io.dingodb.mpu.storage.rocks.RocksUtils;
 import io.dingodb.net.api.ApiRegistry;
@@ -184,7 +184,7 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
                 "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
             );
         }
-        return parts.get(part.getId()).view(KVInstructions.id, KVInstructions.GET_OC, primaryKey) != null;
+        return parts.get(part.getId()).<Boolean>view(KVInstructions.id, KVInstructions.CONTAINS_OC, primaryKey);
     }
 
     @Override
@@ -204,58 +204,114 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
 
     @Override
     public boolean upsertKeyValue(byte[] primaryKey, byte[] row) {
+        return upsertKeyValueAsync(new KeyValue(primaryKey, row)).join();
+    }
+
+    @Override
+    public boolean upsertKeyValue(KeyValue row) {
+        return upsertKeyValueAsync(row).join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> upsertKeyValueAsync(KeyValue row) {
+        byte[] primaryKey = row.getPrimaryKey();
         Part part = getPartByPrimaryKey(primaryKey);
         if (part == null) {
             throw new IllegalArgumentException(
                 "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
             );
         }
+        byte[] value = row.getValue();
         if (RocksUtils.ttlValid(this.ttl)) {
-            parts.get(part.getId()).exec(KVInstructions.id, KVInstructions.SET_OC, primaryKey,
-                RocksUtils.getValueWithNowTs(row)).join();
-        } else {
-            parts.get(part.getId()).exec(KVInstructions.id, KVInstructions.SET_OC, primaryKey, row).join();
+            value = RocksUtils.getValueWithNowTs(value);
         }
-
-        return true;
+        return applied(parts.get(part.getId()).exec(KVInstructions.id, KVInstructions.SET_OC, primaryKey, value));
     }
 
     @Override
-    public boolean upsertKeyValue(KeyValue row) {
-        return upsertKeyValue(row.getPrimaryKey(), row.getValue());
+    public boolean upsertKeyValue(List<KeyValue> rows) {
+        return upsertKeyValueAsync(rows).join();
     }
 
     @Override
-    public boolean upsertKeyValue(List<KeyValue> rows) {
+    public CompletableFuture<Boolean> upsertKeyValueAsync(List<KeyValue> rows) {
         List<KeyValue> kvList;
         if (RocksUtils.ttlValid(this.ttl)) {
             kvList = RocksUtils.getValueWithNowTsList(rows);
         } else {
             kvList = rows;
         }
-        Part part = null;
-        for (KeyValue row : rows) {
-            if (part == null && (part = getPartByPrimaryKey(row.getPrimaryKey())) == null) {
-                throw new IllegalArgumentException(
-                    "The primary key " + Arrays.toString(row.getPrimaryKey()) + " not in current instance."
-                );
-            }
-            if (part != getPartByPrimaryKey(row.getPrimaryKey())) {
-                throw new IllegalArgumentException("The primary key list not in same part.");
-            }
+        Map<Part, List<Integer>> positionsByPart = groupPositionsByPart(
+            kvList.stream().map(KeyValue::getPrimaryKey).collect(Collectors.toList())
+        );
+        List<PhaseAck> acks = new ArrayList<>(positionsByPart.size());
+        for (Map.Entry<Part, List<Integer>> entry : positionsByPart.entrySet()) {
+            acks.add(parts.get(entry.getKey().getId()).exec(
+                KVInstructions.id, KVInstructions.SET_BATCH_OC,
+                entry.getValue().stream()
+                    .map(kvList::get)
+                    .flatMap(kv -> Stream.of(kv.getPrimaryKey(), kv.getValue()))
+                    .toArray()
+            ));
         }
+        return applied(acks);
+    }
+
+    @Override
+    public boolean upsertKeyValue(KeyValue row, List<byte[]> erasedIndexKeys, List<byte[]> indexKeys) {
+        byte[] primaryKey = row.getPrimaryKey();
+        Part part = getPartByPrimaryKey(primaryKey);
         if (part == null) {
             throw new IllegalArgumentException(
-                "The key not in current instance."
+                "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
             );
         }
+        byte[] value = row.getValue();
+        if (RocksUtils.ttlValid(this.ttl)) {
+            value = RocksUtils.getValueWithNowTs(value);
+        }
         parts.get(part.getId()).exec(
-            KVInstructions.id, KVInstructions.SET_BATCH_OC,
-            kvList.stream().flatMap(kv -> Stream.of(kv.getPrimaryKey(), kv.getValue())).toArray()
+            KVInstructions.id, KVInstructions.SET_INDEXED_OC, primaryKey, value, erasedIndexKeys, indexKeys
         ).join();
         return true;
     }
 
+    @Override
+    public boolean upsertKeyValue(
+        List<KeyValue> rows,
+        List<List<byte[]>> erasedIndexKeys,
+        List<List<byte[]>> indexKeys
+    ) {
+        return upsertKeyValueAsync(rows, erasedIndexKeys, indexKeys).join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> upsertKeyValueAsync(
+        List<KeyValue> rows,
+        List<List<byte[]>> erasedIndexKeys,
+        List<List<byte[]>> indexKeys
+    ) {
+        boolean ttlValid = RocksUtils.ttlValid(this.ttl);
+        Map<Part, List<Integer>> positionsByPart = groupPositionsByPart(
+            rows.stream().map(KeyValue::getPrimaryKey).collect(Collectors.toList())
+        );
+        List<PhaseAck> acks = new ArrayList<>(positionsByPart.size());
+        for (Map.Entry<Part, List<Integer>> entry : positionsByPart.entrySet()) {
+            List<Object> operands = new ArrayList<>(entry.getValue().size() * 4);
+            for (int i : entry.getValue()) {
+                KeyValue row = rows.get(i);
+                operands.add(row.getPrimaryKey());
+                operands.add(ttlValid ? RocksUtils.getValueWithNowTs(row.getValue()) : row.getValue());
+                operands.add(erasedIndexKeys.get(i));
+                operands.add(indexKeys.get(i));
+            }
+            acks.add(parts.get(entry.getKey().getId()).exec(
+                KVInstructions.id, KVInstructions.SET_INDEXED_OC, operands.toArray()
+            ));
+        }
+        return applied(acks);
+    }
+
     @Override
     public byte[] getValueByPrimaryKey(byte[] primaryKey) {
         Part part = getPartByPrimaryKey(primaryKey);
@@ -269,13 +325,19 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
 
     @Override
     public void deletePart(Part part) {
-        // 1 clean parts
-        // 2 clean startKeyPartMap
+        deletePartAsync(part).join();
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePartAsync(Part part) {
+        // 1 clean startKeyPartMap
+        // 2 clean parts, after the data deleted
         part.setStart(Parameters.cleanNull(part.getStart(), ByteArrayUtils.EMPTY_BYTES));
         startKeyPartMap.remove(part.getStart());
-        parts.get(part.getId()).exec(KVInstructions.id, KVInstructions.DEL_RANGE_OC,
-            part.getStart(), part.getEnd()).join();
-        parts.remove(part.getId());
+        return parts.get(part.getId())
+            .exec(KVInstructions.id, KVInstructions.DEL_RANGE_OC, part.getStart(), part.getEnd())
+            .future()
+            .thenAccept(__ -> parts.remove(part.getId()));
     }
 
     @Override
@@ -286,12 +348,19 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
                 Arrays.toString(startKey));
             return 0;
         }
+        Core core = parts.get(part.getId());
+        if (!doDeleting) {
+            // The row count maintained by the storage, falls back to counting if it is unknown now.
+            long rowCount = core.storage.rowCount();
+            if (rowCount >= 0) {
+                return rowCount;
+            }
+        }
         CompletableFuture<Long> count = CompletableFuture.supplyAsync(
-            () -> parts.get(part.getId()).view(KVInstructions.id, KVInstructions.COUNT_OC)
+            () -> core.view(KVInstructions.id, KVInstructions.COUNT_OC)
         );
         if (doDeleting) {
-            parts.get(part.getId()).exec(KVInstructions.id, KVInstructions.DEL_RANGE_OC,
-                ByteArrayUtils.EMPTY_BYTES, null).join();
+            core.exec(KVInstructions.id, KVInstructions.DEL_RANGE_OC, ByteArrayUtils.EMPTY_BYTES, null).join();
         }
         return count.join();
     }
@@ -329,18 +398,23 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
 
     @Override
     public List<KeyValue> getKeyValueByPrimaryKeys(List<byte[]> primaryKeys) {
-        Part part = null;
-        for (byte[] primaryKey : primaryKeys) {
-            if (part == null && (part = getPartByPrimaryKey(primaryKey)) == null) {
-                throw new IllegalArgumentException(
-                    "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
-                );
-            }
-            if (part != getPartByPrimaryKey(primaryKey)) {
-                throw new IllegalArgumentException("The primary key list not in same part.");
+        Map<Part, List<Integer>> positionsByPart = groupPositionsByPart(primaryKeys);
+        if (positionsByPart.size() == 1) {
+            Part part = positionsByPart.keySet().iterator().next();
+            return parts.get(part.getId()).view(KVInstructions.id, KVInstructions.GET_BATCH_OC, primaryKeys);
+        }
+        KeyValue[] result = new KeyValue[primaryKeys.size()];
+        for (Map.Entry<Part, List<Integer>> entry : positionsByPart.entrySet()) {
+            List<Integer> positions = entry.getValue();
+            List<KeyValue> keyValues = parts.get(entry.getKey().getId()).view(
+                KVInstructions.id, KVInstructions.GET_BATCH_OC,
+                positions.stream().map(primaryKeys::get).collect(Collectors.toList())
+            );
+            for (int i = 0; i < positions.size(); ++i) {
+                result[positions.get(i)] = keyValues.get(i);
             }
         }
-        return parts.get(part.getId()).view(KVInstructions.id, KVInstructions.GET_BATCH_OC, primaryKeys);
+        return Arrays.asList(result);
     }
 
     @Override
@@ -355,6 +429,26 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
         return new FullScanRawIterator(iterators.iterator());
     }
 
+    @Override
+    public List<Iterator<KeyValue>> keyValueScanSplits(int parallelism) {
+        List<Iterator<KeyValue>> iterators = new ArrayList<>();
+        startKeyPartMap.values().stream()
+            .map(Part::getId)
+            .map(parts::get)
+            .forEach(core -> {
+                List<byte[]> splitKeys = core.view(
+                    KVInstructions.id, KVInstructions.SPLIT_KEYS_OC, null, null, parallelism
+                );
+                byte[] start = null;
+                for (byte[] splitKey : splitKeys) {
+                    iterators.add(core.view(KVInstructions.id, KVInstructions.SCAN_OC, start, splitKey, true, false));
+                    start = splitKey;
+                }
+                iterators.add(core.view(KVInstructions.id, KVInstructions.SCAN_OC, start, null, true, true));
+            });
+        return iterators;
+    }
+
     @Override
     public Iterator<KeyValue> keyValueScan(byte[] startPrimaryKey, byte[] endPrimaryKey) {
         isValidRangeKey(startPrimaryKey, endPrimaryKey);
@@ -405,8 +499,30 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
             endPrimaryKey, includeStart, includeEnd);
     }
 
+    @Override
+    public Iterator<KeyValue> indexScan(byte[] partKey, byte[] startIndexKey, byte[] endIndexKey) {
+        Part part = getPartByPrimaryKey(partKey);
+        if (part == null) {
+            throw new IllegalArgumentException(
+                "The part key " + Arrays.toString(partKey) + " not in current instance."
+            );
+        }
+        return parts.get(part.getId()).view(
+            KVInstructions.id, KVInstructions.INDEX_SCAN_OC, startIndexKey, endIndexKey
+        );
+    }
+
     @Override
     public boolean compute(byte[] startPrimaryKey, byte[] endPrimaryKey, List<byte[]> operations) {
+        return computeAsync(startPrimaryKey, endPrimaryKey, operations).join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> computeAsync(
+        byte[] startPrimaryKey,
+        byte[] endPrimaryKey,
+        List<byte[]> operations
+    ) {
         isValidRangeKey(startPrimaryKey, endPrimaryKey);
         int timestamp = -1;
         if (RocksUtils.ttlValid(this.ttl)) {
@@ -421,11 +537,9 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
         } else if (getPartByPrimaryKey(endPrimaryKey) != part) {
             throw new IllegalArgumentException("The start and end not in same part or not in current instance.");
         }
-        parts.get(part.getId()).exec(OpInstructions.id, OpInstructions.COMPUTE_OC, startPrimaryKey, endPrimaryKey,
-            operations,
-            timestamp).join();
-
-        return true;
+        return applied(parts.get(part.getId()).exec(
+            OpInstructions.id, OpInstructions.COMPUTE_OC, startPrimaryKey, endPrimaryKey, operations, timestamp
+        ));
     }
 
     private static void isValidRangeKey(byte[] startPrimaryKey, byte[] endPrimaryKey) {
@@ -436,39 +550,70 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
 
     @Override
     public boolean delete(byte[] primaryKey) {
+        return deleteAsync(primaryKey).join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(byte[] primaryKey) {
+        Part part = getPartByPrimaryKey(primaryKey);
+        if (part == null) {
+            throw new IllegalArgumentException(
+                "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
+            );
+        }
+        return applied(parts.get(part.getId()).exec(KVInstructions.id, KVInstructions.DEL_OC, primaryKey));
+    }
+
+    @Override
+    public boolean delete(byte[] primaryKey, List<byte[]> erasedIndexKeys) {
         Part part = getPartByPrimaryKey(primaryKey);
         if (part == null) {
             throw new IllegalArgumentException(
                 "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
             );
         }
-        parts.get(part.getId()).exec(KVInstructions.id, KVInstructions.DEL_OC, primaryKey).join();
+        parts.get(part.getId()).exec(KVInstructions.id, KVInstructions.DEL_INDEXED_OC, primaryKey, erasedIndexKeys)
+            .join();
         return true;
     }
 
     @Override
     public boolean delete(List<byte[]> primaryKeys) {
-        boolean isSuccess = false;
-        try {
-            Map<Part, List<byte[]>> keysGroupByPart = groupKeysByPart(primaryKeys);
-            for (Map.Entry<Part, List<byte[]>> entry : keysGroupByPart.entrySet()) {
-                Part part = entry.getKey();
-                Optional<List<byte[]>> keysInPart = Optional.of(entry.getValue());
-                if (keysInPart.isPresent()) {
-                    isSuccess = parts.get(part.getId()).exec(KVInstructions.id, KVInstructions.DEL_OC,
-                        primaryKeys.toArray()).join();
-                    if (!isSuccess) {
-                        log.error("Delete failed, part: {}, keysCnt: {}", part.getId(), keysInPart.get().size());
-                    }
-                } else {
-                    log.warn("Delete failed, part: {}, keysCnt: 0", part.getId());
-                }
+        return deleteAsync(primaryKeys).join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(List<byte[]> primaryKeys) {
+        Map<Part, List<byte[]>> keysGroupByPart = groupKeysByPart(primaryKeys);
+        List<PhaseAck> acks = new ArrayList<>(keysGroupByPart.size());
+        for (Map.Entry<Part, List<byte[]>> entry : keysGroupByPart.entrySet()) {
+            acks.add(parts.get(entry.getKey().getId()).exec(
+                KVInstructions.id, KVInstructions.DEL_BATCH_OC, entry.getValue().toArray()
+            ));
+        }
+        return applied(acks);
+    }
+
+    @Override
+    public boolean delete(List<byte[]> primaryKeys, List<List<byte[]>> erasedIndexKeys) {
+        return deleteAsync(primaryKeys, erasedIndexKeys).join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(List<byte[]> primaryKeys, List<List<byte[]>> erasedIndexKeys) {
+        Map<Part, List<Integer>> positionsByPart = groupPositionsByPart(primaryKeys);
+        List<PhaseAck> acks = new ArrayList<>(positionsByPart.size());
+        for (Map.Entry<Part, List<Integer>> entry : positionsByPart.entrySet()) {
+            List<Object> operands = new ArrayList<>(entry.getValue().size() * 2);
+            for (int i : entry.getValue()) {
+                operands.add(primaryKeys.get(i));
+                operands.add(erasedIndexKeys.get(i));
             }
-            return isSuccess;
-        } catch (Exception e) {
-            log.error(e.getMessage(), e);
-            throw new IllegalArgumentException(e.getMessage());
+            acks.add(parts.get(entry.getKey().getId()).exec(
+                KVInstructions.id, KVInstructions.DEL_INDEXED_OC, operands.toArray()
+            ));
         }
+        return applied(acks);
     }
 
     @Override
@@ -571,6 +716,31 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
         return result;
     }
 
+    private static CompletableFuture<Boolean> applied(PhaseAck ack) {
+        return ack.future().thenApply(__ -> true);
+    }
+
+    // The instructions of all the parts are issued before waiting for any of them.
+    private static CompletableFuture<Boolean> applied(List<PhaseAck> acks) {
+        return CompletableFuture.allOf(acks.stream().map(PhaseAck::future).toArray(CompletableFuture[]::new))
+            .thenApply(__ -> true);
+    }
+
+    private Map<Part, List<Integer>> groupPositionsByPart(List<byte[]> primaryKeys) {
+        Map<Part, List<Integer>> result = new HashMap<>();
+        for (int i = 0; i < primaryKeys.size(); ++i) {
+            byte[] primaryKey = primaryKeys.get(i);
+            Part part = getPartByPrimaryKey(primaryKey);
+            if (part == null) {
+                throw new IllegalArgumentException(
+                    "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
+                );
+            }
+            result.computeIfAbsent(part, k -> new ArrayList<>()).add(i);
+        }
+        return result;
+    }
+
     public Map<Part, List<byte[]>> groupKeysByPart(byte[] startKey, byte[] endKey) {
         Part startPart = getPartByPrimaryKey(startKey);
         Part endPart = getPartByPrimaryKey(endKey);
@@ -25,7 +25,6 @@ import io.dingodb.net.NetServiceProvider;
 import io.dingodb.raft.Closure;
 import io.dingodb.raft.Node;
 import io.dingodb.raft.Status;
-import io.dingodb.raft.entity.LocalFileMetaOutter;
 import io.dingodb.raft.entity.PeerId;
 import io.dingodb.raft.kv.storage.ByteArrayEntry;
 import io.dingodb.raft.kv.storage.DefaultRaftRawKVStoreStateMachine;
@@ -52,7 +51,6 @@ import java.util.stream.Collectors;
 
 import static io.dingodb.common.concurrent.Executors.execute;
 import static io.dingodb.common.concurrent.Executors.scheduleWithFixedDelayAsync;
-import static io.dingodb.raft.kv.Constants.SNAPSHOT_ZIP;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.SNAPSHOT_LOAD;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.SNAPSHOT_SAVE;
 import static io.dingodb.server.protocol.CommonIdConstant.ID_TYPE;
@@ -195,7 +193,7 @@ public class PartStateMachine extends DefaultRaftRawKVStoreStateMachine {
             .key(part.getStart())
             .extKey(part.getEnd())
             .ext1(reader.getPath())
-            .ext2(((LocalFileMetaOutter.LocalFileMeta) reader.getFileMeta(SNAPSHOT_ZIP)).getChecksum())
+            .ext2(snapshotFiles(reader))
             .op(SNAPSHOT_LOAD)
             .build();
     }
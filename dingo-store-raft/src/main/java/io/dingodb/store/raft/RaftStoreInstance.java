@@ -32,9 +32,10 @@ import io.dingodb.raft.kv.storage.ByteArrayEntry;
 import io.dingodb.raft.kv.storage.RawKVStore;
 import io.dingodb.raft.kv.storage.RocksRawKVStore;
 import io.dingodb.raft.kv.storage.SeekableIterator;
+import io.dingodb.raft.option.NodeOptions;
 import io.dingodb.raft.option.RaftLogStoreOptions;
+import io.dingodb.raft.option.RaftOptions;
 import io.dingodb.raft.storage.LogStore;
-import io.dingodb.raft.storage.impl.RocksDBLogStore;
 import io.dingodb.server.api.MetaServiceApi;
 import io.dingodb.server.protocol.metric.MonitorMetric;
 import io.dingodb.store.api.StoreInstance;
@@ -97,15 +98,18 @@ public class RaftStoreInstance implements StoreInstance {
             FileUtils.createDirectories(logPath = Paths.get(path.toString(), "log"));
             this.store = new RocksRawKVStore(dbPath.toString(), StoreConfiguration.dbRocksOptionsFile(),
                 this.id.toString(), this.ttl);
-            this.logStore = new RocksDBLogStore();
+            NodeOptions nodeOptions = StoreConfiguration.raft().getNode();
+            RaftOptions raftOptions = nodeOptions == null ? new RaftOptions() : nodeOptions.getRaftOptions();
+            this.logStore = DefaultJRaftServiceFactory.newInstance().createLogStore(raftOptions);
             RaftLogStoreOptions logStoreOptions = new RaftLogStoreOptions();
             logStoreOptions.setDataPath(logPath.toString());
             logStoreOptions.setLogRocksOptionsFile(StoreConfiguration.logRocksOptionsFile());
             logStoreOptions.setLogEntryCodecFactory(DefaultJRaftServiceFactory
                 .newInstance().createLogEntryCodecFactory());
+            logStoreOptions.setSegmentSize(raftOptions.getLogSegmentSize());
             if (!this.logStore.init(logStoreOptions)) {
-                log.error("Fail to init [RocksDBLogStore]");
-                throw new RuntimeException("Fail to init [RocksDBLogStore]");
+                log.error("Fail to init [{}]", this.logStore.getClass().getSimpleName());
+                throw new RuntimeException("Fail to init [" + this.logStore.getClass().getSimpleName() + "]");
             }
             this.startKeyPartMap = new ConcurrentSkipListMap<>(ByteArrayUtils::compare);
             this.parts = new ConcurrentHashMap<>();
@@ -21,14 +21,13 @@ import io.dingodb.common.Location;
 import io.dingodb.common.config.DingoConfiguration;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.store.Part;
+import io.dingodb.raft.core.DefaultJRaftServiceFactory;
 import io.dingodb.raft.kv.storage.ByteArrayEntry;
 import io.dingodb.raft.kv.storage.RaftRawKVStore;
 import io.dingodb.raft.kv.storage.RawKVStore;
 import io.dingodb.raft.kv.storage.RocksDBUtils;
 import io.dingodb.raft.kv.storage.SeekableIterator;
 import io.dingodb.raft.storage.LogStore;
-import io.dingodb.raft.storage.impl.RocksDBLogStorage;
-import io.dingodb.raft.storage.impl.RocksDBLogStore;
 import io.dingodb.store.api.StoreInstance;
 import io.dingodb.store.raft.config.StoreConfiguration;
 import lombok.Getter;
@@ -61,7 +60,7 @@ public final class RaftStoreInstancePart implements StoreInstance {
             store,
             StoreConfiguration.raft().getNode(),
             path,
-            new RocksDBLogStorage(id, (RocksDBLogStore) logStore),
+            DefaultJRaftServiceFactory.newInstance().createLogStorage(id, logStore),
             new Location(DingoConfiguration.host(), StoreConfiguration.raft().getPort()),
             part.getReplicateLocations()
         );
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.test;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.common.codec.PrimitiveCodec;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Operator;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.operator.PartDeleteOperator;
+import io.dingodb.exec.operator.PartInsertOperator;
+import io.dingodb.exec.operator.PartModifyOperator;
+import io.dingodb.exec.operator.PartUpdateOperator;
+import io.dingodb.exec.operator.RootOperator;
+import io.dingodb.exec.table.PartInKvStore;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PartModifyOperatorTest {
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("INTEGER", "STRING", "INTEGER");
+    private static final TupleMapping KEY_MAPPING = TupleMapping.of(new int[]{0});
+
+    // Writes each row in a batch of its own, and holds the futures of the writes to be completed by the test.
+    private static class HoldingOperator extends PartModifyOperator {
+        private final List<CompletableFuture<Long>> writes = new CopyOnWriteArrayList<>();
+
+        HoldingOperator(CommonId tableId) {
+            super(tableId, 0, SCHEMA, KEY_MAPPING, null);
+        }
+
+        @Override
+        public synchronized boolean push(int pin, Object[] tuple) {
+            addToBatch(tuple);
+            flush();
+            return true;
+        }
+
+        @Override
+        protected @NonNull CompletableFuture<Long> write(@NonNull List<Object[]> tuples) {
+            CompletableFuture<Long> future = new CompletableFuture<>();
+            writes.add(future);
+            return future;
+        }
+    }
+
+    private CommonId tableId;
+    private PartInKvStore part;
+
+    @BeforeEach
+    public void setup() {
+        tableId = new CommonId(
+            (byte) 'T',
+            new byte[]{'D', 'T'},
+            PrimitiveCodec.encodeInt(0),
+            PrimitiveCodec.encodeInt(SqlHelper.randomTableName().hashCode())
+        );
+        part = new PartInKvStore(StoreTestServiceProvider.STORE_SERVICE.getInstance(tableId), SCHEMA, KEY_MAPPING);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        StoreTestServiceProvider.STORE_SERVICE.deleteInstance(tableId);
+    }
+
+    // The modify operator is linked to a root operator, and the rows are pushed to it directly.
+    private static @NonNull RootOperator link(@NonNull Operator operator) {
+        Task task = new TaskImpl(Id.NULL, Id.NULL, new Location("localhost", 0), null);
+        operator.setId(new Id("0"));
+        task.putOperator(operator);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("LONG"));
+        root.setId(new Id("1"));
+        task.putOperator(root);
+        operator.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        return root;
+    }
+
+    private static long finAndGetCount(@NonNull Operator operator, @NonNull RootOperator root) {
+        operator.fin(0, new FinWithProfiles(new ArrayList<>()));
+        Object[] tuple = root.popValue();
+        assertThat(root.popValue()).isSameAs(RootOperator.FIN);
+        return (long) tuple[0];
+    }
+
+    @Test
+    public void testInsert() {
+        part.insert(new Object[]{3, "c", 30});
+        PartInsertOperator operator = new PartInsertOperator(tableId, 0, SCHEMA, KEY_MAPPING, null);
+        RootOperator root = link(operator);
+        operator.push(0, new Object[]{1, "a", 10});
+        operator.push(0, new Object[]{2, "b", 20});
+        // Duplicated in the batch and existing in the store.
+        operator.push(0, new Object[]{1, "x", 11});
+        operator.push(0, new Object[]{3, "y", 31});
+        assertThat(finAndGetCount(operator, root)).isEqualTo(2L);
+        assertThat(part.getByKey(new Object[]{1})).containsExactly(1, "a", 10);
+        assertThat(part.getByKey(new Object[]{2})).containsExactly(2, "b", 20);
+        assertThat(part.getByKey(new Object[]{3})).containsExactly(3, "c", 30);
+    }
+
+    @Test
+    public void testUpdate() {
+        part.insert(new Object[]{1, "a", 10});
+        part.insert(new Object[]{2, "b", 20});
+        PartUpdateOperator operator = new PartUpdateOperator(
+            tableId,
+            0,
+            SCHEMA,
+            KEY_MAPPING,
+            null,
+            TupleMapping.of(new int[]{2}),
+            Collections.singletonList(new SqlExpr("_[2] + 1", DingoTypeFactory.scalar("INTEGER")))
+        );
+        RootOperator root = link(operator);
+        operator.push(0, new Object[]{1, "a", 10});
+        operator.push(0, new Object[]{2, "b", 20});
+        assertThat(finAndGetCount(operator, root)).isEqualTo(2L);
+        assertThat(part.getByKey(new Object[]{1})).containsExactly(1, "a", 11);
+        assertThat(part.getByKey(new Object[]{2})).containsExactly(2, "b", 21);
+    }
+
+    @Test
+    public void testDelete() {
+        part.insert(new Object[]{1, "a", 10});
+        part.insert(new Object[]{2, "b", 20});
+        part.insert(new Object[]{3, "c", 30});
+        PartDeleteOperator operator = new PartDeleteOperator(tableId, 0, SCHEMA, KEY_MAPPING, null);
+        RootOperator root = link(operator);
+        operator.push(0, new Object[]{1, "a", 10});
+        // Duplicated in the batch and missing in the store.
+        operator.push(0, new Object[]{1, "a", 10});
+        operator.push(0, new Object[]{4, "d", 40});
+        operator.push(0, new Object[]{2, "b", 20});
+        assertThat(finAndGetCount(operator, root)).isEqualTo(2L);
+        assertThat(part.getByKey(new Object[]{1})).isNull();
+        assertThat(part.getByKey(new Object[]{2})).isNull();
+        assertThat(part.getByKey(new Object[]{3})).containsExactly(3, "c", 30);
+    }
+
+    @Test
+    public void testDelayedFlush() throws InterruptedException {
+        PartInsertOperator operator = new PartInsertOperator(tableId, 0, SCHEMA, KEY_MAPPING, null);
+        RootOperator root = link(operator);
+        operator.push(0, new Object[]{1, "a", 10});
+        // The partial batch is written after the max delay, though no more rows come.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (part.getByKey(new Object[]{1}) == null && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(part.getByKey(new Object[]{1})).containsExactly(1, "a", 10);
+        assertThat(finAndGetCount(operator, root)).isEqualTo(1L);
+    }
+
+    @Test
+    public void testMaxInFlight() throws InterruptedException {
+        HoldingOperator operator = new HoldingOperator(tableId);
+        RootOperator root = link(operator);
+        for (int i = 0; i < PartModifyOperator.MAX_IN_FLIGHT; ++i) {
+            operator.push(0, new Object[]{i, "a", i});
+        }
+        assertThat(operator.writes).hasSize(PartModifyOperator.MAX_IN_FLIGHT);
+        // One more batch in flight waits for the oldest one.
+        CompletableFuture<Void> pushing = CompletableFuture.runAsync(
+            () -> operator.push(0, new Object[]{-1, "b", -1})
+        );
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(pushing).isNotDone();
+        operator.writes.get(0).complete(1L);
+        pushing.join();
+        assertThat(operator.writes).hasSize(PartModifyOperator.MAX_IN_FLIGHT + 1);
+        // Finished batches are collected without waiting, and the others at fin.
+        operator.writes.get(1).complete(1L);
+        operator.push(0, new Object[]{-2, "c", -2});
+        operator.writes.forEach(write -> write.complete(1L));
+        assertThat(finAndGetCount(operator, root)).isEqualTo(PartModifyOperator.MAX_IN_FLIGHT + 2L);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.test;
+
+import com.google.common.collect.Iterators;
+import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.store.api.StoreInstance;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SecondaryIndexTest {
+    private static final String[] COLUMNS = new String[]{"ID", "NAME", "AGE"};
+
+    private static SqlHelper sqlHelper;
+    private String tableName;
+
+    @BeforeAll
+    public static void setupAll() throws Exception {
+        sqlHelper = new SqlHelper();
+    }
+
+    @AfterAll
+    public static void cleanUpAll() throws Exception {
+        sqlHelper.cleanUp();
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        StringBuilder values = new StringBuilder();
+        for (int id = 1; id <= 10; ++id) {
+            if (values.length() > 0) {
+                values.append(", ");
+            }
+            values.append("(").append(id).append(", 'n").append(id).append("', ").append(id * 10).append(")");
+        }
+        tableName = sqlHelper.prepareTable(
+            "create table {table} ("
+                + "id int,"
+                + "name varchar(32),"
+                + "age int,"
+                + "primary key(id),"
+                + "index age_index (age)"
+                + ")",
+            "insert into {table} values " + values,
+            10
+        );
+    }
+
+    @AfterEach
+    public void cleanUp() throws Exception {
+        sqlHelper.dropTable(tableName);
+    }
+
+    private static List<Object[]> rows(int... ids) {
+        List<Object[]> rows = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            rows.add(new Object[]{id, "n" + id, id * 10});
+        }
+        return rows;
+    }
+
+    // Count the entries in the store, for stale entries are hidden from queries.
+    private int countIndexEntries() {
+        String name = MetaTestService.INSTANCE.getTableDefinitions().keySet().stream()
+            .filter(tableName::equalsIgnoreCase)
+            .findAny()
+            .orElseThrow(() -> new IllegalStateException("Table \"" + tableName + "\" not found."));
+        StoreInstance store = StoreTestServiceProvider.STORE_SERVICE.getInstance(
+            MetaTestService.INSTANCE.getTableId(name)
+        );
+        return Iterators.size(
+            store.indexScan(ByteArrayUtils.EMPTY_BYTES, ByteArrayUtils.EMPTY_BYTES, ByteArrayUtils.MAX_BYTES)
+        );
+    }
+
+    @Test
+    public void testQuery() throws SQLException {
+        sqlHelper.queryTest("select * from " + tableName + " where age = 30", COLUMNS, rows(3));
+        sqlHelper.queryTest("select * from " + tableName + " where age between 45 and 70", COLUMNS, rows(5, 6, 7));
+        assertThat(countIndexEntries()).isEqualTo(10);
+    }
+
+    @Test
+    public void testUpdate() throws SQLException {
+        sqlHelper.updateTest("update " + tableName + " set age = 95 where id = 3", 1);
+        sqlHelper.queryTest("select * from " + tableName + " where age = 30", COLUMNS, Collections.emptyList());
+        sqlHelper.queryTest(
+            "select * from " + tableName + " where age = 95",
+            COLUMNS,
+            Collections.singletonList(new Object[]{3, "n3", 95})
+        );
+        sqlHelper.updateTest("update " + tableName + " set name = 'm4' where id = 4", 1);
+        sqlHelper.queryTest(
+            "select * from " + tableName + " where age = 40",
+            COLUMNS,
+            Collections.singletonList(new Object[]{4, "m4", 40})
+        );
+        assertThat(countIndexEntries()).isEqualTo(10);
+    }
+
+    @Test
+    public void testDelete() throws SQLException {
+        sqlHelper.updateTest("delete from " + tableName + " where name = 'n4'", 1);
+        sqlHelper.queryTest("select * from " + tableName + " where age = 40", COLUMNS, Collections.emptyList());
+        sqlHelper.queryTest("select * from " + tableName + " where age < 60", COLUMNS, rows(1, 2, 3, 5));
+        assertThat(countIndexEntries()).isEqualTo(9);
+    }
+
+    @Test
+    public void testDeleteRange() throws SQLException {
+        sqlHelper.updateTest("delete from " + tableName + " where id > 6", 4);
+        sqlHelper.queryTest("select * from " + tableName + " where age >= 50", COLUMNS, rows(5, 6));
+        assertThat(countIndexEntries()).isEqualTo(6);
+        sqlHelper.updateTest("delete from " + tableName + " where id < 3", 2);
+        sqlHelper.queryTest("select * from " + tableName + " where age < 100", COLUMNS, rows(3, 4, 5, 6));
+        assertThat(countIndexEntries()).isEqualTo(4);
+    }
+}
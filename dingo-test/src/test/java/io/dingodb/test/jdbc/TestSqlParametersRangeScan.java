@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.test.jdbc;
+
+import io.dingodb.test.SqlHelper;
+import io.dingodb.test.asserts.Assert;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestSqlParametersRangeScan {
+    private static SqlHelper sqlHelper;
+    private static String tableName;
+
+    @BeforeAll
+    public static void setupAll() throws Exception {
+        sqlHelper = new SqlHelper();
+        StringBuilder values = new StringBuilder();
+        for (int tenant = 1; tenant <= 3; ++tenant) {
+            for (int ts = 1; ts <= 10; ++ts) {
+                if (values.length() > 0) {
+                    values.append(", ");
+                }
+                values.append("(").append(tenant).append(", ").append(ts).append(", 'v").append(tenant)
+                    .append("-").append(ts).append("')");
+            }
+        }
+        tableName = sqlHelper.prepareTable(
+            "create table {table} ("
+                + "tenant_id int,"
+                + "ts bigint,"
+                + "v varchar(32),"
+                + "primary key(tenant_id, ts)"
+                + ")",
+            "insert into {table} values " + values,
+            30
+        );
+    }
+
+    @AfterAll
+    public static void cleanUpAll() throws Exception {
+        sqlHelper.dropTable(tableName);
+        sqlHelper.cleanUp();
+    }
+
+    private static List<Object[]> rows(int tenant, long from, long to) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long ts = from; ts <= to; ++ts) {
+            rows.add(new Object[]{tenant, ts, "v" + tenant + "-" + ts});
+        }
+        return rows;
+    }
+
+    @Test
+    public void testBetween() throws SQLException {
+        String sql = "select * from " + tableName + " where tenant_id = ? and ts between ? and ?";
+        try (PreparedStatement statement = sqlHelper.getConnection().prepareStatement(sql)) {
+            statement.setInt(1, 2);
+            statement.setLong(2, 3);
+            statement.setLong(3, 6);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assert.resultSet(resultSet).isRecords(rows(2, 3, 6));
+            }
+            statement.setInt(1, 3);
+            statement.setLong(2, 9);
+            statement.setLong(3, 20);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assert.resultSet(resultSet).isRecords(rows(3, 9, 10));
+            }
+            statement.setInt(1, 1);
+            statement.setLong(2, 6);
+            statement.setLong(3, 3);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assert.resultSet(resultSet).isRecords(new ArrayList<>());
+            }
+        }
+    }
+
+    @Test
+    public void testOpenBounds() throws SQLException {
+        String sql = "select * from " + tableName + " where tenant_id = ? and ts > ?";
+        try (PreparedStatement statement = sqlHelper.getConnection().prepareStatement(sql)) {
+            statement.setInt(1, 1);
+            statement.setLong(2, 8);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assert.resultSet(resultSet).isRecords(rows(1, 9, 10));
+            }
+        }
+        sql = "select * from " + tableName + " where tenant_id = ? and ts < ?";
+        try (PreparedStatement statement = sqlHelper.getConnection().prepareStatement(sql)) {
+            statement.setInt(1, 3);
+            statement.setLong(2, 3);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assert.resultSet(resultSet).isRecords(rows(3, 1, 2));
+            }
+        }
+    }
+
+    @Test
+    public void testPrefixOnly() throws SQLException {
+        String sql = "select * from " + tableName + " where tenant_id = ?";
+        try (PreparedStatement statement = sqlHelper.getConnection().prepareStatement(sql)) {
+            statement.setInt(1, 2);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assert.resultSet(resultSet).isRecords(rows(2, 1, 10));
+            }
+        }
+    }
+
+    @Test
+    public void testLiteralBounds() throws SQLException {
+        String sql = "select * from " + tableName + " where tenant_id = ? and ts between 4 and 5";
+        try (PreparedStatement statement = sqlHelper.getConnection().prepareStatement(sql)) {
+            statement.setInt(1, 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assert.resultSet(resultSet).isRecords(rows(1, 4, 5));
+            }
+        }
+    }
+
+    @Test
+    public void testNullParameter() throws SQLException {
+        String sql = "select * from " + tableName + " where tenant_id = ? and ts >= ?";
+        try (PreparedStatement statement = sqlHelper.getConnection().prepareStatement(sql)) {
+            statement.setInt(1, 1);
+            statement.setNull(2, Types.BIGINT);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assert.resultSet(resultSet).isRecords(new ArrayList<>());
+            }
+        }
+    }
+}